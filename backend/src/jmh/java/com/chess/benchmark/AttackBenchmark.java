@@ -0,0 +1,64 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.chess.entity.base.*;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Mede a detecção de ataques na posição Kiwipete: {@link Piece#isAttacking}
+ * de uma peça contra as 64 casas e {@link BitBoard#isSquareAttacked} por casa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttackBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType type;
+
+    private BitBoard board;
+    private Piece piece;
+    private Position from;
+    private final Position[] targets = new Position[64];
+
+    @Setup
+    public void setup() {
+        board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+
+        int square = Long.numberOfTrailingZeros(board.getPieces(type, Color.WHITE));
+        from = Position.at(square >>> 3, square & 7);
+        piece = board.getPieceAt(square);
+
+        for (int sq = 0; sq < 64; sq++) {
+            targets[sq] = Position.at(sq >>> 3, sq & 7);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void isAttacking(Blackhole blackhole) {
+        for (Position to : targets) {
+            blackhole.consume(piece.isAttacking(board, from, to));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void isSquareAttacked(Blackhole blackhole) {
+        for (int sq = 0; sq < 64; sq++) {
+            blackhole.consume(board.isSquareAttacked(sq, Color.BLACK));
+        }
+    }
+
+}
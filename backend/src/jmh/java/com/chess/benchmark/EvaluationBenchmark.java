@@ -0,0 +1,69 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.engine.Evaluation;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.board.PieceSquareTables;
+import com.chess.entity.piece.Piece;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Mede a avaliação estática, que lê as somas das tabelas de peça e casa
+ * mantidas pelo tabuleiro, contra a soma das tabelas refeita casa a casa e o
+ * custo de manter as somas em um lance feito e desfeito.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    @Param({"START", "KIWIPETE", "POSITION_3"})
+    public PerftPosition position;
+
+    private BitBoard board;
+    private int move;
+
+    @Setup
+    public void setup() {
+        board = FenUtils.parse(position.getFen());
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        move = moves.get(0);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return Evaluation.evaluate(board);
+    }
+
+    @Benchmark
+    public int sumTables() {
+        int middlegame = 0;
+        int endgame = 0;
+        for (int square = 0; square < 64; square++) {
+            Piece piece = board.getPieceAt(square);
+            if (piece == null) continue;
+            middlegame += PieceSquareTables.middlegame(piece, square);
+            endgame += PieceSquareTables.endgame(piece, square);
+        }
+        return middlegame + endgame;
+    }
+
+    @Benchmark
+    public int makeUnmake() {
+        board.makeMove(move);
+        int score = board.getMiddlegameScore();
+        board.unmakeMove(move);
+        return score;
+    }
+
+}
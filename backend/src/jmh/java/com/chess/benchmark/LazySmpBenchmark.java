@@ -0,0 +1,81 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.engine.ParallelSearch;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.TranspositionTable;
+import com.chess.entity.board.BitBoard;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Mede o tempo até a profundidade da busca Lazy SMP para 1 a N threads.
+ * <p>
+ * Cada invocação parte de uma tabela de transposição vazia. O ganho com
+ * {@code n} threads é o tempo com 1 thread dividido pelo tempo com {@code n};
+ * o contador {@code nodes} mostra quanto trabalho extra as auxiliares fazem.
+ * Para outras contagens: {@code -Djmh.args="LazySmpBenchmark -p threads=1,2,4,8,16"}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazySmpBenchmark {
+
+    @Param({"START", "KIWIPETE", "POSITION_3"})
+    public PerftPosition position;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"10"})
+    public int depth;
+
+    @Param({"64"})
+    public int hashMegabytes;
+
+    private BitBoard board;
+    private TranspositionTable table;
+    private ExecutorService executor;
+    private ParallelSearch search;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        board = FenUtils.parse(position.getFen());
+        table = new TranspositionTable(hashMegabytes);
+        executor = Executors.newFixedThreadPool(Math.max(1, threads - 1));
+        search = new ParallelSearch(table, executor);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public SearchResult timeToDepth(Counters counters) {
+        SearchResult result = search.search(board, SearchLimits.depth(depth), threads);
+        counters.nodes += result.getNodes();
+        return result;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.chess.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.entity.base.*;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.MoveUtils;
+
+/**
+ * Mede a geração de movimentos por tipo de peça na posição Kiwipete,
+ * pela API de listas e pela API de buffer sem alocação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType type;
+
+    private BitBoard board;
+    private Piece piece;
+    private Position from;
+    private int fromSquare;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setup() {
+        board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+
+        // Usa a primeira peça branca do tipo escolhido
+        long pieces = board.getPieces(type, Color.WHITE);
+        fromSquare = Long.numberOfTrailingZeros(pieces);
+        from = Position.at(fromSquare >>> 3, fromSquare & 7);
+        piece = board.getPieceAt(fromSquare);
+    }
+
+    @Benchmark
+    public List<Position> getPossibleMoves() {
+        return piece.getPossibleMoves(board, from);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        moves.clear();
+        piece.generateMoves(board, fromSquare, moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public int generatePseudoLegalMoves() {
+        moves.clear();
+        MoveUtils.generatePseudoLegalMoves(board, moves);
+        return moves.size();
+    }
+
+}
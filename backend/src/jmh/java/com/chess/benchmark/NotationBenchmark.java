@@ -0,0 +1,51 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.chess.entity.base.*;
+
+/**
+ * Mede {@link Position#at(String)} sobre as 64 casas e {@link Direction#get(Position, Position)}
+ * sobre todos os pares de casas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotationBenchmark {
+
+    private final String[] names = new String[64];
+    private final Position[] positions = new Position[64];
+
+    @Setup
+    public void setup() {
+        for (int sq = 0; sq < 64; sq++) {
+            positions[sq] = Position.at(sq >>> 3, sq & 7);
+            names[sq] = positions[sq].toString();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void positionAt(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(Position.at(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64 * 64)
+    public void directionGet(Blackhole blackhole) {
+        for (Position from : positions) {
+            for (Position to : positions) {
+                blackhole.consume(Direction.get(from, to));
+            }
+        }
+    }
+
+}
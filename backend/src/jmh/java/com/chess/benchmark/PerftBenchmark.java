@@ -0,0 +1,64 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.perft.Perft;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Mede o perft nas posições de teste padrão.
+ * <p>
+ * O contador auxiliar {@code nodes} é reportado em nós por segundo. Para
+ * profundidades maiores: {@code -Djmh.args="PerftBenchmark -p depth=5,6 -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class PerftBenchmark {
+
+    @Param({"START", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "POSITION_6"})
+    public PerftPosition position;
+
+    @Param({"4"})
+    public int depth;
+
+    private BitBoard board;
+    private Perft perft;
+
+    /**
+     * Contadores reportados pelo JMH junto com a medição principal.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long nodes;
+    }
+
+    @Setup
+    public void setup() {
+        board = FenUtils.parse(position.getFen());
+        perft = new Perft(depth);
+
+        // Falha cedo se o gerador divergir das contagens conhecidas
+        long expected = position.getExpectedNodes(depth);
+        long nodes = perft.count(board, depth);
+        if (expected >= 0 && nodes != expected) {
+            throw new IllegalStateException("Perft divergente em " + position + ": " + nodes + " != " + expected);
+        }
+    }
+
+    @Benchmark
+    public long perft(Counters counters) {
+        long nodes = perft.count(board, depth);
+        counters.nodes += nodes;
+        return nodes;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.chess.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.MoveList;
+import com.chess.perft.PerftPosition;
+import com.chess.protocol.GameFrames;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Mede a serialização de uma atualização da sala após um lance: o quadro
+ * binário com o lance ({@value GameFrames#MOVE_SIZE} bytes), o quadro com o
+ * tabuleiro inteiro ({@value GameFrames#SNAPSHOT_SIZE} bytes) e o estado em
+ * JSON com a FEN, como o retornado por {@code /api/rooms}. Cada método retorna o
+ * tamanho do que produziu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProtocolBenchmark {
+
+    private BitBoard board;
+    private int move;
+    private final ByteBuffer frame = ByteBuffer.allocate(GameFrames.SNAPSHOT_SIZE);
+
+    @Setup
+    public void setup() {
+        board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        move = moves.get(0);
+        board.makeMove(move);
+    }
+
+    @Benchmark
+    public int moveFrame() {
+        frame.clear();
+        GameFrames.writeMove(frame, board, move, 1, GameFrames.PLAYING, 60000, 60000);
+        return frame.position();
+    }
+
+    @Benchmark
+    public int snapshotFrame() {
+        frame.clear();
+        GameFrames.writeSnapshot(frame, board, 1, GameFrames.PLAYING, 60000, 60000);
+        return frame.position();
+    }
+
+    @Benchmark
+    public int jsonWithFen() {
+        String json = "{\"id\":1,\"white\":\"ana\",\"black\":\"bruno\",\"status\":\"PLAYING\",\"result\":null,"
+            + "\"ply\":1,\"sideToMove\":\"" + board.getSideToMove() + "\",\"fen\":\"" + FenUtils.toFen(board) + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+}
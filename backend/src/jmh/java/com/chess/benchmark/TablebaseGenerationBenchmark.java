@@ -0,0 +1,57 @@
+package com.chess.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.tablebase.Endgame;
+import com.chess.tablebase.GenerationResult;
+import com.chess.tablebase.TablebaseGenerator;
+
+/**
+ * Mede o tempo de geração de uma tabela de finais com 1 e 4 threads. As
+ * tabelas das quais o final depende são geradas uma vez, no heap, antes das
+ * medições; cada operação gera apenas a tabela do final.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TablebaseGenerationBenchmark {
+
+    @Param({"KQK", "KRK", "KPK", "KBNK", "KQKR"})
+    private String endgame;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private TablebaseGenerator generator;
+    private Endgame target;
+
+    @Setup
+    public void setup() throws IOException {
+        pool = new ForkJoinPool(threads);
+        generator = new TablebaseGenerator(null, pool);
+        target = Endgame.of(endgame);
+        for (Endgame successor : target.successors()) {
+            generator.generate(successor);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long generate() throws IOException {
+        GenerationResult result = generator.generate(target).get(0);
+        return result.getPositions();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.chess.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.piece.Piece;
+import com.chess.tablebase.Endgame;
+import com.chess.tablebase.Tablebase;
+import com.chess.tablebase.TablebaseGenerator;
+
+/**
+ * Mede a consulta às tabelas de finais gravadas em disco e mapeadas em
+ * memória: o valor de uma posição ({@code probe}) e o melhor lance
+ * ({@code bestMove}, uma consulta por lance legal). As posições são sorteadas
+ * entre as válidas do final, com as cores trocadas em metade delas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TablebaseProbeBenchmark {
+
+    private static final int POSITIONS = 4096;
+
+    @Param({"KRK", "KQKR"})
+    private String endgame;
+
+    private Path directory;
+    private Tablebase tablebase;
+    private BitBoard[] boards;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("tablebases");
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            new TablebaseGenerator(directory, pool).generate(Endgame.of(endgame));
+        } finally {
+            pool.shutdown();
+        }
+        tablebase = Tablebase.open(directory);
+
+        Endgame table = Endgame.of(endgame);
+        SplittableRandom random = new SplittableRandom(42);
+        boards = new BitBoard[POSITIONS];
+        for (int i = 0; i < POSITIONS; ) {
+            boolean flip = random.nextBoolean();
+            BitBoard board = new BitBoard();
+            for (int p = 0; p < table.getPieces(); p++) {
+                Color color = flip ? table.colorAt(p).opposite() : table.colorAt(p);
+                board.setPieceAt(Position.at(random.nextInt(64)), Piece.of(table.typeAt(p), color));
+            }
+            board.setSideToMove(random.nextBoolean() ? Color.WHITE : Color.BLACK);
+            // Peças sorteadas na mesma casa se substituem
+            if (Long.bitCount(board.getOccupancy()) != table.getPieces()) continue;
+            int value = tablebase.probe(board);
+            if (value != Tablebase.NOT_FOUND && value != Tablebase.INVALID) boards[i++] = board;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int probe() {
+        return tablebase.probe(boards[next++ & POSITIONS - 1]);
+    }
+
+    @Benchmark
+    public int bestMove() {
+        return tablebase.bestMove(boards[next++ & POSITIONS - 1]);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.chess.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.chess.clock.Timeout;
+import com.chess.clock.TimingWheel;
+
+/**
+ * Mede as operações da {@link TimingWheel} com {@code timers} prazos ativos,
+ * espalhados pelos próximos 10 minutos em ticks de 1 ms, como os relógios de
+ * partidas em andamento: reagendar um prazo (o lance de um jogador), cancelar
+ * e agendar de novo (fim e início de uma partida) e avançar um tick,
+ * reagendando os prazos vencidos para manter o total.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimingWheelBenchmark {
+
+    private static final int HORIZON = 600_000;
+
+    @Param({"1000", "100000"})
+    private int timers;
+
+    private TimingWheel wheel;
+    private Timeout[] timeouts;
+    private final List<Timeout> expired = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long tick;
+    private int next;
+
+    @Setup
+    public void setup() {
+        wheel = new TimingWheel(0);
+        timeouts = new Timeout[timers];
+        for (int i = 0; i < timers; i++) {
+            timeouts[i] = new Timeout(() -> { });
+            wheel.schedule(timeouts[i], 1 + random.nextInt(HORIZON));
+        }
+    }
+
+    @Benchmark
+    public int reschedule() {
+        Timeout timeout = timeouts[next++ % timers];
+        wheel.schedule(timeout, tick + 1 + random.nextInt(HORIZON));
+        return wheel.size();
+    }
+
+    @Benchmark
+    public int cancelAndSchedule() {
+        Timeout timeout = timeouts[next++ % timers];
+        wheel.cancel(timeout);
+        wheel.schedule(timeout, tick + 1 + random.nextInt(HORIZON));
+        return wheel.size();
+    }
+
+    @Benchmark
+    public int advance() {
+        int count = wheel.advance(++tick, expired);
+        for (Timeout timeout : expired) {
+            wheel.schedule(timeout, tick + 1 + random.nextInt(HORIZON));
+        }
+        expired.clear();
+        return count;
+    }
+
+}
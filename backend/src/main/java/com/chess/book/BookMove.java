@@ -0,0 +1,54 @@
+package com.chess.book;
+
+import com.chess.entity.board.Move;
+
+/**
+ * Um lance do livro de aberturas para uma posição.
+ */
+public class BookMove {
+
+    private final int move;
+    private final int weight;
+    private final long games;
+
+    /**
+     * @param move O lance codificado (ver {@link Move}).
+     * @param weight O peso do lance entre os lances da posição.
+     * @param games Em quantas partidas da coleção o lance foi jogado.
+     */
+    public BookMove(int move, int weight, long games) {
+        this.move = move;
+        this.weight = weight;
+        this.games = games;
+    }
+
+    /**
+     * Retorna o lance em notação de coordenadas (ex: "e2e4").
+     */
+    public String getMove() {
+        return Move.toString(move);
+    }
+
+    /**
+     * Retorna o lance codificado (ver {@link Move}).
+     */
+    public int getMoveCode() {
+        return move;
+    }
+
+    /**
+     * Retorna o peso do lance: proporcional a 2 pontos por vitória e 1 por
+     * empate de quem jogou o lance.
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Retorna em quantas partidas da coleção o lance foi jogado.
+     */
+    public long getGames() {
+        return games;
+    }
+
+}
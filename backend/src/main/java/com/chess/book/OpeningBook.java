@@ -0,0 +1,146 @@
+package com.chess.book;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Livro de aberturas em arquivo binário, mapeado em memória e consultado por
+ * busca binária.
+ * <p>
+ * O formato segue o do Polyglot: registros de {@value #ENTRY_SIZE} bytes
+ * (big-endian), ordenados pela chave sem sinal e, na mesma chave, pelo peso
+ * decrescente:
+ * <pre>
+ * 0-7 chave da posição | 8-9 lance | 10-11 peso (sem sinal) | 12-15 partidas
+ * </pre>
+ * A chave é a chave de Zobrist do tabuleiro ({@link BitBoard#getKey()}) e o
+ * lance segue {@link Move}; por isso os arquivos não são intercambiáveis com
+ * os do Polyglot, que usa outras chaves e outra codificação de lances. O campo
+ * de aprendizado do Polyglot guarda aqui o número de partidas.
+ * <p>
+ * O arquivo não é lido para o heap: abrir custa só o mapeamento, e cada
+ * consulta lê as páginas que a busca binária visita. As leituras usam posições
+ * absolutas, e o livro pode ser consultado por várias threads. O tamanho é
+ * limitado a 2 GB (um único mapeamento).
+ */
+public class OpeningBook {
+
+    public static final int ENTRY_SIZE = 16;
+
+    private final MappedByteBuffer buffer;
+    private final int entries;
+
+    private OpeningBook(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.entries = buffer.capacity() / ENTRY_SIZE;
+    }
+
+    /**
+     * Abre o livro; o mapeamento continua válido depois que o arquivo é fechado.
+     *
+     * @throws IOException se o arquivo não puder ser lido ou não for um livro válido.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_SIZE != 0 || size > Integer.MAX_VALUE) {
+                throw new IOException("Livro de aberturas inválido (" + size + " bytes): " + file);
+            }
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Retorna os lances do livro para a posição, do maior para o menor peso.
+     * <p>
+     * Só entram os lances legais na posição, o que descarta os de uma posição
+     * diferente com a mesma chave.
+     */
+    public List<BookMove> probe(BitBoard board) {
+        if (board == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        long key = board.getKey();
+        List<BookMove> moves = new ArrayList<>();
+        MoveList legal = null;
+        for (int index = lowerBound(key); index < entries && keyAt(index) == key; index++) {
+            int offset = index * ENTRY_SIZE;
+            int move = buffer.getShort(offset + 8) & 0xFFFF;
+            if (legal == null) {
+                legal = new MoveList();
+                LegalMoveGenerator.generate(board, legal);
+            }
+            if (legal.contains(move)) {
+                moves.add(new BookMove(move, buffer.getShort(offset + 10) & 0xFFFF,
+                    buffer.getInt(offset + 12) & 0xFFFFFFFFL));
+            }
+        }
+        // O arquivo já vem ordenado; a ordenação só protege de livros gerados por outras ferramentas
+        moves.sort(Comparator.comparingInt(BookMove::getWeight).reversed());
+        return moves;
+    }
+
+    /**
+     * Sorteia um lance do livro para a posição, com probabilidade proporcional ao peso.
+     *
+     * @return O lance codificado (ver {@link Move}), ou {@link Move#NONE} se a
+     * posição não estiver no livro.
+     */
+    public int pick(BitBoard board, RandomGenerator random) {
+        List<BookMove> moves = probe(board);
+        long total = 0;
+        for (BookMove move : moves) {
+            total += move.getWeight();
+        }
+        if (total == 0) return Move.NONE;
+
+        long target = random.nextLong(total);
+        for (BookMove move : moves) {
+            target -= move.getWeight();
+            if (target < 0) return move.getMoveCode();
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Retorna o número de registros (pares posição e lance).
+     */
+    public int size() {
+        return entries;
+    }
+
+    // Primeiro registro com chave maior ou igual à procurada (ordem sem sinal)
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = entries;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return buffer.getLong(index * ENTRY_SIZE);
+    }
+
+}
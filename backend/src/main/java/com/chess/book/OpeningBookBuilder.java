@@ -0,0 +1,172 @@
+package com.chess.book;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.pgn.GameSink;
+import com.chess.pgn.ImportedGame;
+import com.chess.pgn.PgnImporter;
+import com.chess.utils.FenUtils;
+
+/**
+ * Monta um {@link OpeningBook} a partir das partidas de uma coleção PGN.
+ * <p>
+ * É o destino de uma importação ({@link PgnImporter}): para cada partida com
+ * resultado, conta os lances jogados nos primeiros {@code maxPly} meios-lances
+ * e o resultado para quem jogou cada um. Ao gravar, ficam só os pares posição e
+ * lance jogados em ao menos {@code minGames} partidas, com peso de 2 pontos por
+ * vitória e 1 por empate; lances que só perderam (peso 0) ficam de fora. Se o
+ * maior peso de uma posição passar de 16 bits, os pesos da posição são
+ * reduzidos na mesma proporção.
+ * <p>
+ * As contagens ficam no heap até a gravação; o limite de meios-lances limita
+ * também a memória.
+ */
+public class OpeningBookBuilder implements GameSink {
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+    private static final BitBoard INITIAL = BitBoard.initial();
+
+    private final int maxPly;
+    private final int minGames;
+    private final Map<Long, Stats> positions = new HashMap<>();
+    private long games;
+    private long skipped;
+
+    /**
+     * @param maxPly Quantos meios-lances de cada partida entram no livro (ao menos 1).
+     * @param minGames Em quantas partidas um lance precisa ter sido jogado para entrar no livro (ao menos 1).
+     */
+    public OpeningBookBuilder(int maxPly, int minGames) {
+        if (maxPly < 1 || minGames < 1) {
+            throw new IllegalArgumentException("Meios-lances e mínimo de partidas devem ser positivos.");
+        }
+        this.maxPly = maxPly;
+        this.minGames = minGames;
+    }
+
+    @Override
+    public void accept(ImportedGame game) {
+        String result = game.getResult();
+        // Sem resultado não há como pesar os lances
+        if (!result.equals("1-0") && !result.equals("0-1") && !result.equals("1/2-1/2")) {
+            skipped++;
+            return;
+        }
+        Color winner = result.equals("1-0") ? Color.WHITE : result.equals("0-1") ? Color.BLACK : null;
+        games++;
+
+        String fen = game.getStartFen();
+        BitBoard board = fen == null ? new BitBoard(INITIAL) : FenUtils.parse(fen);
+        int[] moves = game.getMoves();
+        for (int ply = 0; ply < Math.min(maxPly, moves.length); ply++) {
+            Stats stats = statsOf(board.getKey(), moves[ply]);
+            stats.games++;
+            if (winner == null) {
+                stats.points += 1;
+            } else if (winner == board.getSideToMove()) {
+                stats.points += 2;
+            }
+            board.makeMove(moves[ply]);
+        }
+    }
+
+    /**
+     * Grava o livro no arquivo, substituindo-o; o arquivo só aparece completo.
+     *
+     * @return O número de registros gravados.
+     * @throws IOException se a gravação falhar.
+     */
+    public long write(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        List<Long> keys = new ArrayList<>(positions.keySet());
+        keys.sort(Long::compareUnsigned);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long written = 0;
+        List<Stats> selected = new ArrayList<>();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            for (long key : keys) {
+                selected.clear();
+                long maxPoints = 0;
+                for (Stats stats = positions.get(key); stats != null; stats = stats.next) {
+                    if (stats.games < minGames || stats.points == 0) continue;
+                    selected.add(stats);
+                    maxPoints = Math.max(maxPoints, stats.points);
+                }
+                selected.sort((a, b) -> Long.compare(b.points, a.points));
+
+                for (Stats stats : selected) {
+                    long weight = maxPoints <= MAX_WEIGHT ? stats.points
+                        : Math.max(1, stats.points * MAX_WEIGHT / maxPoints);
+                    out.writeLong(key);
+                    out.writeShort(stats.move);
+                    out.writeShort((int) weight);
+                    out.writeInt((int) Math.min(stats.games, 0xFFFFFFFFL));
+                    written++;
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    private Stats statsOf(long key, int move) {
+        Stats first = positions.get(key);
+        for (Stats stats = first; stats != null; stats = stats.next) {
+            if (stats.move == move) return stats;
+        }
+        Stats stats = new Stats(move, first);
+        positions.put(key, stats);
+        return stats;
+    }
+
+    /**
+     * Retorna quantas partidas entraram nas contagens.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Retorna quantas partidas foram ignoradas por não terem resultado.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Retorna quantas posições distintas foram vistas (antes do filtro de partidas).
+     */
+    public int getPositions() {
+        return positions.size();
+    }
+
+    /**
+     * Contagens de um lance em uma posição; os lances da mesma posição formam uma lista ligada.
+     */
+    private static class Stats {
+        final int move;
+        final Stats next;
+        long games;
+        long points;
+
+        Stats(int move, Stats next) {
+            this.move = move;
+            this.next = next;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.chess.book;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.chess.pgn.ImportResult;
+import com.chess.pgn.PgnImporter;
+
+/**
+ * Monta um livro de aberturas pela linha de comando, a partir de uma coleção PGN.
+ * <p>
+ * Uso:
+ * <pre>
+ * OpeningBookCli PARTIDAS.pgn LIVRO.bin [--min-games N] [--max-ply N] [--threads N]
+ * </pre>
+ * Por padrão entram os lances dos primeiros 24 meios-lances jogados em ao menos 3 partidas.
+ */
+public class OpeningBookCli {
+
+    public static void main(String[] args) throws IOException {
+        Path input = null;
+        Path output = null;
+        int minGames = 3;
+        int maxPly = 24;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--min-games" -> minGames = Integer.parseInt(value(args, ++i));
+                case "--max-ply" -> maxPly = Integer.parseInt(value(args, ++i));
+                case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                default -> {
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+                    if (input == null) {
+                        input = Path.of(args[i]);
+                    } else {
+                        output = Path.of(args[i]);
+                    }
+                }
+            }
+        }
+        if (input == null || output == null) {
+            throw new IllegalArgumentException("Informe o arquivo PGN e o arquivo do livro.");
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPly, minGames);
+        ImportResult result = new PgnImporter(threads, 1024).run(input, builder);
+        long start = System.nanoTime();
+        long entries = builder.write(output);
+
+        System.out.println(result);
+        System.out.printf("%d partidas no livro (%d sem resultado), %d posições, %d registros gravados em %.1f ms%n",
+            builder.getGames(), builder.getSkipped(), builder.getPositions(), entries,
+            (System.nanoTime() - start) / 1e6);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valor ausente para " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.chess.broadcast;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribuição dos quadros das salas aos jogadores e espectadores conectados.
+ * <p>
+ * Cada atualização é codificada uma vez por quem publica e o mesmo buffer é
+ * compartilhado por todas as conexões. Publicar não envia nada: grava o quadro
+ * no canal da sala (ver {@link RoomChannel}), acorda as conexões dos jogadores
+ * e entrega a uma tarefa separada a tarefa de acordar os espectadores. O custo
+ * para a thread do lance, portanto, não cresce com o número de espectadores, e
+ * nenhuma conexão lenta a bloqueia.
+ * <p>
+ * Os envios rodam em threads virtuais, uma tarefa por conexão com quadros
+ * pendentes (ver {@link Subscription}).
+ */
+public class FanOut implements AutoCloseable {
+
+    private final Map<Long, RoomChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int capacity;
+
+    // Métricas
+    private final LongAdder subscribed = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder publishedBytes = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveredBytes = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param capacity Quantos lances uma conexão pode ficar para trás antes de
+     * ser fechada; arredondado para cima a uma potência de 2.
+     */
+    public FanOut(int capacity) {
+        if (capacity < 1 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Inscreve a conexão no canal da sala. Ela só recebe quadros do canal
+     * depois do primeiro {@link Subscription#resync}.
+     *
+     * @param player {@code true} para conexões de jogadores, acordadas na própria thread que publica.
+     */
+    public Subscription subscribe(long roomId, FrameSink sink, boolean player) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        Subscription[] subscription = new Subscription[1];
+        channels.compute(roomId, (id, channel) -> {
+            if (channel == null) channel = new RoomChannel(capacity);
+            subscription[0] = new Subscription(this, channel, roomId, sink, player);
+            (player ? channel.players : channel.spectators).add(subscription[0]);
+            return channel;
+        });
+        subscribed.increment();
+        return subscription[0];
+    }
+
+    /**
+     * Publica um quadro para todas as conexões da sala.
+     * <p>
+     * Chamado com a trava da sala, para que os quadros sigam a ordem dos lances.
+     *
+     * @param frame O quadro, entre a posição e o limite do buffer; não deve mais ser alterado.
+     * @param coalescible {@code true} se o quadro pode ser omitido para quem ainda
+     * tem um quadro posterior pendente (relógios); lances nunca são.
+     */
+    public void publish(long roomId, ByteBuffer frame, boolean coalescible) {
+        RoomChannel channel = channels.get(roomId);
+        if (channel == null) return;
+        channel.publish(frame, coalescible);
+        published.increment();
+        publishedBytes.add(frame.remaining());
+
+        for (Subscription player : channel.players) {
+            player.wake();
+        }
+        if (!channel.spectators.isEmpty()) channel.dispatch(this::execute);
+    }
+
+    void unsubscribe(Subscription subscription) {
+        channels.computeIfPresent(subscription.getRoomId(), (id, channel) -> {
+            (subscription.isPlayer() ? channel.players : channel.spectators).remove(subscription);
+            return channel.isEmpty() ? null : channel;
+        });
+    }
+
+    void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Encerrado: nada mais é enviado
+        }
+    }
+
+    void delivered(int bytes) {
+        delivered.increment();
+        deliveredBytes.add(bytes);
+    }
+
+    void coalesced(long count) {
+        coalesced.add(count);
+    }
+
+    void overflowed() {
+        overflows.increment();
+    }
+
+    void failed() {
+        failures.increment();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna um retrato das métricas da distribuição.
+     */
+    public FanOutMetrics getMetrics() {
+        int rooms = 0;
+        int players = 0;
+        int spectators = 0;
+        for (RoomChannel channel : channels.values()) {
+            rooms++;
+            players += channel.players.size();
+            spectators += channel.spectators.size();
+        }
+        return new FanOutMetrics(rooms, players, spectators, capacity, subscribed.sum(),
+            published.sum(), publishedBytes.sum(), delivered.sum(), deliveredBytes.sum(),
+            coalesced.sum(), overflows.sum(), failures.sum());
+    }
+
+}
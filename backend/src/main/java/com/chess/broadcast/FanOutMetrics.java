@@ -0,0 +1,110 @@
+package com.chess.broadcast;
+
+/**
+ * Retrato das métricas da distribuição de quadros ({@link FanOut}).
+ */
+public class FanOutMetrics {
+
+    private final int rooms;
+    private final int players;
+    private final int spectators;
+    private final int capacity;
+    private final long subscribed;
+    private final long published;
+    private final long publishedBytes;
+    private final long delivered;
+    private final long deliveredBytes;
+    private final long coalesced;
+    private final long overflows;
+    private final long failures;
+
+    public FanOutMetrics(int rooms, int players, int spectators, int capacity, long subscribed,
+                         long published, long publishedBytes, long delivered, long deliveredBytes,
+                         long coalesced, long overflows, long failures) {
+        this.rooms = rooms;
+        this.players = players;
+        this.spectators = spectators;
+        this.capacity = capacity;
+        this.subscribed = subscribed;
+        this.published = published;
+        this.publishedBytes = publishedBytes;
+        this.delivered = delivered;
+        this.deliveredBytes = deliveredBytes;
+        this.coalesced = coalesced;
+        this.overflows = overflows;
+        this.failures = failures;
+    }
+
+    /**
+     * Retorna o número de salas com alguma conexão.
+     */
+    public int getRooms() {
+        return rooms;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public int getSpectators() {
+        return spectators;
+    }
+
+    /**
+     * Retorna quantos lances uma conexão pode ficar para trás antes de ser fechada.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna quantas inscrições foram feitas desde o início.
+     */
+    public long getSubscribed() {
+        return subscribed;
+    }
+
+    /**
+     * Retorna quantos quadros foram publicados (codificados uma vez cada).
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    public long getPublishedBytes() {
+        return publishedBytes;
+    }
+
+    /**
+     * Retorna quantos quadros foram enviados, somando todas as conexões.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getDeliveredBytes() {
+        return deliveredBytes;
+    }
+
+    /**
+     * Retorna quantos quadros de relógio foram omitidos por já haver um posterior pendente.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Retorna quantas conexões foram fechadas por ficarem para trás demais.
+     */
+    public long getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Retorna quantas conexões foram fechadas por falha no envio.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+}
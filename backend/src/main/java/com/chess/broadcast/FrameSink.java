@@ -0,0 +1,27 @@
+package com.chess.broadcast;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Destino dos quadros de uma inscrição: normalmente uma conexão WebSocket.
+ * <p>
+ * {@link #send} nunca é chamado por duas threads ao mesmo tempo para o mesmo destino.
+ */
+public interface FrameSink {
+
+    /**
+     * Envia o quadro, bloqueando até que seja escrito.
+     *
+     * @param frame O quadro, entre a posição e o limite do buffer; pode ser consumido.
+     */
+    void send(ByteBuffer frame) throws IOException;
+
+    /**
+     * Fecha o destino.
+     *
+     * @param reason O motivo informado ao cliente.
+     */
+    void close(String reason);
+
+}
@@ -0,0 +1,127 @@
+package com.chess.broadcast;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Canal de uma sala: os últimos quadros publicados e as inscrições.
+ * <p>
+ * Os quadros que não podem ser omitidos (lances) ficam em um anel; cada
+ * inscrição guarda a posição do próximo que vai enviar. Dos quadros agrupáveis
+ * (relógios) o canal guarda só o último. Publicar só escreve no canal: quem o
+ * acompanha lê no próprio ritmo. Todos os quadros recebem um número de
+ * sequência, que define a ordem entre o anel e o último relógio.
+ */
+class RoomChannel {
+
+    private final AtomicReferenceArray<Frame> ring;
+    private final int mask;
+    private volatile long head;
+    private volatile Frame latest;
+    private long sequence;
+    private long coalescibleCount;
+
+    final Set<Subscription> players = ConcurrentHashMap.newKeySet();
+    final Set<Subscription> spectators = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /**
+     * @param capacity Tamanho do anel, potência de 2.
+     */
+    RoomChannel(int capacity) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    synchronized void publish(ByteBuffer buffer, boolean coalescible) {
+        if (coalescible) {
+            latest = new Frame(sequence++, buffer, ++coalescibleCount);
+            return;
+        }
+        long position = head;
+        ring.set((int) position & mask, new Frame(sequence++, buffer, position));
+        // Escrita volátil depois do quadro: quem lê a cabeça enxerga o quadro
+        head = position + 1;
+    }
+
+    /**
+     * Retorna a posição no anel do próximo quadro a ser publicado.
+     */
+    long head() {
+        return head;
+    }
+
+    /**
+     * Retorna o último quadro agrupável publicado, ou {@code null}.
+     */
+    Frame latest() {
+        return latest;
+    }
+
+    /**
+     * Retorna o número de sequência do último quadro publicado (-1 se nenhum).
+     */
+    synchronized long lastSequence() {
+        return sequence - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Retorna o quadro na posição do anel, ou {@code null} se ele já foi sobrescrito.
+     */
+    Frame frame(long position) {
+        Frame frame = ring.get((int) position & mask);
+        return frame != null && frame.index == position ? frame : null;
+    }
+
+    boolean isEmpty() {
+        return players.isEmpty() && spectators.isEmpty();
+    }
+
+    /**
+     * Acorda as inscrições dos espectadores em uma tarefa do executor, fora da
+     * thread que publicou; publicações seguidas compartilham a mesma tarefa.
+     */
+    void dispatch(Executor executor) {
+        if (dispatching.compareAndSet(false, true)) {
+            executor.execute(this::wakeSpectators);
+        }
+    }
+
+    private void wakeSpectators() {
+        do {
+            long seen = lastSequence();
+            for (Subscription spectator : spectators) {
+                spectator.wake();
+            }
+            dispatching.set(false);
+            // Publicado durante a volta: as inscrições já acordadas leem até a cabeça
+            // sozinhas, mas as que terminaram antes precisam de outra volta
+            if (lastSequence() == seen) return;
+        } while (dispatching.compareAndSet(false, true));
+    }
+
+    /**
+     * Um quadro publicado.
+     */
+    static final class Frame {
+        final long sequence;
+        final ByteBuffer buffer;
+        // Posição no anel, ou quantos quadros agrupáveis já foram publicados
+        final long index;
+
+        Frame(long sequence, ByteBuffer buffer, long index) {
+            this.sequence = sequence;
+            this.buffer = buffer;
+            this.index = index;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.chess.broadcast;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Inscrição de uma conexão no canal de uma sala.
+ * <p>
+ * Os quadros são enviados por uma tarefa da própria inscrição, no máximo uma
+ * por vez, fora da thread que publicou: uma conexão lenta atrasa apenas a si
+ * mesma. A tarefa envia primeiro os quadros diretos ({@link #send}), depois os
+ * lances do canal, do ponto em que parou até a cabeça, e por fim o último
+ * relógio, se for posterior a eles: relógios intermediários são omitidos (os
+ * quadros de lance também levam os relógios). Se a conexão ficar para trás mais
+ * lances do que o anel do canal comporta, ela é fechada: lances nunca são
+ * descartados, e o cliente reconecta e recebe o tabuleiro inteiro.
+ * <p>
+ * A inscrição só recebe quadros do canal depois do primeiro {@link #resync}.
+ */
+public class Subscription {
+
+    private final FanOut fanOut;
+    private final RoomChannel channel;
+    private final long roomId;
+    private final FrameSink sink;
+    private final boolean player;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<ByteBuffer> direct = new ArrayDeque<>();
+    // Posição do próximo lance no anel (-1 antes do primeiro resync), número de
+    // sequência do último quadro coletado e quantos relógios já foram vistos
+    private long cursor = -1;
+    private long sequence = -1;
+    private long coalescibleSeen;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    Subscription(FanOut fanOut, RoomChannel channel, long roomId, FrameSink sink, boolean player) {
+        this.fanOut = fanOut;
+        this.channel = channel;
+        this.roomId = roomId;
+        this.sink = sink;
+        this.player = player;
+    }
+
+    /**
+     * Envia um quadro só a esta conexão (resposta a um pedido, por exemplo).
+     *
+     * @param frame O quadro, entre a posição e o limite do buffer (não é alterado).
+     */
+    public void send(ByteBuffer frame) {
+        lock.lock();
+        try {
+            direct.add(frame);
+        } finally {
+            lock.unlock();
+        }
+        wake();
+    }
+
+    /**
+     * Descarta os quadros ainda não enviados e envia o tabuleiro inteiro; os
+     * quadros do canal seguem a partir dele.
+     * <p>
+     * Deve ser chamado com a trava da sala, a mesma das publicações, para que o
+     * tabuleiro corresponda exatamente à cabeça do canal.
+     *
+     * @param snapshot O quadro com o estado atual da sala.
+     */
+    public void resync(ByteBuffer snapshot) {
+        lock.lock();
+        try {
+            direct.clear();
+            direct.add(snapshot);
+            RoomChannel.Frame latest = channel.latest();
+            cursor = channel.head();
+            sequence = channel.lastSequence();
+            coalescibleSeen = latest == null ? 0 : latest.index;
+        } finally {
+            lock.unlock();
+        }
+        wake();
+    }
+
+    /**
+     * Cancela a inscrição; quadros pendentes não são mais enviados.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        fanOut.unsubscribe(this);
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public boolean isPlayer() {
+        return player;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Agenda o envio, se ainda não houver um agendado.
+     */
+    void wake() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            fanOut.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<ByteBuffer> batch = new ArrayList<>();
+        while (true) {
+            batch.clear();
+            if (!collect(batch)) {
+                fanOut.overflowed();
+                close();
+                sink.close("Conexão lenta demais; reconecte para receber o tabuleiro.");
+                return;
+            }
+            if (batch.isEmpty()) {
+                scheduled.set(false);
+                // Um quadro pode ter chegado entre a coleta e a linha anterior
+                if (closed || !hasPending() || !scheduled.compareAndSet(false, true)) return;
+                continue;
+            }
+            for (ByteBuffer frame : batch) {
+                if (closed) return;
+                try {
+                    sink.send(frame.duplicate());
+                } catch (IOException | RuntimeException e) {
+                    fanOut.failed();
+                    close();
+                    sink.close(null);
+                    return;
+                }
+                fanOut.delivered(frame.remaining());
+            }
+        }
+    }
+
+    /**
+     * Junta os quadros pendentes.
+     *
+     * @return {@code false} se a conexão ficou para trás mais do que o anel comporta.
+     */
+    private boolean collect(List<ByteBuffer> batch) {
+        lock.lock();
+        try {
+            if (closed) return true;
+            batch.addAll(direct);
+            direct.clear();
+            if (cursor < 0) return true;
+
+            // O relógio é lido antes da cabeça: todo lance anterior a ele está no anel
+            RoomChannel.Frame latest = channel.latest();
+            long head = channel.head();
+            if (head - cursor > channel.capacity()) return false;
+            for (long position = cursor; position < head; position++) {
+                RoomChannel.Frame frame = channel.frame(position);
+                // Sobrescrito enquanto era lido
+                if (frame == null) return false;
+                batch.add(frame.buffer);
+                sequence = frame.sequence;
+            }
+            cursor = head;
+
+            if (latest != null && latest.index > coalescibleSeen) {
+                // Um lance posterior já leva os relógios e a situação mais recentes
+                boolean send = latest.sequence > sequence;
+                fanOut.coalesced(latest.index - coalescibleSeen - (send ? 1 : 0));
+                if (send) {
+                    batch.add(latest.buffer);
+                    sequence = latest.sequence;
+                }
+                coalescibleSeen = latest.index;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasPending() {
+        lock.lock();
+        try {
+            if (!direct.isEmpty()) return true;
+            RoomChannel.Frame latest = channel.latest();
+            return cursor >= 0 && (cursor != channel.head() || (latest != null && latest.index > coalescibleSeen));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.chess.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.chess.entity.board.BitBoard;
+
+/**
+ * Cache limitado dos lances legais por posição ({@link LegalMoves}), com
+ * descarte do menos usado recentemente.
+ * <p>
+ * A chave é a chave de Zobrist do tabuleiro, que inclui a cor que tem a vez,
+ * os roques e a casa de en passant (só quando há captura possível), isto é,
+ * tudo de que os lances legais dependem. As entradas são divididas em fatias
+ * pela chave; cada fatia é um {@link LinkedHashMap} em ordem de acesso, com a
+ * própria trava e um limite de entradas, e descarta a mais antiga ao passar
+ * dele. Leituras em fatias diferentes não disputam trava.
+ * <p>
+ * Os lances de uma posição ausente são gerados fora da trava; se duas threads
+ * gerarem a mesma posição ao mesmo tempo, a primeira a gravar vence e a outra
+ * usa a entrada gravada.
+ */
+public class LegalMoveCache {
+
+    // Entrada do LinkedHashMap e chave Long
+    private static final int ENTRY_OVERHEAD = 40 + 16;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int capacity;
+
+    // Métricas
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity Número máximo de posições, dividido igualmente entre as fatias.
+     * @param shards Número de fatias, arredondado para cima a uma potência de 2.
+     */
+    public LegalMoveCache(int capacity, int shards) {
+        if (shards < 1 || shards > 1 << 16) {
+            throw new IllegalArgumentException("Número de fatias inválido: " + shards);
+        }
+        int count = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        if (capacity < count) {
+            throw new IllegalArgumentException("Capacidade deve ser ao menos o número de fatias: " + capacity);
+        }
+        int perShard = (capacity + count - 1) / count;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard(perShard);
+        }
+        this.shardMask = count - 1;
+        this.capacity = perShard * count;
+    }
+
+    /**
+     * Retorna os lances legais da posição, gerando-os se ela não estiver no cache.
+     * <p>
+     * O tabuleiro só é lido; quem chama deve garantir que ele não mude durante a chamada.
+     */
+    public LegalMoves get(BitBoard board) {
+        if (board == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        long key = board.getKey();
+        Shard shard = shardOf(key);
+
+        LegalMoves moves;
+        shard.lock.lock();
+        try {
+            moves = shard.get(key);
+        } finally {
+            shard.lock.unlock();
+        }
+        if (moves != null) {
+            hits.increment();
+            return moves;
+        }
+
+        misses.increment();
+        LegalMoves generated = LegalMoves.of(board);
+        shard.lock.lock();
+        try {
+            moves = shard.putIfAbsent(key, generated);
+            if (moves == null) shard.bytes += ENTRY_OVERHEAD + generated.estimatedBytes();
+        } finally {
+            shard.lock.unlock();
+        }
+        return moves != null ? moves : generated;
+    }
+
+    /**
+     * Apaga todas as entradas; os contadores são mantidos.
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.clear();
+                shard.bytes = 0;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private Shard shardOf(long key) {
+        // A chave de Zobrist já é uniforme: os bits altos bastam
+        return shards[(int) (key >>> 48) & shardMask];
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna um retrato das métricas do cache.
+     */
+    public MoveCacheMetrics getMetrics() {
+        int size = 0;
+        long bytes = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.size();
+                bytes += shard.bytes;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new MoveCacheMetrics(size, capacity, shards.length, hitCount, missCount,
+            requests == 0 ? 0.0 : (double) hitCount / requests, evictions.sum(), bytes);
+    }
+
+    /**
+     * Uma fatia do cache: mapa em ordem de acesso, limitado a {@code capacity}
+     * entradas. Só é usado com a trava da fatia.
+     */
+    private class Shard extends LinkedHashMap<Long, LegalMoves> {
+        private static final long serialVersionUID = 1L;
+
+        final ReentrantLock lock = new ReentrantLock();
+        final int capacity;
+        long bytes;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, LegalMoves> eldest) {
+            if (size() <= capacity) return false;
+            bytes -= ENTRY_OVERHEAD + eldest.getValue().estimatedBytes();
+            evictions.increment();
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.chess.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Os lances legais de uma posição, agrupados pela casa de origem. Imutável.
+ * <p>
+ * Os lances ficam em um único {@code int[]}, ordenados pela origem; a máscara
+ * {@link #getOrigins()} marca as casas com algum lance, e o fim do grupo de
+ * cada uma fica em {@code ends}, na ordem das casas da máscara. O grupo de
+ * uma casa é achado com uma contagem de bits, sem busca.
+ */
+public class LegalMoves {
+
+    private final int[] moves;
+    private final long origins;
+    // Índice (sem sinal) do fim do grupo de cada origem; uma posição tem no máximo 218 lances
+    private final byte[] ends;
+
+    private LegalMoves(int[] moves, long origins, byte[] ends) {
+        this.moves = moves;
+        this.origins = origins;
+        this.ends = ends;
+    }
+
+    /**
+     * Gera os lances legais da cor que tem a vez.
+     */
+    public static LegalMoves of(Board board) {
+        MoveList generated = new MoveList();
+        LegalMoveGenerator.generate(board, generated);
+
+        // Ordenação por contagem das origens
+        int[] counts = new int[64];
+        long origins = 0;
+        for (int i = 0; i < generated.size(); i++) {
+            int from = Move.from(generated.get(i));
+            counts[from]++;
+            origins |= 1L << from;
+        }
+        byte[] ends = new byte[Long.bitCount(origins)];
+        int[] next = new int[64];
+        int end = 0;
+        int group = 0;
+        for (long bits = origins; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            next[from] = end;
+            end += counts[from];
+            ends[group++] = (byte) end;
+        }
+        int[] moves = new int[generated.size()];
+        for (int i = 0; i < generated.size(); i++) {
+            int move = generated.get(i);
+            moves[next[Move.from(move)]++] = move;
+        }
+        return new LegalMoves(moves, origins, ends);
+    }
+
+    /**
+     * Retorna o número de lances legais.
+     */
+    public int size() {
+        return moves.length;
+    }
+
+    /**
+     * Retorna a máscara das casas com peças que podem se mover.
+     */
+    public long getOrigins() {
+        return origins;
+    }
+
+    /**
+     * Retorna os lances da peça na casa (vazio se ela não puder se mover).
+     *
+     * @param from O índice da casa de origem (0-63).
+     */
+    public int[] from(int from) {
+        if ((origins & 1L << from) == 0) return new int[0];
+        int group = Long.bitCount(origins & ((1L << from) - 1));
+        int start = group == 0 ? 0 : ends[group - 1] & 0xFF;
+        int end = ends[group] & 0xFF;
+        int[] result = new int[end - start];
+        System.arraycopy(moves, start, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Retorna os lances da peça na casa em notação de coordenadas (ex: "e2e4", "e7e8q").
+     *
+     * @param from O índice da casa de origem (0-63).
+     */
+    public List<String> notationFrom(int from) {
+        int[] group = from(from);
+        List<String> notation = new ArrayList<>(group.length);
+        for (int move : group) {
+            notation.add(Move.toString(move));
+        }
+        return notation;
+    }
+
+    /**
+     * Retorna uma estimativa dos bytes ocupados no heap.
+     */
+    long estimatedBytes() {
+        // Cabeçalhos do objeto e dos dois arrays, mais os campos
+        return 16 + 8 + 8 + 16 + (long) moves.length * Integer.BYTES + 16 + ends.length;
+    }
+
+}
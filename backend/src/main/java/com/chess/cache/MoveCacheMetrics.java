@@ -0,0 +1,79 @@
+package com.chess.cache;
+
+/**
+ * Retrato das métricas do cache de lances legais ({@link LegalMoveCache}).
+ */
+public class MoveCacheMetrics {
+
+    private final int size;
+    private final int capacity;
+    private final int shards;
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long evictions;
+    private final long estimatedBytes;
+
+    public MoveCacheMetrics(int size, int capacity, int shards, long hits, long misses, double hitRatio,
+                            long evictions, long estimatedBytes) {
+        this.size = size;
+        this.capacity = capacity;
+        this.shards = shards;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Retorna quantas posições estão no cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Retorna quantas consultas encontraram a posição no cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retorna quantas consultas geraram os lances.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retorna a fração das consultas atendidas pelo cache (0 a 1).
+     */
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    /**
+     * Retorna quantas posições foram descartadas para abrir espaço.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Retorna uma estimativa dos bytes ocupados pelas entradas no heap.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.chess.clock;
+
+/**
+ * Retrato das métricas do agendador dos relógios ({@link ClockScheduler}).
+ */
+public class ClockMetrics {
+
+    private final int pending;
+    private final long scheduled;
+    private final long cancelled;
+    private final long fired;
+    private final double averageLatenessMillis;
+    private final double maxLatenessMillis;
+    private final long failures;
+    private final String lastError;
+
+    public ClockMetrics(int pending, long scheduled, long cancelled, long fired, double averageLatenessMillis,
+                        double maxLatenessMillis, long failures, String lastError) {
+        this.pending = pending;
+        this.scheduled = scheduled;
+        this.cancelled = cancelled;
+        this.fired = fired;
+        this.averageLatenessMillis = averageLatenessMillis;
+        this.maxLatenessMillis = maxLatenessMillis;
+        this.failures = failures;
+        this.lastError = lastError;
+    }
+
+    /**
+     * Retorna quantos prazos estão agendados (relógios correndo).
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Retorna quantas vezes um prazo foi agendado ou reagendado.
+     */
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Retorna quantos prazos venceram.
+     */
+    public long getFired() {
+        return fired;
+    }
+
+    /**
+     * Retorna o atraso médio entre o prazo e a execução da tarefa.
+     */
+    public double getAverageLatenessMillis() {
+        return averageLatenessMillis;
+    }
+
+    public double getMaxLatenessMillis() {
+        return maxLatenessMillis;
+    }
+
+    /**
+     * Retorna quantas tarefas falharam.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.chess.clock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Prazos de todos os relógios das partidas em uma única {@link TimingWheel}
+ * com ticks de 1 ms, avançada por uma thread dedicada.
+ * <p>
+ * Agendar, reagendar e cancelar são O(1), com uma trava mantida só durante a
+ * operação na roda. A thread acorda no início de cada milissegundo, retira os
+ * prazos vencidos e roda as tarefas fora da trava; as tarefas devem ser curtas
+ * e não bloquear (a de um relógio apenas repassa o fim da partida à sala).
+ * <p>
+ * O tempo é medido com {@link System#nanoTime()}, em milissegundos desde a
+ * criação do agendador ({@link #now()}).
+ */
+public class ClockScheduler implements AutoCloseable {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long epochNanos = System.nanoTime();
+    private final TimingWheel wheel = new TimingWheel(0);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    // Métricas
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder latenessNanos = new LongAdder();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+    private volatile String lastError;
+
+    /**
+     * Cria o agendador e inicia a thread da roda.
+     */
+    public ClockScheduler() {
+        this.thread = Thread.ofPlatform().name("relogios").daemon(true).start(this::run);
+    }
+
+    /**
+     * Retorna o instante atual, em milissegundos desde a criação do agendador.
+     */
+    public long now() {
+        return (System.nanoTime() - epochNanos) / TICK_NANOS;
+    }
+
+    /**
+     * Agenda o prazo; se já estiver agendado, troca o instante.
+     *
+     * @param deadlineMillis O instante do prazo (ver {@link #now()}).
+     */
+    public void schedule(Timeout timeout, long deadlineMillis) {
+        lock.lock();
+        try {
+            wheel.schedule(timeout, deadlineMillis);
+        } finally {
+            lock.unlock();
+        }
+        scheduled.increment();
+    }
+
+    /**
+     * Cancela o prazo.
+     *
+     * @return {@code true} se o prazo estava agendado.
+     */
+    public boolean cancel(Timeout timeout) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = wheel.cancel(timeout);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) cancelled.increment();
+        return removed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        List<Timeout> expired = new ArrayList<>();
+        long tick = 0;
+        while (!closed) {
+            // Dorme até o início do próximo milissegundo
+            long wake = epochNanos + (tick + 1) * TICK_NANOS;
+            long wait;
+            while ((wait = wake - System.nanoTime()) > 0 && !closed) {
+                LockSupport.parkNanos(wait);
+            }
+            tick = now();
+
+            lock.lock();
+            try {
+                wheel.advance(tick, expired);
+            } finally {
+                lock.unlock();
+            }
+            if (expired.isEmpty()) continue;
+
+            long firedNanos = System.nanoTime();
+            for (Timeout timeout : expired) {
+                long lateness = firedNanos - (epochNanos + timeout.deadline * TICK_NANOS);
+                latenessNanos.add(lateness);
+                maxLatenessNanos.accumulateAndGet(lateness, Math::max);
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    lastError = e.toString();
+                }
+            }
+            fired.add(expired.size());
+            expired.clear();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna um retrato das métricas do agendador.
+     */
+    public ClockMetrics getMetrics() {
+        int pending;
+        lock.lock();
+        try {
+            pending = wheel.size();
+        } finally {
+            lock.unlock();
+        }
+        long firedCount = fired.sum();
+        return new ClockMetrics(
+            pending,
+            scheduled.sum(),
+            cancelled.sum(),
+            firedCount,
+            firedCount == 0 ? 0.0 : latenessNanos.sum() / 1e6 / firedCount,
+            maxLatenessNanos.get() / 1e6,
+            failures.sum(),
+            lastError);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.chess.clock;
+
+import com.chess.entity.base.Color;
+
+/**
+ * Relógio de uma partida: o tempo restante de cada cor e o prazo de queda da
+ * bandeira de quem tem a vez, mantido no {@link ClockScheduler}.
+ * <p>
+ * Cada lance reagenda o mesmo {@link Timeout}, em O(1). A tarefa do prazo só
+ * avisa que a bandeira pode ter caído; quem a recebe confirma com
+ * {@link #isFlagged()} sob a trava da partida, já que um lance pode ter
+ * chegado no mesmo instante.
+ * <p>
+ * Não é seguro para uso por várias threads: é usado com a trava da sala.
+ */
+public class GameClock {
+
+    private final ClockScheduler scheduler;
+    private final TimeControl control;
+    private final Timeout timeout;
+    private long whiteMillis;
+    private long blackMillis;
+    private Color running;
+    private long turnStarted;
+
+    /**
+     * @param whiteMillis Tempo restante das brancas.
+     * @param blackMillis Tempo restante das pretas.
+     * @param onFlag Executada (na thread do agendador) quando o prazo de quem tem a vez vence.
+     */
+    public GameClock(ClockScheduler scheduler, TimeControl control, long whiteMillis, long blackMillis,
+                     Runnable onFlag) {
+        if (scheduler == null || control == null || onFlag == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        this.scheduler = scheduler;
+        this.control = control;
+        this.timeout = new Timeout(onFlag);
+        this.whiteMillis = whiteMillis;
+        this.blackMillis = blackMillis;
+    }
+
+    /**
+     * Põe o relógio da cor para correr.
+     */
+    public void start(Color side) {
+        running = side;
+        turnStarted = scheduler.now();
+        scheduler.schedule(timeout, deadline());
+    }
+
+    /**
+     * Registra o lance de quem tem a vez: desconta o tempo usado, soma o
+     * acréscimo e passa a vez. Um lance feito no mesmo milissegundo da queda
+     * da bandeira deixa o tempo em zero.
+     */
+    public void press() {
+        if (running == null) return;
+        long now = scheduler.now();
+        setRemaining(running, Math.max(0, remaining(running, now)) + control.getIncrementMillis());
+        running = running.opposite();
+        turnStarted = now;
+        scheduler.schedule(timeout, deadline());
+    }
+
+    /**
+     * Para o relógio (fim da partida), descontando o tempo da vez em andamento.
+     */
+    public void stop() {
+        if (running == null) return;
+        setRemaining(running, Math.max(0, remaining(running, scheduler.now())));
+        running = null;
+        scheduler.cancel(timeout);
+    }
+
+    /**
+     * Retorna {@code true} se o tempo de quem tem a vez acabou.
+     */
+    public boolean isFlagged() {
+        return running != null && remaining(running, scheduler.now()) <= 0;
+    }
+
+    /**
+     * Retorna a cor cujo relógio corre, ou {@code null} se estiver parado.
+     */
+    public Color getRunning() {
+        return running;
+    }
+
+    /**
+     * Retorna o tempo restante da cor agora, em milissegundos (nunca negativo).
+     */
+    public long getRemaining(Color side) {
+        return Math.max(0, side == running ? remaining(side, scheduler.now()) : remainingOf(side));
+    }
+
+    public TimeControl getControl() {
+        return control;
+    }
+
+    private long remaining(Color side, long now) {
+        long used = Math.max(0, now - turnStarted - control.getDelayMillis());
+        return remainingOf(side) - used;
+    }
+
+    private long deadline() {
+        return turnStarted + control.getDelayMillis() + remainingOf(running);
+    }
+
+    private long remainingOf(Color side) {
+        return side.isWhite() ? whiteMillis : blackMillis;
+    }
+
+    private void setRemaining(Color side, long millis) {
+        if (side.isWhite()) {
+            whiteMillis = millis;
+        } else {
+            blackMillis = millis;
+        }
+    }
+
+}
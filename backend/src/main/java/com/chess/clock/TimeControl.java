@@ -0,0 +1,42 @@
+package com.chess.clock;
+
+/**
+ * Controle de tempo de uma partida: tempo inicial, acréscimo por lance
+ * (Fischer) e atraso antes de o relógio começar a descontar (delay simples).
+ */
+public class TimeControl {
+
+    private final int initialMillis;
+    private final int incrementMillis;
+    private final int delayMillis;
+
+    /**
+     * @throws IllegalArgumentException se o tempo inicial não for positivo ou o acréscimo e o atraso forem negativos.
+     */
+    public TimeControl(int initialMillis, int incrementMillis, int delayMillis) {
+        if (initialMillis < 1 || incrementMillis < 0 || delayMillis < 0) {
+            throw new IllegalArgumentException("Controle de tempo inválido: " + initialMillis + "+" + incrementMillis);
+        }
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        this.delayMillis = delayMillis;
+    }
+
+    public int getInitialMillis() {
+        return initialMillis;
+    }
+
+    public int getIncrementMillis() {
+        return incrementMillis;
+    }
+
+    public int getDelayMillis() {
+        return delayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return initialMillis / 1000 + "+" + incrementMillis / 1000;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.chess.clock;
+
+/**
+ * Um prazo na {@link TimingWheel}: a tarefa e o instante em que deve rodar.
+ * <p>
+ * É um nó de lista duplamente encadeada, sem alocação ao agendar de novo: o
+ * mesmo objeto é reagendado a cada lance da partida.
+ */
+public class Timeout {
+
+    final Runnable task;
+    long deadline;
+    Timeout prev;
+    Timeout next;
+
+    /**
+     * @param task A tarefa executada quando o prazo vence.
+     */
+    public Timeout(Runnable task) {
+        this.task = task;
+    }
+
+    /**
+     * Retorna o instante do prazo, em ticks da roda.
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Retorna {@code true} se o prazo está agendado e ainda não venceu.
+     */
+    public boolean isScheduled() {
+        return next != null;
+    }
+
+    // Cabeça de uma lista vazia (sentinela)
+    static Timeout sentinel() {
+        Timeout head = new Timeout(null);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    void linkBefore(Timeout head) {
+        prev = head.prev;
+        next = head;
+        head.prev.next = this;
+        head.prev = this;
+    }
+
+    void unlink() {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.chess.clock;
+
+import java.util.List;
+
+/**
+ * Roda de tempo hierárquica: agenda, reagenda e cancela prazos em O(1).
+ * <p>
+ * O tempo avança em ticks inteiros. A roda principal tem {@value #ROOT_SIZE}
+ * posições, uma por tick; acima dela, {@value #LEVELS} níveis de
+ * {@value #LEVEL_SIZE} posições, cada posição cobrindo uma volta inteira do
+ * nível de baixo. Um prazo entra no nível mais baixo que o alcança; quando a
+ * roda de baixo completa a volta, a posição seguinte do nível de cima é
+ * redistribuída para baixo. Avançar um tick custa os prazos vencidos mais os
+ * redistribuídos, não o total agendado.
+ * <p>
+ * Prazos além do alcance da roda (2^26 ticks, cerca de 18 horas com ticks de
+ * 1 ms) ficam na última posição alcançável e são reagendados ao chegar lá.
+ * <p>
+ * Não é segura para uso por várias threads (ver {@link ClockScheduler}).
+ */
+public class TimingWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final int LEVELS = 3;
+    private static final long MAX_DELTA = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private final Timeout[] root = sentinels(ROOT_SIZE);
+    private final Timeout[][] levels = new Timeout[LEVELS][];
+    private long nextTick;
+    private int size;
+
+    /**
+     * @param startTick O primeiro tick a ser processado.
+     */
+    public TimingWheel(long startTick) {
+        for (int level = 0; level < LEVELS; level++) {
+            levels[level] = sentinels(LEVEL_SIZE);
+        }
+        this.nextTick = startTick;
+    }
+
+    /**
+     * Agenda o prazo; se já estiver agendado, troca o instante.
+     *
+     * @param deadline O tick do prazo; um tick já passado vence no próximo avanço.
+     */
+    public void schedule(Timeout timeout, long deadline) {
+        if (timeout == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (timeout.isScheduled()) {
+            timeout.unlink();
+        } else {
+            size++;
+        }
+        timeout.deadline = deadline;
+        insert(timeout);
+    }
+
+    /**
+     * Cancela o prazo.
+     *
+     * @return {@code true} se o prazo estava agendado.
+     */
+    public boolean cancel(Timeout timeout) {
+        if (timeout == null || !timeout.isScheduled()) return false;
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Processa os ticks até {@code tick}, inclusive, e retira os prazos vencidos.
+     *
+     * @param expired Recebe os prazos vencidos, na ordem dos ticks.
+     * @return O número de prazos vencidos.
+     */
+    public int advance(long tick, List<Timeout> expired) {
+        int count = 0;
+        while (nextTick <= tick) {
+            int index = (int) nextTick & ROOT_MASK;
+            // Fim da volta: a próxima posição de cada nível desce, até um nível que não deu a volta
+            if (index == 0) {
+                for (int level = 0; level < LEVELS; level++) {
+                    int slot = (int) (nextTick >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK;
+                    cascade(levels[level][slot]);
+                    if (slot != 0) break;
+                }
+            }
+            long current = nextTick++;
+
+            Timeout head = root[index];
+            Timeout timeout = detach(head);
+            while (timeout != head) {
+                Timeout next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                if (timeout.deadline > current) {
+                    // Prazo além do alcance, guardado no limite da roda
+                    insert(timeout);
+                } else {
+                    size--;
+                    expired.add(timeout);
+                    count++;
+                }
+                timeout = next;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retorna o próximo tick a ser processado.
+     */
+    public long getNextTick() {
+        return nextTick;
+    }
+
+    /**
+     * Retorna o número de prazos agendados.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(Timeout timeout) {
+        long delta = timeout.deadline - nextTick;
+        Timeout head;
+        if (delta < 0) {
+            // Já vencido: sai no próximo tick processado
+            head = root[(int) nextTick & ROOT_MASK];
+        } else if (delta < ROOT_SIZE) {
+            head = root[(int) timeout.deadline & ROOT_MASK];
+        } else {
+            long expires = delta > MAX_DELTA ? nextTick + MAX_DELTA : timeout.deadline;
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= 1L << (ROOT_BITS + (level + 1) * LEVEL_BITS)) {
+                level++;
+            }
+            head = levels[level][(int) (expires >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK];
+        }
+        timeout.linkBefore(head);
+    }
+
+    private void cascade(Timeout head) {
+        Timeout timeout = detach(head);
+        while (timeout != head) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    // Esvazia a lista e retorna o primeiro nó; o último continua apontando para a cabeça
+    private static Timeout detach(Timeout head) {
+        Timeout first = head.next;
+        head.prev = head;
+        head.next = head;
+        return first;
+    }
+
+    private static Timeout[] sentinels(int count) {
+        Timeout[] heads = new Timeout[count];
+        for (int i = 0; i < count; i++) {
+            heads[i] = Timeout.sentinel();
+        }
+        return heads;
+    }
+
+}
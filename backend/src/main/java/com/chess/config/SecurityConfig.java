@@ -0,0 +1,43 @@
+package com.chess.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Regras de acesso HTTP.
+ * <p>
+ * São públicas apenas as rotas que os jogadores usam e que custam pouco por
+ * requisição: consultas, as jogadas das salas (cada jogador prova o lugar com
+ * o token secreto recebido ao criar a sala ou entrar nela), o WebSocket das
+ * salas e o oponente artificial, cujas buscas o {@code EngineService} limita.
+ * A importação de PGN, o perft, a parada de uma busca do oponente (identificada
+ * por um nome de partida escolhido pelo cliente) e qualquer rota nova exigem
+ * autenticação. A API não usa CSRF: não há sessão nem cookie de login que um
+ * site de terceiros possa reaproveitar.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    private static final String[] PUBLIC_READS = {"/api/rooms/**", "/api/games/*", "/api/engine/**", "/ws/rooms/*"};
+    // Criar a sala, entrar, sair, jogar e abandonar
+    private static final String[] PUBLIC_ACTIONS = {"/api/rooms", "/api/rooms/*/*"};
+    private static final String[] API_PATHS = {"/api/**", "/ws/**"};
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(requests -> requests
+                .requestMatchers(HttpMethod.GET, PUBLIC_READS).permitAll()
+                .requestMatchers(HttpMethod.POST, PUBLIC_ACTIONS).permitAll()
+                .anyRequest().authenticated())
+            .csrf(csrf -> csrf.ignoringRequestMatchers(API_PATHS))
+            .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.chess.controller;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chess.book.BookMove;
+import com.chess.engine.SearchResult;
+import com.chess.service.EngineService;
+import com.chess.tablebase.TablebaseResult;
+
+/**
+ * Endpoints do oponente artificial.
+ */
+@RestController
+@RequestMapping("/api/engine")
+public class EngineController {
+
+    private final EngineService engineService;
+
+    public EngineController(EngineService engineService) {
+        this.engineService = engineService;
+    }
+
+    /**
+     * Busca o melhor lance: {@code GET /api/engine/search?fen=...&depth=12&timeMs=1000&threads=4}
+     * <p>
+     * Posições do livro de aberturas são respondidas sem busca, a menos que {@code book=false};
+     * posições das tabelas de finais, sempre. Com {@code game=...}, a busca pode ser parada por
+     * {@link #stop(String)} e substitui a busca anterior da mesma partida.
+     */
+    @GetMapping("/search")
+    public SearchResult search(@RequestParam String fen,
+                               @RequestParam(defaultValue = "64") int depth,
+                               @RequestParam(defaultValue = "50000000") long nodes,
+                               @RequestParam(defaultValue = "1000") long timeMs,
+                               @RequestParam(defaultValue = "1") int threads,
+                               @RequestParam(defaultValue = "true") boolean book,
+                               @RequestParam(required = false) String game) {
+        return engineService.search(fen, depth, nodes, timeMs, threads, book, game);
+    }
+
+    /**
+     * Para a busca em andamento da partida: {@code POST /api/engine/search/{game}/stop}
+     * <p>
+     * A requisição da busca responde em seguida com o melhor lance encontrado até ali. Exige
+     * autenticação: o nome da partida é escolhido pelo cliente e não prova quem iniciou a busca.
+     */
+    @PostMapping("/search/{game}/stop")
+    public void stop(@PathVariable String game) {
+        engineService.stop(game);
+    }
+
+    /**
+     * Lances do livro de aberturas para a posição, com pesos: {@code GET /api/engine/book?fen=...}
+     */
+    @GetMapping("/book")
+    public List<BookMove> book(@RequestParam String fen) {
+        return engineService.bookMoves(fen);
+    }
+
+    /**
+     * Resultado exato e melhor lance de um final de poucas peças: {@code GET /api/engine/tablebase?fen=...}
+     */
+    @GetMapping("/tablebase")
+    public TablebaseResult tablebase(@RequestParam String fen) {
+        return engineService.probeTablebase(fen);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Sem vaga para mais uma busca
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.chess.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.chess.game.GameDetails;
+import com.chess.game.WriteBehindMetrics;
+import com.chess.pgn.ImportResult;
+import com.chess.service.GameService;
+import com.chess.service.MovePersistenceService;
+
+/**
+ * Endpoints do histórico de partidas.
+ */
+@RestController
+@RequestMapping("/api/games")
+public class GameController {
+
+    private final GameService gameService;
+    private final MovePersistenceService movePersistenceService;
+
+    public GameController(GameService gameService, MovePersistenceService movePersistenceService) {
+        this.gameService = gameService;
+        this.movePersistenceService = movePersistenceService;
+    }
+
+    /**
+     * Carrega uma partida: {@code GET /api/games/42}
+     */
+    @GetMapping("/{id}")
+    public GameDetails load(@PathVariable long id) {
+        return gameService.load(id);
+    }
+
+    /**
+     * Importa um arquivo PGN (multipart, campo "file"): {@code POST /api/games/import}
+     */
+    @PostMapping("/import")
+    public ImportResult importPgn(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo PGN vazio.");
+        }
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return gameService.importPgn(reader);
+        }
+    }
+
+    /**
+     * Métricas da gravação assíncrona de lances: {@code GET /api/games/persistence}
+     */
+    @GetMapping("/persistence")
+    public WriteBehindMetrics persistenceMetrics() {
+        return movePersistenceService.getMetrics();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+}
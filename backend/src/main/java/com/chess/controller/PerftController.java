@@ -0,0 +1,58 @@
+package com.chess.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chess.perft.PerftResult;
+import com.chess.service.PerftService;
+import com.chess.utils.FenUtils;
+
+/**
+ * Endpoints de perft, usados como teste de carga e de regressão do motor de regras.
+ */
+@RestController
+@RequestMapping("/api/perft")
+public class PerftController {
+
+    private final PerftService perftService;
+
+    public PerftController(PerftService perftService) {
+        this.perftService = perftService;
+    }
+
+    /**
+     * Executa o perft com divide: {@code GET /api/perft?depth=4&fen=...}
+     */
+    @GetMapping
+    public PerftResult perft(@RequestParam(defaultValue = FenUtils.INITIAL_POSITION) String fen,
+                             @RequestParam(defaultValue = "4") int depth) {
+        return perftService.run(fen, depth);
+    }
+
+    /**
+     * Executa o relatório das posições padrão: {@code GET /api/perft/report?depth=4}
+     */
+    @GetMapping("/report")
+    public List<PerftResult> report(@RequestParam(defaultValue = "4") int depth) {
+        return perftService.report(depth);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Sem vaga livre ou acima do limite de nós ou de tempo
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+}
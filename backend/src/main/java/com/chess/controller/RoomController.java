@@ -0,0 +1,138 @@
+package com.chess.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chess.broadcast.FanOutMetrics;
+import com.chess.cache.MoveCacheMetrics;
+import com.chess.clock.ClockMetrics;
+import com.chess.eventlog.EventLogMetrics;
+import com.chess.room.RoomView;
+import com.chess.room.Seat;
+import com.chess.service.RoomService;
+
+/**
+ * Endpoints das salas de partidas ao vivo.
+ * <p>
+ * Criar a sala e entrar nela devolvem o lugar do jogador com um token secreto;
+ * sair, jogar e abandonar exigem esse token ({@code token}), não o nome.
+ */
+@RestController
+@RequestMapping("/api/rooms")
+public class RoomController {
+
+    private final RoomService roomService;
+
+    public RoomController(RoomService roomService) {
+        this.roomService = roomService;
+    }
+
+    /**
+     * Cria uma sala com o jogador de brancas: {@code POST /api/rooms?player=ana&initialMs=180000&incrementMs=2000}
+     * <p>
+     * O controle de tempo é opcional ({@code initialMs}, {@code incrementMs}, {@code delayMs}); sem ele vale
+     * o padrão da configuração, e {@code initialMs=0} cria uma partida sem relógio. Devolve o id da sala e
+     * o token do jogador.
+     */
+    @PostMapping
+    public Seat create(@RequestParam String player,
+                           @RequestParam(required = false) Integer initialMs,
+                           @RequestParam(required = false) Integer incrementMs,
+                           @RequestParam(required = false) Integer delayMs) {
+        return roomService.create(player, initialMs, incrementMs, delayMs);
+    }
+
+    /**
+     * Estado da sala: {@code GET /api/rooms/42}
+     */
+    @GetMapping("/{id}")
+    public RoomView get(@PathVariable long id) {
+        return roomService.get(id);
+    }
+
+    /**
+     * Lances legais da peça, para destacá-los ao selecioná-la: {@code GET /api/rooms/42/moves?from=e2}
+     */
+    @GetMapping("/{id}/moves")
+    public List<String> legalMoves(@PathVariable long id, @RequestParam String from) {
+        return roomService.legalMoves(id, from);
+    }
+
+    /**
+     * Entra na sala, com a cor e o token do jogador: {@code POST /api/rooms/42/join?player=bia}
+     */
+    @PostMapping("/{id}/join")
+    public Seat join(@PathVariable long id, @RequestParam String player) {
+        return roomService.join(id, player);
+    }
+
+    /**
+     * Sai da sala: {@code POST /api/rooms/42/leave?token=...}
+     */
+    @PostMapping("/{id}/leave")
+    public void leave(@PathVariable long id, @RequestParam String token) {
+        roomService.leave(id, token);
+    }
+
+    /**
+     * Joga um lance: {@code POST /api/rooms/42/move?token=...&move=e2e4}
+     */
+    @PostMapping("/{id}/move")
+    public RoomView move(@PathVariable long id, @RequestParam String token, @RequestParam String move) {
+        return roomService.move(id, token, move);
+    }
+
+    /**
+     * Abandona a partida: {@code POST /api/rooms/42/resign?token=...}
+     */
+    @PostMapping("/{id}/resign")
+    public RoomView resign(@PathVariable long id, @RequestParam String token) {
+        return roomService.resign(id, token);
+    }
+
+    /**
+     * Métricas da distribuição dos quadros às conexões WebSocket: {@code GET /api/rooms/broadcast}
+     */
+    @GetMapping("/broadcast")
+    public FanOutMetrics broadcastMetrics() {
+        return roomService.getBroadcastMetrics();
+    }
+
+    /**
+     * Métricas do cache de lances legais: {@code GET /api/rooms/move-cache}
+     */
+    @GetMapping("/move-cache")
+    public MoveCacheMetrics moveCacheMetrics() {
+        return roomService.getMoveCacheMetrics();
+    }
+
+    /**
+     * Métricas dos relógios das partidas: {@code GET /api/rooms/clocks}
+     */
+    @GetMapping("/clocks")
+    public ClockMetrics clockMetrics() {
+        return roomService.getClockMetrics();
+    }
+
+    /**
+     * Métricas do log de eventos, com as falhas de gravação: {@code GET /api/rooms/event-log}
+     */
+    @GetMapping("/event-log")
+    public EventLogMetrics eventLogMetrics() {
+        return roomService.getEventLogMetrics();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+}
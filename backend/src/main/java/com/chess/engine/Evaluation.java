@@ -0,0 +1,213 @@
+package com.chess.engine;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Board;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.BitboardUtils;
+
+/**
+ * Avaliação estática da posição, em centipeões, do ponto de vista da cor que tem a vez.
+ * <p>
+ * Cada termo tem um valor de meio-jogo e um de final, misturados pela fase da
+ * partida ({@link Material#getPhase()}). O material e as tabelas de peça e casa
+ * já vêm somados do {@link BitBoard}, atualizados a cada lance; aqui só se
+ * calculam a mobilidade, a segurança do rei e a estrutura de peões. A chave de
+ * material decide antes se a posição é empate por material insuficiente ou um
+ * final com avaliação própria.
+ */
+public class Evaluation {
+
+    // Mobilidade por casa alcançável além da média, indexada por PieceType.ordinal()
+    private static final int[] MOBILITY_MIDDLEGAME = {0, 4, 5, 2, 1, 0};
+    private static final int[] MOBILITY_ENDGAME = {0, 4, 5, 4, 2, 0};
+    private static final int[] MOBILITY_BASELINE = {0, 4, 6, 7, 13, 0};
+
+    // Peso de cada casa atacada ao redor do rei, e o quanto do total vale pelo número de atacantes
+    private static final int[] KING_ATTACK_WEIGHTS = {0, 20, 20, 40, 80, 0};
+    private static final int[] KING_ATTACKERS_PERCENT = {0, 0, 50, 75, 88, 94, 97, 99};
+    private static final int SHIELD_PENALTY = 15;
+
+    private static final int DOUBLED_MIDDLEGAME = 10;
+    private static final int DOUBLED_ENDGAME = 20;
+    private static final int ISOLATED_MIDDLEGAME = 10;
+    private static final int ISOLATED_ENDGAME = 15;
+    // Bônus do peão passado por fileira, contada a partir do lado do peão
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 60, 90, 130, 0};
+
+    // Finais com avaliação própria: vantagem decisiva, mas longe das pontuações de mate
+    private static final int WINNING_BONUS = 500;
+
+    // Colunas vizinhas e casas à frente que, sem peões adversários, tornam o peão passado
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_SPAN = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? BitboardUtils.FILE_A << file - 1 : 0)
+                | (file < 7 ? BitboardUtils.FILE_A << file + 1 : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = square >>> 3;
+            long files = ADJACENT_FILES[square & 7] | BitboardUtils.FILE_A << (square & 7);
+            long above = (1L << 8 * row) - 1;
+            long below = row == 7 ? 0 : -1L << 8 * (row + 1);
+            PASSED_SPAN[Color.WHITE.ordinal()][square] = files & above;
+            PASSED_SPAN[Color.BLACK.ordinal()][square] = files & below;
+        }
+    }
+
+    private Evaluation() {
+    }
+
+    /**
+     * Avalia a posição.
+     *
+     * @param board A posição.
+     * @return A pontuação, positiva se favorável à cor que tem a vez.
+     */
+    public static int evaluate(BitBoard board) {
+        Material material = Material.of(board.getMaterialKey());
+        if (material.isInsufficient()) return 0;
+
+        int score = switch (material.getSpecialist()) {
+            case BARE_KING -> bareKing(board, material.getStrongSide(), false);
+            case BISHOP_KNIGHT -> bareKing(board, material.getStrongSide(), true);
+            case NONE -> tapered(board, material);
+        };
+
+        return board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    /**
+     * Verifica se a cor possui peças além de peões e rei.
+     * <p>
+     * Usado para evitar o lance nulo em finais de peões (zugzwang).
+     */
+    public static boolean hasNonPawnMaterial(Board board, Color color) {
+        long pawnsAndKing = board.getPieces(PieceType.PAWN) | board.getPieces(PieceType.KING);
+        return (board.getOccupancy(color) & ~pawnsAndKing) != 0;
+    }
+
+    // Pontuação do ponto de vista das brancas, misturando meio-jogo e final pela fase
+    private static int tapered(BitBoard board, Material material) {
+        int middlegame = board.getMiddlegameScore() + material.getMiddlegameBonus();
+        int endgame = board.getEndgameScore() + material.getEndgameBonus();
+
+        long whitePawns = board.getPieces(PieceType.PAWN, Color.WHITE);
+        long blackPawns = board.getPieces(PieceType.PAWN, Color.BLACK);
+        long whitePawnAttacks = (whitePawns >>> 9 & ~BitboardUtils.FILE_H) | (whitePawns >>> 7 & ~BitboardUtils.FILE_A);
+        long blackPawnAttacks = (blackPawns << 7 & ~BitboardUtils.FILE_H) | (blackPawns << 9 & ~BitboardUtils.FILE_A);
+
+        for (Color color : Color.values()) {
+            int sign = color.isWhite() ? 1 : -1;
+            long ownPawns = color.isWhite() ? whitePawns : blackPawns;
+            long enemyPawns = color.isWhite() ? blackPawns : whitePawns;
+            long enemyPawnAttacks = color.isWhite() ? blackPawnAttacks : whitePawnAttacks;
+
+            // Mobilidade: casas alcançáveis que não têm peça própria nem são atacadas por peões
+            long safe = ~board.getOccupancy(color) & ~enemyPawnAttacks;
+            long pieces = board.getOccupancy(color) & ~board.getPieces(PieceType.PAWN) & ~board.getPieces(PieceType.KING);
+            for (; pieces != 0; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                int type = board.getPieceAt(square).getType().ordinal();
+                int mobility = Long.bitCount(board.getAttacksFrom(square) & safe) - MOBILITY_BASELINE[type];
+                middlegame += sign * mobility * MOBILITY_MIDDLEGAME[type];
+                endgame += sign * mobility * MOBILITY_ENDGAME[type];
+            }
+
+            middlegame -= sign * kingDanger(board, color, ownPawns);
+
+            // Estrutura de peões
+            for (long pawns = ownPawns; pawns != 0; pawns &= pawns - 1) {
+                int square = Long.numberOfTrailingZeros(pawns);
+                int file = square & 7;
+                long span = PASSED_SPAN[color.ordinal()][square];
+                if ((span & BitboardUtils.FILE_A << file & ownPawns) != 0) {
+                    middlegame -= sign * DOUBLED_MIDDLEGAME;
+                    endgame -= sign * DOUBLED_ENDGAME;
+                }
+                if ((ADJACENT_FILES[file] & ownPawns) == 0) {
+                    middlegame -= sign * ISOLATED_MIDDLEGAME;
+                    endgame -= sign * ISOLATED_ENDGAME;
+                }
+                if ((span & enemyPawns) == 0) {
+                    int rank = color.isWhite() ? 7 - (square >>> 3) : square >>> 3;
+                    middlegame += sign * PASSED_MIDDLEGAME[rank];
+                    endgame += sign * PASSED_ENDGAME[rank];
+                }
+            }
+        }
+
+        int phase = material.getPhase();
+        int score = (middlegame * phase + endgame * (Material.MAX_PHASE - phase)) / Material.MAX_PHASE;
+        return score * material.getScale(score > 0 ? Color.WHITE : Color.BLACK) / Material.NORMAL_SCALE;
+    }
+
+    // Perigo para o rei da cor no meio-jogo: casas ao redor atacadas e escudo de peões desfalcado
+    private static int kingDanger(BitBoard board, Color color, long ownPawns) {
+        long king = board.getPieces(PieceType.KING, color);
+        if (king == 0) return 0;
+        int square = Long.numberOfTrailingZeros(king);
+        long zone = BitboardUtils.kingAttacks(square) | king;
+
+        int weight = 0;
+        int attackers = 0;
+        Color enemy = color.opposite();
+        long pieces = board.getOccupancy(enemy) & ~board.getPieces(PieceType.PAWN) & ~board.getPieces(PieceType.KING);
+        for (; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int hits = Long.bitCount(board.getAttacksFrom(from) & zone);
+            if (hits == 0) continue;
+            attackers++;
+            weight += hits * KING_ATTACK_WEIGHTS[board.getPieceAt(from).getType().ordinal()];
+        }
+        int danger = weight * KING_ATTACKERS_PERCENT[Math.min(attackers, 7)] / 100;
+
+        // Peões na fileira à frente do rei, enquanto ele está na primeira ou segunda fileira
+        int row = square >>> 3;
+        int rank = color.isWhite() ? 7 - row : row;
+        if (rank <= 1) {
+            int shieldRow = color.isWhite() ? row - 1 : row + 1;
+            long shield = (ADJACENT_FILES[square & 7] | BitboardUtils.FILE_A << (square & 7))
+                & BitboardUtils.RANK_8 << 8 * shieldRow;
+            danger += SHIELD_PENALTY * (Long.bitCount(shield) - Long.bitCount(shield & ownPawns));
+        }
+        return danger;
+    }
+
+    // Rei sozinho contra material que força o mate: empurrar o rei para a borda (ou para
+    // o canto da cor do bispo) e aproximar o rei atacante; pontuação do ponto de vista das brancas
+    private static int bareKing(BitBoard board, Color strong, boolean bishopKnight) {
+        int sign = strong.isWhite() ? 1 : -1;
+        int weakKing = Long.numberOfTrailingZeros(board.getPieces(PieceType.KING, strong.opposite()));
+        int strongKing = Long.numberOfTrailingZeros(board.getPieces(PieceType.KING, strong));
+
+        int score = WINNING_BONUS + sign * board.getEndgameScore() + 10 * (7 - distance(strongKing, weakKing));
+        if (bishopKnight) {
+            // Cantos escuros (a1, h8) ou claros (a8, h1), conforme a cor das casas do bispo
+            int bishop = Long.numberOfTrailingZeros(board.getPieces(PieceType.BISHOP, strong));
+            boolean dark = ((bishop >>> 3) + (bishop & 7) & 1) == 1;
+            int corner = dark ? Math.min(distance(weakKing, 56), distance(weakKing, 7))
+                : Math.min(distance(weakKing, 0), distance(weakKing, 63));
+            score += 40 * (7 - corner);
+        } else {
+            score += 20 * edgeness(weakKing);
+        }
+        return sign * score;
+    }
+
+    // Distância de Manhattan até as quatro casas centrais, de 0 a 6
+    private static int edgeness(int square) {
+        int file = square & 7;
+        int rank = 7 - (square >>> 3);
+        return (Math.abs(2 * file - 7) + Math.abs(2 * rank - 7)) / 2 - 1;
+    }
+
+    // Número de lances do rei entre as casas
+    private static int distance(int a, int b) {
+        return Math.max(Math.abs((a >>> 3) - (b >>> 3)), Math.abs((a & 7) - (b & 7)));
+    }
+
+}
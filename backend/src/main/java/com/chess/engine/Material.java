@@ -0,0 +1,191 @@
+package com.chess.engine;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.MaterialKey;
+import com.chess.entity.board.PieceSquareTables;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * O que a avaliação deduz só do material ({@link MaterialKey}): a fase da
+ * partida, o bônus do par de bispos, o material insuficiente para dar mate,
+ * finais que tendem ao empate e finais com avaliação própria.
+ * <p>
+ * Cada assinatura é analisada uma vez e guardada em um cache de acesso
+ * direto, compartilhado pelas threads da busca: as entradas são imutáveis, e
+ * uma escrita concorrente no mesmo índice só custa uma nova análise.
+ */
+public final class Material {
+
+    /** Fase do meio-jogo completo: cavalos e bispos valem 1, torres 2 e damas 4. */
+    public static final int MAX_PHASE = 24;
+
+    /** Escala da avaliação em dezesseis avos: sem redução. */
+    public static final int NORMAL_SCALE = 16;
+
+    /**
+     * Finais com avaliação própria.
+     */
+    public enum Specialist {
+        /** Sem avaliação própria. */
+        NONE,
+        /** Rei sozinho contra material suficiente para o mate: empurrar o rei para a borda. */
+        BARE_KING,
+        /** Rei, bispo e cavalo contra rei: empurrar o rei para um canto da cor do bispo. */
+        BISHOP_KNIGHT
+    }
+
+    private static final int CACHE_SIZE = 1 << 13;
+    private static final Material[] CACHE = new Material[CACHE_SIZE];
+
+    private static final int BISHOP_PAIR_MIDDLEGAME = 30;
+    private static final int BISHOP_PAIR_ENDGAME = 50;
+
+    private final long key;
+    private final int phase;
+    private final int middlegameBonus;
+    private final int endgameBonus;
+    private final boolean insufficient;
+    private final int whiteScale;
+    private final int blackScale;
+    private final Specialist specialist;
+    private final Color strongSide;
+
+    private Material(long key) {
+        this.key = key;
+        int phase = 0;
+        int middlegame = 0;
+        int endgame = 0;
+        for (Color color : Color.values()) {
+            int sign = color.isWhite() ? 1 : -1;
+            phase += count(color, PieceType.KNIGHT) + count(color, PieceType.BISHOP)
+                + 2 * count(color, PieceType.ROOK) + 4 * count(color, PieceType.QUEEN);
+            if (count(color, PieceType.BISHOP) >= 2) {
+                middlegame += sign * BISHOP_PAIR_MIDDLEGAME;
+                endgame += sign * BISHOP_PAIR_ENDGAME;
+            }
+        }
+        this.phase = Math.min(phase, MAX_PHASE);
+        this.middlegameBonus = middlegame;
+        this.endgameBonus = endgame;
+        this.insufficient = cannotMate(Color.WHITE) && cannotMate(Color.BLACK);
+        this.whiteScale = scaleFor(Color.WHITE);
+        this.blackScale = scaleFor(Color.BLACK);
+
+        Specialist specialist = Specialist.NONE;
+        Color strong = null;
+        for (Color color : Color.values()) {
+            if (!isBare(color.opposite()) || count(color, PieceType.PAWN) > 0 || cannotForceMate(color)) continue;
+            strong = color;
+            specialist = isBishopKnight(color) ? Specialist.BISHOP_KNIGHT : Specialist.BARE_KING;
+        }
+        this.specialist = specialist;
+        this.strongSide = strong;
+    }
+
+    /**
+     * Retorna a análise do material da chave, do cache ou calculada agora.
+     */
+    public static Material of(long key) {
+        int index = (int) (key * 0x9E3779B97F4A7C15L >>> 64 - 13);
+        Material material = CACHE[index];
+        if (material == null || material.key != key) {
+            material = new Material(key);
+            CACHE[index] = material;
+        }
+        return material;
+    }
+
+    /**
+     * Retorna a fase, de 0 (só reis e peões) a {@value #MAX_PHASE} (material completo).
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Retorna o bônus de meio-jogo do material (par de bispos), brancas menos pretas.
+     */
+    public int getMiddlegameBonus() {
+        return middlegameBonus;
+    }
+
+    /**
+     * Retorna o bônus de final do material (par de bispos), brancas menos pretas.
+     */
+    public int getEndgameBonus() {
+        return endgameBonus;
+    }
+
+    /**
+     * Retorna se nenhum lado tem material para forçar o mate (ex: KK, KBK, KNK, KNKB, KNNK).
+     */
+    public boolean isInsufficient() {
+        return insufficient;
+    }
+
+    /**
+     * Retorna a escala, em dezesseis avos, de uma avaliação favorável à cor:
+     * menor que {@value #NORMAL_SCALE} quando a vantagem dela tende ao empate.
+     */
+    public int getScale(Color color) {
+        return color.isWhite() ? whiteScale : blackScale;
+    }
+
+    /**
+     * Retorna a avaliação própria do final, {@link Specialist#NONE} se não houver.
+     */
+    public Specialist getSpecialist() {
+        return specialist;
+    }
+
+    /**
+     * Retorna o lado que dá o mate nos finais com avaliação própria, {@code null} nos demais.
+     */
+    public Color getStrongSide() {
+        return strongSide;
+    }
+
+    private int count(Color color, PieceType type) {
+        return MaterialKey.count(key, type, color);
+    }
+
+    private int nonPawnMaterial(Color color) {
+        int material = 0;
+        for (PieceType type : new PieceType[] {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN}) {
+            material += count(color, type) * PieceSquareTables.middlegameValue(type);
+        }
+        return material;
+    }
+
+    private boolean isBare(Color color) {
+        return nonPawnMaterial(color) == 0 && count(color, PieceType.PAWN) == 0;
+    }
+
+    // Sem peões e com peças que não forçam o mate
+    private boolean cannotMate(Color color) {
+        return count(color, PieceType.PAWN) == 0 && cannotForceMate(color);
+    }
+
+    // Só uma peça menor ou dois cavalos: não forçam o mate nem contra o rei sozinho
+    private boolean cannotForceMate(Color color) {
+        int knights = count(color, PieceType.KNIGHT);
+        int bishops = count(color, PieceType.BISHOP);
+        return count(color, PieceType.ROOK) == 0 && count(color, PieceType.QUEEN) == 0
+            && (knights + bishops <= 1 || bishops == 0 && knights == 2);
+    }
+
+    private boolean isBishopKnight(Color color) {
+        return count(color, PieceType.BISHOP) == 1 && count(color, PieceType.KNIGHT) == 1
+            && count(color, PieceType.ROOK) == 0 && count(color, PieceType.QUEEN) == 0;
+    }
+
+    // Sem peões, uma vantagem de até uma peça menor raramente vence (ex: KRKB, KRKN, KRBKR)
+    private int scaleFor(Color color) {
+        if (cannotMate(color)) return 0;
+        if (count(color, PieceType.PAWN) > 0) return NORMAL_SCALE;
+        int advantage = nonPawnMaterial(color) - nonPawnMaterial(color.opposite());
+        return advantage <= PieceSquareTables.middlegameValue(PieceType.BISHOP) && !isBare(color.opposite())
+            ? NORMAL_SCALE / 8 : NORMAL_SCALE;
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+
+/**
+ * Busca paralela Lazy SMP: várias threads executam a mesma busca
+ * independentemente, cooperando apenas pela tabela de transposição.
+ * <p>
+ * A thread que chama {@link #search} é a principal; as auxiliares rodam no
+ * executor informado. Para que as threads não repitam o mesmo trabalho, as
+ * auxiliares de id ímpar buscam cada iteração com um ply a mais. Quando a
+ * principal termina, todas são paradas e o resultado de maior profundidade
+ * completada é devolvido, com os nós somados de todas as threads.
+ * <p>
+ * Os limites de nós e tempo valem para a busca como um todo. Uma instância
+ * executa uma busca por vez; {@link #stop()} pode ser chamado de outra thread
+ * e libera todas as threads imediatamente. A busca só retorna, mesmo com falha
+ * ou interrupção, depois que todas as auxiliares terminaram.
+ * <p>
+ * A geração da tabela não é avançada aqui, já que várias buscas podem
+ * compartilhar a tabela ao mesmo tempo; isso cabe a quem a mantém
+ * ({@link TranspositionTable#newSearch()}).
+ */
+public class ParallelSearch {
+
+    private final TranspositionTable table;
+    private final ExecutorService executor;
+    // Reaproveitadas entre buscas: cada uma mantém seus tabuleiros e heurísticas
+    private final List<Search> workers = new ArrayList<>();
+    private volatile SearchControl control;
+    // Parada pedida antes de a busca criar o seu controle
+    private volatile boolean stopRequested;
+
+    /**
+     * @param table A tabela de transposição compartilhada pelas threads.
+     * @param executor O executor das threads auxiliares.
+     */
+    public ParallelSearch(TranspositionTable table, ExecutorService executor) {
+        if (table == null || executor == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        this.table = table;
+        this.executor = executor;
+    }
+
+    /**
+     * Solicita a parada da busca em andamento; pode ser chamado de outra thread.
+     * <p>
+     * Se a busca ainda não tiver começado, ela termina logo no início, com o
+     * primeiro lance legal.
+     */
+    public void stop() {
+        stopRequested = true;
+        SearchControl control = this.control;
+        if (control != null) control.stop();
+    }
+
+    /**
+     * Busca o melhor movimento da posição com o número de threads informado.
+     *
+     * @param position A posição (não é modificada).
+     * @param limits Os limites de profundidade, nós e tempo.
+     * @param threads Número de threads, incluindo a principal (ao menos 1).
+     * @return O resultado da busca.
+     */
+    public SearchResult search(BitBoard position, SearchLimits limits, int threads) {
+        if (position == null || limits == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser ao menos 1: " + threads);
+        }
+
+        while (workers.size() < threads) {
+            workers.add(new Search(table));
+        }
+
+        long start = System.nanoTime();
+        SearchControl control = new SearchControl(limits, start);
+        this.control = control;
+        if (stopRequested) control.stop();
+
+        List<Future<SearchResult>> helpers = new ArrayList<>(threads - 1);
+        // Marcadas pela auxiliar ao começar, ou no encerramento para que ela não comece mais
+        List<AtomicBoolean> claims = new ArrayList<>(threads - 1);
+        try {
+            for (int id = 1; id < threads; id++) {
+                Search worker = workers.get(id);
+                int helperId = id;
+                AtomicBoolean claim = new AtomicBoolean();
+                claims.add(claim);
+                helpers.add(executor.submit(() -> claim.compareAndSet(false, true)
+                    ? worker.search(position, limits, control, helperId, start)
+                    : null));
+            }
+
+            SearchResult best = workers.get(0).search(position, limits, control, 0, start);
+            control.stop();
+
+            long nodes = best.getNodes();
+            for (Future<SearchResult> helper : helpers) {
+                SearchResult result = helper.get();
+                nodes += result.getNodes();
+                if (result.getDepth() > best.getDepth() && result.getBestMoveCode() != Move.NONE) {
+                    best = result;
+                }
+            }
+            return best.withStatistics(nodes, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em uma thread de busca", e.getCause());
+        } finally {
+            // Garante que nenhuma auxiliar continue após uma falha ou interrupção
+            control.stop();
+            awaitHelpers(helpers, claims);
+            stopRequested = false;
+        }
+    }
+
+    /**
+     * Espera as auxiliares terminarem antes que a próxima busca reaproveite os
+     * mesmos {@link Search}. As que ainda estão na fila são canceladas; as que já
+     * começaram veem a parada na próxima verificação e terminam logo.
+     */
+    private static void awaitHelpers(List<Future<SearchResult>> helpers, List<AtomicBoolean> claims) {
+        boolean interrupted = false;
+        for (int i = 0; i < helpers.size(); i++) {
+            Future<SearchResult> helper = helpers.get(i);
+            if (claims.get(i).compareAndSet(false, true)) {
+                helper.cancel(false);
+                continue;
+            }
+            while (true) {
+                try {
+                    helper.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+}
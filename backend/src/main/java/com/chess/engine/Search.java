@@ -0,0 +1,529 @@
+package com.chess.engine;
+
+import java.util.Arrays;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.Piece;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Busca alfa-beta com aprofundamento iterativo.
+ * <p>
+ * Técnicas usadas: busca por variação principal (PVS), janelas de aspiração,
+ * poda por lance nulo, redução de lances tardios (LMR), busca de quiescência,
+ * tabela de transposição, lances assassinos e heurística de histórico.
+ * <p>
+ * Uma instância guarda o estado de uma única busca e não deve ser usada por
+ * várias threads ao mesmo tempo; a {@link TranspositionTable} pode ser compartilhada.
+ */
+public class Search {
+
+    public static final int MAX_PLY = 128;
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    // Pontuações acima deste valor representam mate
+    public static final int MATE_BOUND = MATE - MAX_PLY;
+
+    // Intervalo de nós entre verificações de tempo e parada
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int ASPIRATION_WINDOW = 25;
+
+    // Prioridades de ordenação dos movimentos
+    private static final int TT_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 100_000;
+    private static final int PROMOTION_SCORE = 90_000;
+    private static final int KILLER_SCORE = 80_000;
+    private static final int HISTORY_LIMIT = 60_000;
+
+    // Reduções do LMR por profundidade e número do lance
+    private static final int[][] REDUCTIONS = new int[64][64];
+
+    static {
+        for (int depth = 1; depth < 64; depth++) {
+            for (int count = 1; count < 64; count++) {
+                REDUCTIONS[depth][count] = (int) (0.75 + Math.log(depth) * Math.log(count) / 2.25);
+            }
+        }
+    }
+
+    private final TranspositionTable table;
+
+    // Tabuleiro de trabalho: os movimentos são aplicados e desfeitos nele
+    private final BitBoard board = new BitBoard();
+    // Buffers pré-alocados, um por ply
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final int[][] moveScores = new int[MAX_PLY + 1][MoveList.DEFAULT_CAPACITY];
+
+    // Heurísticas de ordenação
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[64][64];
+
+    // Linha principal (tabela triangular)
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    private volatile SearchControl control;
+    private boolean aborted;
+    private long nodes;
+    private long checkedNodes;
+    private long maxNodes;
+    // Threads auxiliares (Lazy SMP) variam a profundidade das iterações
+    private int helperId;
+
+    public Search(TranspositionTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Tabela de transposição não pode ser nula.");
+        }
+        this.table = table;
+        for (int i = 0; i <= MAX_PLY; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Solicita a parada da busca em andamento; pode ser chamado de outra thread.
+     */
+    public void stop() {
+        SearchControl control = this.control;
+        if (control != null) control.stop();
+    }
+
+    /**
+     * Busca o melhor movimento da posição dentro dos limites.
+     * <p>
+     * Se a busca for interrompida no meio de uma iteração, o resultado é o da
+     * última profundidade completada; antes da primeira, o melhor lance
+     * encontrado até ali ou o primeiro na ordem da busca.
+     *
+     * @param position A posição (não é modificada).
+     * @param limits Os limites de profundidade, nós e tempo.
+     * @return O resultado da busca.
+     */
+    public SearchResult search(BitBoard position, SearchLimits limits) {
+        if (position == null || limits == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        long start = System.nanoTime();
+        table.newSearch();
+        return search(position, limits, new SearchControl(limits, start), 0, start);
+    }
+
+    /**
+     * Executa a busca sob um controle compartilhado com outras threads.
+     * <p>
+     * Não avança a geração da tabela; isso cabe a quem inicia a busca.
+     *
+     * @param helperId 0 para a thread principal; nas auxiliares, ids ímpares
+     *                 buscam cada iteração com um ply a mais.
+     */
+    SearchResult search(BitBoard position, SearchLimits limits, SearchControl control, int helperId, long start) {
+        this.control = control;
+        this.helperId = helperId;
+        prepare(limits);
+        board.copyFrom(position);
+
+        // Mesmo que os limites cortem a primeira iteração, há um lance legal para devolver
+        int bestMove = firstMove();
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestLine = bestMove == Move.NONE ? new int[0] : new int[] {bestMove};
+
+        for (int iteration = 1; iteration <= limits.getMaxDepth(); iteration++) {
+            int depth = Math.min(iteration + (helperId & 1), limits.getMaxDepth());
+            if (depth <= completedDepth) continue;
+            int score = aspirationSearch(depth, bestScore);
+
+            // Uma iteração incompleta só é aproveitada se nenhuma outra tiver terminado
+            if (aborted) {
+                if (completedDepth == 0 && pvLength[0] > 0) {
+                    bestMove = pv[0][0];
+                    bestLine = new int[] {bestMove};
+                }
+                break;
+            }
+
+            completedDepth = Math.max(completedDepth, depth);
+            bestScore = score;
+            if (pvLength[0] > 0) {
+                bestMove = pv[0][0];
+                bestLine = new int[pvLength[0]];
+                System.arraycopy(pv[0], 0, bestLine, 0, pvLength[0]);
+            }
+
+            // Sem movimentos legais, mate encontrado ou sem tempo para completar outra iteração
+            if (bestMove == Move.NONE || Math.abs(score) >= MATE_BOUND) break;
+            if (limits.getMaxTimeMillis() != SearchLimits.UNLIMITED
+                && (System.nanoTime() - start) * 2 > limits.getMaxTimeMillis() * 1_000_000) break;
+        }
+
+        // Devolve ao controle os nós ainda não somados
+        control.addNodesAndCheck(nodes - checkedNodes);
+        checkedNodes = nodes;
+
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - start, bestLine);
+    }
+
+    /**
+     * Retorna o primeiro lance legal da raiz na ordem da busca (o da tabela de
+     * transposição, se houver), ou {@link Move#NONE} sem lances legais.
+     */
+    private int firstMove() {
+        MoveList moves = moveLists[0];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+        if (moves.size() == 0) return Move.NONE;
+
+        long entry = table.probe(board.getKey());
+        scoreMoves(board, moves, entry != 0 ? TranspositionTable.move(entry) : Move.NONE, 0);
+        return pickNext(moves, 0, 0);
+    }
+
+    private void prepare(SearchLimits limits) {
+        aborted = false;
+        nodes = 0;
+        checkedNodes = 0;
+        maxNodes = limits.getMaxNodes();
+
+        for (int[] row : killers) {
+            row[0] = row[1] = Move.NONE;
+        }
+        for (int[] row : history) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    /**
+     * Busca a profundidade com uma janela estreita em torno da pontuação anterior,
+     * alargando-a enquanto o resultado cair fora dela.
+     */
+    private int aspirationSearch(int depth, int previousScore) {
+        int delta = ASPIRATION_WINDOW;
+        int alpha = -INFINITY;
+        int beta = INFINITY;
+
+        if (depth >= 5) {
+            alpha = Math.max(previousScore - delta, -INFINITY);
+            beta = Math.min(previousScore + delta, INFINITY);
+        }
+
+        while (true) {
+            int score = pvs(alpha, beta, depth, 0, true);
+            if (aborted) return score;
+
+            if (score <= alpha) {
+                alpha = Math.max(score - delta, -INFINITY);
+            } else if (score >= beta) {
+                beta = Math.min(score + delta, INFINITY);
+            } else {
+                return score;
+            }
+            delta *= 2;
+        }
+    }
+
+    /**
+     * Busca por variação principal (negamax com janela nula nos lances após o primeiro).
+     */
+    private int pvs(int alpha, int beta, int depth, int ply, boolean allowNull) {
+        pvLength[ply] = 0;
+        if (depth <= 0) return quiescence(alpha, beta, ply);
+        if (shouldStop()) return 0;
+
+        boolean isPv = beta - alpha > 1;
+        boolean isRoot = ply == 0;
+
+        // Empates por repetição e por material insuficiente
+        if (!isRoot && (board.isRepetition() || Material.of(board.getMaterialKey()).isInsufficient())) return 0;
+        // Regra dos 50 lances: o mate dado no centésimo meio-lance prevalece sobre o empate
+        if (!isRoot && board.getHalfmoveClock() >= 100) {
+            return board.isInCheck(board.getSideToMove()) && !hasLegalMove(ply) ? -MATE + ply : 0;
+        }
+        if (ply >= MAX_PLY - 1) return Evaluation.evaluate(board);
+
+        // Consulta a tabela de transposição
+        long entry = table.probe(board.getKey());
+        int ttMove = Move.NONE;
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (!isPv && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        Color side = board.getSideToMove();
+        boolean inCheck = board.isInCheck(side);
+        if (inCheck) depth++; // Extensão de xeque
+
+        int staticEval = entry != 0 ? TranspositionTable.staticEval(entry) : Evaluation.evaluate(board);
+
+        // Poda por lance nulo: se passar a vez ainda supera beta, a posição é boa demais
+        if (!isPv && !inCheck && allowNull && depth >= 3 && staticEval >= beta
+            && Evaluation.hasNonPawnMaterial(board, side)) {
+            int reduction = 2 + depth / 4;
+            board.makeNullMove();
+            int score = -pvs(-beta, -beta + 1, depth - 1 - reduction, ply + 1, false);
+            board.unmakeNullMove();
+            if (aborted) return 0;
+            if (score >= beta) return score >= MATE_BOUND ? beta : score;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+        scoreMoves(board, moves, ttMove, ply);
+
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int originalAlpha = alpha;
+        int legalMoves = 0;
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, i, ply);
+            board.makeMove(move);
+            legalMoves++;
+
+            boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+            int score;
+
+            if (legalMoves == 1) {
+                score = -pvs(-beta, -alpha, depth - 1, ply + 1, true);
+            } else {
+                // Lances tardios e silenciosos são buscados com profundidade reduzida
+                int reduction = 0;
+                if (depth >= 3 && legalMoves > 3 && quiet && !inCheck && !board.isInCheck(side.opposite())) {
+                    reduction = REDUCTIONS[Math.min(depth, 63)][Math.min(legalMoves, 63)];
+                    if (isPv) reduction--;
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
+
+                score = -pvs(-alpha - 1, -alpha, depth - 1 - reduction, ply + 1, true);
+                if (score > alpha && reduction > 0) {
+                    score = -pvs(-alpha - 1, -alpha, depth - 1, ply + 1, true);
+                }
+                if (score > alpha && score < beta) {
+                    score = -pvs(-beta, -alpha, depth - 1, ply + 1, true);
+                }
+            }
+
+            board.unmakeMove(move);
+            if (aborted) return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+
+                    if (alpha >= beta) {
+                        if (quiet) updateHeuristics(move, depth, ply);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Sem movimentos legais: xeque-mate ou afogamento
+        if (legalMoves == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.LOWER
+            : bestScore > originalAlpha ? TranspositionTable.EXACT
+            : TranspositionTable.UPPER;
+        table.store(board.getKey(), bestMove, toTable(bestScore, ply), depth, bound, staticEval);
+
+        return bestScore;
+    }
+
+    /**
+     * Busca apenas capturas e promoções até a posição ficar "quieta",
+     * evitando avaliar posições no meio de uma troca.
+     * <p>
+     * Em xeque não há como "ficar parado": todas as evasões são buscadas e,
+     * sem nenhuma, a posição é mate.
+     */
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        if (shouldStop()) return 0;
+
+        if (ply >= MAX_PLY - 1) return Evaluation.evaluate(board);
+
+        boolean inCheck = board.isInCheck(board.getSideToMove());
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = Evaluation.evaluate(board);
+            if (bestScore >= beta) return bestScore;
+            if (bestScore > alpha) alpha = bestScore;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+        if (inCheck && moves.size() == 0) return -MATE + ply;
+
+        // Fora do xeque, mantém apenas capturas e promoções
+        if (!inCheck) {
+            int kept = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if (Move.isCapture(move) || Move.isPromotion(move)) moves.set(kept++, move);
+            }
+            moves.truncate(kept);
+        }
+        scoreMoves(board, moves, Move.NONE, ply);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, i, ply);
+
+            board.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove(move);
+            if (aborted) return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        return bestScore;
+    }
+
+    // Gera os lances na lista do ply, que a busca desse nó reaproveitaria de qualquer forma
+    private boolean hasLegalMove(int ply) {
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+        return moves.size() > 0;
+    }
+
+    /**
+     * Conta o nó e verifica os limites de nós, de tempo e o pedido de parada.
+     */
+    private boolean shouldStop() {
+        if (aborted) return true;
+        nodes++;
+
+        if ((nodes & (CHECK_INTERVAL - 1)) == 0 || nodes >= maxNodes) {
+            if (control.addNodesAndCheck(nodes - checkedNodes) || nodes >= maxNodes) {
+                aborted = true;
+            }
+            checkedNodes = nodes;
+        }
+        return aborted;
+    }
+
+    // ------------------------------------------------------------------
+    // Ordenação dos movimentos
+    // ------------------------------------------------------------------
+
+    private void scoreMoves(BitBoard board, MoveList moves, int ttMove, int ply) {
+        int[] scores = moveScores[ply];
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+
+            if (move == ttMove) {
+                scores[i] = TT_MOVE_SCORE;
+            } else if (Move.isCapture(move)) {
+                // MVV-LVA: vítima mais valiosa, atacante menos valioso
+                Piece victim = board.getPieceAt(Move.to(move));
+                int victimRank = victim == null ? 0 : victim.getType().ordinal(); // en passant captura peão
+                int attackerRank = board.getPieceAt(Move.from(move)).getType().ordinal();
+                scores[i] = CAPTURE_SCORE + victimRank * 10 - attackerRank;
+            } else if (Move.isPromotion(move)) {
+                scores[i] = PROMOTION_SCORE + (Move.flags(move) & 3);
+            } else if (move == killers[ply][0]) {
+                scores[i] = KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE - 1;
+            } else {
+                scores[i] = history[Move.from(move)][Move.to(move)];
+            }
+        }
+    }
+
+    /**
+     * Traz para a posição {@code index} o movimento de maior prioridade restante
+     * (ordenação por seleção, feita sob demanda).
+     */
+    private int pickNext(MoveList moves, int index, int ply) {
+        int[] scores = moveScores[ply];
+        int best = index;
+
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+
+        if (best != index) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+
+            int score = scores[best];
+            scores[best] = scores[index];
+            scores[index] = score;
+        }
+
+        return moves.get(index);
+    }
+
+    private void updateHeuristics(int move, int depth, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        int[] row = history[Move.from(move)];
+        row[Move.to(move)] += depth * depth;
+
+        // Reduz todo o histórico quando um valor se aproxima das prioridades fixas
+        if (row[Move.to(move)] > HISTORY_LIMIT) {
+            for (int[] entries : history) {
+                for (int i = 0; i < entries.length; i++) {
+                    entries[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, childLength);
+        pvLength[ply] = childLength + 1;
+    }
+
+    // ------------------------------------------------------------------
+    // Pontuações de mate na tabela de transposição
+    // ------------------------------------------------------------------
+
+    // A tabela guarda a distância do mate a partir do nó, não da raiz
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score + ply;
+        if (score <= -MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score - ply;
+        if (score <= -MATE_BOUND) return score + ply;
+        return score;
+    }
+
+}
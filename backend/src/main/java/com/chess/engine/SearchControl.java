@@ -0,0 +1,62 @@
+package com.chess.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle compartilhado pelas threads de uma mesma busca: pedido de parada,
+ * contagem total de nós e prazo.
+ * <p>
+ * As threads somam seus nós em blocos, de modo que o contador atômico é
+ * tocado apenas a cada verificação periódica, e não a cada nó.
+ */
+public class SearchControl {
+
+    private final long maxNodes;
+    private final long deadline;
+    private final AtomicLong nodes = new AtomicLong();
+    private volatile boolean stopped;
+
+    /**
+     * @param limits Os limites da busca.
+     * @param start O instante de início, em {@link System#nanoTime()}.
+     */
+    public SearchControl(SearchLimits limits, long start) {
+        this.maxNodes = limits.getMaxNodes();
+        this.deadline = limits.getMaxTimeMillis() == SearchLimits.UNLIMITED
+            ? Long.MAX_VALUE
+            : start + limits.getMaxTimeMillis() * 1_000_000;
+    }
+
+    /**
+     * Solicita a parada de todas as threads da busca.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Soma um bloco de nós e verifica os limites de nós e tempo.
+     *
+     * @param count Nós visitados desde a última verificação.
+     * @return {@code true} se a busca deve parar
+     */
+    boolean addNodesAndCheck(long count) {
+        if (stopped) return true;
+        if (nodes.addAndGet(count) >= maxNodes || System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Retorna o total aproximado de nós somados pelas threads.
+     */
+    public long getNodes() {
+        return nodes.get();
+    }
+
+}
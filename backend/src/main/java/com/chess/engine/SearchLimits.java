@@ -0,0 +1,68 @@
+package com.chess.engine;
+
+/**
+ * Limites de uma busca: profundidade, número de nós e tempo.
+ * <p>
+ * A busca para ao atingir qualquer um deles; os limites de nós e tempo são
+ * rígidos, verificados durante a busca e não apenas entre iterações.
+ */
+public class SearchLimits {
+
+    // Sem limite de nós ou tempo
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+
+    /**
+     * @param maxDepth Profundidade máxima (1 a {@link Search#MAX_PLY} - 1).
+     * @param maxNodes Número máximo de nós, ou {@link #UNLIMITED}.
+     * @param maxTimeMillis Tempo máximo em milissegundos, ou {@link #UNLIMITED}.
+     */
+    public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+        if (maxDepth < 1 || maxDepth >= Search.MAX_PLY) {
+            throw new IllegalArgumentException("Profundidade máxima inválida: " + maxDepth);
+        }
+        if (maxNodes < 1 || maxTimeMillis < 1) {
+            throw new IllegalArgumentException("Limites de nós e tempo devem ser positivos.");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+
+    /**
+     * Limita apenas a profundidade.
+     */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Limita apenas o tempo.
+     */
+    public static SearchLimits time(long maxTimeMillis) {
+        return new SearchLimits(Search.MAX_PLY - 1, UNLIMITED, maxTimeMillis);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public long getMaxTimeMillis() {
+        return maxTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "[profundidade=" + maxDepth
+            + ", nós=" + (maxNodes == UNLIMITED ? "-" : maxNodes)
+            + ", tempo=" + (maxTimeMillis == UNLIMITED ? "-" : maxTimeMillis + " ms") + "]";
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.chess.entity.board.Move;
+
+/**
+ * Resultado de uma busca: melhor movimento, pontuação, linha principal e estatísticas.
+ */
+public class SearchResult {
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int[] principalVariation;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos, int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation;
+    }
+
+    /**
+     * Retorna uma cópia com as estatísticas somadas de várias threads.
+     */
+    SearchResult withStatistics(long nodes, long elapsedNanos) {
+        return new SearchResult(bestMove, score, depth, nodes, elapsedNanos, principalVariation);
+    }
+
+    /**
+     * Retorna o melhor movimento em notação de coordenadas.
+     * @return o movimento (ex: "e2e4"), {@code null} se não houver movimento legal
+     */
+    public String getBestMove() {
+        return bestMove == Move.NONE ? null : Move.toString(bestMove);
+    }
+
+    /**
+     * Retorna o melhor movimento codificado (ver {@link Move}).
+     */
+    public int getBestMoveCode() {
+        return bestMove;
+    }
+
+    /**
+     * Retorna a pontuação em centipeões, do ponto de vista da cor que tem a vez.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Retorna em quantos lances há mate (positivo a favor, negativo contra).
+     * @return lances até o mate, {@code 0} se a pontuação não for de mate
+     */
+    public int getMateIn() {
+        if (Math.abs(score) < Search.MATE_BOUND) return 0;
+        int plies = Search.MATE - Math.abs(score);
+        return score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2;
+    }
+
+    /**
+     * Retorna a última profundidade completada.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getNodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    /**
+     * Retorna a linha principal em notação de coordenadas.
+     */
+    public List<String> getPrincipalVariation() {
+        List<String> line = new ArrayList<>(principalVariation.length);
+        for (int move : principalVariation) {
+            line.add(Move.toString(move));
+        }
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return "profundidade " + depth + ", pontuação " + score + ", melhor " + getBestMove()
+            + ", " + nodes + " nós em " + getElapsedMillis() + " ms (" + getNodesPerSecond() + " nós/s), linha "
+            + String.join(" ", getPrincipalVariation());
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.chess.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabela de transposição de tamanho fixo, compartilhável entre threads de busca
+ * sem sincronização.
+ * <p>
+ * As entradas ficam em um único {@code long[]}: cada entrada ocupa dois longs,
+ * {@code chave ^ dados} e {@code dados}. Na leitura, a entrada só é aceita se
+ * {@code (primeiro ^ segundo) == chave}; uma escrita concorrente interrompida
+ * no meio invalida a verificação e é tratada como ausência, sem travas.
+ * <p>
+ * As entradas são agrupadas em baldes de {@value #BUCKET_SIZE} (64 bytes, uma
+ * linha de cache). A substituição dentro do balde prefere a mesma chave e, em
+ * seguida, a entrada de menor profundidade ajustada pela idade.
+ * <p>
+ * Layout dos dados (64 bits):
+ * <ul>
+ * <li>0-15 - melhor movimento (ver {@link com.chess.entity.board.Move})</li>
+ * <li>16-31 - pontuação (com sinal)</li>
+ * <li>32-39 - profundidade</li>
+ * <li>40-41 - tipo de limite ({@link #UPPER}, {@link #LOWER}, {@link #EXACT})</li>
+ * <li>42-47 - geração (idade da busca)</li>
+ * <li>48-63 - avaliação estática (com sinal)</li>
+ * </ul>
+ */
+public class TranspositionTable {
+
+    // Tipos de limite da pontuação; nenhum dado válido é zero
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+
+    public static final int BUCKET_SIZE = 4;
+    private static final int LONGS_PER_BUCKET = BUCKET_SIZE * 2;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    private long[] table;
+    private int bucketMask;
+    private volatile int generation;
+
+    // Contadores de uso
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Cria a tabela com o tamanho informado, arredondado para baixo a uma potência de 2 de baldes.
+     *
+     * @param megabytes Tamanho em MB (ao menos 1).
+     */
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    /**
+     * Realoca a tabela com o novo tamanho, descartando todas as entradas.
+     * <p>
+     * Não deve ser chamado durante uma busca.
+     *
+     * @param megabytes Tamanho em MB (ao menos 1).
+     */
+    public void resize(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Tamanho da tabela deve ser ao menos 1 MB: " + megabytes);
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_BUCKET);
+        // Limite do tamanho de um array Java
+        buckets = Math.min(buckets, 1L << 27);
+
+        this.table = new long[(int) buckets * LONGS_PER_BUCKET];
+        this.bucketMask = (int) buckets - 1;
+        resetCounters();
+    }
+
+    /**
+     * Apaga todas as entradas e zera os contadores.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+        resetCounters();
+    }
+
+    /**
+     * Avança a geração; chamado no início de cada nova busca para envelhecer as entradas antigas.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 63;
+    }
+
+    /**
+     * Procura a posição na tabela.
+     *
+     * @param key Chave de Zobrist da posição.
+     * @return Os dados da entrada, ou {@code 0} se a posição não estiver na tabela.
+     */
+    public long probe(long key) {
+        long[] table = this.table;
+        int base = bucketIndex(key);
+        probes.increment();
+
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Grava uma entrada na tabela.
+     *
+     * @param key Chave de Zobrist da posição.
+     * @param move Melhor movimento ({@code 0} preserva o movimento já gravado para a mesma chave).
+     * @param score Pontuação.
+     * @param depth Profundidade da busca (0-255).
+     * @param bound Tipo de limite da pontuação.
+     * @param staticEval Avaliação estática da posição.
+     */
+    public void store(long key, int move, int score, int depth, int bound, int staticEval) {
+        long[] table = this.table;
+        int base = bucketIndex(key);
+        int generation = this.generation;
+
+        int victim = base;
+        int worst = Integer.MAX_VALUE;
+        boolean replacing = true;
+
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = table[i + 1];
+
+            // O balde é preenchido em ordem: após uma entrada vazia não há outras
+            if (data == 0) {
+                victim = i;
+                replacing = false;
+                break;
+            }
+
+            // Mesma posição: substitui, preservando o movimento se o novo não tiver
+            if ((table[i] ^ data) == key) {
+                if (move == 0) move = move(data);
+                victim = i;
+                replacing = false;
+                break;
+            }
+
+            // Entradas antigas e rasas são substituídas primeiro
+            int relativeAge = (generation - age(data)) & 63;
+            int value = depth(data) - 4 * relativeAge;
+            if (value < worst) {
+                victim = i;
+                worst = value;
+            }
+        }
+
+        if (replacing) collisions.increment();
+
+        long data = pack(move, score, depth, bound, generation, staticEval);
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+        stores.increment();
+    }
+
+    private int bucketIndex(long key) {
+        // Usa os bits altos da chave, menos correlacionados com a casa das peças
+        return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    private static long pack(int move, int score, int depth, int bound, int generation, int staticEval) {
+        return (move & 0xFFFFL)
+            | ((score & 0xFFFFL) << 16)
+            | ((long) (depth & 0xFF) << 32)
+            | ((long) (bound & 3) << 40)
+            | ((long) (generation & 63) << 42)
+            | ((staticEval & 0xFFFFL) << 48);
+    }
+
+    // ------------------------------------------------------------------
+    // Decodificação dos dados
+    // ------------------------------------------------------------------
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    public static int staticEval(long data) {
+        return (short) (data >>> 48);
+    }
+
+    private static int age(long data) {
+        return (int) ((data >>> 42) & 63);
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna a fração das consultas que encontraram a posição (0 a 1).
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Estima a fração das entradas ocupadas pela geração atual (0 a 1),
+     * amostrando os primeiros baldes da tabela.
+     */
+    public double getFillRate() {
+        int sampleBuckets = Math.min(bucketMask + 1, 1000);
+        int used = 0;
+        for (int i = 0; i < sampleBuckets * LONGS_PER_BUCKET; i += 2) {
+            long data = table[i + 1];
+            if (data != 0 && age(data) == generation) used++;
+        }
+        return (double) used / (sampleBuckets * BUCKET_SIZE);
+    }
+
+    /**
+     * Retorna quantas gravações substituíram uma entrada válida de outra posição.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Retorna o número de entradas da tabela.
+     */
+    public int getCapacity() {
+        return (bucketMask + 1) * BUCKET_SIZE;
+    }
+
+    private void resetCounters() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        collisions.reset();
+    }
+
+}
@@ -6,16 +6,20 @@ public class Direction {
     private final int y;
     // Armazena se o vetor é diagonal
     private final boolean isDiagonal;
+    // Índice da direção em getAllDirections() (0-7)
+    private final int index;
+    // Deslocamento do índice da casa (row * 8 + col) a cada passo
+    private final int offset;
 
     // Constantes para todas as direções possíveis do vetor
-    public static final Direction UP = new Direction(-1, 0);
-    public static final Direction DOWN = new Direction(1, 0);
-    public static final Direction RIGHT = new Direction(0, 1);
-    public static final Direction LEFT = new Direction(0, -1);
-    public static final Direction UP_RIGHT = new Direction(-1, 1);
-    public static final Direction UP_LEFT = new Direction(-1, -1);
-    public static final Direction DOWN_RIGHT = new Direction(1, 1);
-    public static final Direction DOWN_LEFT = new Direction(1, -1);
+    public static final Direction UP = new Direction(-1, 0, 0);
+    public static final Direction DOWN = new Direction(1, 0, 1);
+    public static final Direction RIGHT = new Direction(0, 1, 3);
+    public static final Direction LEFT = new Direction(0, -1, 2);
+    public static final Direction UP_RIGHT = new Direction(-1, 1, 5);
+    public static final Direction UP_LEFT = new Direction(-1, -1, 4);
+    public static final Direction DOWN_RIGHT = new Direction(1, 1, 7);
+    public static final Direction DOWN_LEFT = new Direction(1, -1, 6);
 
     // Matriz para mapear componentes de vetor para direções
     private static final Direction[][] directions = new Direction[][] {
@@ -29,10 +33,30 @@ public class Direction {
     private static final Direction[] DIAGONAL_DIRECTIONS = {UP_LEFT, UP_RIGHT, DOWN_LEFT, DOWN_RIGHT};
     private static final Direction[] ALL_DIRECTIONS = {UP, DOWN, LEFT, RIGHT, UP_LEFT, UP_RIGHT, DOWN_LEFT, DOWN_RIGHT};
 
-    private Direction(int x, int y) {
+    // Direção entre cada par de casas, indexada por from * 64 + to (null se não alinhadas)
+    private static final Direction[] BETWEEN_SQUARES = new Direction[64 * 64];
+
+    // Inicializa a tabela de direções entre casas
+    static {
+        for (int from = 0; from < 64; from++) {
+            for (Direction dir : ALL_DIRECTIONS) {
+                int row = (from >>> 3) + dir.x;
+                int col = (from & 7) + dir.y;
+                while (row >= 0 && row <= 7 && col >= 0 && col <= 7) {
+                    BETWEEN_SQUARES[from * 64 + row * 8 + col] = dir;
+                    row += dir.x;
+                    col += dir.y;
+                }
+            }
+        }
+    }
+
+    private Direction(int x, int y, int index) {
         this.x = x;
         this.y = y;
         this.isDiagonal = (x != 0 && y != 0);
+        this.index = index;
+        this.offset = x * 8 + y;
     }
 
     /**
@@ -63,22 +87,18 @@ public class Direction {
         if (from == null || to == null) {
             throw new IllegalArgumentException("Posições de origem e destino não podem ser nulas.");
         }
-        
-        if (from.equals(to)) {
-            return null; // Não há direção se as posições são as mesmas.
-        }
-
-        int deltaX = to.getRow() - from.getRow();
-        int deltaY = to.getCol() - from.getCol();
-
-        if (deltaX != 0 && deltaY != 0 && Math.abs(deltaX) != Math.abs(deltaY)) {
-            return null; // Retorna null para movimentos não lineares/diagonais (ex: cavalo).
-        }
+        return BETWEEN_SQUARES[from.getSquare() * 64 + to.getSquare()];
+    }
 
-        return Direction.get(
-            (int) Math.signum(deltaX),
-            (int) Math.signum(deltaY)
-        );
+    /**
+     * Calcula a direção entre duas casas pelo índice (0-63), por consulta à tabela.
+     *
+     * @param from Índice da casa de origem.
+     * @param to   Índice da casa de destino.
+     * @return A Direção do movimento, ou {@code null} se as casas forem iguais ou não estiverem alinhadas.
+     */
+    public static Direction fromSquares(int from, int to) {
+        return BETWEEN_SQUARES[from * 64 + to];
     }
 
     /**
@@ -118,6 +138,21 @@ public class Direction {
         return !isDiagonal;
     }
 
+    /**
+     * Retorna o índice da direção em {@link #getAllDirections()} (0-7).
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Retorna o deslocamento do índice da casa a cada passo nesta direção.
+     * Não verifica as bordas do tabuleiro.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
     @Override
     public String toString() {
         return "[" + x + ", " + y + "]";
@@ -1,24 +1,42 @@
 package com.chess.entity.base;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class Position {
     // Coordenadas da posição
     private final int row;
     private final int col;
+    // Índice da casa: row * 8 + col (a8 = 0, h1 = 63)
+    private final int square;
 
     // Cache de todas as posições possíveis no tabuleiro
     private final static Position[][] positions = new Position[8][8];
+    // O mesmo cache, indexado pelo índice da casa
+    private static final Position[] SQUARES = new Position[64];
+
+    // Vizinha de cada casa em cada direção (Direction.getIndex()), null fora do tabuleiro
+    private static final Position[][] NEXT = new Position[64][8];
+    // Distância em lances de rei entre cada par de casas
+    private static final byte[][] DISTANCE = new byte[64][64];
 
     // Notação das colunas do tabuleiro
     private static final String[] COLUMNS = {"a", "b", "c", "d", "e", "f", "g", "h"};
 
-    // Inicializa o cache de posições
+    // Inicializa o cache de posições e as tabelas por casa
     static {
         for (int i = 0; i < 8; i++) {
             for (int j = 0; j < 8; j++) {
                 positions[i][j] = new Position(i, j);
+                SQUARES[i * 8 + j] = positions[i][j];
+            }
+        }
+
+        for (int from = 0; from < 64; from++) {
+            int row = from >>> 3;
+            int col = from & 7;
+            for (Direction dir : Direction.getAllDirections()) {
+                NEXT[from][dir.getIndex()] = at(row + dir.getX(), col + dir.getY());
+            }
+            for (int to = 0; to < 64; to++) {
+                DISTANCE[from][to] = (byte) Math.max(Math.abs(row - (to >>> 3)), Math.abs(col - (to & 7)));
             }
         }
     }
@@ -26,6 +44,7 @@ public class Position {
     private Position(int row, int col) {
         this.row = row;
         this.col = col;
+        this.square = row * 8 + col;
     }
 
     /**
@@ -55,18 +74,39 @@ public class Position {
             throw new IllegalArgumentException("Notação de posição não pode ser nula ou vazia.");
         }
 
-        // Valida a notação da posição
-        Pattern pattern = Pattern.compile("^[a-h][1-8]$");
-        Matcher matcher = pattern.matcher(string);
-        if (!matcher.matches()) {
+        // Valida a notação da posição: uma coluna de 'a' a 'h' seguida de uma fileira de '1' a '8'
+        char file = string.length() == 2 ? string.charAt(0) : 0;
+        char rank = string.length() == 2 ? string.charAt(1) : 0;
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
             throw new IllegalArgumentException("Formato de notação de posição inválido: \"" + string + "\"");
         }
 
         // Converte a notação para coordenadas de linha e coluna
-        int row = '8' - string.charAt(1);
-        int col = string.charAt(0) - 'a';
+        return positions['8' - rank][file - 'a'];
+    }
 
-        return positions[row][col];
+    /**
+     * Retorna uma instância de Posição a partir do índice da casa.
+     *
+     * @param square O índice da casa (0-63), {@code row * 8 + col}.
+     * @return  {@code Position} A instância de Posição correspondente,
+     *          {@code null} se o índice estiver fora do tabuleiro.
+     */
+    public static Position at(int square) {
+        if (square < 0 || square > 63) {
+            return null;
+        }
+        return SQUARES[square];
+    }
+
+    /**
+     * Retorna a distância em lances de rei entre duas casas (0-7).
+     *
+     * @param from Índice da casa de origem (0-63).
+     * @param to Índice da casa de destino (0-63).
+     */
+    public static int distance(int from, int to) {
+        return DISTANCE[from][to];
     }
 
     public int getRow() {
@@ -76,6 +116,13 @@ public class Position {
         return col;
     }
 
+    /**
+     * Retorna o índice da casa: {@code row * 8 + col} (a8 = 0, h1 = 63).
+     */
+    public int getSquare() {
+        return square;
+    }
+
     /**
      * Verifica se as posições estão próximas
      * a no máximo 1 casa, inclui diagonal.
@@ -86,8 +133,7 @@ public class Position {
     public boolean isNear(Position position) {
         if (position == null) return false;
 
-        return  Math.abs(this.row - position.row) <= 1 &&
-                Math.abs(this.col - position.col) <= 1;
+        return DISTANCE[this.square][position.square] <= 1;
     }
 
     /**
@@ -101,15 +147,7 @@ public class Position {
             throw new IllegalArgumentException("Direção não pode ser nula.");
         }
 
-        // Soma os valores do vetor com as coordenadas da posição
-        int row = this.getRow() + direction.getX();
-        int col = this.getCol() + direction.getY();
-
-        if (row < 0 || row > 7 || col < 0 || col > 7) {
-            return null;
-        }
-
-        return positions[row][col];
+        return NEXT[square][direction.getIndex()];
     }
     
     @Override
@@ -0,0 +1,821 @@
+package com.chess.entity.board;
+
+import java.util.Arrays;
+
+import com.chess.entity.base.*;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.BitboardUtils;
+
+/**
+ * Implementação de {@link Board} baseada em máscaras de ocupação de 64 bits:
+ * uma por cor e uma por tipo de peça.
+ * <p>
+ * Um vetor de 64 casas guarda a peça de cada casa para consultas diretas.
+ * <p>
+ * Movimentos são aplicados e desfeitos no próprio tabuleiro ({@link #makeMove}
+ * e {@link #unmakeMove}): cada lance empilha a chave anterior e um registro de
+ * desfazer compacto em um {@code int}, sem cópias do tabuleiro.
+ * <p>
+ * Os mapas de ataque de cada cor são mantidos incrementalmente: a cada lance,
+ * apenas as peças nas casas alteradas e as peças deslizantes cujos raios
+ * passam por elas têm os ataques recalculados. Assim, casa atacada, xeque e as
+ * casas de trânsito do roque são consultas a máscaras. Com
+ * {@code -Dchess.verifyAttackMaps=true}, os mapas são conferidos contra um
+ * recálculo completo após cada lance.
+ * <p>
+ * Da mesma forma, as somas das tabelas de peça e casa ({@link PieceSquareTables})
+ * e a chave do material ({@link MaterialKey}) acompanham cada peça colocada ou
+ * retirada, inclusive ao desfazer lances, para a avaliação da busca.
+ */
+public class BitBoard implements Board {
+
+    // Bits dos direitos de roque
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    /**
+     * Quando ativo ({@code -Dchess.verifyAttackMaps=true}), os mapas de ataque
+     * mantidos incrementalmente são comparados com um recálculo completo após
+     * cada movimento aplicado ou desfeito.
+     */
+    public static final boolean VERIFY_ATTACK_MAPS = Boolean.getBoolean("chess.verifyAttackMaps");
+
+    // Direitos de roque preservados quando uma peça sai ou chega em cada casa
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+        CASTLING_MASK[0] &= ~BLACK_QUEEN_SIDE;                   // a8
+        CASTLING_MASK[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE); // e8
+        CASTLING_MASK[7] &= ~BLACK_KING_SIDE;                    // h8
+        CASTLING_MASK[56] &= ~WHITE_QUEEN_SIDE;                  // a1
+        CASTLING_MASK[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE); // e1
+        CASTLING_MASK[63] &= ~WHITE_KING_SIDE;                   // h1
+    }
+
+    // Registro de desfazer: peça capturada (0 = nenhuma, senão índice + 1),
+    // direitos de roque, casa de en passant + 1 e relógio de meias-jogadas
+    private static final int UNDO_CASTLING_SHIFT = 4;
+    private static final int UNDO_EN_PASSANT_SHIFT = 8;
+    private static final int UNDO_HALFMOVE_SHIFT = 15;
+
+    // Peças indexadas por cor * 6 + tipo
+    private static final Piece[] PIECES = new Piece[12];
+
+    static {
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[color.ordinal() * 6 + type.ordinal()] = Piece.of(type, color);
+            }
+        }
+    }
+
+    // Disposição inicial das peças, linha a linha a partir da oitava fileira
+    private static final String[] INITIAL_ROWS = {
+        "tcbdrbct", "pppppppp", "........", "........",
+        "........", "........", "PPPPPPPP", "TCBDRBCT"
+    };
+
+    // Máscaras de ocupação por cor e por tipo de peça
+    private final long[] colorMasks = new long[2];
+    private final long[] typeMasks = new long[PieceType.values().length];
+    // Peça de cada casa, indexada por row * 8 + col
+    private final Piece[] squares = new Piece[64];
+    // Casas atacadas pela peça de cada casa, e a união por cor
+    private final long[] pieceAttacks = new long[64];
+    private final long[] colorAttacks = new long[2];
+
+    private Color sideToMove = Color.WHITE;
+    private int castlingRights;
+    private int enPassantSquare = -1;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+
+    // Chave de Zobrist da posição, atualizada incrementalmente
+    private long key;
+    // Chaves das posições anteriores, da mais antiga para a mais recente,
+    // e os registros de desfazer dos lances correspondentes
+    private long[] history = new long[64];
+    private int[] undo = new int[64];
+    private int historySize;
+
+    // Somas das tabelas de peça e casa (brancas menos pretas) e assinatura do material
+    private int middlegameScore;
+    private int endgameScore;
+    private long materialKey;
+
+    /**
+     * Cria um tabuleiro vazio, com as brancas a jogar e sem direitos de roque.
+     */
+    public BitBoard() {
+    }
+
+    /**
+     * Cria uma cópia independente do tabuleiro.
+     *
+     * @param other Tabuleiro a ser copiado.
+     */
+    public BitBoard(BitBoard other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Copia o estado de outro tabuleiro para este, reaproveitando os arrays.
+     *
+     * @param other Tabuleiro de origem.
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.colorMasks, 0, colorMasks, 0, colorMasks.length);
+        System.arraycopy(other.typeMasks, 0, typeMasks, 0, typeMasks.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        System.arraycopy(other.pieceAttacks, 0, pieceAttacks, 0, pieceAttacks.length);
+        System.arraycopy(other.colorAttacks, 0, colorAttacks, 0, colorAttacks.length);
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.halfmoveClock = other.halfmoveClock;
+        this.fullmoveNumber = other.fullmoveNumber;
+        this.key = other.key;
+        this.middlegameScore = other.middlegameScore;
+        this.endgameScore = other.endgameScore;
+        this.materialKey = other.materialKey;
+        if (history.length < other.historySize) {
+            history = new long[other.history.length];
+            undo = new int[other.history.length];
+        }
+        System.arraycopy(other.history, 0, history, 0, other.historySize);
+        System.arraycopy(other.undo, 0, undo, 0, other.historySize);
+        this.historySize = other.historySize;
+    }
+
+    /**
+     * Cria um tabuleiro na posição inicial do xadrez.
+     *
+     * @return {@code BitBoard} com todas as peças nas casas iniciais
+     */
+    public static BitBoard initial() {
+        BitBoard board = new BitBoard();
+
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                char symbol = INITIAL_ROWS[row].charAt(col);
+                if (symbol == '.') continue;
+                board.setPieceAt(Position.at(row, col), Piece.create(symbol));
+            }
+        }
+        board.setCastlingRights(ALL_CASTLING);
+
+        return board;
+    }
+
+    // ------------------------------------------------------------------
+    // Contrato Board
+    // ------------------------------------------------------------------
+
+    @Override
+    public boolean hasPieceAt(Position position) {
+        if (position == null) return false;
+        return (getOccupancy() & BitboardUtils.squareBit(position)) != 0;
+    }
+
+    @Override
+    public boolean hasPieceAt(Position position, Color color) {
+        if (position == null || color == null) return false;
+        return (colorMasks[color.ordinal()] & BitboardUtils.squareBit(position)) != 0;
+    }
+
+    @Override
+    public Piece getPieceAt(Position position) {
+        if (position == null) return null;
+        return squares[BitboardUtils.squareOf(position)];
+    }
+
+    @Override
+    public Piece getPieceAt(int square) {
+        return squares[square];
+    }
+
+    @Override
+    public boolean isPathClear(Position from, Position to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (Direction.get(from, to) == null) return false;
+
+        long path = BitboardUtils.between(BitboardUtils.squareOf(from), BitboardUtils.squareOf(to));
+        return (path & getOccupancy()) == 0;
+    }
+
+    @Override
+    public boolean canCastleKingSide(Color color) {
+        int right = color.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        int king = color.isWhite() ? 60 : 4; // e1 / e8
+        return canCastle(color, right, king, king + 3, king + 1, king + 2);
+    }
+
+    @Override
+    public boolean canCastleQueenSide(Color color) {
+        int right = color.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        int king = color.isWhite() ? 60 : 4; // e1 / e8
+        return canCastle(color, right, king, king - 4, king - 1, king - 2);
+    }
+
+    /**
+     * Verifica as condições de roque a partir dos índices das casas envolvidas.
+     *
+     * @param right Bit do direito de roque.
+     * @param king Casa do rei.
+     * @param rook Casa da torre.
+     * @param transit Casa que o rei atravessa.
+     * @param target Casa final do rei.
+     */
+    private boolean canCastle(Color color, int right, int king, int rook, int transit, int target) {
+        if ((castlingRights & right) == 0) return false;
+
+        // Confere se rei e torre ainda estão nas casas de origem
+        long own = colorMasks[color.ordinal()];
+        if ((own & typeMasks[PieceType.KING.ordinal()] & (1L << king)) == 0) return false;
+        if ((own & typeMasks[PieceType.ROOK.ordinal()] & (1L << rook)) == 0) return false;
+
+        // Casas entre rei e torre devem estar vazias
+        if ((BitboardUtils.between(king, rook) & getOccupancy()) != 0) return false;
+
+        // O rei não pode estar em xeque nem atravessar ou terminar em casa atacada
+        Color enemy = color.opposite();
+        return !isSquareAttacked(king, enemy)
+            && !isSquareAttacked(transit, enemy)
+            && !isSquareAttacked(target, enemy);
+    }
+
+    @Override
+    public Position getEnPassantTarget() {
+        return enPassantSquare < 0 ? null : BitboardUtils.positionOf(enPassantSquare);
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    @Override
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    @Override
+    public long getOccupancy() {
+        return colorMasks[0] | colorMasks[1];
+    }
+
+    @Override
+    public long getOccupancy(Color color) {
+        return colorMasks[color.ordinal()];
+    }
+
+    @Override
+    public long getAttacks(Color color) {
+        return colorAttacks[color.ordinal()];
+    }
+
+    @Override
+    public long getPieces(PieceType type) {
+        return typeMasks[type.ordinal()];
+    }
+
+    @Override
+    public long getPieces(PieceType type, Color color) {
+        return typeMasks[type.ordinal()] & colorMasks[color.ordinal()];
+    }
+
+    // ------------------------------------------------------------------
+    // Ataques
+    // ------------------------------------------------------------------
+
+    /**
+     * Verifica se a casa é atacada por alguma peça da cor informada, consultando
+     * o mapa de ataques da cor.
+     *
+     * @param square Índice da casa (0-63).
+     * @param by Cor das peças atacantes.
+     * @return {@code true} se a casa estiver atacada
+     */
+    public boolean isSquareAttacked(int square, Color by) {
+        return (colorAttacks[by.ordinal()] & (1L << square)) != 0;
+    }
+
+    /**
+     * Retorna as casas atacadas pela peça na casa, do mapa mantido pelos lances.
+     *
+     * @param square Índice da casa (0-63).
+     * @return As casas atacadas, vazio se a casa estiver vazia.
+     */
+    public long getAttacksFrom(int square) {
+        return pieceAttacks[square];
+    }
+
+    /**
+     * Calcula do zero as casas atacadas pelas peças da cor, sem usar os mapas mantidos.
+     *
+     * @param by Cor das peças atacantes.
+     * @return A máscara das casas atacadas.
+     */
+    public long computeAttacks(Color by) {
+        long occupancy = getOccupancy();
+        long attacks = BitboardUtils.EMPTY;
+        for (long pieces = colorMasks[by.ordinal()]; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            attacks |= attacksOf(squares[square], square, occupancy);
+        }
+        return attacks;
+    }
+
+    /**
+     * Compara os mapas de ataque mantidos com um recálculo completo.
+     *
+     * @throws IllegalStateException se algum mapa divergir.
+     */
+    public void verifyAttackMaps() {
+        long occupancy = getOccupancy();
+        for (int square = 0; square < 64; square++) {
+            Piece piece = squares[square];
+            long expected = piece == null ? BitboardUtils.EMPTY : attacksOf(piece, square, occupancy);
+            if (pieceAttacks[square] != expected) {
+                throw new IllegalStateException("Mapa de ataques divergente na casa " + BitboardUtils.positionOf(square)
+                    + ": mantido=" + Long.toHexString(pieceAttacks[square]) + ", recalculado=" + Long.toHexString(expected)
+                    + "\n" + this);
+            }
+        }
+        for (Color color : Color.values()) {
+            if (colorAttacks[color.ordinal()] != computeAttacks(color)) {
+                throw new IllegalStateException("Mapa de ataques divergente para as " + color.getName() + "\n" + this);
+            }
+        }
+    }
+
+    /**
+     * Verifica se a casa é atacada por alguma peça da cor informada.
+     */
+    public boolean isSquareAttacked(Position position, Color by) {
+        if (position == null || by == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return isSquareAttacked(BitboardUtils.squareOf(position), by);
+    }
+
+    /**
+     * Verifica se o rei da cor informada está em xeque.
+     *
+     * @return {@code true} se o rei estiver atacado, {@code false} se não ou se não houver rei
+     */
+    public boolean isInCheck(Color color) {
+        long king = getPieces(PieceType.KING, color);
+        if (king == 0) return false;
+        return isSquareAttacked(Long.numberOfTrailingZeros(king), color.opposite());
+    }
+
+    // ------------------------------------------------------------------
+    // Movimentos
+    // ------------------------------------------------------------------
+
+    /**
+     * Aplica um movimento codificado (ver {@link Move}) e passa a vez.
+     * <p>
+     * Não valida o movimento: ele deve ter sido gerado para esta posição.
+     * Atualiza roque, en passant, relógio de meias-jogadas e número do lance.
+     * Pode ser desfeito com {@link #unmakeMove(int)}.
+     *
+     * @param move O movimento codificado.
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+
+        // O peão capturado en passant não precisa ser registrado: o desfazer o
+        // repõe a partir do próprio movimento
+        boolean capture = (flags & Move.CAPTURE) != 0;
+        pushHistory(capture && flags != Move.EN_PASSANT ? squares[to] : null);
+
+        Piece piece = removePiece(from);
+        Color color = piece.getColor();
+
+        // Remove a peça capturada; no en passant ela está atrás da casa de destino
+        if (flags == Move.EN_PASSANT) {
+            removePiece(color.isWhite() ? to + 8 : to - 8);
+        } else if (capture) {
+            removePiece(to);
+        }
+
+        putPiece(to, Move.isPromotion(move) ? Piece.of(Move.promotionType(move), color) : piece);
+
+        // No roque, a torre salta para o outro lado do rei
+        if (flags == Move.KING_CASTLE) {
+            putPiece(to - 1, removePiece(to + 1));
+        } else if (flags == Move.QUEEN_CASTLE) {
+            putPiece(to + 1, removePiece(to - 2));
+        }
+
+        int rights = castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to];
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        castlingRights = rights;
+
+        // A casa de en passant só é registrada se algum peão adversário puder capturar
+        key ^= Zobrist.enPassant(enPassantSquare);
+        enPassantSquare = -1;
+        if (flags == Move.DOUBLE_PAWN_PUSH) {
+            int target = (from + to) >>> 1;
+            long enemyPawns = getPieces(PieceType.PAWN, color.opposite());
+            if ((BitboardUtils.pawnAttacks(color, target) & enemyPawns) != 0) {
+                enPassantSquare = target;
+                key ^= Zobrist.enPassant(target);
+            }
+        }
+
+        // Capturas e movimentos de peão zeram a contagem da regra dos 50 lances
+        if (piece.getType() == PieceType.PAWN || capture) {
+            halfmoveClock = 0;
+        } else {
+            halfmoveClock++;
+        }
+
+        if (color.isBlack()) fullmoveNumber++;
+        sideToMove = color.opposite();
+        key ^= Zobrist.blackToMove();
+
+        updateAttacks(changedSquares(from, to, flags, color));
+    }
+
+    /**
+     * Passa a vez sem mover nenhuma peça ("lance nulo"), usado pela busca.
+     * <p>
+     * Descarta a casa de en passant e conta como meia-jogada sem captura.
+     */
+    public void makeNullMove() {
+        pushHistory(null);
+
+        key ^= Zobrist.enPassant(enPassantSquare);
+        enPassantSquare = -1;
+        halfmoveClock++;
+
+        sideToMove = sideToMove.opposite();
+        key ^= Zobrist.blackToMove();
+    }
+
+    /**
+     * Desfaz o último movimento aplicado com {@link #makeMove(int)}.
+     * <p>
+     * Restaura a posição, a chave e o estado anterior a partir do registro de
+     * desfazer, sem recalcular nada.
+     *
+     * @param move O mesmo movimento passado a {@code makeMove}.
+     */
+    public void unmakeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int state = popHistory();
+
+        Color color = sideToMove.opposite();
+        sideToMove = color;
+        if (color.isBlack()) fullmoveNumber--;
+
+        // Devolve a torre do roque
+        if (flags == Move.KING_CASTLE) {
+            place(to + 1, lift(to - 1));
+        } else if (flags == Move.QUEEN_CASTLE) {
+            place(to - 2, lift(to + 1));
+        }
+
+        Piece piece = lift(to);
+        place(from, Move.isPromotion(move) ? PIECES[color.ordinal() * 6 + PieceType.PAWN.ordinal()] : piece);
+
+        if (flags == Move.EN_PASSANT) {
+            place(color.isWhite() ? to + 8 : to - 8, PIECES[color.opposite().ordinal() * 6 + PieceType.PAWN.ordinal()]);
+        } else if ((state & 15) != 0) {
+            place(to, PIECES[(state & 15) - 1]);
+        }
+
+        restoreState(state);
+        updateAttacks(changedSquares(from, to, flags, color));
+    }
+
+    /**
+     * Desfaz o último lance nulo aplicado com {@link #makeNullMove()}.
+     */
+    public void unmakeNullMove() {
+        restoreState(popHistory());
+        sideToMove = sideToMove.opposite();
+    }
+
+    /**
+     * Retorna as casas cuja ocupação muda com o movimento da cor informada.
+     */
+    private static long changedSquares(int from, int to, int flags, Color color) {
+        long changed = (1L << from) | (1L << to);
+        if (flags == Move.EN_PASSANT) {
+            changed |= 1L << (color.isWhite() ? to + 8 : to - 8);
+        } else if (flags == Move.KING_CASTLE) {
+            changed |= (1L << (to + 1)) | (1L << (to - 1));
+        } else if (flags == Move.QUEEN_CASTLE) {
+            changed |= (1L << (to - 2)) | (1L << (to + 1));
+        }
+        return changed;
+    }
+
+    /**
+     * Atualiza os mapas de ataque após a mudança de ocupação das casas informadas.
+     * <p>
+     * Recalcula as peças nas próprias casas e as peças deslizantes que atacavam
+     * alguma delas: um raio só muda se passar por uma casa alterada, e a casa
+     * alterada mais próxima no raio está sempre entre as casas atacadas.
+     *
+     * @param changed Máscara das casas que ganharam, perderam ou trocaram de peça.
+     */
+    private void updateAttacks(long changed) {
+        long occupancy = getOccupancy();
+        long sliders = (typeMasks[PieceType.BISHOP.ordinal()] | typeMasks[PieceType.ROOK.ordinal()]
+            | typeMasks[PieceType.QUEEN.ordinal()]) & ~changed;
+
+        long affected = changed & occupancy;
+        for (long empty = changed & ~occupancy; empty != 0; empty &= empty - 1) {
+            pieceAttacks[Long.numberOfTrailingZeros(empty)] = BitboardUtils.EMPTY;
+        }
+        for (; sliders != 0; sliders &= sliders - 1) {
+            int square = Long.numberOfTrailingZeros(sliders);
+            if ((pieceAttacks[square] & changed) != 0) affected |= 1L << square;
+        }
+        for (; affected != 0; affected &= affected - 1) {
+            int square = Long.numberOfTrailingZeros(affected);
+            pieceAttacks[square] = attacksOf(squares[square], square, occupancy);
+        }
+
+        unionAttacks();
+        if (VERIFY_ATTACK_MAPS) verifyAttackMaps();
+    }
+
+    /**
+     * Recalcula do zero os ataques de todas as peças; usado na edição do tabuleiro.
+     */
+    private void recomputeAttacks() {
+        long occupancy = getOccupancy();
+        for (int square = 0; square < 64; square++) {
+            Piece piece = squares[square];
+            pieceAttacks[square] = piece == null ? BitboardUtils.EMPTY : attacksOf(piece, square, occupancy);
+        }
+        unionAttacks();
+    }
+
+    private void unionAttacks() {
+        for (int color = 0; color < 2; color++) {
+            long attacks = BitboardUtils.EMPTY;
+            for (long pieces = colorMasks[color]; pieces != 0; pieces &= pieces - 1) {
+                attacks |= pieceAttacks[Long.numberOfTrailingZeros(pieces)];
+            }
+            colorAttacks[color] = attacks;
+        }
+    }
+
+    private static long attacksOf(Piece piece, int square, long occupancy) {
+        return switch (piece.getType()) {
+            case PAWN -> BitboardUtils.pawnAttacks(piece.getColor(), square);
+            case KNIGHT -> BitboardUtils.knightAttacks(square);
+            case BISHOP -> BitboardUtils.bishopAttacks(square, occupancy);
+            case ROOK -> BitboardUtils.rookAttacks(square, occupancy);
+            case QUEEN -> BitboardUtils.queenAttacks(square, occupancy);
+            case KING -> BitboardUtils.kingAttacks(square);
+        };
+    }
+
+    private void restoreState(int state) {
+        castlingRights = (state >>> UNDO_CASTLING_SHIFT) & ALL_CASTLING;
+        enPassantSquare = ((state >>> UNDO_EN_PASSANT_SHIFT) & 127) - 1;
+        halfmoveClock = state >>> UNDO_HALFMOVE_SHIFT;
+    }
+
+    // ------------------------------------------------------------------
+    // Hash e repetição
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna a chave de Zobrist da posição: peças, vez, roque e coluna de en passant.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Retorna a soma dos valores de meio-jogo das peças ({@link PieceSquareTables}), brancas menos pretas.
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * Retorna a soma dos valores de final das peças ({@link PieceSquareTables}), brancas menos pretas.
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * Retorna a assinatura do material da posição ({@link MaterialKey}).
+     */
+    public long getMaterialKey() {
+        return materialKey;
+    }
+
+    /**
+     * Conta quantas vezes a posição atual ocorreu, incluindo a própria.
+     * <p>
+     * Compara apenas as chaves desde o último movimento irreversível (captura ou
+     * movimento de peão) e com a mesma cor a jogar, sem comparar tabuleiros.
+     *
+     * @return número de ocorrências da posição atual
+     */
+    public int countRepetitions() {
+        int count = 1;
+        int oldest = Math.max(0, historySize - halfmoveClock);
+
+        // Posições com a mesma cor a jogar ficam a cada dois lances
+        for (int i = historySize - 2; i >= oldest; i -= 2) {
+            if (history[i] == key) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Verifica se a posição atual já ocorreu antes (útil para a busca).
+     */
+    public boolean isRepetition() {
+        int oldest = Math.max(0, historySize - halfmoveClock);
+        for (int i = historySize - 2; i >= oldest; i -= 2) {
+            if (history[i] == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a posição atual ocorreu três vezes (empate por repetição tripla).
+     */
+    public boolean isThreefoldRepetition() {
+        return countRepetitions() >= 3;
+    }
+
+    /**
+     * Empilha a chave e o registro de desfazer da posição atual, antes do lance.
+     *
+     * @param captured A peça capturada pelo lance, ou {@code null}.
+     */
+    private void pushHistory(Piece captured) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, history.length * 2);
+            undo = Arrays.copyOf(undo, undo.length * 2);
+        }
+        int capturedIndex = captured == null ? 0 : captured.getColor().ordinal() * 6 + captured.getType().ordinal() + 1;
+        undo[historySize] = capturedIndex
+            | castlingRights << UNDO_CASTLING_SHIFT
+            | (enPassantSquare + 1) << UNDO_EN_PASSANT_SHIFT
+            | halfmoveClock << UNDO_HALFMOVE_SHIFT;
+        history[historySize++] = key;
+    }
+
+    /**
+     * Desempilha o último lance, restaurando a chave.
+     *
+     * @return O registro de desfazer do lance.
+     */
+    private int popHistory() {
+        if (historySize == 0) {
+            throw new IllegalStateException("Não há movimento a desfazer.");
+        }
+        key = history[--historySize];
+        return undo[historySize];
+    }
+
+    // ------------------------------------------------------------------
+    // Edição do tabuleiro
+    // ------------------------------------------------------------------
+
+    /**
+     * Coloca uma peça na posição, substituindo a que estiver lá.
+     *
+     * @throws IllegalArgumentException se algum parâmetro for nulo
+     */
+    public void setPieceAt(Position position, Piece piece) {
+        if (position == null || piece == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        int square = BitboardUtils.squareOf(position);
+        removePiece(square);
+        putPiece(square, piece);
+        recomputeAttacks();
+    }
+
+    /**
+     * Remove a peça da posição.
+     *
+     * @return {@code Piece} removida, {@code null} se a casa estava vazia
+     */
+    public Piece removePieceAt(Position position) {
+        if (position == null) {
+            throw new IllegalArgumentException("Posição não pode ser nula.");
+        }
+        Piece removed = removePiece(BitboardUtils.squareOf(position));
+        recomputeAttacks();
+        return removed;
+    }
+
+    private void putPiece(int square, Piece piece) {
+        place(square, piece);
+        key ^= Zobrist.piece(piece, square);
+    }
+
+    private Piece removePiece(int square) {
+        Piece piece = lift(square);
+        if (piece != null) key ^= Zobrist.piece(piece, square);
+        return piece;
+    }
+
+    // Atualizam apenas as máscaras e o vetor de casas; a chave é restaurada à parte no desfazer
+    private void place(int square, Piece piece) {
+        long bit = 1L << square;
+        colorMasks[piece.getColor().ordinal()] |= bit;
+        typeMasks[piece.getType().ordinal()] |= bit;
+        squares[square] = piece;
+        middlegameScore += PieceSquareTables.middlegame(piece, square);
+        endgameScore += PieceSquareTables.endgame(piece, square);
+        materialKey += MaterialKey.unit(piece);
+    }
+
+    private Piece lift(int square) {
+        Piece piece = squares[square];
+        if (piece == null) return null;
+
+        long bit = 1L << square;
+        colorMasks[piece.getColor().ordinal()] &= ~bit;
+        typeMasks[piece.getType().ordinal()] &= ~bit;
+        squares[square] = null;
+        middlegameScore -= PieceSquareTables.middlegame(piece, square);
+        endgameScore -= PieceSquareTables.endgame(piece, square);
+        materialKey -= MaterialKey.unit(piece);
+        return piece;
+    }
+
+    public void setSideToMove(Color sideToMove) {
+        if (sideToMove == null) {
+            throw new IllegalArgumentException("Cor não pode ser nula.");
+        }
+        if (this.sideToMove != sideToMove) key ^= Zobrist.blackToMove();
+        this.sideToMove = sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        key ^= Zobrist.castling(this.castlingRights);
+        this.castlingRights = castlingRights & ALL_CASTLING;
+        key ^= Zobrist.castling(this.castlingRights);
+    }
+
+    public void setEnPassantTarget(Position target) {
+        key ^= Zobrist.enPassant(enPassantSquare);
+        this.enPassantSquare = target == null ? -1 : BitboardUtils.squareOf(target);
+        key ^= Zobrist.enPassant(enPassantSquare);
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    public void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = squares[row * 8 + col];
+                sb.append(piece == null ? '.' : piece.getSymbol());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+}
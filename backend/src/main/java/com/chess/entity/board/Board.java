@@ -0,0 +1,99 @@
+package com.chess.entity.board;
+
+import com.chess.entity.base.*;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Contrato do tabuleiro consultado pelas peças durante a geração de movimentos.
+ * <p>
+ * Além das consultas por {@link Position}, expõe as máscaras de ocupação de 64 bits
+ * (ver {@link com.chess.utils.BitboardUtils}) para que a geração de movimentos e a
+ * detecção de ataques possam ser feitas com operações bit a bit.
+ */
+public interface Board {
+
+    /**
+     * Verifica se há alguma peça na posição.
+     */
+    boolean hasPieceAt(Position position);
+
+    /**
+     * Verifica se há uma peça da cor informada na posição.
+     */
+    boolean hasPieceAt(Position position, Color color);
+
+    /**
+     * Retorna a peça na posição.
+     * @return {@code Piece} na posição, {@code null} se a casa estiver vazia
+     */
+    Piece getPieceAt(Position position);
+
+    /**
+     * Retorna a peça na casa de índice informado (0-63).
+     * @return {@code Piece} na casa, {@code null} se a casa estiver vazia
+     */
+    Piece getPieceAt(int square);
+
+    /**
+     * Verifica se todas as casas estritamente entre 'from' e 'to' estão vazias.
+     * <p>
+     * Retorna {@code false} se as posições não estiverem na mesma linha, coluna ou diagonal.
+     */
+    boolean isPathClear(Position from, Position to);
+
+    /**
+     * Verifica se o roque na ala do rei é possível para a cor: direito de roque,
+     * casas intermediárias vazias e nenhuma casa do trajeto do rei atacada.
+     */
+    boolean canCastleKingSide(Color color);
+
+    /**
+     * Verifica se o roque na ala da dama é possível para a cor: direito de roque,
+     * casas intermediárias vazias e nenhuma casa do trajeto do rei atacada.
+     */
+    boolean canCastleQueenSide(Color color);
+
+    /**
+     * Retorna a casa alvo de en passant.
+     * @return {@code Position} alvo, {@code null} se não houver
+     */
+    Position getEnPassantTarget();
+
+    /**
+     * Retorna o índice da casa alvo de en passant.
+     * @return índice da casa (0-63), {@code -1} se não houver
+     */
+    int getEnPassantSquare();
+
+    /**
+     * Retorna a cor que tem a vez de jogar.
+     */
+    Color getSideToMove();
+
+    /**
+     * Retorna a máscara de todas as casas ocupadas.
+     */
+    long getOccupancy();
+
+    /**
+     * Retorna a máscara das casas ocupadas por peças da cor.
+     */
+    long getOccupancy(Color color);
+
+    /**
+     * Retorna a máscara das casas atacadas por peças da cor.
+     */
+    long getAttacks(Color color);
+
+    /**
+     * Retorna a máscara das casas ocupadas por peças do tipo, de ambas as cores.
+     */
+    long getPieces(PieceType type);
+
+    /**
+     * Retorna a máscara das casas ocupadas por peças do tipo e da cor.
+     */
+    long getPieces(PieceType type, Color color);
+
+}
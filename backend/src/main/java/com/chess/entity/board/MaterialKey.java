@@ -0,0 +1,67 @@
+package com.chess.entity.board;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Assinatura do material de uma posição: quantas peças de cada tipo e cor há
+ * no tabuleiro, 4 bits por peça (cor * 6 + tipo), em um {@code long}.
+ * <p>
+ * Duas posições com o mesmo material têm a mesma chave, independentemente das
+ * casas. O {@link BitBoard} a mantém somando e subtraindo uma unidade a cada
+ * peça colocada ou retirada; a avaliação a usa para reconhecer finais (material
+ * insuficiente, finais com avaliação própria) sem contar as peças.
+ */
+public class MaterialKey {
+
+    private static final int BITS = 4;
+    private static final String LETTERS = "PNBRQK";
+
+    private MaterialKey() {
+    }
+
+    /**
+     * Retorna a unidade da peça, somada à chave quando a peça entra no tabuleiro.
+     */
+    public static long unit(Piece piece) {
+        return unit(piece.getType(), piece.getColor());
+    }
+
+    public static long unit(PieceType type, Color color) {
+        return 1L << BITS * (color.ordinal() * 6 + type.ordinal());
+    }
+
+    /**
+     * Retorna quantas peças do tipo e da cor a chave tem.
+     */
+    public static int count(long key, PieceType type, Color color) {
+        return (int) (key >>> BITS * (color.ordinal() * 6 + type.ordinal())) & (1 << BITS) - 1;
+    }
+
+    /**
+     * Retorna a chave do material descrito como nos nomes de finais: o rei e as
+     * peças das brancas, depois o rei e as peças das pretas (ex: "KBNK", "KRPKR").
+     *
+     * @throws IllegalArgumentException se a descrição for inválida.
+     */
+    public static long of(String signature) {
+        if (signature == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        int second = signature.indexOf('K', 1);
+        if (!signature.startsWith("K") || second < 0) {
+            throw new IllegalArgumentException("Material inválido: " + signature);
+        }
+        long key = 0;
+        for (int i = 0; i < signature.length(); i++) {
+            int type = LETTERS.indexOf(signature.charAt(i));
+            if (type < 0 || (type == PieceType.KING.ordinal() && i != 0 && i != second)) {
+                throw new IllegalArgumentException("Material inválido: " + signature);
+            }
+            key += unit(PieceType.values()[type], i < second ? Color.WHITE : Color.BLACK);
+        }
+        return key;
+    }
+
+}
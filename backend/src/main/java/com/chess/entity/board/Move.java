@@ -0,0 +1,113 @@
+package com.chess.entity.board;
+
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.BitboardUtils;
+
+/**
+ * Codificação de movimentos em um {@code int} de 16 bits, sem alocação de objetos.
+ * <p>
+ * Layout dos bits:
+ * <ul>
+ * <li>0-5 - casa de origem (0-63)</li>
+ * <li>6-11 - casa de destino (0-63)</li>
+ * <li>12-15 - flags (tipo do movimento e peça de promoção)</li>
+ * </ul>
+ * O bit {@link #CAPTURE} indica captura e o bit {@link #PROMOTION} indica promoção;
+ * nas promoções, os dois bits inferiores das flags escolhem a peça.
+ */
+public class Move {
+
+    // Movimento inexistente (origem e destino iguais nunca são gerados)
+    public static final int NONE = 0;
+
+    // Flags do movimento
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+
+    // Peças de promoção, na ordem dos dois bits inferiores das flags
+    private static final PieceType[] PROMOTION_TYPES = {
+        PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+    private static final char[] PROMOTION_LETTERS = {'n', 'b', 'r', 'q'};
+
+    private Move() {
+    }
+
+    /**
+     * Codifica um movimento.
+     *
+     * @param from Casa de origem (0-63).
+     * @param to Casa de destino (0-63).
+     * @param flags Flags do movimento.
+     * @return O movimento codificado.
+     */
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    /**
+     * Codifica uma promoção.
+     *
+     * @param type Peça escolhida (cavalo, bispo, torre ou dama).
+     * @param capture {@code true} se a promoção também captura.
+     * @throws IllegalArgumentException se a peça não puder ser escolhida na promoção.
+     */
+    public static int promotion(int from, int to, PieceType type, boolean capture) {
+        int index = switch (type) {
+            case KNIGHT -> 0;
+            case BISHOP -> 1;
+            case ROOK -> 2;
+            case QUEEN -> 3;
+            default -> throw new IllegalArgumentException("Peça de promoção inválida: " + type);
+        };
+        return of(from, to, PROMOTION | (capture ? CAPTURE : 0) | index);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Retorna a peça escolhida na promoção.
+     * @return {@code PieceType} da promoção, {@code null} se o movimento não for promoção
+     */
+    public static PieceType promotionType(int move) {
+        if (!isPromotion(move)) return null;
+        return PROMOTION_TYPES[flags(move) & 3];
+    }
+
+    /**
+     * Retorna o movimento em notação de coordenadas (ex: "e2e4", "e7e8q").
+     */
+    public static String toString(int move) {
+        String text = BitboardUtils.positionOf(from(move)).toString() + BitboardUtils.positionOf(to(move));
+        return isPromotion(move) ? text + PROMOTION_LETTERS[flags(move) & 3] : text;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.chess.entity.board;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável de movimentos codificados (ver {@link Move}).
+ * <p>
+ * Pertence a quem chama a geração de movimentos: basta chamar {@link #clear()}
+ * antes de reutilizá-lo, sem nenhuma alocação no caminho crítico.
+ */
+public class MoveList {
+
+    // Nenhuma posição legal tem mais de 218 movimentos
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva: " + capacity);
+        }
+        this.moves = new int[capacity];
+    }
+
+    /**
+     * Adiciona um movimento codificado ao final do buffer.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Esvazia o buffer, mantendo a capacidade.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Descarta os movimentos a partir do índice informado.
+     */
+    public void truncate(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Ordena os movimentos pelo código (ver {@link Move}), uma ordem que não
+     * depende do gerador.
+     */
+    public void sort() {
+        Arrays.sort(moves, 0, size);
+    }
+
+    /**
+     * Verifica se o buffer contém o movimento.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(Move.toString(moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.chess.entity.board;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Tabelas de peça e casa da avaliação: o valor de cada peça em cada casa, com
+ * o material incluído, no meio-jogo e no final.
+ * <p>
+ * Os valores são do ponto de vista das brancas: uma peça preta vale o mesmo
+ * que a branca na casa espelhada, com o sinal trocado. Assim o {@link BitBoard}
+ * mantém as somas de todas as peças ao colocar e retirar cada uma, e a
+ * avaliação lê as somas prontas em vez de percorrer as 64 casas.
+ * <p>
+ * As tabelas são montadas a partir de poucas regras: peões valem mais ao
+ * avançar e no centro, cavalos e bispos perto do centro, torres na sétima
+ * fileira, e o rei fica protegido no canto no meio-jogo e vai para o centro no
+ * final.
+ */
+public class PieceSquareTables {
+
+    // Material por tipo de peça, indexado por PieceType.ordinal()
+    private static final int[] MIDDLEGAME_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] ENDGAME_VALUES = {120, 300, 320, 540, 950, 0};
+
+    // Bônus do rei na primeira fileira no meio-jogo, por coluna (roque curto e longo)
+    private static final int[] KING_SHELTER = {20, 30, 25, 0, 0, 10, 30, 20};
+
+    // Valores por peça (cor * 6 + tipo) e casa, já com o sinal da cor
+    private static final int[][] MIDDLEGAME = new int[12][64];
+    private static final int[][] ENDGAME = new int[12][64];
+
+    static {
+        for (PieceType type : PieceType.values()) {
+            int white = Color.WHITE.ordinal() * 6 + type.ordinal();
+            int black = Color.BLACK.ordinal() * 6 + type.ordinal();
+            for (int square = 0; square < 64; square++) {
+                int file = square & 7;
+                int rank = 7 - (square >>> 3);
+                int middlegame = MIDDLEGAME_VALUES[type.ordinal()] + middlegameBonus(type, file, rank);
+                int endgame = ENDGAME_VALUES[type.ordinal()] + endgameBonus(type, file, rank);
+                MIDDLEGAME[white][square] = middlegame;
+                ENDGAME[white][square] = endgame;
+                MIDDLEGAME[black][square ^ 56] = -middlegame;
+                ENDGAME[black][square ^ 56] = -endgame;
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Retorna o valor de meio-jogo da peça na casa (negativo para as pretas).
+     */
+    public static int middlegame(Piece piece, int square) {
+        return MIDDLEGAME[piece.getColor().ordinal() * 6 + piece.getType().ordinal()][square];
+    }
+
+    /**
+     * Retorna o valor de final da peça na casa (negativo para as pretas).
+     */
+    public static int endgame(Piece piece, int square) {
+        return ENDGAME[piece.getColor().ordinal() * 6 + piece.getType().ordinal()][square];
+    }
+
+    /**
+     * Retorna o material de meio-jogo do tipo de peça, sem o bônus da casa.
+     */
+    public static int middlegameValue(PieceType type) {
+        return MIDDLEGAME_VALUES[type.ordinal()];
+    }
+
+    /**
+     * Retorna o material de final do tipo de peça, sem o bônus da casa.
+     */
+    public static int endgameValue(PieceType type) {
+        return ENDGAME_VALUES[type.ordinal()];
+    }
+
+    // Fileira e coluna de 0 a 7, a partir da primeira fileira e da coluna a
+    private static int middlegameBonus(PieceType type, int file, int rank) {
+        int center = centerDistance(file, rank);
+        return switch (type) {
+            case PAWN -> rank == 0 || rank == 7 ? 0
+                : 5 * (rank - 1) + ((file == 3 || file == 4) && rank >= 2 && rank <= 4 ? 20 : 0);
+            case KNIGHT -> 20 - 8 * center;
+            case BISHOP -> 10 - 4 * center + (file == rank || file + rank == 7 ? 5 : 0);
+            case ROOK -> (rank == 6 ? 20 : 0) + (file == 3 || file == 4 ? 5 : 0);
+            case QUEEN -> 5 - 3 * center;
+            case KING -> rank == 0 ? KING_SHELTER[file] : -15 * Math.min(rank, 4);
+        };
+    }
+
+    private static int endgameBonus(PieceType type, int file, int rank) {
+        int center = centerDistance(file, rank);
+        return switch (type) {
+            case PAWN -> rank == 0 || rank == 7 ? 0 : 10 * (rank - 1);
+            case KNIGHT -> 15 - 8 * center;
+            case BISHOP -> 8 - 3 * center;
+            case ROOK -> rank == 6 ? 10 : 0;
+            case QUEEN -> 10 - 4 * center;
+            case KING -> 24 - 6 * center;
+        };
+    }
+
+    /**
+     * Distância de Manhattan da casa até as quatro casas centrais (0 a 6).
+     */
+    private static int centerDistance(int file, int rank) {
+        return (Math.abs(2 * file - 7) + Math.abs(2 * rank - 7)) / 2 - 1;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.chess.entity.board;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Chaves de Zobrist para o hash de 64 bits das posições.
+ * <p>
+ * A chave de uma posição é o XOR das chaves de cada peça em sua casa, da vez
+ * das pretas, dos direitos de roque e da coluna de en passant. Como o XOR é a
+ * própria inversa, a chave pode ser atualizada incrementalmente a cada movimento.
+ * <p>
+ * As chaves são geradas com semente fixa, de modo que são as mesmas em toda execução.
+ */
+public class Zobrist {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    // Chaves por peça (cor * 6 + tipo) e casa
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+    // Chave aplicada quando é a vez das pretas
+    private static final long BLACK_TO_MOVE;
+    // Chaves por combinação dos quatro bits de roque
+    private static final long[] CASTLING = new long[16];
+    // Chaves por coluna da casa de en passant
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    private static long state = SEED;
+
+    static {
+        for (int piece = 0; piece < 12; piece++) {
+            for (int sq = 0; sq < 64; sq++) {
+                PIECE_SQUARE[piece][sq] = nextRandom();
+            }
+        }
+        BLACK_TO_MOVE = nextRandom();
+
+        // Cada direito de roque tem sua chave; as combinações são o XOR delas
+        long[] rights = {nextRandom(), nextRandom(), nextRandom(), nextRandom()};
+        for (int mask = 0; mask < 16; mask++) {
+            for (int bit = 0; bit < 4; bit++) {
+                if ((mask & (1 << bit)) != 0) CASTLING[mask] ^= rights[bit];
+            }
+        }
+
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE[file] = nextRandom();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(Piece piece, int square) {
+        return PIECE_SQUARE[piece.getColor().ordinal() * 6 + piece.getType().ordinal()][square];
+    }
+
+    public static long piece(PieceType type, Color color, int square) {
+        return PIECE_SQUARE[color.ordinal() * 6 + type.ordinal()][square];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * Retorna a chave da casa de en passant.
+     * @return chave da coluna, {@code 0} se não houver casa de en passant
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+
+    /**
+     * Calcula a chave da posição do zero, percorrendo todas as casas.
+     * <p>
+     * Usado para validar a chave mantida incrementalmente.
+     */
+    public static long compute(Board board, int castlingRights) {
+        long key = 0L;
+
+        for (int sq = 0; sq < 64; sq++) {
+            Piece piece = board.getPieceAt(sq);
+            if (piece != null) key ^= piece(piece, sq);
+        }
+        if (board.getSideToMove().isBlack()) key ^= BLACK_TO_MOVE;
+        key ^= CASTLING[castlingRights];
+        key ^= enPassant(board.getEnPassantSquare());
+
+        return key;
+    }
+
+    // Gerador splitmix64, determinístico a partir da semente fixa
+    private static long nextRandom() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
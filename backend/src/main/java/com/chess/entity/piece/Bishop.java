@@ -1,9 +1,8 @@
 package com.chess.entity.piece;
 
-import java.util.List;
-
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.MoveList;
 import com.chess.utils.MoveUtils;
 
 public class Bishop extends Piece {
@@ -16,6 +15,11 @@ public class Bishop extends Piece {
     public char getSymbol() {
         return this.color.isWhite() ? 'B' : 'b';
     }
+
+    @Override
+    public PieceType getType() {
+        return PieceType.BISHOP;
+    }
     
     @Override
     public boolean isAttacking(Board board, Position from, Position to) {
@@ -34,14 +38,14 @@ public class Bishop extends Piece {
     }
     
     @Override
-    public List<Position> getPossibleMoves(Board board, Position from) {
-        if (board == null || from == null) {
+    public void generateMoves(Board board, int from, MoveList moves) {
+        if (board == null || moves == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
         Direction[] directions = Direction.getDiagonalDirections();
 
-        return MoveUtils.getSlidingMoves(board, this.color, from, directions);
+        MoveUtils.generateSlidingMoves(board, this.color, from, directions, moves);
     }
 
 }
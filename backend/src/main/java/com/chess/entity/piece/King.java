@@ -1,10 +1,11 @@
 package com.chess.entity.piece;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.MoveUtils;
 
 public class King extends Piece {
 
@@ -12,45 +13,16 @@ public class King extends Piece {
         super(color);
     }
 
-    private List<Position> getNearMoves(Board board, Position from) {
-        List<Position> nearMoves = new ArrayList<>();
-
-        Direction[] directions = Direction.getAllDirections();
-
-        // Verifica cada direção possível
-        for (Direction dir : directions) {
-            Position to = from.getNext(dir);
-            if (to == null) continue;
-
-            // Adiciona o movimento se a posição de destino estiver vazia ou tiver uma peça adversária
-            if (!board.hasPieceAt(to) || board.hasPieceAt(to, color.opposite())) {
-                nearMoves.add(to);
-            }
-        }
-
-        return nearMoves;
-    }
-
-    private List<Position> getCastleMoves(Board board, Position from) {
-        List<Position> castleMoves = new ArrayList<>();
-
-        // Verifica possibilidade de roque na ala do rei
+    private void generateCastleMoves(Board board, int from, MoveList moves) {
+        // Verifica possibilidade de roque na ala do rei (destino g1/g8)
         if (board.canCastleKingSide(this.color)) {
-            Position kingSideCastlePos = this.color.isWhite()
-                ? Position.at("g1")  // Posição do roque do rei para peças brancas
-                : Position.at("g8"); // Posição do roque do rei para peças pretas
-            castleMoves.add(kingSideCastlePos);
+            moves.add(Move.of(from, from + 2, Move.KING_CASTLE));
         }
 
-        // Verifica possibilidade de roque na ala da dama
+        // Verifica possibilidade de roque na ala da dama (destino c1/c8)
         if (board.canCastleQueenSide(this.color)) {
-            Position queenSideCastlePos = this.color.isWhite()
-                ? Position.at("c1")  // Posição do roque da dama para peças brancas
-                : Position.at("c8"); // Posição do roque da dama para peças pretas
-            castleMoves.add(queenSideCastlePos);
+            moves.add(Move.of(from, from - 2, Move.QUEEN_CASTLE));
         }
-
-        return castleMoves;
     }
 
     @Override
@@ -58,31 +30,30 @@ public class King extends Piece {
         return this.color.isWhite() ? 'R' : 'r';
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.KING;
+    }
+
     @Override
     public boolean isAttacking(Board board, Position from, Position to) {
         if (board == null || from == null || to == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        // Verifica se a posição "to" está adjacente à posição "from"
-        boolean isAttacking = from.isNear(to) && !from.equals(to);
-
-        return isAttacking;
+        // Consulta a máscara de casas vizinhas pré-calculada da casa de origem
+        return (BitboardUtils.kingAttacks(from.getSquare()) & BitboardUtils.squareBit(to)) != 0;
     }
 
     @Override
-    public List<Position> getPossibleMoves(Board board, Position from) {
-        if (board == null || from == null) {
+    public void generateMoves(Board board, int from, MoveList moves) {
+        if (board == null || moves == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        List<Position> moves = new ArrayList<>();
-
         // Adiciona movimentos próximos e movimentos de roque
-        moves.addAll(getNearMoves(board, from));
-        moves.addAll(getCastleMoves(board, from));
-
-        return moves;
+        MoveUtils.addMoves(board, this.color, from, BitboardUtils.kingAttacks(from), moves);
+        generateCastleMoves(board, from, moves);
     }
 
 }
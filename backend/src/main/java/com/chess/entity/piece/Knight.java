@@ -1,18 +1,13 @@
 package com.chess.entity.piece;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.MoveUtils;
 
 public class Knight extends Piece {
 
-    private static final int[][] KNIGHT_JUMPS = {
-        {1, 2}, {1, -2}, {-1, 2}, {-1, -2},
-        {2, 1}, {2, -1}, {-2, 1}, {-2, -1}
-    };
-
     protected Knight(Color color) {
         super(color);
     }
@@ -22,51 +17,31 @@ public class Knight extends Piece {
         return this.color.isWhite() ? 'C' : 'c';
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.KNIGHT;
+    }
+
     @Override
     public boolean isAttacking(Board board, Position from, Position to) {
         if (board == null || from == null || to == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        // Cálculo dos deslocamentos
-        int deltaX = from.getCol() - to.getCol();
-        int deltaY = from.getRow() - to.getRow();
-
-        // Cálculo baseado na distância euclidiana ao quadrado
-        int deltaX2 = deltaX * deltaX;
-        int deltaY2 = deltaY * deltaY;
-
-        boolean isAttacking = (deltaX2 + deltaY2 == 5);
-
-        return isAttacking;
+        // Consulta a máscara de saltos pré-calculada da casa de origem
+        return (BitboardUtils.knightAttacks(from.getSquare()) & BitboardUtils.squareBit(to)) != 0;
     }
 
     @Override
-    public List<Position> getPossibleMoves(Board board, Position from) {
-        if (board == null || from == null) {
+    public void generateMoves(Board board, int from, MoveList moves) {
+        if (board == null || moves == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        List<Position> moves = new ArrayList<>();
-
-        // Verifica cada possível movimento do cavalo
-        for (int[] jump : KNIGHT_JUMPS) {
-            // Calcula as posições de destino
-            int row = from.getRow() + jump[0];
-            int col = from.getCol() + jump[1];
+        // Saltos pré-calculados; casas com peças da própria cor são descartadas
+        long targets = BitboardUtils.knightAttacks(from);
 
-            Position to = Position.at(row, col);
-
-            // Verifica se saiu do tabuleiro
-            if (to == null) continue;
-
-            // Verifica se a posição de destino contém uma peça adversária
-            if (!board.hasPieceAt(to, this.color)) {
-                moves.add(to);
-            }
-        }
-        
-        return moves;
+        MoveUtils.addMoves(board, this.color, from, targets, moves);
     }
     
 }
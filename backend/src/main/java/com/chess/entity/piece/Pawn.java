@@ -1,17 +1,16 @@
 package com.chess.entity.piece;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.MoveUtils;
 
 public class Pawn extends Piece {
 
     // A direção para a qual este peão avança (um passo ou dois)
     private final Direction forwardDirection;
-    // As direções para as quais este peão captura
-    private final Direction[] captureDirections;
     // Posição inicial no tabuleiro
     private final int initialRow;
 
@@ -21,72 +20,52 @@ public class Pawn extends Piece {
         if (color == Color.WHITE) {
             // Peões brancos se movem "para cima" no tabuleiro (índice da linha diminui)
             this.forwardDirection = Direction.UP;
-            this.captureDirections = new Direction[]{Direction.UP_LEFT, Direction.UP_RIGHT};
             this.initialRow = 6;
         } else {
             // Peões pretos se movem "para baixo" no tabuleiro (índice da linha aumenta)
             this.forwardDirection = Direction.DOWN;
-            this.captureDirections = new Direction[]{Direction.DOWN_LEFT, Direction.DOWN_RIGHT};
             this.initialRow = 1;
         }
     }
 
-    private boolean isAtInitialPosition(Position from) {
-        return from.getRow() == initialRow;
+    private boolean isAtInitialPosition(int from) {
+        return (from >>> 3) == initialRow;
     }
 
-    private boolean isCaptureDirection(Direction dir) {
-        if (dir == null) return false;
+    private void generateCaptureMoves(Board board, int from, MoveList moves) {
+        long attacks = BitboardUtils.pawnAttacks(this.color, from);
+        long targets = attacks & board.getOccupancy(this.color.opposite());
 
-        // Verifica se a direção está entre as direções de captura
-        for (Direction captureDir : captureDirections) {
-            if (captureDir == dir) return true;
+        // Adiciona capturas de peças adversárias
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            MoveUtils.addPawnMove(from, to, Move.CAPTURE, moves);
+            targets &= targets - 1;
         }
 
-        return false;
-    }
-
-    private List<Position> getCaptureMoves(Board board, Position from) {
-        List<Position> captureMoves = new ArrayList<>();
-
-        // Verifica cada direção de captura
-        for (Direction dir : captureDirections) {
-            Position to = from.getNext(dir);
-            Color oppositeColor = this.color.opposite();
-
-            // Verifica se a posição de destino é válida
-            if (to == null) continue; 
-            
-            // Adiciona o movimento de captura se houver uma peça adversária na posição de destino ou se for um movimento de en passant
-            if (board.hasPieceAt(to, oppositeColor) || to.equals(board.getEnPassantTarget())) {
-                captureMoves.add(to);
-            }
+        // Adiciona a captura en passant, se a casa alvo estiver no alcance do peão
+        int enPassant = board.getEnPassantSquare();
+        if (enPassant >= 0 && (attacks & (1L << enPassant)) != 0) {
+            moves.add(Move.of(from, enPassant, Move.EN_PASSANT));
         }
-        return captureMoves;
     }
 
-    private List<Position> getForwardMoves(Board board, Position from) {
-        List<Position> forwardMoves = new ArrayList<>();
+    private void generateForwardMoves(Board board, int from, MoveList moves) {
+        long occupancy = board.getOccupancy();
+        // Deslocamento do índice da casa a cada passo para frente
+        int step = forwardDirection.getOffset();
 
-        // Verifica a quantidade de passos possíveis (1 ou 2)
-        int step = isAtInitialPosition(from) ? 2 : 1;
+        int to = from + step;
 
-        for (int i = 0; i < step; i++) {
-            Position to = from.getNext(forwardDirection);
+        // Verifica se a posição de destino é válida e está vazia
+        if (to < 0 || to > 63 || (occupancy & (1L << to)) != 0) return;
+        MoveUtils.addPawnMove(from, to, Move.QUIET, moves);
 
-            // Verifica se a posição de destino é válida
-            if (to == null) break; 
-
-            // Adiciona o movimento se a posição de destino estiver vazia
-            if (!board.hasPieceAt(to)) {
-                forwardMoves.add(to);
-                from = to; // Atualiza a posição "from" para o próximo passo
-            } else {
-                break; // Interrompe se encontrar uma peça bloqueando o caminho
-            }
+        // Avanço duplo a partir da posição inicial, se a segunda casa também estiver vazia
+        int doubleTo = to + step;
+        if (isAtInitialPosition(from) && (occupancy & (1L << doubleTo)) == 0) {
+            moves.add(Move.of(from, doubleTo, Move.DOUBLE_PAWN_PUSH));
         }
-
-        return forwardMoves;
     }
 
     @Override
@@ -94,32 +73,30 @@ public class Pawn extends Piece {
         return this.color.isWhite() ? 'P' : 'p';
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
+
     @Override
     public boolean isAttacking(Board board, Position from, Position to) {
         if (board == null || from == null || to == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        Direction dir = Direction.get(from, to);
-        // Verifica se a posição é adjacente e na direção de captura
-        boolean isAttacking = isCaptureDirection(dir) && from.isNear(to);
-
-        return isAttacking;
+        // Consulta a máscara de capturas pré-calculada da casa de origem
+        return (BitboardUtils.pawnAttacks(this.color, from.getSquare()) & BitboardUtils.squareBit(to)) != 0;
     }
 
     @Override
-    public List<Position> getPossibleMoves(Board board, Position from) {
-        if (board == null || from == null) {
+    public void generateMoves(Board board, int from, MoveList moves) {
+        if (board == null || moves == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
-        List<Position> moves = new ArrayList<>();
-
         // Adiciona movimentos para frente e capturas
-        moves.addAll(getForwardMoves(board, from));
-        moves.addAll(getCaptureMoves(board, from));
-
-        return moves;
+        generateForwardMoves(board, from, moves);
+        generateCaptureMoves(board, from, moves);
     }
 
 }
@@ -4,11 +4,25 @@ import java.util.List;
 
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.MoveUtils;
 
 public abstract class Piece {
 
     protected Color color;
 
+    // Cache de instâncias por tipo e cor (peças não possuem estado mutável)
+    private static final Piece[][] cache = new Piece[2][PieceType.values().length];
+
+    static {
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                cache[color.ordinal()][type.ordinal()] = create(type.getSymbol(color));
+            }
+        }
+    }
+
     protected Piece(Color color) {
         this.color = color;
     }
@@ -50,12 +64,29 @@ public abstract class Piece {
         }
     }
     
+    /**
+     * Retorna a instância compartilhada da peça do tipo e cor informados.
+     *
+     * @param type O tipo da peça.
+     * @param color A cor da peça.
+     * @return A peça correspondente.
+     * @throws IllegalArgumentException se o tipo ou a cor forem nulos.
+     */
+    public static Piece of(PieceType type, Color color) {
+        if (type == null || color == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return cache[color.ordinal()][type.ordinal()];
+    }
+    
     public Color getColor() {
         return color;
     }
 
     public abstract char getSymbol();
 
+    public abstract PieceType getType();
+
     /**
      * Verifica se esta peça, a partir de uma posição 'from', ataca uma casa 'to'.
      * <p>
@@ -78,11 +109,35 @@ public abstract class Piece {
      * Leva em consideração o estado atual do tabuleiro, incluindo outras peças.
      * <p>
      * Não verifica se o movimento colocaria o próprio rei em xeque.
+     * <p>
+     * Adaptador sobre {@link #generateMoves}; as promoções resultam em uma única posição.
      * 
      * @param board O tabuleiro de xadrez atual.
      * @param from A posição de origem da peça.
      * @return Uma lista de posições para as quais a peça pode se mover.
       */
-    public abstract List<Position> getPossibleMoves(Board board, Position from);
+    public List<Position> getPossibleMoves(Board board, Position from) {
+        if (board == null || from == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+
+        MoveList moves = new MoveList();
+        generateMoves(board, BitboardUtils.squareOf(from), moves);
+
+        return MoveUtils.toPositions(moves);
+    }
+
+    /**
+     * Escreve no buffer os movimentos codificados (ver {@link com.chess.entity.board.Move})
+     * desta peça a partir da casa de origem, sem alocar objetos.
+     * <p>
+     * Assim como {@link #getPossibleMoves}, não verifica se o movimento colocaria
+     * o próprio rei em xeque.
+     * 
+     * @param board O tabuleiro de xadrez atual.
+     * @param from O índice da casa de origem da peça (0-63).
+     * @param moves O buffer, pertencente a quem chama, que recebe os movimentos.
+      */
+    public abstract void generateMoves(Board board, int from, MoveList moves);
 
 }
@@ -0,0 +1,43 @@
+package com.chess.entity.piece;
+
+import com.chess.entity.base.Color;
+
+public enum PieceType {
+    PAWN("Peão", 'P'),
+    KNIGHT("Cavalo", 'C'),
+    BISHOP("Bispo", 'B'),
+    ROOK("Torre", 'T'),
+    QUEEN("Dama", 'D'),
+    KING("Rei", 'R');
+
+    private final String name; // Nome do tipo de peça
+    private final char symbol; // Símbolo em maiúsculo (peças brancas)
+
+    PieceType(String name, char symbol) {
+        this.name = name;
+        this.symbol = symbol;
+    }
+
+    /**
+     * Retorna o símbolo da peça para a cor informada.
+     * @param color {@code Color} da peça
+     * @return maiúsculo para brancas, minúsculo para pretas
+     */
+    public char getSymbol(Color color) {
+        return color.isWhite() ? symbol : Character.toLowerCase(symbol);
+    }
+
+    /**
+     * Retorna o nome do tipo de peça.
+     * @return {@code String} com nome do tipo
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
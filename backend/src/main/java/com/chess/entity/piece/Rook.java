@@ -1,9 +1,8 @@
 package com.chess.entity.piece;
 
-import java.util.List;
-
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.MoveList;
 import com.chess.utils.MoveUtils;
 
 public class Rook extends Piece {
@@ -17,6 +16,11 @@ public class Rook extends Piece {
         return this.color.isWhite() ? 'T' : 't';
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.ROOK;
+    }
+
     @Override
     public boolean isAttacking(Board board, Position from, Position to) {
         if (board == null || from == null || to == null) {
@@ -34,14 +38,14 @@ public class Rook extends Piece {
     }
 
     @Override
-    public List<Position> getPossibleMoves(Board board, Position from) {
-        if (board == null || from == null) {
+    public void generateMoves(Board board, int from, MoveList moves) {
+        if (board == null || moves == null) {
             throw new IllegalArgumentException("Parâmetros não podem ser nulos");
         }
 
         Direction[] directions = Direction.getOrthogonalDirections();
 
-        return MoveUtils.getSlidingMoves(board, this.color, from, directions);
+        MoveUtils.generateSlidingMoves(board, this.color, from, directions, moves);
     }
 
 }
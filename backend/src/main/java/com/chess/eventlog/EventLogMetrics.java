@@ -0,0 +1,67 @@
+package com.chess.eventlog;
+
+/**
+ * Retrato das métricas do log de eventos das partidas em andamento.
+ */
+public class EventLogMetrics {
+
+    private final long appended;
+    private final long failures;
+    private final String lastError;
+    private final int recoveredGames;
+    private final int abandonedGames;
+    private final long recoveredEvents;
+    private final double recoveryMillis;
+
+    public EventLogMetrics(long appended, long failures, String lastError, int recoveredGames,
+                           int abandonedGames, long recoveredEvents, double recoveryMillis) {
+        this.appended = appended;
+        this.failures = failures;
+        this.lastError = lastError;
+        this.recoveredGames = recoveredGames;
+        this.abandonedGames = abandonedGames;
+        this.recoveredEvents = recoveredEvents;
+        this.recoveryMillis = recoveryMillis;
+    }
+
+    /**
+     * Retorna quantos eventos foram gravados desde a inicialização.
+     */
+    public long getAppended() {
+        return appended;
+    }
+
+    /**
+     * Retorna quantos eventos não puderam ser gravados: esses lances não voltam num reinício.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Retorna quantas partidas em andamento voltaram na inicialização.
+     */
+    public int getRecoveredGames() {
+        return recoveredGames;
+    }
+
+    /**
+     * Retorna quantas partidas foram dadas como abandonadas na inicialização.
+     */
+    public int getAbandonedGames() {
+        return abandonedGames;
+    }
+
+    public long getRecoveredEvents() {
+        return recoveredEvents;
+    }
+
+    public double getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.chess.eventlog;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.Move;
+
+/**
+ * Evento de uma partida em andamento, gravado no {@link GameEventLog} em um
+ * registro de tamanho fixo de {@value #SIZE} bytes.
+ * <p>
+ * Layout do registro:
+ * <ul>
+ * <li>0 - tipo (nunca {@code 0}; zero marca o fim dos dados do segmento)</li>
+ * <li>4-7 - primeiro argumento</li>
+ * <li>8-15 - partida</li>
+ * <li>16-23 - instante (epoch em milissegundos)</li>
+ * <li>24-27 - segundo argumento</li>
+ * <li>28-31 - CRC32C dos bytes 0-27, que detecta um registro gravado pela metade</li>
+ * </ul>
+ * Argumentos por tipo:
+ * <ul>
+ * <li>{@link #START} - tempo inicial e incremento, em milissegundos;</li>
+ * <li>{@link #MOVE} - número do meio-lance (a partir de 1) e lance codificado ({@link Move});</li>
+ * <li>{@link #CLOCK} - tempo restante das brancas e das pretas, em milissegundos;</li>
+ * <li>{@link #RESIGN} - a cor que abandonou ({@link Color#ordinal()}), antes do {@link #END} com o resultado;</li>
+ * <li>{@link #END} - o resultado ({@link #WHITE_WINS}, {@link #BLACK_WINS}, {@link #DRAW}
+ * ou {@link #ABANDONED}).</li>
+ * </ul>
+ */
+public class GameEvent {
+
+    public static final int SIZE = 32;
+
+    // Tipos de evento
+    public static final byte START = 1;
+    public static final byte MOVE = 2;
+    public static final byte CLOCK = 3;
+    public static final byte RESIGN = 4;
+    public static final byte END = 5;
+
+    // Resultados do evento END
+    public static final int WHITE_WINS = 0;
+    public static final int BLACK_WINS = 1;
+    public static final int DRAW = 2;
+    // Sala fechada sem resultado (todos os jogadores saíram)
+    public static final int ABANDONED = 3;
+
+    private final byte type;
+    private final long gameId;
+    private final long timeMillis;
+    private final int first;
+    private final int second;
+
+    public GameEvent(byte type, long gameId, long timeMillis, int first, int second) {
+        if (type < START || type > END) {
+            throw new IllegalArgumentException("Tipo de evento inválido: " + type);
+        }
+        this.type = type;
+        this.gameId = gameId;
+        this.timeMillis = timeMillis;
+        this.first = first;
+        this.second = second;
+    }
+
+    public static GameEvent start(long gameId, long timeMillis, int initialMillis, int incrementMillis) {
+        return new GameEvent(START, gameId, timeMillis, initialMillis, incrementMillis);
+    }
+
+    public static GameEvent move(long gameId, long timeMillis, int ply, int move) {
+        return new GameEvent(MOVE, gameId, timeMillis, ply, move);
+    }
+
+    public static GameEvent clock(long gameId, long timeMillis, int whiteMillis, int blackMillis) {
+        return new GameEvent(CLOCK, gameId, timeMillis, whiteMillis, blackMillis);
+    }
+
+    public static GameEvent resign(long gameId, long timeMillis, Color color) {
+        return new GameEvent(RESIGN, gameId, timeMillis, color.ordinal(), 0);
+    }
+
+    public static GameEvent end(long gameId, long timeMillis, int result) {
+        return new GameEvent(END, gameId, timeMillis, result, 0);
+    }
+
+    /**
+     * Escreve o registro no buffer, a partir do índice informado (sem mover a posição do buffer).
+     */
+    void writeTo(ByteBuffer buffer, int index) {
+        buffer.put(index, type);
+        buffer.put(index + 1, (byte) 0);
+        buffer.putShort(index + 2, (short) 0);
+        buffer.putInt(index + 4, first);
+        buffer.putLong(index + 8, gameId);
+        buffer.putLong(index + 16, timeMillis);
+        buffer.putInt(index + 24, second);
+        buffer.putInt(index + 28, checksum(buffer, index));
+    }
+
+    /**
+     * Lê o registro no índice informado.
+     *
+     * @return O evento, ou {@code null} se não houver registro ou ele estiver incompleto.
+     */
+    static GameEvent readFrom(ByteBuffer buffer, int index) {
+        byte type = buffer.get(index);
+        if (type < START || type > END || buffer.getInt(index + 28) != checksum(buffer, index)) {
+            return null;
+        }
+        return new GameEvent(type, buffer.getLong(index + 8), buffer.getLong(index + 16),
+            buffer.getInt(index + 4), buffer.getInt(index + 24));
+    }
+
+    private static int checksum(ByteBuffer buffer, int index) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(index, SIZE - 4));
+        return (int) crc.getValue();
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Retorna o primeiro argumento (ver a tabela da classe).
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Retorna o segundo argumento (ver a tabela da classe).
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case START -> "START " + gameId + " " + first + "+" + second;
+            case MOVE -> "MOVE " + gameId + " " + first + ". " + Move.toString(second);
+            case CLOCK -> "CLOCK " + gameId + " " + first + "/" + second;
+            case RESIGN -> "RESIGN " + gameId + " " + Color.values()[first];
+            default -> "END " + gameId + " " + first;
+        };
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.chess.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Log de eventos das partidas em andamento, somente de acréscimo, gravado em
+ * arquivos mapeados em memória.
+ * <p>
+ * O log é uma sequência de segmentos de tamanho fixo ({@code events-N.log},
+ * com {@code N} crescente). Cada evento é um registro de {@value GameEvent#SIZE}
+ * bytes escrito diretamente no mapeamento: acrescentar um evento não faz
+ * chamada de sistema. Quando o segmento enche, ele é sincronizado e um novo é
+ * criado.
+ * <p>
+ * Uma thread sincroniza com o disco ({@code force}) os trechos escritos a cada
+ * {@code syncIntervalMillis}; é o máximo de eventos que uma queda da máquina
+ * pode perder. Uma queda apenas do processo não perde nada: as páginas do
+ * mapeamento pertencem ao sistema operacional. Um registro incompleto no fim
+ * de um segmento é detectado pelo CRC e ignorado na leitura.
+ */
+public class GameEventLog implements AutoCloseable {
+
+    private static final String PREFIX = "events-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Thread syncThread;
+    private final long firstSegment;
+
+    // Segmento atual; alterados apenas com o monitor da instância
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentNumber;
+    private int writeOffset;
+    private int syncedOffset;
+    private boolean closed;
+
+    // Métricas
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+
+    /**
+     * Abre o log no diretório, começando um segmento novo após os existentes.
+     * Os segmentos existentes não são alterados e podem ser lidos com {@link #replay}.
+     *
+     * @param directory O diretório dos segmentos (criado se não existir).
+     * @param segmentBytes O tamanho de cada segmento, arredondado para baixo a um múltiplo do registro.
+     * @param syncIntervalMillis O intervalo entre sincronizações com o disco.
+     * @throws IOException se o diretório ou o segmento não puderem ser criados.
+     */
+    public GameEventLog(Path directory, int segmentBytes, long syncIntervalMillis) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (segmentBytes < GameEvent.SIZE || syncIntervalMillis < 1) {
+            throw new IllegalArgumentException("Tamanho do segmento e intervalo de sincronização inválidos.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentBytes - segmentBytes % GameEvent.SIZE;
+
+        List<Path> existing = segments(directory);
+        this.segmentNumber = existing.isEmpty() ? 0 : numberOf(existing.get(existing.size() - 1));
+        openNextSegment();
+        this.firstSegment = segmentNumber;
+
+        this.syncThread = Thread.ofPlatform().name("eventlog-sync").daemon(true)
+            .start(() -> syncLoop(syncIntervalMillis));
+    }
+
+    /**
+     * Acrescenta um evento ao log.
+     *
+     * @throws IllegalStateException se o log estiver fechado.
+     * @throws UncheckedIOException se a criação de um novo segmento falhar.
+     */
+    public synchronized void append(GameEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Log de eventos fechado.");
+        }
+        if (writeOffset + GameEvent.SIZE > segmentSize) {
+            try {
+                rotate();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao criar segmento do log de eventos", e);
+            }
+        }
+        event.writeTo(buffer, writeOffset);
+        writeOffset += GameEvent.SIZE;
+        appended.increment();
+    }
+
+    /**
+     * Sincroniza com o disco tudo o que foi acrescentado até agora.
+     */
+    public void sync() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        synchronized (this) {
+            if (closed || writeOffset == syncedOffset) return;
+            target = buffer;
+            from = syncedOffset;
+            to = writeOffset;
+            syncedOffset = writeOffset;
+        }
+        // Fora do monitor: os acréscimos continuam enquanto o disco trabalha
+        target.force(from, to - from);
+        syncs.increment();
+    }
+
+    /**
+     * Remove os segmentos que já existiam quando o log foi aberto, depois de
+     * sincronizar o que foi acrescentado desde então.
+     * <p>
+     * Usado após reescrever o estado das partidas em andamento nos segmentos novos.
+     *
+     * @throws IOException se algum segmento não puder ser removido.
+     */
+    public void deletePreviousSegments() throws IOException {
+        sync();
+        for (Path segment : segments(directory)) {
+            if (numberOf(segment) < firstSegment) Files.delete(segment);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            try {
+                buffer.force(syncedOffset, writeOffset - syncedOffset);
+                syncedOffset = writeOffset;
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao fechar o log de eventos", e);
+            }
+        }
+        syncThread.interrupt();
+    }
+
+    private void rotate() throws IOException {
+        buffer.force(syncedOffset, writeOffset - syncedOffset);
+        channel.close();
+        rotations.increment();
+        openNextSegment();
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentNumber++;
+        Path path = directory.resolve(fileName(segmentNumber));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // O mapeamento estende o arquivo com zeros, que marcam o fim dos dados
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeOffset = 0;
+        syncedOffset = 0;
+    }
+
+    private void syncLoop(long intervalMillis) {
+        while (true) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (this) {
+                if (closed) return;
+            }
+            sync();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Leitura
+    // ------------------------------------------------------------------
+
+    /**
+     * Lê, em ordem, todos os eventos dos segmentos do diretório.
+     * <p>
+     * A leitura de um segmento para no primeiro registro vazio ou incompleto.
+     *
+     * @param directory O diretório dos segmentos (pode não existir).
+     * @param consumer Recebe cada evento.
+     * @return O número de eventos lidos.
+     * @throws IOException se a leitura falhar.
+     */
+    public static long replay(Path directory, Consumer<GameEvent> consumer) throws IOException {
+        if (directory == null || consumer == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (!Files.isDirectory(directory)) return 0;
+
+        long count = 0;
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                for (int index = 0; index + GameEvent.SIZE <= size; index += GameEvent.SIZE) {
+                    GameEvent event = GameEvent.readFrom(data, index);
+                    if (event == null) break;
+                    consumer.accept(event);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Segmentos do diretório, em ordem de criação
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(GameEventLog::isSegment).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(numberOf(a), numberOf(b)));
+        return segments;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) return false;
+        String number = name.substring(PREFIX.length(), name.length() - SUFFIX.length());
+        return !number.isEmpty() && number.chars().allMatch(Character::isDigit);
+    }
+
+    private static long numberOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long number) {
+        return PREFIX + String.format("%016d", number) + SUFFIX;
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    public long getSyncs() {
+        return syncs.sum();
+    }
+
+    public long getRotations() {
+        return rotations.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retorna o número do segmento atual.
+     */
+    public synchronized long getSegmentNumber() {
+        return segmentNumber;
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.chess.eventlog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reconstrói as partidas em andamento a partir dos eventos do log.
+ * <p>
+ * Partidas encerradas ({@link GameEvent#RESIGN} ou {@link GameEvent#END}) são
+ * descartadas; eventos posteriores de uma partida encerrada são ignorados.
+ * Partidas sem eventos desde o prazo de abandono também não voltam: ficam em
+ * {@link #getAbandonedGames()} e não são reescritas no log.
+ */
+public class LiveGameRecovery implements Consumer<GameEvent> {
+
+    private final Map<Long, RecoveredGame> games = new LinkedHashMap<>();
+    private final Set<Long> finished = new HashSet<>();
+    private final List<RecoveredGame> abandoned = new ArrayList<>();
+    private long events;
+
+    /**
+     * Lê os segmentos anteriores do log recém-aberto, reescreve as partidas em
+     * andamento nos segmentos novos e remove os anteriores, para que o log não
+     * cresça entre reinícios.
+     * <p>
+     * Se o processo cair no meio, os segmentos antigos continuam lá; os eventos
+     * reescritos são idempotentes e a próxima recuperação chega ao mesmo estado.
+     *
+     * @param log O log recém-aberto (o segmento atual ainda vazio).
+     * @return As partidas em andamento.
+     * @throws IOException se a leitura ou a remoção dos segmentos falhar.
+     */
+    public static LiveGameRecovery recover(GameEventLog log) throws IOException {
+        return recover(new GameEventLog[] {log}, Long.MIN_VALUE);
+    }
+
+    /**
+     * Como {@link #recover(GameEventLog)}, para um log dividido em vários
+     * ({@link #stripeOf}), deixando de fora as partidas cujo último evento é
+     * anterior ao instante informado.
+     *
+     * @param logs Os logs recém-abertos, na ordem de {@link #stripeOf}.
+     * @param abandonedBeforeMillis O instante (epoch em milissegundos) antes do qual a partida é abandonada.
+     */
+    public static LiveGameRecovery recover(GameEventLog[] logs, long abandonedBeforeMillis) throws IOException {
+        LiveGameRecovery recovery = new LiveGameRecovery();
+        for (GameEventLog log : logs) {
+            GameEventLog.replay(log.getDirectory(), recovery);
+        }
+        recovery.abandonBefore(abandonedBeforeMillis);
+        recovery.rewrite(logs);
+        for (GameEventLog log : logs) {
+            log.deletePreviousSegments();
+        }
+        return recovery;
+    }
+
+    /**
+     * Lê do diretório de um log os lances de uma partida, na ordem jogada, até o
+     * primeiro que faltar.
+     * <p>
+     * Percorre todos os segmentos do diretório: serve para os casos raros em que
+     * os lances não chegaram por outro caminho, não para cada lance.
+     *
+     * @param directory O diretório dos segmentos ({@link GameEventLog#getDirectory()}).
+     * @param gameId A partida.
+     * @throws IOException se a leitura falhar.
+     */
+    public static int[] movesOf(Path directory, long gameId) throws IOException {
+        RecoveredGame game = new RecoveredGame(gameId);
+        GameEventLog.replay(directory, event -> {
+            if (event.getGameId() == gameId && event.getType() == GameEvent.MOVE) game.apply(event);
+        });
+        return game.getMoves();
+    }
+
+    /**
+     * Retorna o log, entre {@code stripes}, em que a partida grava seus eventos.
+     */
+    public static int stripeOf(long gameId, int stripes) {
+        return (int) Long.remainderUnsigned(gameId, stripes);
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        events++;
+        long gameId = event.getGameId();
+        if (finished.contains(gameId)) return;
+
+        byte type = event.getType();
+        if (type == GameEvent.RESIGN || type == GameEvent.END) {
+            games.remove(gameId);
+            finished.add(gameId);
+            return;
+        }
+        games.computeIfAbsent(gameId, RecoveredGame::new).apply(event);
+    }
+
+    /**
+     * Retira das partidas em andamento as que não têm eventos desde o instante informado.
+     */
+    public void abandonBefore(long timeMillis) {
+        games.values().removeIf(game -> {
+            if (game.getLastEventMillis() >= timeMillis) return false;
+            abandoned.add(game);
+            return true;
+        });
+    }
+
+    /**
+     * Reescreve, em ordem, os eventos que reproduzem as partidas em andamento,
+     * cada partida no seu log ({@link #stripeOf}).
+     */
+    public void rewrite(GameEventLog... logs) {
+        for (RecoveredGame game : games.values()) {
+            GameEventLog log = logs[stripeOf(game.getGameId(), logs.length)];
+            for (GameEvent event : game.toEvents()) {
+                log.append(event);
+            }
+        }
+    }
+
+    /**
+     * Retorna as partidas em andamento, na ordem em que começaram.
+     */
+    public List<RecoveredGame> getGames() {
+        return new ArrayList<>(games.values());
+    }
+
+    /**
+     * Retorna as partidas deixadas de fora por falta de eventos (ver {@link #abandonBefore}).
+     */
+    public List<RecoveredGame> getAbandonedGames() {
+        return new ArrayList<>(abandoned);
+    }
+
+    /**
+     * Retorna quantos eventos foram lidos.
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Retorna quantas partidas encerradas foram encontradas no log.
+     */
+    public int getFinishedGames() {
+        return finished.size();
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.chess.eventlog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+
+/**
+ * Estado de uma partida em andamento reconstruído a partir do {@link GameEventLog}.
+ * <p>
+ * As partidas ao vivo começam sempre da posição inicial padrão.
+ */
+public class RecoveredGame {
+
+    private final long gameId;
+    private long startedMillis;
+    private int initialMillis;
+    private int incrementMillis;
+    private int[] moves = new int[64];
+    private int moveCount;
+    private int whiteMillis;
+    private int blackMillis;
+    private long lastEventMillis;
+
+    RecoveredGame(long gameId) {
+        this.gameId = gameId;
+    }
+
+    void apply(GameEvent event) {
+        lastEventMillis = Math.max(lastEventMillis, event.getTimeMillis());
+        switch (event.getType()) {
+            case GameEvent.START -> {
+                startedMillis = event.getTimeMillis();
+                initialMillis = event.getFirst();
+                incrementMillis = event.getSecond();
+                if (moveCount == 0) {
+                    whiteMillis = initialMillis;
+                    blackMillis = initialMillis;
+                }
+            }
+            case GameEvent.MOVE -> {
+                // Eventos repetidos (reescritos na compactação) são idempotentes
+                int ply = event.getFirst();
+                if (ply == moveCount + 1) {
+                    if (moveCount == moves.length) moves = Arrays.copyOf(moves, moveCount * 2);
+                    moves[moveCount++] = event.getSecond();
+                }
+            }
+            case GameEvent.CLOCK -> {
+                whiteMillis = event.getFirst();
+                blackMillis = event.getSecond();
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Retorna os eventos que reproduzem este estado, usados para reescrevê-lo em um segmento novo.
+     */
+    List<GameEvent> toEvents() {
+        List<GameEvent> events = new ArrayList<>(moveCount + 2);
+        events.add(GameEvent.start(gameId, startedMillis, initialMillis, incrementMillis));
+        for (int i = 0; i < moveCount; i++) {
+            events.add(GameEvent.move(gameId, lastEventMillis, i + 1, moves[i]));
+        }
+        events.add(GameEvent.clock(gameId, lastEventMillis, whiteMillis, blackMillis));
+        return events;
+    }
+
+    /**
+     * Retorna o tabuleiro com os lances da partida aplicados.
+     */
+    public BitBoard toBoard() {
+        BitBoard board = BitBoard.initial();
+        for (int i = 0; i < moveCount; i++) {
+            board.makeMove(moves[i]);
+        }
+        return board;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public long getStartedMillis() {
+        return startedMillis;
+    }
+
+    public int getInitialMillis() {
+        return initialMillis;
+    }
+
+    public int getIncrementMillis() {
+        return incrementMillis;
+    }
+
+    /**
+     * Retorna os lances codificados (ver {@link Move}), na ordem jogada.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, moveCount);
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Retorna o tempo restante das brancas no último evento de relógio, em milissegundos.
+     */
+    public int getWhiteMillis() {
+        return whiteMillis;
+    }
+
+    /**
+     * Retorna o tempo restante das pretas no último evento de relógio, em milissegundos.
+     */
+    public int getBlackMillis() {
+        return blackMillis;
+    }
+
+    /**
+     * Retorna o instante do último evento da partida (epoch em milissegundos).
+     */
+    public long getLastEventMillis() {
+        return lastEventMillis;
+    }
+
+}
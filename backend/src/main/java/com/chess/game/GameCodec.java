@@ -0,0 +1,268 @@
+package com.chess.game;
+
+import java.util.Arrays;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Codificação binária compacta da lista de lances de uma partida, gravada
+ * em uma única coluna {@code byte[]}.
+ * <p>
+ * Layout:
+ * <ul>
+ * <li>1 byte - formato ({@link #FORMAT_MOVES} ou {@link #FORMAT_INDICES})</li>
+ * <li>varint - número de lances</li>
+ * <li>lances no formato escolhido</li>
+ * </ul>
+ * Formatos:
+ * <ul>
+ * <li>{@link #FORMAT_MOVES} - cada lance em 16 bits (ver {@link Move}), big-endian.
+ * Não depende das regras para decodificar, mas não valida os lances.</li>
+ * <li>{@link #FORMAT_INDICES} - cada lance é a sua posição na lista de lances
+ * legais ordenada pelo código do lance, gravada com o menor número de bits que
+ * comporta a quantidade de lances legais daquela posição. Lances forçados não
+ * ocupam bits; uma partida típica usa menos de 6 bits por lance. A decodificação
+ * refaz a partida e, portanto, também a valida.</li>
+ * </ul>
+ * A ordem canônica não depende do gerador, mas a codificação dos lances
+ * ({@link Move}) faz parte do formato {@link #FORMAT_INDICES}.
+ */
+public class GameCodec {
+
+    public static final byte FORMAT_MOVES = 1;
+    public static final byte FORMAT_INDICES = 2;
+
+    // Limite de lances aceito na decodificação, contra dados corrompidos
+    private static final int MAX_MOVES = 1 << 16;
+
+    private GameCodec() {
+    }
+
+    /**
+     * Codifica os lances jogados a partir da posição inicial.
+     *
+     * @param start A posição inicial (não é alterada).
+     * @param moves Os lances codificados (ver {@link Move}), na ordem jogada.
+     * @param format O formato ({@link #FORMAT_MOVES} ou {@link #FORMAT_INDICES}).
+     * @return Os bytes da partida.
+     * @throws IllegalArgumentException se o formato for inválido ou, no formato
+     * {@link #FORMAT_INDICES}, algum lance for ilegal.
+     */
+    public static byte[] encode(BitBoard start, int[] moves, byte format) {
+        if (start == null || moves == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        BitWriter out = new BitWriter(moves.length * 2 + 4);
+        out.writeByte(format);
+        out.writeVarint(moves.length);
+
+        switch (format) {
+            case FORMAT_MOVES -> {
+                for (int move : moves) {
+                    out.writeByte(move >>> 8);
+                    out.writeByte(move);
+                }
+            }
+            case FORMAT_INDICES -> {
+                BitBoard board = new BitBoard(start);
+                MoveList legal = new MoveList();
+                for (int i = 0; i < moves.length; i++) {
+                    legalMoves(board, legal);
+                    int index = indexOf(legal, moves[i]);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Lance ilegal na posição " + (i + 1) + ": " + Move.toString(moves[i]));
+                    }
+                    out.writeBits(index, widthOf(legal.size()));
+                    board.makeMove(legal.get(index));
+                }
+            }
+            default -> throw new IllegalArgumentException("Formato de partida inválido: " + format);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodifica os lances de uma partida.
+     *
+     * @param start A posição inicial usada na codificação (não é alterada).
+     * @param data Os bytes da partida.
+     * @return Os lances codificados (ver {@link Move}), na ordem jogada.
+     * @throws IllegalArgumentException se os bytes estiverem truncados ou forem inválidos.
+     */
+    public static int[] decode(BitBoard start, byte[] data) {
+        if (start == null || data == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        BitReader in = new BitReader(data);
+        int format = in.readByte();
+        int count = in.readVarint();
+        if (count > MAX_MOVES) {
+            throw new IllegalArgumentException("Partida codificada inválida: número de lances.");
+        }
+        int[] moves = new int[count];
+
+        switch (format) {
+            case FORMAT_MOVES -> {
+                for (int i = 0; i < count; i++) {
+                    moves[i] = (in.readByte() << 8) | in.readByte();
+                }
+            }
+            case FORMAT_INDICES -> {
+                BitBoard board = new BitBoard(start);
+                MoveList legal = new MoveList();
+                for (int i = 0; i < count; i++) {
+                    legalMoves(board, legal);
+                    int index = legal.isEmpty() ? -1 : in.readBits(widthOf(legal.size()));
+                    if (index < 0 || index >= legal.size()) {
+                        throw new IllegalArgumentException("Partida codificada inválida: lance " + (i + 1));
+                    }
+                    moves[i] = legal.get(index);
+                    board.makeMove(moves[i]);
+                }
+            }
+            default -> throw new IllegalArgumentException("Formato de partida inválido: " + format);
+        }
+        return moves;
+    }
+
+    /**
+     * Retorna o formato dos bytes de uma partida.
+     */
+    public static byte formatOf(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Partida codificada vazia.");
+        }
+        return data[0];
+    }
+
+    /**
+     * Retorna o formato pelo nome usado na configuração ("moves" ou "indices").
+     */
+    public static byte formatOf(String name) {
+        return switch (name) {
+            case "moves" -> FORMAT_MOVES;
+            case "indices" -> FORMAT_INDICES;
+            default -> throw new IllegalArgumentException("Formato de partida inválido: " + name);
+        };
+    }
+
+    // Lances legais na ordem canônica (pelo código), independente da ordem do gerador
+    private static void legalMoves(BitBoard board, MoveList legal) {
+        legal.clear();
+        LegalMoveGenerator.generate(board, legal);
+        legal.sort();
+    }
+
+    // Bits necessários para indexar uma lista com o tamanho informado (0 para lances forçados)
+    private static int widthOf(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private static int indexOf(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Escrita de bytes e de campos de bits (do bit mais significativo para o menos).
+     */
+    private static class BitWriter {
+        private byte[] buffer;
+        private int length;
+        private int bitCount; // bits já usados no último byte (0 = nenhum byte parcial)
+
+        BitWriter(int capacity) {
+            this.buffer = new byte[Math.max(capacity, 8)];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+            bitCount = 0;
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        void writeBits(int value, int width) {
+            for (int bit = width - 1; bit >= 0; bit--) {
+                if (bitCount == 0) {
+                    ensure(1);
+                    buffer[length++] = 0;
+                }
+                buffer[length - 1] |= (byte) (((value >>> bit) & 1) << (7 - bitCount));
+                bitCount = (bitCount + 1) & 7;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensure(int bytes) {
+            if (length + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Leitura correspondente ao {@link BitWriter}.
+     */
+    private static class BitReader {
+        private final byte[] data;
+        private int position;
+        private int bitCount;
+
+        BitReader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            if (position >= data.length) throw truncated();
+            bitCount = 0;
+            return data[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) break;
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Partida codificada inválida: número de lances.");
+        }
+
+        int readBits(int width) {
+            int value = 0;
+            for (int i = 0; i < width; i++) {
+                if (bitCount == 0) {
+                    if (position >= data.length) throw truncated();
+                    position++;
+                }
+                value = (value << 1) | ((data[position - 1] >>> (7 - bitCount)) & 1);
+                bitCount = (bitCount + 1) & 7;
+            }
+            return value;
+        }
+
+        private static IllegalArgumentException truncated() {
+            return new IllegalArgumentException("Partida codificada truncada.");
+        }
+    }
+
+}
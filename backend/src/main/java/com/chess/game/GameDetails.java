@@ -0,0 +1,79 @@
+package com.chess.game;
+
+import java.util.List;
+
+/**
+ * Partida carregada para exibição: cabeçalho, posição inicial e lances em
+ * notação de coordenadas.
+ */
+public class GameDetails {
+
+    private final long id;
+    private final String event;
+    private final String date;
+    private final String white;
+    private final String black;
+    private final String result;
+    private final String startFen;
+    private final List<String> moves;
+    private final int storedBytes;
+
+    public GameDetails(long id, String event, String date, String white, String black, String result,
+                       String startFen, List<String> moves, int storedBytes) {
+        this.id = id;
+        this.event = event;
+        this.date = date;
+        this.white = white;
+        this.black = black;
+        this.result = result;
+        this.startFen = startFen;
+        this.moves = moves;
+        this.storedBytes = storedBytes;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getWhite() {
+        return white;
+    }
+
+    public String getBlack() {
+        return black;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Retorna a FEN da posição inicial da partida.
+     */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    /**
+     * Retorna os lances em notação de coordenadas (ex: "e2e4").
+     */
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Retorna o tamanho, em bytes, da coluna de lances gravada.
+     */
+    public int getStoredBytes() {
+        return storedBytes;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.chess.game;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Lance de uma partida em andamento, gravado pela fila de persistência
+ * ({@link MoveWriteBehind}) em lotes JDBC.
+ * <p>
+ * Ao fim da partida os lances são compactados em um {@link GameRecord} e as
+ * linhas da partida são apagadas ({@link com.chess.service.MovePersistenceService}).
+ * <p>
+ * Cada meio-lance de uma partida tem uma única linha: a gravação substitui a
+ * linha existente, de modo que um lote gravado de novo não duplica lances.
+ */
+@Entity
+@Table(name = "game_moves",
+    uniqueConstraints = @UniqueConstraint(name = "uk_game_moves_game_ply", columnNames = {"game_id", "ply"}))
+public class GameMoveRecord {
+
+    // Usados pelo batch JDBC; devem seguir os nomes das colunas abaixo (MERGE ... KEY é do H2)
+    public static final String INSERT_SQL = "MERGE INTO game_moves (game_id, ply, move_code) KEY (game_id, ply) VALUES (?, ?, ?)";
+    public static final String SELECT_SQL = "SELECT ply, move_code FROM game_moves WHERE game_id = ? ORDER BY ply";
+    public static final String DELETE_SQL = "DELETE FROM game_moves WHERE game_id = ?";
+    public static final String NEXT_GAME_ID_SQL = "SELECT COALESCE(MAX(game_id), 0) + 1 FROM game_moves";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false)
+    private long gameId;
+
+    @Column(nullable = false)
+    private int ply;
+
+    @Column(name = "move_code", nullable = false)
+    private short moveCode;
+
+    protected GameMoveRecord() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Retorna o lance codificado (ver {@link com.chess.entity.board.Move}).
+     */
+    public int getMoveCode() {
+        return moveCode & 0xFFFF;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.chess.game;
+
+import java.util.Set;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Partida persistida: o cabeçalho em colunas e todos os lances em uma única
+ * coluna binária ({@link GameCodec}), em vez de uma linha por lance.
+ * <p>
+ * Carregar a partida inteira é a leitura de uma única linha. Os identificadores
+ * vêm de uma sequência reservada em blocos, para que a importação grave as
+ * partidas em lotes JDBC ({@code hibernate.jdbc.batch_size}).
+ */
+@Entity
+@Table(name = "games")
+public class GameRecord {
+
+    // Tamanho máximo das colunas de texto do cabeçalho
+    public static final int MAX_TAG_LENGTH = 255;
+    // Cabe qualquer FEN canônica (FenUtils.toFen), inclusive com relógios de 10 dígitos
+    public static final int MAX_FEN_LENGTH = 128;
+
+    // Resultados válidos do PGN; os demais são gravados como "*"
+    private static final Set<String> RESULTS = Set.of("1-0", "0-1", "1/2-1/2", "*");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 100)
+    private Long id;
+
+    private String event;
+    private String date;
+    private String white;
+    private String black;
+
+    @Column(nullable = false, length = 7)
+    private String result;
+
+    // null para a posição inicial padrão
+    @Column(length = MAX_FEN_LENGTH)
+    private String startFen;
+
+    @Column(nullable = false)
+    private int moveCount;
+
+    @Column(nullable = false, length = 8192)
+    private byte[] moves;
+
+    protected GameRecord() {
+    }
+
+    /**
+     * @param event O evento (tag "Event").
+     * @param date A data (tag "Date", no formato do PGN).
+     * @param white O jogador de brancas.
+     * @param black O jogador de pretas.
+     * @param result O resultado ("1-0", "0-1", "1/2-1/2" ou "*"; outros valores viram "*").
+     * @param startFen A FEN da posição inicial, ou {@code null} para a posição padrão.
+     * @param moveCount O número de lances.
+     * @param moves Os lances codificados por {@link GameCodec}.
+     */
+    public GameRecord(String event, String date, String white, String black, String result,
+                      String startFen, int moveCount, byte[] moves) {
+        this.event = event;
+        this.date = date;
+        this.white = white;
+        this.black = black;
+        this.result = RESULTS.contains(result) ? result : "*";
+        this.startFen = startFen;
+        this.moveCount = moveCount;
+        this.moves = moves;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getWhite() {
+        return white;
+    }
+
+    public String getBlack() {
+        return black;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Retorna a FEN da posição inicial, ou {@code null} para a posição padrão.
+     */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Retorna os lances codificados por {@link GameCodec}.
+     */
+    public byte[] getMoves() {
+        return moves;
+    }
+
+}
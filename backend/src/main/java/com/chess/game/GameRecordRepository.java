@@ -0,0 +1,9 @@
+package com.chess.game;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Acesso às partidas persistidas.
+ */
+public interface GameRecordRepository extends JpaRepository<GameRecord, Long> {
+}
@@ -0,0 +1,20 @@
+package com.chess.game;
+
+import java.util.List;
+
+/**
+ * Grava um lote de lances pendentes, de uma vez (ex: um batch JDBC em uma transação).
+ */
+@FunctionalInterface
+public interface MoveBatchWriter {
+
+    /**
+     * Grava todos os lances do lote ou nenhum. Uma falha transitória do banco faz o lote
+     * ser tentado de novo; as demais, e as que se repetem, fazem o lote ser dividido
+     * (ver {@link MoveWriteBehind}).
+     * Os avisos de fim de partida ({@link PendingMove#isEnd()}) vêm depois dos lances da
+     * partida, no mesmo lote ou em um lote anterior.
+     */
+    void write(List<PendingMove> batch);
+
+}
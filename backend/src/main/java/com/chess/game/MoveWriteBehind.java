@@ -0,0 +1,332 @@
+package com.chess.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+
+/**
+ * Persistência assíncrona (write-behind) dos lances das partidas em andamento.
+ * <p>
+ * {@link #submit} apenas enfileira o lance e retorna; o jogador recebe a
+ * confirmação sem esperar o disco. Uma thread dedicada esvazia a fila em lotes,
+ * gravados quando o lote atinge {@code batchSize} lances ou quando o lance mais
+ * antigo do lote espera há {@code flushIntervalMillis}, o que vier primeiro.
+ * <p>
+ * A fila tem capacidade fixa: se a gravação não acompanhar os lances, quem
+ * enfileira espera até {@code offerTimeoutMillis} e então o lance é recusado
+ * ({@link #submit} retorna {@code false} e a recusa é contada), em vez de a
+ * memória crescer sem limite. Nada é lançado: o lance já foi jogado quando chega aqui.
+ * Um lote cuja gravação falha com um erro transitório do banco (conexão, tempo
+ * esgotado, conflito) é tentado de novo, com espera crescente, até
+ * {@value #MAX_ATTEMPTS} vezes; enquanto isso a fila enche e a contrapressão age.
+ * Depois disso, ou logo na primeira falha que não é transitória (ex: um lance
+ * inválido ao compactar a partida), o lote é dividido: os lances são gravados à
+ * parte, insistindo enquanto o banco estiver fora do ar, e cada aviso de fim de
+ * partida é tentado sozinho. O que continuar falhando sem ser por erro transitório
+ * é separado, registrado no log e contado ({@link WriteBehindMetrics#getDiscarded()}),
+ * para que uma partida com problema não pare a gravação de todas as outras.
+ * <p>
+ * O fim de cada partida entra na fila depois dos lances dela ({@link #end}) e é
+ * entregue ao {@link MoveBatchWriter} no mesmo lote ou em um lote posterior.
+ * <p>
+ * {@link #close(long)} recusa novos lances e espera a gravação de tudo o que
+ * já foi aceito, até o prazo de encerramento. A thread de gravação é daemon:
+ * lances ainda não gravados ao fim do prazo se perdem com o processo, e
+ * {@link #getPending()} informa quantos.
+ */
+public class MoveWriteBehind implements AutoCloseable {
+
+    // Espera entre tentativas de um lote que falhou, dobrando até o máximo
+    private static final long MIN_RETRY_MILLIS = 50;
+    private static final long MAX_RETRY_MILLIS = 5000;
+    // Tentativas de um lote antes de dividi-lo
+    static final int MAX_ATTEMPTS = 5;
+
+    private static final System.Logger LOG = System.getLogger(MoveWriteBehind.class.getName());
+
+    private final MoveBatchWriter writer;
+    private final BlockingQueue<PendingMove> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final Thread thread;
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    // Métricas
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder discardedMoves = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong maxDelayNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile String lastError;
+
+    /**
+     * Cria a fila e inicia a thread de gravação.
+     *
+     * @param writer Quem grava cada lote.
+     * @param capacity Capacidade da fila, em lances.
+     * @param batchSize Tamanho máximo de um lote.
+     * @param flushIntervalMillis Espera máxima de um lance antes de o lote ser gravado.
+     * @param offerTimeoutMillis Espera máxima por espaço na fila antes de recusar um lance.
+     */
+    public MoveWriteBehind(MoveBatchWriter writer, int capacity, int batchSize,
+                           long flushIntervalMillis, long offerTimeoutMillis) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (capacity < 1 || batchSize < 1 || flushIntervalMillis < 1 || offerTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Capacidade, lote e intervalo devem ser positivos.");
+        }
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.thread = Thread.ofPlatform().name("persistencia-lances").daemon(true).start(this::run);
+    }
+
+    /**
+     * Aceita um lance para gravação posterior.
+     *
+     * @param gameId A partida.
+     * @param ply O número do meio-lance (a partir de 1).
+     * @param move O lance codificado (ver {@link com.chess.entity.board.Move}).
+     * @return {@code false} se a fila estiver encerrada ou continuar cheia após a espera.
+     */
+    public boolean submit(long gameId, int ply, int move) {
+        // Contado antes de entrar na fila, para que pendentes nunca fique negativo
+        submitted.increment();
+        if (!offer(new PendingMove(gameId, ply, move, System.nanoTime()))) {
+            submitted.decrement();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Avisa o fim da partida, depois de todos os lances dela já aceitos.
+     *
+     * @param gameId A partida.
+     * @param plies O número de meios-lances jogados.
+     * @param white O jogador de brancas, ou {@code null}.
+     * @param black O jogador de pretas, ou {@code null}.
+     * @param result O resultado ("1-0", "0-1" ou "1/2-1/2").
+     * @param moves Os lances da partida, entregues ao {@link MoveBatchWriter} com o aviso, ou {@code null}.
+     * @return {@code false} se a fila estiver encerrada ou continuar cheia após a espera.
+     */
+    public boolean end(long gameId, int plies, String white, String black, String result, int[] moves) {
+        return offer(PendingMove.end(gameId, plies, white, black, result, moves, System.nanoTime()));
+    }
+
+    private boolean offer(PendingMove pending) {
+        closing.readLock().lock();
+        try {
+            return !closed && queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recusa novos lances, grava os já aceitos e espera a thread de gravação
+     * terminar, por no máximo o prazo informado.
+     *
+     * @return {@code true} se todos os lances aceitos foram gravados.
+     */
+    public boolean close(long timeoutMillis) {
+        // Espera os submit em andamento: depois disso nenhum lance entra na fila
+        closing.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * Encerra e espera, sem prazo, a gravação de todos os lances aceitos.
+     */
+    @Override
+    public void close() {
+        close(0);
+    }
+
+    private void run() {
+        List<PendingMove> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            // Lido antes de esvaziar a fila: se já encerrada, nada mais entra depois
+            boolean ending = closed;
+            try {
+                // Espera o primeiro lance; depois, no máximo até o prazo do mais antigo
+                long timeout = ending ? 0 : batch.isEmpty()
+                    ? flushIntervalNanos
+                    : batch.get(0).getAcceptedNanos() + flushIntervalNanos - System.nanoTime();
+                PendingMove next = timeout > 0 ? queue.poll(timeout, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                boolean due = !batch.isEmpty()
+                    && System.nanoTime() - batch.get(0).getAcceptedNanos() >= flushIntervalNanos;
+                if (batch.size() >= batchSize || due || (ending && queue.isEmpty())) {
+                    flushWithRetry(batch);
+                }
+                if (ending && queue.isEmpty() && batch.isEmpty()) return;
+            } catch (InterruptedException e) {
+                // Só o encerramento para a thread: tudo o que foi aceito é gravado antes
+            }
+        }
+    }
+
+    private void flushWithRetry(List<PendingMove> batch) throws InterruptedException {
+        if (batch.isEmpty()) return;
+        if (flushRetrying(batch) != null) {
+            // O lote continua falhando: os lances à parte e cada aviso de fim sozinho
+            List<PendingMove> moves = new ArrayList<>(batch.size());
+            List<PendingMove> ends = new ArrayList<>();
+            for (PendingMove pending : batch) {
+                (pending.isEnd() ? ends : moves).add(pending);
+            }
+            flushMoves(moves);
+            for (PendingMove end : ends) {
+                RuntimeException failure = flushRetrying(List.of(end));
+                if (failure != null) discard(List.of(end), failure);
+            }
+        }
+        batch.clear();
+    }
+
+    // Com o banco fora do ar, insiste sem descartar; só separa os lances em falhas permanentes
+    private void flushMoves(List<PendingMove> moves) throws InterruptedException {
+        while (!moves.isEmpty()) {
+            RuntimeException failure = flushRetrying(moves);
+            if (failure == null) return;
+            if (!isTransient(failure)) {
+                discard(moves, failure);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grava o lote, repetindo com espera crescente as falhas transitórias.
+     *
+     * @return {@code null} se gravou, ou a última falha.
+     */
+    private RuntimeException flushRetrying(List<PendingMove> batch) throws InterruptedException {
+        long retryMillis = MIN_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            RuntimeException failure = flush(batch);
+            if (failure == null || !isTransient(failure) || attempt >= MAX_ATTEMPTS) return failure;
+            Thread.sleep(retryMillis);
+            retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void discard(List<PendingMove> entries, RuntimeException failure) {
+        discarded.add(entries.size());
+        PendingMove first = entries.get(0);
+        LOG.log(System.Logger.Level.ERROR, "Gravação descartada após falhas: "
+            + (first.isEnd() ? "fim da partida " + first.getGameId() : entries.size() + " lances"), failure);
+        for (PendingMove pending : entries) {
+            if (!pending.isEnd()) discardedMoves.increment();
+        }
+    }
+
+    private RuntimeException flush(List<PendingMove> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.write(batch);
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            lastError = e.toString();
+            return e;
+        }
+        long end = System.nanoTime();
+        long elapsed = end - start;
+
+        int moves = 0;
+        for (PendingMove pending : batch) {
+            if (!pending.isEnd()) moves++;
+        }
+        batches.increment();
+        persisted.add(moves);
+        flushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        maxDelayNanos.accumulateAndGet(end - batch.get(0).getAcceptedNanos(), Math::max);
+        lastBatchSize = batch.size();
+        return null;
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna um retrato das métricas da fila.
+     */
+    public WriteBehindMetrics getMetrics() {
+        long batchCount = batches.sum();
+        return new WriteBehindMetrics(
+            queue.size(),
+            queue.remainingCapacity() + queue.size(),
+            submitted.sum(),
+            rejected.sum(),
+            persisted.sum(),
+            batchCount,
+            batchCount == 0 ? 0.0 : (double) persisted.sum() / batchCount,
+            lastBatchSize,
+            (int) maxBatchSize.get(),
+            batchCount == 0 ? 0.0 : flushNanos.sum() / 1e6 / batchCount,
+            maxFlushNanos.get() / 1e6,
+            maxDelayNanos.get() / 1e6,
+            failedFlushes.sum(),
+            discarded.sum(),
+            lastError);
+    }
+
+    /**
+     * Retorna quantos lances aceitos ainda não foram gravados nem separados.
+     */
+    public long getPending() {
+        return submitted.sum() - persisted.sum() - discardedMoves.sum();
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.chess.game;
+
+import com.chess.entity.board.Move;
+
+/**
+ * Lance aceito e ainda não gravado, à espera na fila de persistência.
+ * <p>
+ * O fim de uma partida passa pela mesma fila ({@link #end}), depois dos lances
+ * dela: quando chega a vez dele, todos os lances da partida já foram gravados.
+ */
+public class PendingMove {
+
+    private final long gameId;
+    private final int ply;
+    private final int move;
+    private final long acceptedNanos;
+    private final String white;
+    private final String black;
+    private final String result;
+    private final int[] moves;
+
+    /**
+     * @param gameId A partida.
+     * @param ply O número do meio-lance (a partir de 1).
+     * @param move O lance codificado (ver {@link Move}).
+     * @param acceptedNanos O instante em que o lance foi aceito ({@link System#nanoTime()}).
+     */
+    public PendingMove(long gameId, int ply, int move, long acceptedNanos) {
+        this(gameId, ply, move, acceptedNanos, null, null, null, null);
+    }
+
+    private PendingMove(long gameId, int ply, int move, long acceptedNanos,
+                        String white, String black, String result, int[] moves) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.move = move;
+        this.acceptedNanos = acceptedNanos;
+        this.white = white;
+        this.black = black;
+        this.result = result;
+        this.moves = moves;
+    }
+
+    /**
+     * Cria o aviso de fim da partida.
+     *
+     * @param gameId A partida.
+     * @param plies O número de meios-lances jogados.
+     * @param white O jogador de brancas, ou {@code null}.
+     * @param black O jogador de pretas, ou {@code null}.
+     * @param result O resultado ("1-0", "0-1" ou "1/2-1/2").
+     * @param moves Os lances da partida já conhecidos por quem avisa, ou {@code null}.
+     * @param acceptedNanos O instante em que o aviso foi aceito ({@link System#nanoTime()}).
+     */
+    public static PendingMove end(long gameId, int plies, String white, String black, String result,
+                                  int[] moves, long acceptedNanos) {
+        if (result == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return new PendingMove(gameId, plies, Move.NONE, acceptedNanos, white, black, result, moves);
+    }
+
+    /**
+     * Indica se é o aviso de fim da partida, e não um lance.
+     */
+    public boolean isEnd() {
+        return result != null;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Retorna o número do meio-lance; no aviso de fim, quantos meios-lances a partida teve.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public long getAcceptedNanos() {
+        return acceptedNanos;
+    }
+
+    public String getWhite() {
+        return white;
+    }
+
+    public String getBlack() {
+        return black;
+    }
+
+    /**
+     * Retorna o resultado da partida, ou {@code null} se for um lance.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Retorna os lances levados pelo aviso de fim, ou {@code null} se ele não levar nenhum.
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+}
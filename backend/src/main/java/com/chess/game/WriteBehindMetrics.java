@@ -0,0 +1,136 @@
+package com.chess.game;
+
+/**
+ * Retrato das métricas da persistência assíncrona de lances ({@link MoveWriteBehind}).
+ */
+public class WriteBehindMetrics {
+
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long submitted;
+    private final long rejected;
+    private final long persisted;
+    private final long batches;
+    private final double averageBatchSize;
+    private final int lastBatchSize;
+    private final int maxBatchSize;
+    private final double averageFlushMillis;
+    private final double maxFlushMillis;
+    private final double maxDelayMillis;
+    private final long failedFlushes;
+    private final long discarded;
+    private final String lastError;
+
+    public WriteBehindMetrics(int queueDepth, int queueCapacity, long submitted, long rejected, long persisted,
+                              long batches, double averageBatchSize, int lastBatchSize, int maxBatchSize,
+                              double averageFlushMillis, double maxFlushMillis, double maxDelayMillis,
+                              long failedFlushes, long discarded, String lastError) {
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.submitted = submitted;
+        this.rejected = rejected;
+        this.persisted = persisted;
+        this.batches = batches;
+        this.averageBatchSize = averageBatchSize;
+        this.lastBatchSize = lastBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.averageFlushMillis = averageFlushMillis;
+        this.maxFlushMillis = maxFlushMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.failedFlushes = failedFlushes;
+        this.discarded = discarded;
+        this.lastError = lastError;
+    }
+
+    /**
+     * Retorna quantos lances esperam na fila.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Retorna quantos lances foram aceitos.
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Retorna quantos lances foram recusados por fila cheia (contrapressão) ou encerrada.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Retorna quantos lances foram gravados.
+     */
+    public long getPersisted() {
+        return persisted;
+    }
+
+    /**
+     * Retorna quantos lotes foram gravados.
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    public double getAverageBatchSize() {
+        return averageBatchSize;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Retorna a duração média da gravação de um lote, em milissegundos.
+     */
+    public double getAverageFlushMillis() {
+        return averageFlushMillis;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushMillis;
+    }
+
+    /**
+     * Retorna a maior espera de um lance entre ser aceito e ser gravado, em milissegundos.
+     */
+    public double getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Retorna quantas gravações de lote falharam (e foram tentadas de novo ou divididas).
+     */
+    public long getFailedFlushes() {
+        return failedFlushes;
+    }
+
+    /**
+     * Retorna quantos lances e avisos de fim de partida foram separados por falhas que
+     * não se resolvem ao tentar de novo (ex: partida que não pôde ser codificada).
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Retorna a última falha de gravação, ou {@code null} se nunca houve.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.chess.perft;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.FenUtils;
+
+/**
+ * Perft paralelo: cada movimento legal da raiz vira uma tarefa fork-join com
+ * seu próprio tabuleiro e seus próprios buffers, sem estado compartilhado.
+ */
+public class ParallelPerft {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Cria o perft paralelo sobre um pool fornecido (não é encerrado por esta classe).
+     */
+    public ParallelPerft(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool não pode ser nulo.");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Executa o perft com "divide" a partir de uma FEN.
+     * <p>
+     * Se a FEN for de uma posição padrão ({@link PerftPosition}), o resultado
+     * inclui a contagem conhecida para comparação.
+     *
+     * @param fen A posição em notação FEN.
+     * @param depth A profundidade (ao menos 1).
+     * @return O resultado com o total, o divide e o tempo gasto.
+     */
+    public PerftResult run(String fen, int depth) {
+        return run(fen, depth, PerftControl.unlimited());
+    }
+
+    /**
+     * Executa o perft com "divide", interrompendo-o ao passar dos limites do controle.
+     *
+     * @throws IllegalStateException se um limite do controle for ultrapassado.
+     */
+    public PerftResult run(String fen, int depth, PerftControl control) {
+        if (control == null) {
+            throw new IllegalArgumentException("Controle não pode ser nulo.");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Profundidade deve ser ao menos 1: " + depth);
+        }
+        BitBoard board = FenUtils.parse(fen);
+
+        long start = System.nanoTime();
+
+        MoveList moves = new MoveList();
+        Perft.legalMoves(board, moves);
+
+        // Uma tarefa por movimento da raiz
+        List<RootMoveTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(new RootMoveTask(board, moves.get(i), depth - 1, control));
+        }
+        try {
+            pool.invoke(new RootTask(tasks));
+        } catch (IllegalStateException e) {
+            // O fork-join recria a exceção na thread chamadora, com a original (do controle) como causa
+            throw e.getCause() instanceof IllegalStateException cause ? cause : e;
+        }
+
+        Map<String, Long> divide = new LinkedHashMap<>();
+        long nodes = 0;
+        for (RootMoveTask task : tasks) {
+            long count = task.join();
+            divide.put(Move.toString(task.move), count);
+            nodes += count;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return new PerftResult(fen, depth, nodes, expectedNodes(fen, depth), elapsed, divide);
+    }
+
+    /**
+     * Executa o perft em todas as posições padrão, até a profundidade informada
+     * (limitada à maior profundidade conhecida de cada posição).
+     *
+     * @param maxDepth A profundidade máxima.
+     * @return Um resultado por posição e profundidade.
+     */
+    public List<PerftResult> report(int maxDepth) {
+        return report(maxDepth, PerftControl.unlimited());
+    }
+
+    /**
+     * Executa o relatório das posições padrão; os limites do controle valem para
+     * o relatório inteiro.
+     *
+     * @throws IllegalStateException se um limite do controle for ultrapassado.
+     */
+    public List<PerftResult> report(int maxDepth, PerftControl control) {
+        List<PerftResult> results = new ArrayList<>();
+        for (PerftPosition position : PerftPosition.values()) {
+            int depth = Math.min(maxDepth, position.getMaxKnownDepth());
+            for (int d = 1; d <= depth; d++) {
+                results.add(run(position.getFen(), d, control));
+            }
+        }
+        return results;
+    }
+
+    private static long expectedNodes(String fen, int depth) {
+        for (PerftPosition position : PerftPosition.values()) {
+            if (position.getFen().equals(fen.trim())) return position.getExpectedNodes(depth);
+        }
+        return -1;
+    }
+
+    /**
+     * Dispara todas as tarefas da raiz de dentro do pool.
+     */
+    private static class RootTask extends RecursiveTask<Void> {
+        private final List<RootMoveTask> tasks;
+
+        RootTask(List<RootMoveTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected Void compute() {
+            invokeAll(tasks);
+            return null;
+        }
+    }
+
+    /**
+     * Conta a subárvore de um movimento da raiz.
+     */
+    private static class RootMoveTask extends RecursiveTask<Long> {
+        private final BitBoard root;
+        private final int move;
+        private final int depth;
+        private final PerftControl control;
+
+        RootMoveTask(BitBoard root, int move, int depth, PerftControl control) {
+            this.root = root;
+            this.move = move;
+            this.depth = depth;
+            this.control = control;
+        }
+
+        @Override
+        protected Long compute() {
+            // Cada tarefa trabalha sobre a própria cópia do tabuleiro
+            BitBoard board = new BitBoard(root);
+            board.makeMove(move);
+            return new Perft(depth, control).count(board, depth);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.chess.perft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Contagem de nós da árvore de movimentos legais (perft).
+ * <p>
+ * Usa o gerador de movimentos legais ({@link LegalMoveGenerator}); no último
+ * nível conta os movimentos gerados sem aplicá-los. Os movimentos são
+ * aplicados e desfeitos no próprio tabuleiro, sem cópias, e os buffers de
+ * movimentos são reaproveitados por ply.
+ * <p>
+ * Com um {@link PerftControl}, a contagem é interrompida ao passar dos limites
+ * de nós ou de tempo.
+ */
+public class Perft {
+
+    // Nós folha contados entre duas verificações dos limites
+    private static final int CHECK_INTERVAL = 1 << 16;
+
+    // Buffers de movimentos, um por nível da árvore
+    private final MoveList[] buffers;
+    private final PerftControl control;
+    // Nós folha ainda não somados ao controle
+    private long pending;
+
+    /**
+     * Cria um contador para profundidades até o máximo informado.
+     *
+     * @param maxDepth A profundidade máxima suportada.
+     */
+    public Perft(int maxDepth) {
+        this(maxDepth, null);
+    }
+
+    /**
+     * Cria um contador que respeita os limites do controle.
+     *
+     * @param maxDepth A profundidade máxima suportada.
+     * @param control Os limites de nós e tempo; {@code null} para não limitar.
+     */
+    public Perft(int maxDepth, PerftControl control) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Profundidade não pode ser negativa: " + maxDepth);
+        }
+        this.buffers = new MoveList[maxDepth + 1];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveList();
+        }
+        this.control = control;
+    }
+
+    /**
+     * Conta os nós folha da árvore de movimentos legais até a profundidade.
+     *
+     * @param board A posição inicial.
+     * @param depth A profundidade (0 conta apenas a própria posição).
+     * @return O número de nós folha.
+     */
+    public static long perft(BitBoard board, int depth) {
+        return new Perft(depth).count(board, depth);
+    }
+
+    /**
+     * Conta os nós folha a partir da posição, reaproveitando os buffers deste contador.
+     * <p>
+     * O tabuleiro é usado como área de trabalho e volta à posição original ao final,
+     * a menos que a contagem seja interrompida pelos limites do controle.
+     *
+     * @throws IllegalArgumentException se a profundidade for maior que a suportada.
+     * @throws IllegalStateException se um limite do controle for ultrapassado.
+     */
+    public long count(BitBoard board, int depth) {
+        if (board == null) {
+            throw new IllegalArgumentException("Tabuleiro não pode ser nulo.");
+        }
+        if (depth < 0 || depth >= buffers.length) {
+            throw new IllegalArgumentException("Profundidade fora do intervalo suportado: " + depth);
+        }
+        return search(board, depth);
+    }
+
+    /**
+     * Conta os nós folha separadamente para cada movimento legal da raiz ("divide").
+     *
+     * @param board A posição inicial.
+     * @param depth A profundidade (ao menos 1).
+     * @return Mapa do movimento em notação de coordenadas para o número de nós, na ordem de geração.
+     */
+    public static Map<String, Long> divide(BitBoard board, int depth) {
+        if (board == null) {
+            throw new IllegalArgumentException("Tabuleiro não pode ser nulo.");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Profundidade do divide deve ser ao menos 1: " + depth);
+        }
+
+        Perft perft = new Perft(depth - 1);
+        MoveList moves = new MoveList();
+        legalMoves(board, moves);
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            result.put(Move.toString(moves.get(i)), perft.search(board, depth - 1));
+            board.unmakeMove(moves.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Escreve no buffer os movimentos legais da cor que tem a vez.
+     *
+     * @param board A posição.
+     * @param moves O buffer que recebe os movimentos (é esvaziado antes).
+     */
+    public static void legalMoves(BitBoard board, MoveList moves) {
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+    }
+
+    private long search(BitBoard board, int depth) {
+        if (depth == 0) return 1;
+
+        MoveList moves = buffers[depth];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+        if (depth == 1) {
+            if (control != null && (pending += moves.size()) >= CHECK_INTERVAL) {
+                control.addNodesAndCheck(pending);
+                pending = 0;
+            }
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            nodes += search(board, depth - 1);
+            board.unmakeMove(move);
+        }
+
+        return nodes;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.chess.perft;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Execução do perft pela linha de comando.
+ * <p>
+ * Uso:
+ * <pre>
+ * PerftCli --report [--depth N] [--threads N]
+ * PerftCli --depth N [--fen "FEN" | --position NOME] [--divide] [--threads N]
+ * </pre>
+ * Termina com código 1 se alguma contagem divergir da conhecida.
+ */
+public class PerftCli {
+
+    public static void main(String[] args) {
+        int depth = 4;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String fen = PerftPosition.START.getFen();
+        boolean divide = false;
+        boolean report = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--depth" -> depth = Integer.parseInt(value(args, ++i));
+                case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                case "--fen" -> fen = value(args, ++i);
+                case "--position" -> fen = PerftPosition.valueOf(value(args, ++i).toUpperCase()).getFen();
+                case "--divide" -> divide = true;
+                case "--report" -> report = true;
+                default -> throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            ParallelPerft perft = new ParallelPerft(pool);
+            boolean correct = report ? printReport(perft.report(depth)) : printResult(perft.run(fen, depth), divide);
+            if (!correct) System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static boolean printResult(PerftResult result, boolean divide) {
+        if (divide) {
+            for (Map.Entry<String, Long> entry : result.getDivide().entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+            System.out.println();
+        }
+        System.out.println(result.getFen());
+        System.out.println(result);
+        return result.isCorrect();
+    }
+
+    private static boolean printReport(List<PerftResult> results) {
+        boolean correct = true;
+        System.out.printf("%-40s %5s %14s %14s %8s %14s%n", "Posição", "Prof", "Nós", "Esperado", "Status", "Nós/s");
+
+        for (PerftResult result : results) {
+            correct &= result.isCorrect();
+            System.out.printf("%-40s %5d %14d %14d %8s %14d%n",
+                nameOf(result.getFen()), result.getDepth(), result.getNodes(), result.getExpectedNodes(),
+                result.isCorrect() ? "OK" : "ERRO", result.getNodesPerSecond());
+        }
+
+        System.out.println(correct ? "Todas as contagens conferem." : "Há contagens divergentes.");
+        return correct;
+    }
+
+    private static String nameOf(String fen) {
+        for (PerftPosition position : PerftPosition.values()) {
+            if (position.getFen().equals(fen)) return position.getName();
+        }
+        return fen;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valor ausente para " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.chess.perft;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limites de nós e de tempo compartilhados pelas tarefas de uma execução de perft.
+ * <p>
+ * Como em {@code SearchControl}, cada contador soma seus nós em blocos, de modo
+ * que o contador atômico é tocado apenas a cada verificação periódica. Ao passar
+ * de um dos limites, a contagem é interrompida com {@link IllegalStateException}.
+ */
+public class PerftControl {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long maxNodes;
+    private final long maxTimeMillis;
+    private final long deadline;
+    private final AtomicLong nodes = new AtomicLong();
+
+    /**
+     * @param maxNodes Máximo de nós folha, {@link #UNLIMITED} para não limitar.
+     * @param maxTimeMillis Tempo máximo a partir de agora, {@link #UNLIMITED} para não limitar.
+     */
+    public PerftControl(long maxNodes, long maxTimeMillis) {
+        if (maxNodes < 1 || maxTimeMillis < 1) {
+            throw new IllegalArgumentException("Limites devem ser positivos: " + maxNodes + " nós, " + maxTimeMillis + " ms");
+        }
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+        this.deadline = maxTimeMillis == UNLIMITED ? Long.MAX_VALUE : System.nanoTime() + maxTimeMillis * 1_000_000;
+    }
+
+    public static PerftControl unlimited() {
+        return new PerftControl(UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Soma um bloco de nós e verifica os limites.
+     *
+     * @param count Nós folha contados desde a última verificação.
+     * @throws IllegalStateException se um dos limites foi ultrapassado.
+     */
+    void addNodesAndCheck(long count) {
+        if (nodes.addAndGet(count) > maxNodes) {
+            throw new IllegalStateException("Perft interrompido: limite de " + maxNodes + " nós excedido");
+        }
+        if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("Perft interrompido: limite de " + maxTimeMillis + " ms excedido");
+        }
+    }
+
+    /**
+     * Retorna o total aproximado de nós somados pelas tarefas.
+     */
+    public long getNodes() {
+        return nodes.get();
+    }
+
+}
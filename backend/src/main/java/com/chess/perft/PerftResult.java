@@ -0,0 +1,74 @@
+package com.chess.perft;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma execução de perft, com o "divide" por movimento da raiz
+ * e a comparação com a contagem conhecida, quando houver.
+ */
+public class PerftResult {
+
+    private final String fen;
+    private final int depth;
+    private final long nodes;
+    private final long expectedNodes; // -1 quando não há contagem conhecida
+    private final long elapsedNanos;
+    private final Map<String, Long> divide;
+
+    public PerftResult(String fen, int depth, long nodes, long expectedNodes, long elapsedNanos, Map<String, Long> divide) {
+        this.fen = fen;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.expectedNodes = expectedNodes;
+        this.elapsedNanos = elapsedNanos;
+        this.divide = divide;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getExpectedNodes() {
+        return expectedNodes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Retorna a vazão em nós por segundo.
+     */
+    public long getNodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public Map<String, Long> getDivide() {
+        return divide;
+    }
+
+    /**
+     * Verifica se a contagem bate com a conhecida.
+     * @return {@code true} se bater ou se não houver contagem conhecida
+     */
+    public boolean isCorrect() {
+        return expectedNodes < 0 || expectedNodes == nodes;
+    }
+
+    @Override
+    public String toString() {
+        String status = expectedNodes < 0 ? "sem referência" : (isCorrect() ? "OK" : "ERRO (esperado " + expectedNodes + ")");
+        return "perft(" + depth + ") = " + nodes + " [" + status + "] em " + getElapsedMillis() + " ms, "
+            + getNodesPerSecond() + " nós/s";
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.chess.pgn;
+
+/**
+ * Destino das partidas validadas pela importação (última etapa do pipeline).
+ * <p>
+ * É chamado sempre pela mesma thread, na ordem em que as partidas terminam
+ * de ser validadas (não necessariamente a ordem do arquivo).
+ */
+public interface GameSink {
+
+    /**
+     * Recebe uma partida validada.
+     */
+    void accept(ImportedGame game);
+
+    /**
+     * Chamado uma vez ao fim da importação, depois da última partida.
+     */
+    default void finish() {
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.chess.pgn;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação: partidas e posições importadas, erros e vazão.
+ */
+public class ImportResult {
+
+    private final long games;
+    private final long positions;
+    private final long errors;
+    private final List<String> errorSamples;
+    private final long elapsedNanos;
+
+    /**
+     * @param games Partidas importadas.
+     * @param positions Posições importadas (lances de todas as partidas).
+     * @param errors Partidas rejeitadas.
+     * @param errorSamples Mensagens das primeiras partidas rejeitadas.
+     * @param elapsedNanos Duração da importação.
+     */
+    public ImportResult(long games, long positions, long errors, List<String> errorSamples, long elapsedNanos) {
+        this.games = games;
+        this.positions = positions;
+        this.errors = errors;
+        this.errorSamples = errorSamples;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPositions() {
+        return positions;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public List<String> getErrorSamples() {
+        return errorSamples;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getGamesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (games * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    public long getPositionsPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (positions * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return games + " partidas e " + positions + " posições importadas, " + errors + " rejeitadas, em "
+            + getElapsedMillis() + " ms (" + getGamesPerSecond() + " partidas/s, " + getPositionsPerSecond() + " posições/s)";
+    }
+
+}
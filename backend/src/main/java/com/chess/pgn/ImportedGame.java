@@ -0,0 +1,56 @@
+package com.chess.pgn;
+
+import java.util.Map;
+
+import com.chess.entity.board.Move;
+
+/**
+ * Partida validada pelas regras: a posição inicial e os lances codificados.
+ */
+public class ImportedGame {
+
+    private final long number;
+    private final Map<String, String> tags;
+    private final String startFen;
+    private final int[] moves;
+    private final String result;
+
+    /**
+     * @param number Número da partida no arquivo.
+     * @param tags As tags do cabeçalho.
+     * @param startFen A FEN da posição inicial, ou {@code null} para a posição padrão.
+     * @param moves Os lances codificados (ver {@link Move}), na ordem jogada.
+     * @param result O resultado ("1-0", "0-1", "1/2-1/2" ou "*").
+     */
+    public ImportedGame(long number, Map<String, String> tags, String startFen, int[] moves, String result) {
+        this.number = number;
+        this.tags = tags;
+        this.startFen = startFen;
+        this.moves = moves;
+        this.result = result;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Retorna a FEN da posição inicial, ou {@code null} para a posição padrão.
+     */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    public int[] getMoves() {
+        return moves;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.chess.pgn;
+
+import java.util.Arrays;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.utils.FenUtils;
+
+/**
+ * Interpreta o texto dos lances de uma partida PGN, validando cada lance
+ * contra as regras a partir da posição inicial.
+ * <p>
+ * Ignora números de lance, comentários ({@code {...}} e {@code ;}), variantes
+ * entre parênteses (inclusive aninhadas) e NAGs ({@code $n}). A posição
+ * inicial vem da tag {@code FEN}, se houver, ou é a posição padrão.
+ * <p>
+ * Cada instância reaproveita o próprio tabuleiro e buffers e não deve ser
+ * compartilhada entre threads.
+ */
+public class MovetextParser {
+
+    private final SanParser sanParser = new SanParser();
+    private final BitBoard board = new BitBoard();
+    private final BitBoard initial = BitBoard.initial();
+    private int[] moves = new int[256];
+
+    /**
+     * Valida a partida e devolve seus lances codificados.
+     *
+     * @param game A partida lida do arquivo.
+     * @return A partida validada.
+     * @throws IllegalArgumentException se a FEN ou algum lance for inválido ou ilegal.
+     */
+    public ImportedGame parse(PgnGame game) {
+        String fen = game.getTag("FEN");
+        if (fen != null) {
+            board.copyFrom(FenUtils.parse(fen));
+        } else {
+            board.copyFrom(initial);
+        }
+
+        String text = game.getMovetext();
+        String result = game.getTags().getOrDefault("Result", "*");
+        int count = 0;
+        int length = text.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '{') {
+                i = skipPast(text, i, '}');
+            } else if (c == ';') {
+                i = skipPast(text, i, '\n');
+            } else if (c == '(') {
+                i = skipVariation(text, i);
+            } else if (c == '$') {
+                i++;
+                while (i < length && Character.isDigit(text.charAt(i))) i++;
+            } else {
+                int end = tokenEnd(text, i);
+                if (end == i) { // ')' sem variante aberta
+                    i++;
+                    continue;
+                }
+
+                if (isResult(text, i, end)) {
+                    result = text.substring(i, end);
+                    break;
+                }
+
+                // Número do lance ("12." ou "12...") grudado ou não ao lance
+                int start = i;
+                while (start < end && Character.isDigit(text.charAt(start))) start++;
+                if (start < end && text.charAt(start) == '.') {
+                    while (start < end && text.charAt(start) == '.') start++;
+                } else {
+                    start = i;
+                }
+
+                if (start < end) {
+                    int move = sanParser.parse(board, text, start, end);
+                    board.makeMove(move);
+                    if (count == moves.length) moves = Arrays.copyOf(moves, count * 2);
+                    moves[count++] = move;
+                }
+                i = end;
+            }
+        }
+
+        return new ImportedGame(game.getNumber(), game.getTags(), fen, Arrays.copyOf(moves, count), result);
+    }
+
+    private static int tokenEnd(String text, int i) {
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '{' || c == '(' || c == ')' || c == ';' || c == '$') break;
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isResult(String text, int start, int end) {
+        int length = end - start;
+        return (length == 1 && text.charAt(start) == '*')
+            || (length == 3 && (text.startsWith("1-0", start) || text.startsWith("0-1", start)))
+            || (length == 7 && text.startsWith("1/2-1/2", start));
+    }
+
+    private static int skipPast(String text, int i, char close) {
+        int end = text.indexOf(close, i + 1);
+        return end < 0 ? text.length() : end + 1;
+    }
+
+    private static int skipVariation(String text, int i) {
+        int depth = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                i = skipPast(text, i, '}') - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.chess.pgn;
+
+import java.util.Map;
+
+/**
+ * Partida lida de um arquivo PGN, ainda não validada: as tags e o texto dos lances.
+ */
+public class PgnGame {
+
+    private final long number;
+    private final Map<String, String> tags;
+    private final String movetext;
+
+    /**
+     * @param number Número da partida no arquivo, a partir de 1.
+     * @param tags As tags do cabeçalho, na ordem do arquivo.
+     * @param movetext O texto dos lances, com comentários e variantes.
+     */
+    public PgnGame(long number, Map<String, String> tags, String movetext) {
+        this.number = number;
+        this.tags = tags;
+        this.movetext = movetext;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Retorna o valor da tag, ou {@code null} se ela não existir.
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public String getMovetext() {
+        return movetext;
+    }
+
+}
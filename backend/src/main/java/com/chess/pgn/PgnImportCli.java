@@ -0,0 +1,54 @@
+package com.chess.pgn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Importação de um arquivo PGN pela linha de comando, validando todas as
+ * partidas e reportando a vazão.
+ * <p>
+ * Uso:
+ * <pre>
+ * PgnImportCli ARQUIVO.pgn [--threads N] [--queue N]
+ * </pre>
+ * Termina com código 1 se alguma partida for rejeitada.
+ */
+public class PgnImportCli {
+
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int queue = 1024;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                case "--queue" -> queue = Integer.parseInt(value(args, ++i));
+                default -> {
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+                    file = Path.of(args[i]);
+                }
+            }
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("Informe o arquivo PGN.");
+        }
+
+        // Sem destino configurado, apenas valida as partidas
+        ImportResult result = new PgnImporter(threads, queue).run(file, game -> { });
+
+        System.out.println(result);
+        for (String error : result.getErrorSamples()) {
+            System.out.println("  " + error);
+        }
+        if (result.getErrors() > 0) System.exit(1);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valor ausente para " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
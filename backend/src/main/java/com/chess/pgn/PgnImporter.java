@@ -0,0 +1,215 @@
+package com.chess.pgn;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Importação de arquivos PGN em um pipeline produtor/consumidor com filas limitadas:
+ * <ol>
+ * <li>leitura - a thread chamadora lê as partidas do arquivo ({@link PgnReader});</li>
+ * <li>validação - várias threads interpretam e validam os lances ({@link MovetextParser});</li>
+ * <li>persistência - uma thread entrega as partidas válidas ao {@link GameSink}.</li>
+ * </ol>
+ * As filas entre as etapas têm capacidade fixa: quando uma etapa é mais lenta,
+ * as anteriores esperam. Assim a memória usada não depende do tamanho do
+ * arquivo, apenas da capacidade das filas.
+ * <p>
+ * Partidas inválidas, ou que provoquem qualquer outra exceção na validação, são
+ * contadas e descartadas sem interromper a importação;
+ * uma falha do destino interrompe a leitura e é relançada ao final.
+ */
+public class PgnImporter {
+
+    // Quantas mensagens de erro são guardadas no resultado
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    // Marcadores de fim de fila
+    private static final PgnGame END_OF_INPUT = new PgnGame(0, Map.of(), "");
+    private static final ImportedGame END_OF_VALIDATION = new ImportedGame(0, Map.of(), null, new int[0], "*");
+
+    private final int threads;
+    private final int queueCapacity;
+
+    /**
+     * @param threads Threads de validação (ao menos 1).
+     * @param queueCapacity Capacidade de cada fila entre as etapas (ao menos 1).
+     */
+    public PgnImporter(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Threads e capacidade da fila devem ser positivos.");
+        }
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Importa as partidas de um arquivo PGN em UTF-8.
+     *
+     * @throws IOException se a leitura falhar.
+     */
+    public ImportResult run(Path file, GameSink sink) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return run(reader, sink);
+        }
+    }
+
+    /**
+     * Importa as partidas lidas do leitor, entregando as válidas ao destino.
+     *
+     * @throws IOException se a leitura falhar.
+     * @throws IllegalStateException se o destino falhar ou a importação for interrompida.
+     */
+    public ImportResult run(Reader input, GameSink sink) throws IOException {
+        if (input == null || sink == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+
+        long start = System.nanoTime();
+        Pipeline pipeline = new Pipeline(sink);
+
+        List<Thread> workers = new ArrayList<>(threads + 1);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().name("pgn-validacao-" + i).start(pipeline::validate));
+        }
+        workers.add(Thread.ofPlatform().name("pgn-persistencia").start(pipeline::persist));
+
+        PgnReader reader = new PgnReader(input);
+        try {
+            for (PgnGame game = reader.next(); game != null && pipeline.failure == null; game = reader.next()) {
+                pipeline.parsed.put(game);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pipeline.fail(e);
+        } finally {
+            // Encerra as etapas seguintes mesmo em caso de falha na leitura
+            pipeline.endOfInput();
+            joinAll(workers, pipeline);
+        }
+
+        if (pipeline.failure != null) {
+            throw new IllegalStateException("Falha na importação", pipeline.failure);
+        }
+        return new ImportResult(pipeline.games.sum(), pipeline.positions.sum(), pipeline.errors.sum(),
+            List.copyOf(pipeline.errorSamples), System.nanoTime() - start);
+    }
+
+    private void joinAll(List<Thread> workers, Pipeline pipeline) {
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pipeline.fail(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Estado compartilhado de uma importação: filas, contadores e falha.
+     */
+    private class Pipeline {
+        final BlockingQueue<PgnGame> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        final BlockingQueue<ImportedGame> validated = new ArrayBlockingQueue<>(queueCapacity);
+        final GameSink sink;
+
+        final LongAdder games = new LongAdder();
+        final LongAdder positions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final List<String> errorSamples = Collections.synchronizedList(new ArrayList<>());
+        volatile Throwable failure;
+
+        Pipeline(GameSink sink) {
+            this.sink = sink;
+        }
+
+        void endOfInput() {
+            // Um marcador por thread de validação; a fila é drenada por elas
+            for (int i = 0; i < threads; i++) {
+                putUninterruptibly(parsed, END_OF_INPUT);
+            }
+        }
+
+        void validate() {
+            MovetextParser parser = new MovetextParser();
+            try {
+                for (PgnGame game = parsed.take(); game != END_OF_INPUT; game = parsed.take()) {
+                    try {
+                        validated.put(parser.parse(game));
+                    } catch (RuntimeException e) {
+                        // Qualquer falha de uma partida a descarta; fora as de validação, o
+                        // analisador é recriado, pois pode ter ficado em um estado inconsistente
+                        boolean invalid = e instanceof IllegalArgumentException;
+                        if (!invalid) parser = new MovetextParser();
+                        errors.increment();
+                        // Verificação e inserção sob a mesma trava, para que os validadores não passem do máximo
+                        synchronized (errorSamples) {
+                            if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+                                errorSamples.add("partida " + game.getNumber() + ": " + (invalid ? e.getMessage() : e));
+                            }
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                fail(e);
+            } finally {
+                putUninterruptibly(validated, END_OF_VALIDATION);
+            }
+        }
+
+        void persist() {
+            int finished = 0;
+            try {
+                while (finished < threads) {
+                    ImportedGame game = validated.take();
+                    if (game == END_OF_VALIDATION) {
+                        finished++;
+                    } else if (failure == null) {
+                        // Após uma falha, apenas drena a fila para liberar as outras etapas
+                        try {
+                            sink.accept(game);
+                            games.increment();
+                            positions.add(game.getMoves().length);
+                        } catch (RuntimeException e) {
+                            fail(e);
+                        }
+                    }
+                }
+                if (failure == null) sink.finish();
+            } catch (InterruptedException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        void fail(Throwable e) {
+            if (failure == null) failure = e;
+        }
+
+        private <T> void putUninterruptibly(BlockingQueue<T> queue, T item) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(item);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+}
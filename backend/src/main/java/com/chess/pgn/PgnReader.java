@@ -0,0 +1,139 @@
+package com.chess.pgn;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Leitura sequencial de partidas de um arquivo PGN, uma de cada vez.
+ * <p>
+ * Apenas a partida corrente fica em memória, de modo que arquivos de qualquer
+ * tamanho são lidos com memória constante. As tags ({@code [Nome "Valor"]})
+ * são lidas caractere a caractere, sem expressões regulares; o texto dos
+ * lances é devolvido inteiro, para ser interpretado por quem valida a partida.
+ * <p>
+ * Uma partida termina quando uma nova linha de tag aparece depois de texto de
+ * lances, ou no fim do arquivo. Dentro de um comentário {@code {...}} de várias
+ * linhas, uma linha que começa com {@code [} é texto do comentário.
+ */
+public class PgnReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+    // Linha de tag já lida que pertence à próxima partida
+    private String pendingLine;
+    private long gamesRead;
+
+    public PgnReader(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Leitor não pode ser nulo.");
+        }
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * Lê a próxima partida.
+     *
+     * @return A partida, ou {@code null} no fim do arquivo.
+     * @throws IOException se a leitura falhar.
+     */
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        StringBuilder movetext = new StringBuilder(512);
+
+        String line = pendingLine != null ? pendingLine : reader.readLine();
+        pendingLine = null;
+        boolean inComment = false;
+
+        for (; line != null; line = reader.readLine()) {
+            int start = skipSpaces(line, 0);
+            if (start == line.length()) continue;
+
+            if (inComment) {
+                movetext.append('\n').append(line, start, line.length());
+                inComment = endsInComment(line, start, true);
+            } else if (line.charAt(start) == '[') {
+                // Tag depois dos lances: começo da próxima partida
+                if (!movetext.isEmpty()) {
+                    pendingLine = line;
+                    break;
+                }
+                parseTag(line, start, tags);
+            } else if (line.charAt(0) != '%') { // '%' na primeira coluna é linha de escape
+                // Mantém as quebras de linha, que encerram comentários de ';'
+                if (!movetext.isEmpty()) movetext.append('\n');
+                movetext.append(line, start, line.length());
+                inComment = endsInComment(line, start, false);
+            }
+        }
+
+        if (tags.isEmpty() && movetext.isEmpty()) return null;
+        return new PgnGame(++gamesRead, tags, movetext.toString());
+    }
+
+    /**
+     * Retorna quantas partidas já foram lidas.
+     */
+    public long getGamesRead() {
+        return gamesRead;
+    }
+
+    /**
+     * Indica se a linha de lances termina dentro de um comentário {@code {...}}.
+     * Fora de um, {@code ;} comenta o resto da linha e chaves depois dele não contam.
+     */
+    private static boolean endsInComment(String line, int i, boolean inComment) {
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inComment) {
+                if (c == '}') inComment = false;
+            } else if (c == '{') {
+                inComment = true;
+            } else if (c == ';') {
+                break;
+            }
+        }
+        return inComment;
+    }
+
+    /**
+     * Lê uma tag no formato {@code [Nome "Valor"]}; linhas malformadas são ignoradas.
+     */
+    private static void parseTag(String line, int i, Map<String, String> tags) {
+        int nameStart = skipSpaces(line, i + 1);
+        int nameEnd = nameStart;
+        while (nameEnd < line.length() && line.charAt(nameEnd) != ' ' && line.charAt(nameEnd) != '"') nameEnd++;
+
+        int quote = skipSpaces(line, nameEnd);
+        if (nameEnd == nameStart || quote >= line.length() || line.charAt(quote) != '"') return;
+
+        // Valor entre aspas, com \" e \\ como escapes
+        StringBuilder value = new StringBuilder();
+        for (int j = quote + 1; j < line.length(); j++) {
+            char c = line.charAt(j);
+            if (c == '\\' && j + 1 < line.length()) {
+                value.append(line.charAt(++j));
+            } else if (c == '"') {
+                tags.put(line.substring(nameStart, nameEnd), value.toString());
+                return;
+            } else {
+                value.append(c);
+            }
+        }
+    }
+
+    private static int skipSpaces(String line, int i) {
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) i++;
+        return i;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
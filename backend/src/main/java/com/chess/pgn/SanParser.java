@@ -0,0 +1,159 @@
+package com.chess.pgn;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Conversão de lances em notação algébrica curta (SAN) para movimentos codificados.
+ * <p>
+ * O analisador percorre o texto caractere a caractere, sem expressões
+ * regulares, e resolve o lance entre os movimentos legais da posição: um
+ * lance que não corresponda a exatamente um movimento legal é rejeitado. Usa
+ * as letras inglesas das peças (K, Q, R, B, N), como no PGN, e aceita o
+ * {@code P} explícito dos peões ("Pe4", "Pxd5").
+ * <p>
+ * Cada instância reaproveita o próprio buffer de movimentos e não deve ser
+ * compartilhada entre threads.
+ */
+public class SanParser {
+
+    private final MoveList legalMoves = new MoveList();
+
+    /**
+     * Converte um lance SAN na posição informada.
+     *
+     * @param board A posição (não é modificada).
+     * @param san O lance (ex: "Nbd7", "exd5", "e8=Q+", "O-O").
+     * @return O movimento codificado (ver {@link Move}).
+     * @throws IllegalArgumentException se o lance for inválido, ilegal ou ambíguo.
+     */
+    public int parse(BitBoard board, String san) {
+        if (board == null || san == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return parse(board, san, 0, san.length());
+    }
+
+    /**
+     * Converte o lance SAN no trecho {@code [start, end)} do texto, sem criar substrings.
+     *
+     * @throws IllegalArgumentException se o lance for inválido, ilegal ou ambíguo.
+     */
+    public int parse(BitBoard board, CharSequence text, int start, int end) {
+        // Descarta sufixos de xeque, mate e anotações ("+", "#", "!", "?")
+        while (end > start && isSuffix(text.charAt(end - 1))) end--;
+        if (end - start < 2) throw invalid(text, start, end, "lance incompleto");
+
+        legalMoves.clear();
+        LegalMoveGenerator.generate(board, legalMoves);
+
+        int castle = castleFlags(text, start, end);
+        if (castle >= 0) return findCastle(castle, text, start, end);
+
+        // Peça: letra maiúscula inicial; sem letra, é um peão
+        PieceType type = pieceOf(text.charAt(start));
+        int i = type == null ? start : start + 1;
+        if (type == null) type = PieceType.PAWN;
+
+        // Promoção: "=Q" ou, sem o sinal, a letra logo após a casa de destino
+        PieceType promotion = null;
+        if (type == PieceType.PAWN) {
+            PieceType last = pieceOf(text.charAt(end - 1));
+            if (last != null && last != PieceType.KING && last != PieceType.PAWN) {
+                promotion = last;
+                end--;
+                if (end > i && text.charAt(end - 1) == '=') end--;
+            }
+        }
+
+        // Casa de destino: os dois últimos caracteres
+        if (end - i < 2) throw invalid(text, start, end, "casa de destino ausente");
+        int to = squareOf(text.charAt(end - 2), text.charAt(end - 1));
+        if (to < 0) throw invalid(text, start, end, "casa de destino inválida");
+
+        // Desambiguação entre a peça e o destino: coluna e/ou fileira de origem
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int j = i; j < end - 2; j++) {
+            char c = text.charAt(j);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = '8' - c;
+            } else if (c != 'x' && c != ':' && c != '-') {
+                throw invalid(text, start, end, "caractere inesperado '" + c + "'");
+            }
+        }
+
+        int found = Move.NONE;
+        for (int k = 0; k < legalMoves.size(); k++) {
+            int move = legalMoves.get(k);
+            int from = Move.from(move);
+            if (Move.to(move) != to || Move.isCastle(move)) continue;
+            if (board.getPieceAt(from).getType() != type) continue;
+            if (fromFile >= 0 && (from & 7) != fromFile) continue;
+            if (fromRank >= 0 && (from >>> 3) != fromRank) continue;
+            if (Move.isPromotion(move) ? Move.promotionType(move) != promotion : promotion != null) continue;
+
+            if (found != Move.NONE) throw invalid(text, start, end, "lance ambíguo");
+            found = move;
+        }
+
+        if (found == Move.NONE) throw invalid(text, start, end, "lance ilegal");
+        return found;
+    }
+
+    private int findCastle(int flags, CharSequence text, int start, int end) {
+        for (int k = 0; k < legalMoves.size(); k++) {
+            int move = legalMoves.get(k);
+            if (Move.flags(move) == flags) return move;
+        }
+        throw invalid(text, start, end, "roque ilegal");
+    }
+
+    /**
+     * Reconhece "O-O" e "O-O-O" (também com zeros).
+     * @return a flag do roque, ou -1 se o texto não for um roque
+     */
+    private static int castleFlags(CharSequence text, int start, int end) {
+        char first = text.charAt(start);
+        if (first != 'O' && first != '0') return -1;
+
+        int length = end - start;
+        if (length != 3 && length != 5) return -1;
+        for (int j = start; j < end; j++) {
+            char expected = ((j - start) & 1) == 0 ? first : '-';
+            if (text.charAt(j) != expected) return -1;
+        }
+        return length == 3 ? Move.KING_CASTLE : Move.QUEEN_CASTLE;
+    }
+
+    private static PieceType pieceOf(char letter) {
+        return switch (letter) {
+            case 'N' -> PieceType.KNIGHT;
+            case 'B' -> PieceType.BISHOP;
+            case 'R' -> PieceType.ROOK;
+            case 'Q' -> PieceType.QUEEN;
+            case 'K' -> PieceType.KING;
+            case 'P' -> PieceType.PAWN;
+            default -> null;
+        };
+    }
+
+    private static int squareOf(char file, char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') return -1;
+        return ('8' - rank) * 8 + (file - 'a');
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static IllegalArgumentException invalid(CharSequence text, int start, int end, String reason) {
+        return new IllegalArgumentException("Lance SAN inválido (" + reason + "): \"" + text.subSequence(start, end) + "\"");
+    }
+
+}
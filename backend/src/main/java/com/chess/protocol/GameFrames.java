@@ -0,0 +1,214 @@
+package com.chess.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.BitboardUtils;
+
+/**
+ * Quadros binários do protocolo WebSocket das partidas (big-endian).
+ * <p>
+ * Depois de cada lance o servidor envia só a diferença ({@link #MOVE}, {@value #MOVE_SIZE}
+ * bytes): o lance, a cor que tem a vez, os relógios e um hash da posição. O
+ * cliente aplica o lance ao próprio tabuleiro e compara o hash; se diferir,
+ * pede um {@link #SNAPSHOT} ({@value #SNAPSHOT_SIZE} bytes) com o tabuleiro inteiro.
+ * <p>
+ * Quadros do servidor:
+ * <pre>
+ * MOVE      0 tipo | 1 flags | 2-3 lance | 4-5 meio-lance | 6-9 relógio brancas | 10-13 relógio pretas | 14-17 hash
+ * SNAPSHOT  0 tipo | 1 flags | 2-3 meio-lance | 4-7 relógio brancas | 8-11 relógio pretas | 12-15 hash
+ *           | 16-47 casas (4 bits cada, a8 no nibble alto do byte 16) | 48 roques | 49 casa de en passant (255 = nenhuma)
+ * CLOCK     0 tipo | 1 flags | 2-5 relógio brancas | 6-9 relógio pretas
+ * ERROR     0 tipo | 1-2 tamanho | mensagem em UTF-8 (lance recusado, por exemplo)
+ * </pre>
+ * Flags: bit 0 - cor que tem a vez (1 = pretas); bits 1-2 - situação
+ * ({@link #PLAYING}, {@link #WHITE_WINS}, {@link #BLACK_WINS}, {@link #DRAW}).
+ * O lance segue {@link Move}; os relógios são milissegundos restantes no
+ * instante do quadro (-1 nas partidas sem relógio).
+ * <p>
+ * Quadros do cliente:
+ * <pre>
+ * MOVE_REQUEST    0 tipo | 1 origem (0-63) | 2 destino (0-63) | 3 promoção (0 = nenhuma, 1-4 = C, B, T, D)
+ * RESYNC_REQUEST  0 tipo
+ * </pre>
+ * Códigos das peças (casas e hash): 0 vazia, 1-6 brancas (peão, cavalo, bispo,
+ * torre, dama, rei), 9-14 pretas na mesma ordem. O hash é FNV-1a de 32 bits dos
+ * 64 códigos (a8 a h1) seguidos da cor que tem a vez (0 ou 1).
+ * <p>
+ * O decodificador do cliente fica em {@code frontend/src/app/protocol/game-protocol.ts}.
+ */
+public class GameFrames {
+
+    // Tipos dos quadros do servidor
+    public static final byte MOVE = 1;
+    public static final byte SNAPSHOT = 2;
+    public static final byte CLOCK = 3;
+    public static final byte ERROR = 4;
+
+    // Tipos dos quadros do cliente
+    public static final byte MOVE_REQUEST = 16;
+    public static final byte RESYNC_REQUEST = 17;
+
+    public static final int MOVE_SIZE = 18;
+    public static final int SNAPSHOT_SIZE = 50;
+    public static final int CLOCK_SIZE = 10;
+    public static final int MOVE_REQUEST_SIZE = 4;
+
+    // Situação da partida nas flags
+    public static final int PLAYING = 0;
+    public static final int WHITE_WINS = 1;
+    public static final int BLACK_WINS = 2;
+    public static final int DRAW = 3;
+
+    private static final int NO_EN_PASSANT = 255;
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final char[] PROMOTION_LETTERS = {'n', 'b', 'r', 'q'};
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private GameFrames() {
+    }
+
+    /**
+     * Escreve o quadro de um lance, a partir da posição atual do buffer.
+     *
+     * @param board O tabuleiro depois do lance.
+     * @param move O lance jogado.
+     * @param ply O número do meio-lance jogado (a partir de 1).
+     * @param status A situação da partida depois do lance.
+     */
+    public static void writeMove(ByteBuffer out, BitBoard board, int move, int ply, int status,
+                                 int whiteMillis, int blackMillis) {
+        out.put(MOVE);
+        out.put(flags(board.getSideToMove(), status));
+        out.putShort((short) move);
+        out.putShort((short) ply);
+        out.putInt(whiteMillis);
+        out.putInt(blackMillis);
+        out.putInt(positionHash(board));
+    }
+
+    /**
+     * Escreve o quadro com o tabuleiro inteiro, a partir da posição atual do buffer.
+     *
+     * @param ply O número de meios-lances jogados.
+     * @param status A situação da partida.
+     */
+    public static void writeSnapshot(ByteBuffer out, BitBoard board, int ply, int status,
+                                     int whiteMillis, int blackMillis) {
+        byte[] codes = pieceCodes(board);
+        out.put(SNAPSHOT);
+        out.put(flags(board.getSideToMove(), status));
+        out.putShort((short) ply);
+        out.putInt(whiteMillis);
+        out.putInt(blackMillis);
+        out.putInt(hash(codes, board.getSideToMove()));
+        for (int square = 0; square < 64; square += 2) {
+            out.put((byte) (codes[square] << 4 | codes[square + 1]));
+        }
+        out.put((byte) board.getCastlingRights());
+        int enPassant = board.getEnPassantSquare();
+        out.put((byte) (enPassant < 0 ? NO_EN_PASSANT : enPassant));
+    }
+
+    /**
+     * Escreve o quadro dos relógios, a partir da posição atual do buffer.
+     */
+    public static void writeClock(ByteBuffer out, Color sideToMove, int status, int whiteMillis, int blackMillis) {
+        out.put(CLOCK);
+        out.put(flags(sideToMove, status));
+        out.putInt(whiteMillis);
+        out.putInt(blackMillis);
+    }
+
+    /**
+     * Escreve o quadro de erro, a partir da posição atual do buffer.
+     */
+    public static void writeError(ByteBuffer out, String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(text.length, MAX_ERROR_LENGTH);
+        out.put(ERROR);
+        out.putShort((short) length);
+        out.put(text, 0, length);
+    }
+
+    /**
+     * Retorna o tamanho do quadro de erro com a mensagem.
+     */
+    public static int errorSize(String message) {
+        return 3 + Math.min(message.getBytes(StandardCharsets.UTF_8).length, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Lê um quadro {@link #MOVE_REQUEST} como lance em notação de coordenadas (ex: "e7e8q").
+     *
+     * @throws IllegalArgumentException se o quadro for inválido.
+     */
+    public static String readMoveRequest(ByteBuffer in) {
+        if (in.remaining() < MOVE_REQUEST_SIZE || in.get() != MOVE_REQUEST) {
+            throw new IllegalArgumentException("Quadro de lance inválido.");
+        }
+        int from = in.get() & 0xFF;
+        int to = in.get() & 0xFF;
+        int promotion = in.get() & 0xFF;
+        if (from > 63 || to > 63 || promotion > 4) {
+            throw new IllegalArgumentException("Quadro de lance inválido.");
+        }
+        String notation = BitboardUtils.positionOf(from).toString() + BitboardUtils.positionOf(to);
+        return promotion == 0 ? notation : notation + PROMOTION_LETTERS[promotion - 1];
+    }
+
+    /**
+     * Converte o resultado ("1-0", "0-1", "1/2-1/2" ou {@code null}) na situação das flags.
+     */
+    public static int statusOf(String result) {
+        if (result == null) return PLAYING;
+        return switch (result) {
+            case "1-0" -> WHITE_WINS;
+            case "0-1" -> BLACK_WINS;
+            default -> DRAW;
+        };
+    }
+
+    /**
+     * Retorna o hash da posição enviado nos quadros (ver a descrição da classe).
+     */
+    public static int positionHash(Board board) {
+        return hash(pieceCodes(board), board.getSideToMove());
+    }
+
+    private static int hash(byte[] codes, Color sideToMove) {
+        int hash = FNV_OFFSET;
+        for (byte code : codes) {
+            hash = (hash ^ code) * FNV_PRIME;
+        }
+        return (hash ^ sideToMove.ordinal()) * FNV_PRIME;
+    }
+
+    private static byte[] pieceCodes(Board board) {
+        byte[] codes = new byte[64];
+        for (Color color : Color.values()) {
+            int base = color.isWhite() ? 1 : 9;
+            for (PieceType type : TYPES) {
+                long pieces = board.getPieces(type, color);
+                while (pieces != 0) {
+                    codes[Long.numberOfTrailingZeros(pieces)] = (byte) (base + type.ordinal());
+                    pieces &= pieces - 1;
+                }
+            }
+        }
+        return codes;
+    }
+
+    private static byte flags(Color sideToMove, int status) {
+        return (byte) (sideToMove.ordinal() | status << 1);
+    }
+
+}
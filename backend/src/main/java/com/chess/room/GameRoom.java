@@ -0,0 +1,336 @@
+package com.chess.room;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.chess.clock.GameClock;
+import com.chess.clock.TimeControl;
+import com.chess.clock.Timeout;
+import com.chess.engine.Material;
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Sala de uma partida ao vivo: os dois jogadores, o tabuleiro e o relógio.
+ * <p>
+ * O relógio, se houver, começa a correr quando o segundo jogador entra e passa
+ * a vez a cada lance; a partida termina quando o tempo de quem tem a vez acaba
+ * ({@link #flagFall()}).
+ * <p>
+ * Cada lugar recebe um token secreto ao ser ocupado ({@link Seat}); lances,
+ * abandono, saída e volta à sala exigem o token, não o nome. Os lugares só são
+ * ocupados enquanto a sala espera; depois que a partida começa, sair da sala
+ * marca apenas a ausência do jogador, sem liberar o lugar.
+ * <p>
+ * Cada sala tem a própria trava; o estado só é lido e alterado com ela, por
+ * meio do {@link RoomRegistry}. A trava é um {@link ReentrantLock}, e não
+ * {@code synchronized}, para que uma thread virtual bloqueada nela libere a
+ * thread portadora.
+ */
+public class GameRoom {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 18;
+
+    private final long id;
+    final ReentrantLock lock = new ReentrantLock();
+    // Prazo para fechar a sala terminada ou não retomada; null no registro sem relógios
+    Timeout expiry;
+
+    private final BitBoard board;
+    private final GameClock clock;
+    private final MoveList legalMoves = new MoveList();
+    private String white;
+    private String black;
+    private String whiteToken;
+    private String blackToken;
+    private boolean whitePresent;
+    private boolean blackPresent;
+    private int ply;
+    private RoomStatus status = RoomStatus.WAITING;
+    private String result;
+    private boolean closed;
+
+    /**
+     * @param clock O relógio da partida, parado, ou {@code null} para partidas sem relógio.
+     */
+    GameRoom(long id, BitBoard board, int ply, GameClock clock) {
+        this.id = id;
+        this.board = board;
+        this.ply = ply;
+        this.clock = clock;
+    }
+
+    /**
+     * Coloca o jogador na primeira cor livre, com um token novo para o lugar.
+     *
+     * @return O lugar do jogador.
+     * @throws IllegalArgumentException se a sala estiver cheia, a partida já tiver
+     * começado ou o nome já estiver na sala.
+     */
+    Seat join(String player) {
+        if (status != RoomStatus.WAITING) {
+            throw new IllegalArgumentException("Sala cheia: " + id);
+        }
+        if (player.equals(white) || player.equals(black)) {
+            throw new IllegalArgumentException("Jogador já está na sala: " + player);
+        }
+
+        Color color;
+        String token = newToken();
+        if (white == null) {
+            white = player;
+            whiteToken = token;
+            whitePresent = true;
+            color = Color.WHITE;
+        } else if (black == null) {
+            black = player;
+            blackToken = token;
+            blackPresent = true;
+            color = Color.BLACK;
+        } else {
+            throw new IllegalArgumentException("Sala cheia: " + id);
+        }
+        if (white != null && black != null) {
+            status = RoomStatus.PLAYING;
+            if (clock != null) clock.start(board.getSideToMove());
+        }
+        return new Seat(id, color, token);
+    }
+
+    /**
+     * Marca a volta do jogador dono do token à sala.
+     *
+     * @return A cor do jogador.
+     * @throws IllegalArgumentException se o token não for de um lugar da sala.
+     */
+    Color enter(String token) {
+        Color color = seatOf(token);
+        if (color.isWhite()) whitePresent = true;
+        else blackPresent = true;
+        return color;
+    }
+
+    /**
+     * Retira o jogador dono do token da sala; antes de a partida começar, o lugar
+     * dele fica livre e o token deixa de valer.
+     *
+     * @return {@code true} se a sala ficou vazia.
+     * @throws IllegalArgumentException se o token não for de um lugar da sala.
+     */
+    boolean leave(String token) {
+        if (seatOf(token).isWhite()) {
+            whitePresent = false;
+            if (status == RoomStatus.WAITING) {
+                white = null;
+                whiteToken = null;
+            }
+        } else {
+            blackPresent = false;
+            if (status == RoomStatus.WAITING) {
+                black = null;
+                blackToken = null;
+            }
+        }
+        return isEmpty();
+    }
+
+    /**
+     * Verifica se nenhum dos jogadores está na sala.
+     */
+    boolean isEmpty() {
+        return !whitePresent && !blackPresent;
+    }
+
+    /**
+     * Joga o lance do jogador, se for a vez dele e o lance for legal. A partida
+     * termina no mate, no afogamento, na repetição tripla, na regra dos 50 lances
+     * ou quando não resta material para dar mate.
+     *
+     * @param token O token do lugar do jogador.
+     * @param notation O lance em notação de coordenadas (ex: "e2e4", "e7e8q").
+     * @return O lance codificado (ver {@link Move}).
+     * @throws IllegalArgumentException se a partida não estiver em andamento, o token
+     * não for de um lugar da sala, não for a vez do jogador ou o lance for ilegal.
+     */
+    int move(String token, String notation) {
+        if (status != RoomStatus.PLAYING) {
+            throw new IllegalArgumentException("Partida não está em andamento: " + id);
+        }
+        Color side = board.getSideToMove();
+        if (seatOf(token) != side) {
+            throw new IllegalArgumentException("Não é a vez do jogador: " + (side.isWhite() ? black : white));
+        }
+
+        legalMoves.clear();
+        LegalMoveGenerator.generate(board, legalMoves);
+        int move = Move.NONE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (Move.toString(legalMoves.get(i)).equals(notation)) {
+                move = legalMoves.get(i);
+                break;
+            }
+        }
+        if (move == Move.NONE) {
+            throw new IllegalArgumentException("Lance ilegal: " + notation);
+        }
+
+        board.makeMove(move);
+        ply++;
+        if (clock != null) clock.press();
+
+        // Sem lances legais para o adversário: mate ou afogamento
+        legalMoves.clear();
+        LegalMoveGenerator.generate(board, legalMoves);
+        if (legalMoves.isEmpty()) {
+            finish(board.isInCheck(board.getSideToMove()) ? (side.isWhite() ? "1-0" : "0-1") : "1/2-1/2");
+        } else if (board.isThreefoldRepetition() || board.getHalfmoveClock() >= 100
+                || Material.of(board.getMaterialKey()).isInsufficient()) {
+            // Empates automáticos; o mate no centésimo meio-lance já foi tratado acima
+            finish("1/2-1/2");
+        }
+        return move;
+    }
+
+    /**
+     * Encerra a partida com abandono do jogador dono do token.
+     *
+     * @return A cor de quem abandonou.
+     * @throws IllegalArgumentException se a partida não estiver em andamento ou o
+     * token não for de um lugar da sala.
+     */
+    Color resign(String token) {
+        if (status != RoomStatus.PLAYING) {
+            throw new IllegalArgumentException("Partida não está em andamento: " + id);
+        }
+        Color color = seatOf(token);
+        finish(color.isWhite() ? "0-1" : "1-0");
+        return color;
+    }
+
+    /**
+     * Encerra a partida se o tempo de quem tem a vez acabou; quem ficou sem tempo perde.
+     *
+     * @return {@code true} se a partida terminou agora.
+     */
+    boolean flagFall() {
+        if (status != RoomStatus.PLAYING || clock == null || !clock.isFlagged()) return false;
+        finish(clock.getRunning().isWhite() ? "0-1" : "1-0");
+        return true;
+    }
+
+    // Comparação em tempo constante: o tempo da resposta não revela o token
+    private Color seatOf(String token) {
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        if (whiteToken != null && MessageDigest.isEqual(bytes, whiteToken.getBytes(StandardCharsets.US_ASCII))) {
+            return Color.WHITE;
+        }
+        if (blackToken != null && MessageDigest.isEqual(bytes, blackToken.getBytes(StandardCharsets.US_ASCII))) {
+            return Color.BLACK;
+        }
+        throw new IllegalArgumentException("Token inválido para a sala: " + id);
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void finish(String result) {
+        this.status = RoomStatus.FINISHED;
+        this.result = result;
+        if (clock != null) clock.stop();
+    }
+
+    void close() {
+        closed = true;
+        if (clock != null) clock.stop();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getWhite() {
+        return white;
+    }
+
+    public String getBlack() {
+        return black;
+    }
+
+    /**
+     * Retorna o número de meios-lances jogados.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retorna o resultado ("1-0", "0-1" ou "1/2-1/2"), ou {@code null} se a partida não terminou.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    public Color getSideToMove() {
+        return board.getSideToMove();
+    }
+
+    /**
+     * Retorna o controle de tempo, ou {@code null} se a partida não tiver relógio.
+     */
+    public TimeControl getTimeControl() {
+        return clock == null ? null : clock.getControl();
+    }
+
+    /**
+     * Retorna o tempo restante das brancas agora, em milissegundos, ou -1 se a partida não tiver relógio.
+     */
+    public long getWhiteMillis() {
+        return clock == null ? -1 : clock.getRemaining(Color.WHITE);
+    }
+
+    /**
+     * Retorna o tempo restante das pretas agora, em milissegundos, ou -1 se a partida não tiver relógio.
+     */
+    public long getBlackMillis() {
+        return clock == null ? -1 : clock.getRemaining(Color.BLACK);
+    }
+
+    public String getFen() {
+        return FenUtils.toFen(board);
+    }
+
+    /**
+     * Retorna a chave de Zobrist da posição atual.
+     */
+    public long getKey() {
+        return board.getKey();
+    }
+
+    /**
+     * Retorna o tabuleiro da sala; só deve ser lido com a trava da sala (ver
+     * {@link RoomRegistry#execute} e {@link RoomListener}).
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+}
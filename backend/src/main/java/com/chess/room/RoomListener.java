@@ -0,0 +1,39 @@
+package com.chess.room;
+
+import com.chess.entity.base.Color;
+
+/**
+ * Observa as mudanças das salas, para persisti-las ou difundi-las.
+ * <p>
+ * É chamado com a trava da sala, na ordem em que as mudanças acontecem na
+ * sala; chamadas de salas diferentes podem ser simultâneas. Não deve bloquear
+ * nem lançar exceções: a mudança já foi feita na sala quando ele é chamado.
+ */
+public interface RoomListener {
+
+    default void created(GameRoom room) {
+    }
+
+    /**
+     * @param ply O número do meio-lance jogado (a partir de 1).
+     * @param move O lance codificado (ver {@link com.chess.entity.board.Move}).
+     */
+    default void moved(GameRoom room, int ply, int move) {
+    }
+
+    /**
+     * O jogador da cor abandonou; {@link #finished} vem em seguida.
+     */
+    default void resigned(GameRoom room, Color color) {
+    }
+
+    default void finished(GameRoom room) {
+    }
+
+    /**
+     * A sala foi removida do registro (todos os jogadores saíram).
+     */
+    default void removed(GameRoom room) {
+    }
+
+}
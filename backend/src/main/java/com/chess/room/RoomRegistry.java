@@ -0,0 +1,490 @@
+package com.chess.room;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.chess.clock.ClockScheduler;
+import com.chess.clock.GameClock;
+import com.chess.clock.TimeControl;
+import com.chess.clock.Timeout;
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+
+/**
+ * Registro das salas de partidas ao vivo, dividido em fatias pelo id da sala.
+ * <p>
+ * Cada fatia é um mapa com a própria trava, mantida só durante a consulta ou
+ * alteração do mapa; o trabalho da sala (entrar, sair, jogar) usa apenas a
+ * trava da sala. Lances em salas diferentes, portanto, nunca disputam a mesma
+ * trava, e salas de fatias diferentes são criadas e removidas em paralelo.
+ * <p>
+ * Ordem das travas: sala e depois fatia (na remoção de uma sala vazia); a
+ * trava da fatia nunca é mantida ao pegar a de uma sala.
+ * <p>
+ * As operações síncronas rodam na thread chamadora; {@link #submit} roda a
+ * operação em uma thread virtual, uma por tarefa. É assim que a queda da
+ * bandeira, avisada pela thread do {@link ClockScheduler}, chega à sala.
+ * <p>
+ * Com relógios, o mesmo agendador fecha as salas que não vão mais mudar: a
+ * partida terminada fica disponível por {@code finishedGraceMillis} e depois é
+ * removida; a sala recuperada após um reinício que não volta a ter os dois
+ * jogadores em {@code abandonMillis}, e a partida em andamento que os dois
+ * deixam por esse prazo, são removidas como abandonadas.
+ */
+public class RoomRegistry implements AutoCloseable {
+
+    public static final long DEFAULT_FINISHED_GRACE_MILLIS = 60_000;
+    public static final long DEFAULT_ABANDON_MILLIS = 600_000;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final RoomListener listener;
+    private final ClockScheduler clocks;
+    private final long finishedGraceMillis;
+    private final long abandonMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Métricas
+    private final LongAdder created = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * Cria o registro sem relógios: só aceita salas sem controle de tempo.
+     *
+     * @param shards Número de fatias, arredondado para cima a uma potência de 2.
+     * @param listener Observador das mudanças das salas.
+     */
+    public RoomRegistry(int shards, RoomListener listener) {
+        this(shards, listener, null);
+    }
+
+    /**
+     * @param shards Número de fatias, arredondado para cima a uma potência de 2.
+     * @param listener Observador das mudanças das salas.
+     * @param clocks Agendador dos relógios das partidas, ou {@code null} para não ter relógios.
+     */
+    public RoomRegistry(int shards, RoomListener listener, ClockScheduler clocks) {
+        this(shards, listener, clocks, DEFAULT_FINISHED_GRACE_MILLIS, DEFAULT_ABANDON_MILLIS);
+    }
+
+    /**
+     * @param shards Número de fatias, arredondado para cima a uma potência de 2.
+     * @param listener Observador das mudanças das salas.
+     * @param clocks Agendador dos relógios das partidas, ou {@code null} para não ter relógios
+     * nem fechar salas por prazo.
+     * @param finishedGraceMillis Por quanto tempo a partida terminada continua na sala.
+     * @param abandonMillis Prazo para os dois jogadores voltarem a uma sala recuperada ou
+     * a uma partida que deixaram.
+     */
+    public RoomRegistry(int shards, RoomListener listener, ClockScheduler clocks,
+                        long finishedGraceMillis, long abandonMillis) {
+        if (shards < 1 || shards > 1 << 16) {
+            throw new IllegalArgumentException("Número de fatias inválido: " + shards);
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        if (finishedGraceMillis < 0 || abandonMillis < 0) {
+            throw new IllegalArgumentException("Prazos não podem ser negativos.");
+        }
+        int count = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shardMask = count - 1;
+        this.listener = listener;
+        this.clocks = clocks;
+        this.finishedGraceMillis = finishedGraceMillis;
+        this.abandonMillis = abandonMillis;
+    }
+
+    /**
+     * Cria uma sala sem relógio, com a posição inicial e o jogador de brancas.
+     *
+     * @return O lugar do jogador, com o id da sala.
+     */
+    public Seat create(String player) {
+        return create(player, null);
+    }
+
+    /**
+     * Cria uma sala com a posição inicial e o jogador de brancas.
+     *
+     * @param timeControl O controle de tempo, ou {@code null} para uma partida sem relógio.
+     * @return O lugar do jogador, com o id da sala.
+     * @throws IllegalArgumentException se houver controle de tempo e o registro não tiver relógios.
+     */
+    public Seat create(String player, TimeControl timeControl) {
+        if (player == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        long id = nextId.getAndIncrement();
+        GameClock clock = timeControl == null ? null
+            : clockOf(id, timeControl, timeControl.getInitialMillis(), timeControl.getInitialMillis());
+        GameRoom room = new GameRoom(id, BitBoard.initial(), 0, clock);
+        room.expiry = expiryOf(id);
+        Seat seat = room.join(player);
+        register(room);
+        return seat;
+    }
+
+    /**
+     * Garante que as próximas salas criadas tenham id a partir do informado,
+     * para não reaproveitar ids de execuções anteriores ainda em uso fora do registro.
+     */
+    public void reserveIds(long nextId) {
+        this.nextId.accumulateAndGet(nextId, Math::max);
+    }
+
+    /**
+     * Recria uma sala sem relógio recuperada após um reinício (ver {@link #restore(long, BitBoard, int, TimeControl, long, long)}).
+     */
+    public void restore(long id, BitBoard board, int ply) {
+        restore(id, board, ply, null, 0, 0);
+    }
+
+    /**
+     * Recria uma sala recuperada após um reinício, sem jogadores; eles entram de
+     * novo com {@link #join} e o relógio volta a correr de onde parou. Se os dois
+     * não voltarem em {@code abandonMillis}, a sala é removida.
+     *
+     * @param id O id original da sala.
+     * @param board O tabuleiro com os lances já jogados.
+     * @param ply O número de meios-lances jogados.
+     * @param timeControl O controle de tempo, ou {@code null} para uma partida sem relógio.
+     * @param whiteMillis O tempo restante das brancas.
+     * @param blackMillis O tempo restante das pretas.
+     * @throws IllegalArgumentException se já houver uma sala com o id.
+     */
+    public void restore(long id, BitBoard board, int ply, TimeControl timeControl, long whiteMillis, long blackMillis) {
+        if (board == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        GameClock clock = timeControl == null ? null : clockOf(id, timeControl, whiteMillis, blackMillis);
+        GameRoom room = new GameRoom(id, board, ply, clock);
+        room.expiry = expiryOf(id);
+        Shard shard = shardOf(id);
+        shard.lock.lock();
+        try {
+            if (shard.rooms.containsKey(id)) {
+                throw new IllegalArgumentException("Sala já existe: " + id);
+            }
+            shard.rooms.put(id, room);
+        } finally {
+            shard.lock.unlock();
+        }
+        // Fora da trava da fatia: o prazo pode vencer e pegar a da sala
+        expireIn(room, abandonMillis);
+        size.incrementAndGet();
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Coloca o jogador em um lugar livre da sala.
+     *
+     * @return O lugar do jogador, com o token que o identifica.
+     * @throws IllegalArgumentException se a sala não existir, estiver cheia ou já tiver o nome.
+     */
+    public Seat join(long roomId, String player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return execute(roomId, room -> {
+            Seat seat = room.join(player);
+            // Sala recuperada retomada: não é mais abandonada
+            if (room.getStatus() == RoomStatus.PLAYING && room.expiry != null) clocks.cancel(room.expiry);
+            return seat;
+        });
+    }
+
+    /**
+     * Marca a volta do jogador dono do token à sala (ex: ao reconectar).
+     *
+     * @return A cor do jogador.
+     * @throws IllegalArgumentException se a sala não existir ou o token não for de um lugar dela.
+     */
+    public Color enter(long roomId, String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return execute(roomId, room -> {
+            Color color = room.enter(token);
+            // Partida deixada pelos dois e retomada: não é mais abandonada
+            if (room.getStatus() == RoomStatus.PLAYING && room.expiry != null) clocks.cancel(room.expiry);
+            return color;
+        });
+    }
+
+    /**
+     * Retira o jogador dono do token da sala. A sala vazia só é removida antes de
+     * a partida começar; a partida em andamento termina por abandono, tempo
+     * esgotado ou, se os dois a deixarem, pelo prazo de abandono.
+     *
+     * @throws IllegalArgumentException se a sala não existir ou o token não for de um lugar dela.
+     */
+    public void leave(long roomId, String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        execute(roomId, room -> {
+            if (!room.leave(token)) return null;
+            if (room.getStatus() == RoomStatus.WAITING) remove(room);
+            else if (room.getStatus() == RoomStatus.PLAYING) expireIn(room, abandonMillis);
+            return null;
+        });
+    }
+
+    /**
+     * Joga o lance do jogador dono do token.
+     *
+     * @param notation O lance em notação de coordenadas (ex: "e2e4").
+     * @return O estado da sala após o lance.
+     * @throws IllegalArgumentException se a sala não existir, o token não for de um lugar dela,
+     * não for a vez do jogador, o lance for ilegal ou o tempo de quem tem a vez tiver acabado
+     * (a partida então termina).
+     */
+    public RoomView move(long roomId, String token, String notation) {
+        if (token == null || notation == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return execute(roomId, room -> {
+            // A bandeira pode ter caído antes de o aviso do agendador chegar à sala
+            if (flagFall(room)) {
+                throw new IllegalArgumentException("Tempo esgotado: " + roomId);
+            }
+            int move = room.move(token, notation);
+            moves.increment();
+            listener.moved(room, room.getPly(), move);
+            if (room.getStatus() == RoomStatus.FINISHED) finished(room);
+            return RoomView.of(room);
+        });
+    }
+
+    /**
+     * Encerra a partida com abandono do jogador dono do token.
+     *
+     * @throws IllegalArgumentException se a sala não existir, a partida não estiver em
+     * andamento ou o token não for de um lugar dela.
+     */
+    public RoomView resign(long roomId, String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        return execute(roomId, room -> {
+            Color color = room.resign(token);
+            listener.resigned(room, color);
+            finished(room);
+            return RoomView.of(room);
+        });
+    }
+
+    /**
+     * Retorna o estado atual da sala.
+     *
+     * @throws IllegalArgumentException se a sala não existir.
+     */
+    public RoomView get(long roomId) {
+        return execute(roomId, RoomView::of);
+    }
+
+    /**
+     * Executa a operação com a trava da sala, na thread chamadora.
+     *
+     * @throws IllegalArgumentException se a sala não existir.
+     */
+    public <T> T execute(long roomId, Function<GameRoom, T> operation) {
+        GameRoom room = find(roomId);
+        // Conta as esperas: com as salas isoladas devem ser raras
+        if (!room.lock.tryLock()) {
+            contended.increment();
+            room.lock.lock();
+        }
+        try {
+            // A sala pode ter sido removida entre a consulta e a trava
+            if (room.isClosed()) throw notFound(roomId);
+            return operation.apply(room);
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    /**
+     * Executa a operação com a trava da sala em uma thread virtual.
+     */
+    public <T> CompletableFuture<T> submit(long roomId, Function<GameRoom, T> operation) {
+        return CompletableFuture.supplyAsync(() -> execute(roomId, operation), executor);
+    }
+
+    private GameClock clockOf(long id, TimeControl timeControl, long whiteMillis, long blackMillis) {
+        if (clocks == null) {
+            throw new IllegalArgumentException("Relógios desativados.");
+        }
+        // O aviso vem da thread do agendador, que não deve esperar pela trava da sala
+        return new GameClock(clocks, timeControl, whiteMillis, blackMillis,
+            () -> submit(id, this::flagFall));
+    }
+
+    // Chamado com a trava da sala
+    private boolean flagFall(GameRoom room) {
+        if (!room.flagFall()) return false;
+        timeouts.increment();
+        finished(room);
+        return true;
+    }
+
+    // Chamado com a trava da sala
+    private void finished(GameRoom room) {
+        listener.finished(room);
+        expireIn(room, finishedGraceMillis);
+    }
+
+    private Timeout expiryOf(long id) {
+        // Como a bandeira: o aviso só repassa a remoção a uma thread virtual
+        return clocks == null ? null : new Timeout(() -> submit(id, this::expire));
+    }
+
+    private void expireIn(GameRoom room, long millis) {
+        if (room.expiry != null) clocks.schedule(room.expiry, clocks.now() + millis);
+    }
+
+    // Chamado com a trava da sala; uma partida retomada entretanto continua aberta
+    private boolean expire(GameRoom room) {
+        if (room.getStatus() == RoomStatus.PLAYING && !room.isEmpty()) return false;
+        expired.increment();
+        remove(room);
+        return true;
+    }
+
+    private void register(GameRoom room) {
+        Shard shard = shardOf(room.getId());
+        room.lock.lock();
+        try {
+            shard.lock.lock();
+            try {
+                shard.rooms.put(room.getId(), room);
+            } finally {
+                shard.lock.unlock();
+            }
+            size.incrementAndGet();
+            created.increment();
+            listener.created(room);
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    // Chamado com a trava da sala
+    private void remove(GameRoom room) {
+        Shard shard = shardOf(room.getId());
+        shard.lock.lock();
+        try {
+            shard.rooms.remove(room.getId());
+        } finally {
+            shard.lock.unlock();
+        }
+        room.close();
+        if (room.expiry != null) clocks.cancel(room.expiry);
+        size.decrementAndGet();
+        removed.increment();
+        listener.removed(room);
+    }
+
+    private GameRoom find(long roomId) {
+        Shard shard = shardOf(roomId);
+        GameRoom room;
+        shard.lock.lock();
+        try {
+            room = shard.rooms.get(roomId);
+        } finally {
+            shard.lock.unlock();
+        }
+        if (room == null) throw notFound(roomId);
+        return room;
+    }
+
+    private Shard shardOf(long roomId) {
+        // Ids sequenciais espalhados pelas fatias (hash de Fibonacci)
+        return shards[(int) ((roomId * 0x9E3779B97F4A7C15L) >>> 40) & shardMask];
+    }
+
+    private static IllegalArgumentException notFound(long roomId) {
+        return new IllegalArgumentException("Sala não encontrada: " + roomId);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // ------------------------------------------------------------------
+    // Métricas
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna o número de salas abertas.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public int getShards() {
+        return shards.length;
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getRemoved() {
+        return removed.sum();
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    /**
+     * Retorna quantas vezes uma operação esperou pela trava de uma sala ocupada.
+     */
+    public long getContended() {
+        return contended.sum();
+    }
+
+    /**
+     * Retorna quantas partidas terminaram por tempo esgotado.
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Retorna quantas salas foram removidas por prazo: terminadas ou recuperadas e não retomadas.
+     */
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    /**
+     * Uma fatia do registro: o mapa das salas e a sua trava.
+     */
+    private static class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, GameRoom> rooms = new HashMap<>();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.chess.room;
+
+/**
+ * Situação de uma sala de partida.
+ */
+public enum RoomStatus {
+    /** Esperando o segundo jogador. */
+    WAITING,
+    /** Partida em andamento. */
+    PLAYING,
+    /** Partida encerrada (mate, afogamento ou abandono). */
+    FINISHED
+}
@@ -0,0 +1,92 @@
+package com.chess.room;
+
+import com.chess.entity.base.Color;
+
+/**
+ * Retrato do estado de uma sala, tirado com a trava da sala.
+ */
+public class RoomView {
+
+    private final long id;
+    private final String white;
+    private final String black;
+    private final RoomStatus status;
+    private final String result;
+    private final int ply;
+    private final Color sideToMove;
+    private final String fen;
+    private final long whiteMillis;
+    private final long blackMillis;
+
+    public RoomView(long id, String white, String black, RoomStatus status, String result,
+                    int ply, Color sideToMove, String fen, long whiteMillis, long blackMillis) {
+        this.id = id;
+        this.white = white;
+        this.black = black;
+        this.status = status;
+        this.result = result;
+        this.ply = ply;
+        this.sideToMove = sideToMove;
+        this.fen = fen;
+        this.whiteMillis = whiteMillis;
+        this.blackMillis = blackMillis;
+    }
+
+    static RoomView of(GameRoom room) {
+        return new RoomView(room.getId(), room.getWhite(), room.getBlack(), room.getStatus(), room.getResult(),
+            room.getPly(), room.getSideToMove(), room.getFen(), room.getWhiteMillis(), room.getBlackMillis());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getWhite() {
+        return white;
+    }
+
+    public String getBlack() {
+        return black;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retorna o resultado ("1-0", "0-1" ou "1/2-1/2"), ou {@code null} se a partida não terminou.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Retorna o número de meios-lances jogados.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * Retorna o tempo restante das brancas, em milissegundos, ou -1 se a partida não tiver relógio.
+     */
+    public long getWhiteMillis() {
+        return whiteMillis;
+    }
+
+    /**
+     * Retorna o tempo restante das pretas, em milissegundos, ou -1 se a partida não tiver relógio.
+     */
+    public long getBlackMillis() {
+        return blackMillis;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.chess.room;
+
+import com.chess.entity.base.Color;
+
+/**
+ * Lugar de um jogador em uma sala, entregue apenas a ele ao criar a sala ou
+ * entrar nela. O token é o segredo que o identifica nos lances, no abandono,
+ * na saída e na conexão WebSocket; o nome serve só para exibição.
+ */
+public class Seat {
+
+    private final long roomId;
+    private final Color color;
+    private final String token;
+
+    public Seat(long roomId, Color color, String token) {
+        this.roomId = roomId;
+        this.color = color;
+        this.token = token;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+}
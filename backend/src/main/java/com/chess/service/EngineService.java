@@ -0,0 +1,265 @@
+package com.chess.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.chess.book.BookMove;
+import com.chess.book.OpeningBook;
+import com.chess.engine.ParallelSearch;
+import com.chess.engine.Search;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.TranspositionTable;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.tablebase.Tablebase;
+import com.chess.tablebase.TablebaseResult;
+import com.chess.utils.FenUtils;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Busca de lances do oponente artificial, com limites rígidos de nós e tempo
+ * para caber no orçamento de latência de uma requisição.
+ * <p>
+ * Cada busca pode usar várias threads (Lazy SMP), limitadas pela configuração;
+ * as threads auxiliares vêm de um pool de tamanho fixo compartilhado por todas
+ * as buscas, e uma busca que não encontra auxiliares livres roda com menos
+ * threads em vez de esperar. A tabela de transposição também é compartilhada.
+ * O número de buscas simultâneas também é limitado ({@code chess.engine.max-concurrent}):
+ * sem uma vaga livre, a requisição é recusada em vez de esperar, como no perft.
+ * <p>
+ * A busca de uma partida ({@code game}) pode ser parada por {@link #stop(String)},
+ * e uma nova busca da mesma partida para a anterior. A geração da tabela avança
+ * uma vez por lance de cada partida, e não a cada busca, para que buscas
+ * simultâneas não envelheçam as entradas umas das outras; as buscas avulsas não
+ * a avançam.
+ * <p>
+ * Com um livro de aberturas configurado ({@code chess.engine.book}), as
+ * posições que estão nele são respondidas com um lance do livro, sorteado pelo
+ * peso, sem busca. Da mesma forma, com as tabelas de finais
+ * ({@code chess.engine.tablebases}), as posições com poucas peças são
+ * respondidas com o lance das tabelas e a distância exata até o mate.
+ */
+@Service
+public class EngineService {
+
+    // Partidas cuja última posição buscada é lembrada para avançar a geração da tabela
+    private static final int MAX_TRACKED_GAMES = 4096;
+
+    private final TranspositionTable table;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+    private final int maxThreads;
+    private final ExecutorService helpers;
+    // Threads auxiliares livres no pool
+    private final Semaphore helperPermits;
+    // Buscas simultâneas permitidas, cada uma ocupando a thread da requisição
+    private final Semaphore searchPermits;
+    private final OpeningBook book;
+    private final Tablebase tablebase;
+
+    // Busca em andamento de cada partida
+    private final Map<String, ParallelSearch> running = new ConcurrentHashMap<>();
+    // Última posição buscada de cada partida, da menos para a mais recente
+    private final Map<String, Long> lastPositions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_TRACKED_GAMES;
+        }
+    };
+
+    public EngineService(@Value("${chess.engine.hash-mb:64}") int hashMegabytes,
+                         @Value("${chess.engine.max-depth:64}") int maxDepth,
+                         @Value("${chess.engine.max-nodes:50000000}") long maxNodes,
+                         @Value("${chess.engine.max-time-ms:5000}") long maxTimeMillis,
+                         @Value("${chess.engine.max-threads:0}") int maxThreads,
+                         @Value("${chess.engine.helper-threads:0}") int helperThreads,
+                         @Value("${chess.engine.max-concurrent:0}") int maxConcurrent,
+                         @Value("${chess.engine.book:}") String book,
+                         @Value("${chess.engine.tablebases:}") String tablebases) {
+        this.table = new TranspositionTable(hashMegabytes);
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+        // 0 usa todos os núcleos disponíveis
+        this.maxThreads = maxThreads > 0 ? maxThreads : Runtime.getRuntime().availableProcessors();
+        // 0 usa um a menos que os núcleos: a thread da requisição é a principal
+        int poolSize = Math.max(1, helperThreads > 0 ? helperThreads : Runtime.getRuntime().availableProcessors() - 1);
+        this.helpers = Executors.newFixedThreadPool(poolSize);
+        this.helperPermits = new Semaphore(poolSize);
+        // 0 permite uma busca por núcleo
+        this.searchPermits = new Semaphore(maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors());
+        try {
+            // Vazio: sem livro
+            this.book = book.isBlank() ? null : OpeningBook.open(Path.of(book));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o livro de aberturas " + book, e);
+        }
+        try {
+            // Vazio: sem tabelas de finais
+            this.tablebase = tablebases.isBlank() ? null : Tablebase.open(Path.of(tablebases));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir as tabelas de finais " + tablebases, e);
+        }
+    }
+
+    /**
+     * Busca o melhor lance da posição; os limites pedidos são restringidos aos configurados.
+     * <p>
+     * Se a posição estiver no livro de aberturas e {@code useBook} for verdadeiro,
+     * retorna um lance do livro sem buscar (profundidade e nós zerados); o mesmo
+     * vale para as posições das tabelas de finais, com a pontuação de mate exata.
+     *
+     * @param fen A posição em notação FEN.
+     * @param depth Profundidade pedida.
+     * @param nodes Número de nós pedido.
+     * @param timeMillis Tempo pedido em milissegundos.
+     * @param threads Número de threads pedido.
+     * @param useBook Se o livro de aberturas pode ser usado.
+     * @param game Identificador da partida, para parar a busca e envelhecer a tabela; {@code null} se avulsa.
+     * @throws IllegalArgumentException se a FEN ou os limites forem inválidos.
+     * @throws IllegalStateException se não houver vaga para mais uma busca.
+     */
+    public SearchResult search(String fen, int depth, long nodes, long timeMillis, int threads, boolean useBook,
+                               String game) {
+        long start = System.nanoTime();
+        BitBoard board = FenUtils.parse(fen);
+        if (useBook && book != null) {
+            int move = book.pick(board, ThreadLocalRandom.current());
+            if (move != Move.NONE) {
+                return new SearchResult(move, 0, 0, 0, System.nanoTime() - start, new int[] {move});
+            }
+        }
+        if (tablebase != null) {
+            int move = tablebase.bestMove(board);
+            if (move != Move.NONE) {
+                int score = scoreOf(tablebase.probe(board));
+                return new SearchResult(move, score, 0, 0, System.nanoTime() - start, new int[] {move});
+            }
+        }
+
+        SearchLimits limits = new SearchLimits(
+            Math.min(depth, maxDepth),
+            Math.min(nodes, maxNodes),
+            Math.min(timeMillis, maxTimeMillis));
+
+        if (!searchPermits.tryAcquire()) {
+            throw new IllegalStateException("Oponente ocupado: tente novamente em instantes.");
+        }
+        // Pega as auxiliares que estiverem livres, sem esperar pelas demais
+        int helperCount = Math.max(0, Math.min(threads, maxThreads) - 1);
+        while (helperCount > 0 && !helperPermits.tryAcquire(helperCount)) {
+            helperCount--;
+        }
+
+        ParallelSearch search = new ParallelSearch(table, helpers);
+        if (game != null) {
+            ParallelSearch previous = running.put(game, search);
+            if (previous != null) previous.stop();
+        }
+        try {
+            if (game != null) advanceGeneration(game, board.getKey());
+            return search.search(board, limits, helperCount + 1);
+        } finally {
+            if (game != null) running.remove(game, search);
+            helperPermits.release(helperCount);
+            searchPermits.release();
+        }
+    }
+
+    /**
+     * Para a busca em andamento da partida; a requisição da busca recebe o
+     * melhor lance encontrado até ali.
+     *
+     * @throws NoSuchElementException se não houver busca da partida em andamento.
+     */
+    public void stop(String game) {
+        if (game == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        ParallelSearch search = running.get(game);
+        if (search == null) {
+            throw new NoSuchElementException("Nenhuma busca em andamento para a partida " + game);
+        }
+        search.stop();
+    }
+
+    /**
+     * Retorna o número de buscas de partidas em andamento.
+     */
+    public int getRunningSearches() {
+        return running.size();
+    }
+
+    // Avança a geração quando a partida chega a uma posição nova
+    private void advanceGeneration(String game, long key) {
+        synchronized (lastPositions) {
+            Long previous = lastPositions.put(game, key);
+            if (previous != null && previous == key) return;
+        }
+        table.newSearch();
+    }
+
+    /**
+     * Retorna os lances do livro de aberturas para a posição, do maior para o
+     * menor peso; vazio se a posição não estiver no livro ou não houver livro.
+     *
+     * @throws IllegalArgumentException se a FEN for inválida.
+     */
+    public List<BookMove> bookMoves(String fen) {
+        BitBoard board = FenUtils.parse(fen);
+        return book == null ? List.of() : book.probe(board);
+    }
+
+    /**
+     * Consulta a posição nas tabelas de finais.
+     *
+     * @throws IllegalArgumentException se a FEN for inválida.
+     * @throws NoSuchElementException se não houver tabelas ou a posição não estiver nelas.
+     */
+    public TablebaseResult probeTablebase(String fen) {
+        BitBoard board = FenUtils.parse(fen);
+        int value = tablebase == null ? Tablebase.NOT_FOUND : tablebase.probe(board);
+        if (value == Tablebase.NOT_FOUND || value == Tablebase.INVALID) {
+            throw new NoSuchElementException("Posição fora das tabelas de finais.");
+        }
+        return new TablebaseResult(value, tablebase.bestMove(board));
+    }
+
+    // Mesma escala da busca: mate em N meios-lances vale MATE - N
+    private static int scoreOf(int value) {
+        if (Tablebase.isWin(value)) return Search.MATE - Tablebase.pliesToMate(value);
+        if (Tablebase.isLoss(value)) return -Search.MATE + Tablebase.pliesToMate(value);
+        return 0;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.values().forEach(ParallelSearch::stop);
+        helpers.shutdownNow();
+    }
+
+}
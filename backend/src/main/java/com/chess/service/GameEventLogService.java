@@ -0,0 +1,184 @@
+package com.chess.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.chess.entity.base.Color;
+import com.chess.eventlog.EventLogMetrics;
+import com.chess.eventlog.GameEvent;
+import com.chess.eventlog.GameEventLog;
+import com.chess.eventlog.LiveGameRecovery;
+import com.chess.eventlog.RecoveredGame;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Registra os eventos das partidas em andamento no log mapeado em memória e,
+ * na inicialização, reconstrói as partidas que estavam em andamento quando o
+ * processo parou. As que estão sem eventos há mais que {@code chess.rooms.abandon-timeout-ms}
+ * são dadas como abandonadas e não voltam.
+ * <p>
+ * O log é dividido em {@value #STRIPES} logs independentes, em subdiretórios,
+ * e cada partida grava sempre no mesmo ({@link LiveGameRecovery#stripeOf}):
+ * os eventos de uma partida seguem em ordem, e partidas de logs diferentes não
+ * disputam o mesmo monitor. Os eventos são registrados com a trava da sala, então
+ * uma falha ao gravar não é lançada: ela é contada ({@link #getMetrics()}) e a
+ * partida continua, sem o evento no log.
+ * <p>
+ * O log também cobre os lances que a gravação no banco recusou: {@link #getMoves}
+ * os lê de volta quando a partida termina.
+ */
+@Service
+public class GameEventLogService {
+
+    // Fixo: uma partida já gravada precisa ser encontrada no mesmo log após o reinício
+    public static final int STRIPES = 8;
+
+    private final GameEventLog[] logs = new GameEventLog[STRIPES];
+    private final List<RecoveredGame> recoveredGames;
+    private final List<RecoveredGame> abandonedGames;
+    private final long recoveredEvents;
+    private final long recoveryNanos;
+    private final LongAdder failures = new LongAdder();
+    private volatile String lastError;
+
+    public GameEventLogService(@Value("${chess.eventlog.dir:data/eventlog}") String directory,
+                               @Value("${chess.eventlog.segment-mb:64}") int segmentMegabytes,
+                               @Value("${chess.eventlog.sync-interval-ms:200}") long syncIntervalMillis,
+                               @Value("${chess.rooms.abandon-timeout-ms:600000}") long abandonMillis) {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < STRIPES; i++) {
+                logs[i] = new GameEventLog(Path.of(directory, String.valueOf(i)),
+                    segmentMegabytes * 1024 * 1024, syncIntervalMillis);
+            }
+            LiveGameRecovery recovery = LiveGameRecovery.recover(logs, System.currentTimeMillis() - abandonMillis);
+            this.recoveredGames = recovery.getGames();
+            this.abandonedGames = recovery.getAbandonedGames();
+            this.recoveredEvents = recovery.getEvents();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de eventos em " + directory, e);
+        }
+        this.recoveryNanos = System.nanoTime() - start;
+    }
+
+    public void started(long gameId, int initialMillis, int incrementMillis) {
+        append(GameEvent.start(gameId, System.currentTimeMillis(), initialMillis, incrementMillis));
+    }
+
+    /**
+     * @param ply O número do meio-lance (a partir de 1).
+     * @param move O lance codificado (ver {@link com.chess.entity.board.Move}).
+     */
+    public void moved(long gameId, int ply, int move) {
+        append(GameEvent.move(gameId, System.currentTimeMillis(), ply, move));
+    }
+
+    public void clock(long gameId, int whiteMillis, int blackMillis) {
+        append(GameEvent.clock(gameId, System.currentTimeMillis(), whiteMillis, blackMillis));
+    }
+
+    public void resigned(long gameId, Color color) {
+        append(GameEvent.resign(gameId, System.currentTimeMillis(), color));
+    }
+
+    /**
+     * @param result {@link GameEvent#WHITE_WINS}, {@link GameEvent#BLACK_WINS}, {@link GameEvent#DRAW}
+     * ou {@link GameEvent#ABANDONED}.
+     */
+    public void ended(long gameId, int result) {
+        append(GameEvent.end(gameId, System.currentTimeMillis(), result));
+    }
+
+    private void append(GameEvent event) {
+        try {
+            logs[LiveGameRecovery.stripeOf(event.getGameId(), STRIPES)].append(event);
+        } catch (RuntimeException e) {
+            // Log fechado no encerramento ou segmento novo que não pôde ser criado
+            failures.increment();
+            lastError = e.toString();
+        }
+    }
+
+    /**
+     * Retorna os lances da partida gravados no log, na ordem jogada, até o primeiro que faltar
+     * (ver {@link LiveGameRecovery#movesOf}).
+     * <p>
+     * Só as partidas desta execução e as retomadas na inicialização estão no log.
+     *
+     * @return Os lances, vazio se a leitura falhar; a falha é contada.
+     */
+    public int[] getMoves(long gameId) {
+        GameEventLog log = logs[LiveGameRecovery.stripeOf(gameId, STRIPES)];
+        try {
+            return LiveGameRecovery.movesOf(log.getDirectory(), gameId);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            lastError = e.toString();
+            return new int[0];
+        }
+    }
+
+    /**
+     * Retorna as partidas que estavam em andamento na inicialização.
+     */
+    public List<RecoveredGame> getRecoveredGames() {
+        return recoveredGames;
+    }
+
+    /**
+     * Retorna as partidas que estavam em andamento, mas sem eventos havia mais que o prazo de abandono.
+     */
+    public List<RecoveredGame> getAbandonedGames() {
+        return abandonedGames;
+    }
+
+    public long getRecoveredEvents() {
+        return recoveredEvents;
+    }
+
+    /**
+     * Retorna a duração da recuperação na inicialização, em milissegundos.
+     */
+    public double getRecoveryMillis() {
+        return recoveryNanos / 1e6;
+    }
+
+    /**
+     * Retorna quantos eventos não puderam ser gravados.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public long getAppended() {
+        long appended = 0;
+        for (GameEventLog log : logs) {
+            appended += log.getAppended();
+        }
+        return appended;
+    }
+
+    public EventLogMetrics getMetrics() {
+        return new EventLogMetrics(getAppended(), failures.sum(), lastError, recoveredGames.size(),
+            abandonedGames.size(), recoveredEvents, getRecoveryMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (GameEventLog log : logs) {
+            log.close();
+        }
+    }
+
+}
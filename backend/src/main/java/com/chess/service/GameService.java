@@ -0,0 +1,135 @@
+package com.chess.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.game.GameCodec;
+import com.chess.game.GameDetails;
+import com.chess.game.GameRecord;
+import com.chess.game.GameRecordRepository;
+import com.chess.pgn.GameSink;
+import com.chess.pgn.ImportResult;
+import com.chess.pgn.ImportedGame;
+import com.chess.pgn.PgnImporter;
+import com.chess.utils.FenUtils;
+
+/**
+ * Persistência de partidas: cada partida é uma linha, com os lances
+ * codificados em uma única coluna binária ({@link GameCodec}).
+ */
+@Service
+public class GameService {
+
+    private static final BitBoard INITIAL = BitBoard.initial();
+
+    private final GameRecordRepository repository;
+    private final byte format;
+    private final int importThreads;
+    private final int importQueueCapacity;
+    private final int batchSize;
+
+    public GameService(GameRecordRepository repository,
+                       @Value("${chess.games.encoding:indices}") String encoding,
+                       @Value("${chess.games.import-threads:0}") int importThreads,
+                       @Value("${chess.games.import-queue:1024}") int importQueueCapacity,
+                       @Value("${chess.games.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.format = GameCodec.formatOf(encoding);
+        // 0 usa todos os núcleos disponíveis
+        this.importThreads = importThreads > 0 ? importThreads : Runtime.getRuntime().availableProcessors();
+        this.importQueueCapacity = importQueueCapacity;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Grava uma partida validada.
+     *
+     * @return O identificador da partida gravada.
+     */
+    public long save(ImportedGame game) {
+        return repository.save(toRecord(game)).getId();
+    }
+
+    /**
+     * Carrega uma partida com uma única leitura e decodifica seus lances.
+     *
+     * @throws NoSuchElementException se a partida não existir.
+     */
+    public GameDetails load(long id) {
+        GameRecord record = repository.findById(id)
+            .orElseThrow(() -> new NoSuchElementException("Partida não encontrada: " + id));
+
+        String fen = record.getStartFen();
+        int[] moves = GameCodec.decode(fen == null ? INITIAL : FenUtils.parse(fen), record.getMoves());
+        List<String> notation = new ArrayList<>(moves.length);
+        for (int move : moves) {
+            notation.add(Move.toString(move));
+        }
+
+        return new GameDetails(record.getId(), record.getEvent(), record.getDate(), record.getWhite(),
+            record.getBlack(), record.getResult(), fen == null ? FenUtils.INITIAL_POSITION : fen,
+            notation, record.getMoves().length);
+    }
+
+    /**
+     * Importa as partidas de um PGN, gravando-as em lotes.
+     *
+     * @throws IOException se a leitura falhar.
+     */
+    public ImportResult importPgn(Reader input) throws IOException {
+        return new PgnImporter(importThreads, importQueueCapacity).run(input, new BatchSink());
+    }
+
+    /**
+     * Converte a partida validada no registro persistido.
+     */
+    public GameRecord toRecord(ImportedGame game) {
+        BitBoard start = game.getStartFen() == null ? INITIAL : FenUtils.parse(game.getStartFen());
+        byte[] moves = GameCodec.encode(start, game.getMoves(), format);
+
+        // A FEN é regravada na forma canônica, sem espaços extras nem campos opcionais ausentes
+        String fen = start == INITIAL ? null : FenUtils.toFen(start);
+        return new GameRecord(tag(game, "Event"), tag(game, "Date"), tag(game, "White"), tag(game, "Black"),
+            game.getResult(), fen, game.getMoves().length, moves);
+    }
+
+    private static String tag(ImportedGame game, String name) {
+        String value = game.getTags().get(name);
+        if (value == null || value.isEmpty() || value.equals("?")) return null;
+        return value.length() > GameRecord.MAX_TAG_LENGTH ? value.substring(0, GameRecord.MAX_TAG_LENGTH) : value;
+    }
+
+    /**
+     * Destino da importação que agrupa as partidas em lotes de {@code batchSize}
+     * antes de gravá-las.
+     */
+    private class BatchSink implements GameSink {
+        private final List<GameRecord> batch = new ArrayList<>(batchSize);
+
+        @Override
+        public void accept(ImportedGame game) {
+            batch.add(toRecord(game));
+            if (batch.size() >= batchSize) flush();
+        }
+
+        @Override
+        public void finish() {
+            flush();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) return;
+            repository.saveAll(batch);
+            batch.clear();
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.chess.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chess.game.GameMoveRecord;
+import com.chess.game.MoveWriteBehind;
+import com.chess.game.PendingMove;
+import com.chess.game.WriteBehindMetrics;
+import com.chess.pgn.ImportedGame;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava os lances das partidas em andamento fora do caminho da jogada:
+ * o lance é confirmado ao jogador assim que entra na fila, e a fila é
+ * gravada no banco em batches JDBC ({@link MoveWriteBehind}).
+ * <p>
+ * O fim da partida segue pela mesma fila, depois dos lances dela: os lances são
+ * lidos de {@code game_moves}, gravados como uma partida ({@link GameService})
+ * e apagados, na mesma transação do lote. Os lances que a fila recusou, cheia, são
+ * lidos do log de eventos ({@link GameEventLogService#getMoves}), que recebeu todos;
+ * se faltarem nos dois, a partida é gravada até o último lance contínuo, com o
+ * resultado "*".
+ */
+@Service
+public class MovePersistenceService {
+
+    private static final DateTimeFormatter PGN_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    private final JdbcTemplate jdbc;
+    private final GameService games;
+    private final GameEventLogService eventLog;
+    private final MoveWriteBehind writeBehind;
+    private final long shutdownTimeoutMillis;
+
+    public MovePersistenceService(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                                  GameService games, GameEventLogService eventLog,
+                                  @Value("${chess.moves.queue-capacity:65536}") int queueCapacity,
+                                  @Value("${chess.moves.batch-size:500}") int batchSize,
+                                  @Value("${chess.moves.flush-interval-ms:50}") long flushIntervalMillis,
+                                  @Value("${chess.moves.offer-timeout-ms:0}") long offerTimeoutMillis,
+                                  @Value("${chess.moves.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.jdbc = jdbc;
+        this.games = games;
+        this.eventLog = eventLog;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        this.writeBehind = new MoveWriteBehind(batch -> transaction.executeWithoutResult(status -> write(batch)),
+            queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * Aceita um lance para gravação; retorna sem esperar o banco.
+     *
+     * @param gameId A partida.
+     * @param ply O número do meio-lance (a partir de 1).
+     * @param move O lance codificado (ver {@link com.chess.entity.board.Move}).
+     * @return {@code false} se a fila estiver cheia após a espera configurada; a recusa
+     * entra nas métricas e, no fim, o lance é lido do log de eventos.
+     */
+    public boolean record(long gameId, int ply, int move) {
+        return writeBehind.submit(gameId, ply, move);
+    }
+
+    /**
+     * Avisa o fim da partida, depois de todos os lances dela.
+     *
+     * @param gameId A partida.
+     * @param plies O número de meios-lances jogados.
+     * @param white O jogador de brancas, ou {@code null}.
+     * @param black O jogador de pretas, ou {@code null}.
+     * @param result O resultado ("1-0", "0-1", "1/2-1/2" ou "*" para partidas abandonadas).
+     * @return {@code false} se a fila recusou o aviso; os lances da partida ficam em {@code game_moves}.
+     */
+    public boolean finish(long gameId, int plies, String white, String black, String result) {
+        return writeBehind.end(gameId, plies, white, black, result, null);
+    }
+
+    /**
+     * Como {@link #finish(long, int, String, String, String)}, para uma partida que
+     * já não está no log de eventos (abandonada na inicialização): os lances que
+     * faltarem em {@code game_moves} são tirados dos informados.
+     */
+    public boolean finish(long gameId, String white, String black, String result, int[] moves) {
+        return writeBehind.end(gameId, moves.length, white, black, result, moves);
+    }
+
+    /**
+     * Retorna o menor id de partida sem lances em {@code game_moves}.
+     * <p>
+     * Os ids das salas recomeçam a cada inicialização, mas podem sobrar lances de
+     * execuções anteriores (um aviso de fim recusado, ou uma queda entre o fim e a
+     * gravação); uma partida nova com o mesmo id herdaria esses lances.
+     */
+    public long nextGameId() {
+        Long next = jdbc.queryForObject(GameMoveRecord.NEXT_GAME_ID_SQL, Long.class);
+        return next == null ? 1 : next;
+    }
+
+    public WriteBehindMetrics getMetrics() {
+        return writeBehind.getMetrics();
+    }
+
+    private void write(List<PendingMove> batch) {
+        List<PendingMove> moves = new ArrayList<>(batch.size());
+        for (PendingMove pending : batch) {
+            if (!pending.isEnd()) moves.add(pending);
+        }
+        if (!moves.isEmpty()) insert(moves);
+
+        // Os avisos de fim vêm depois dos lances da partida: todos já estão gravados
+        for (PendingMove pending : batch) {
+            if (pending.isEnd()) compact(pending);
+        }
+    }
+
+    private void insert(List<PendingMove> batch) {
+        jdbc.batchUpdate(GameMoveRecord.INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                PendingMove move = batch.get(i);
+                statement.setLong(1, move.getGameId());
+                statement.setInt(2, move.getPly());
+                statement.setShort(3, (short) move.getMove());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    private void compact(PendingMove end) {
+        long gameId = end.getGameId();
+        List<int[]> rows = jdbc.query(GameMoveRecord.SELECT_SQL,
+            (resultSet, i) -> new int[] {resultSet.getInt(1), resultSet.getShort(2) & 0xFFFF}, gameId);
+
+        // Lances de 1 em diante, até o primeiro que falta
+        int plies = end.getPly();
+        int[] moves = new int[rows.size()];
+        int count = 0;
+        while (count < moves.length && rows.get(count)[0] == count + 1) {
+            moves[count] = rows.get(count)[1];
+            count++;
+        }
+        String result = end.getResult();
+        if (count < plies) {
+            // Lances recusados pela fila: o aviso ou o log de eventos têm a partida inteira
+            int[] logged = end.getMoves() != null ? end.getMoves() : eventLog.getMoves(gameId);
+            if (logged.length > count) {
+                moves = logged;
+                count = logged.length;
+            }
+            // Faltando nos dois, grava o que há até a lacuna, sem resultado
+            if (count < plies) result = "*";
+        }
+        if (count > 0 || plies == 0) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put("Event", "Partida ao vivo " + gameId);
+            tags.put("Date", LocalDate.now().format(PGN_DATE));
+            tags.put("White", end.getWhite());
+            tags.put("Black", end.getBlack());
+            games.save(new ImportedGame(gameId, tags, null, Arrays.copyOf(moves, Math.min(count, plies)), result));
+        }
+        jdbc.update(GameMoveRecord.DELETE_SQL, gameId);
+    }
+
+    /**
+     * Grava os lances já aceitos antes de o banco ser fechado.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeBehind.close(shutdownTimeoutMillis);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.chess.service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.chess.perft.ParallelPerft;
+import com.chess.perft.PerftControl;
+import com.chess.perft.PerftResult;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executa perft em um pool fork-join dedicado, limitando a profundidade, os
+ * nós e o tempo de cada requisição.
+ * <p>
+ * Cada execução ocupa todos os núcleos do pool, então poucas rodam ao mesmo
+ * tempo: sem uma vaga livre, a requisição é recusada em vez de esperar.
+ */
+@Service
+public class PerftService {
+
+    private final ForkJoinPool pool;
+    private final ParallelPerft perft;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+    // Execuções simultâneas permitidas
+    private final Semaphore permits;
+
+    public PerftService(@Value("${chess.perft.threads:0}") int threads,
+                        @Value("${chess.perft.max-depth:6}") int maxDepth,
+                        @Value("${chess.perft.max-nodes:500000000}") long maxNodes,
+                        @Value("${chess.perft.max-time-ms:10000}") long maxTimeMillis,
+                        @Value("${chess.perft.max-concurrent:1}") int maxConcurrent) {
+        // 0 usa todos os núcleos disponíveis
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.perft = new ParallelPerft(pool);
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Executa o perft com divide a partir da FEN.
+     *
+     * @throws IllegalArgumentException se a FEN for inválida ou a profundidade estiver fora do limite.
+     * @throws IllegalStateException se não houver vaga ou a execução passar do limite de nós ou de tempo.
+     */
+    public PerftResult run(String fen, int depth) {
+        checkDepth(depth);
+        acquire();
+        try {
+            return perft.run(fen, depth, new PerftControl(maxNodes, maxTimeMillis));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Executa o relatório de corretude sobre as posições padrão.
+     *
+     * @throws IllegalArgumentException se a profundidade estiver fora do limite.
+     * @throws IllegalStateException se não houver vaga ou o relatório passar do limite de nós ou de tempo.
+     */
+    public List<PerftResult> report(int depth) {
+        checkDepth(depth);
+        acquire();
+        try {
+            return perft.report(depth, new PerftControl(maxNodes, maxTimeMillis));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new IllegalStateException("Perft ocupado: tente novamente em instantes.");
+        }
+    }
+
+    private void checkDepth(int depth) {
+        if (depth < 1 || depth > maxDepth) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 1 e " + maxDepth + ": " + depth);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+}
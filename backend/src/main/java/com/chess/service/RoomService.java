@@ -0,0 +1,255 @@
+package com.chess.service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.chess.broadcast.FanOutMetrics;
+import com.chess.broadcast.Subscription;
+import com.chess.cache.LegalMoveCache;
+import com.chess.cache.MoveCacheMetrics;
+import com.chess.clock.ClockMetrics;
+import com.chess.clock.ClockScheduler;
+import com.chess.clock.TimeControl;
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.eventlog.EventLogMetrics;
+import com.chess.eventlog.GameEvent;
+import com.chess.eventlog.RecoveredGame;
+import com.chess.protocol.GameFrames;
+import com.chess.room.GameRoom;
+import com.chess.room.RoomListener;
+import com.chess.room.RoomRegistry;
+import com.chess.room.RoomStatus;
+import com.chess.room.RoomView;
+import com.chess.room.Seat;
+import com.chess.utils.BitboardUtils;
+import com.chess.websocket.RoomBroadcaster;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Salas das partidas ao vivo. Cada mudança de uma sala é registrada no log de
+ * eventos (recuperação após reinício) e os lances vão para a gravação
+ * assíncrona no banco, que ao fim da partida a grava inteira em {@code games};
+ * os lances e o fim da partida são enviados às conexões WebSocket da sala como
+ * quadros binários ({@link GameFrames}), codificados uma vez por lance e
+ * compartilhados por todas as conexões ({@link RoomBroadcaster}).
+ * <p>
+ * Quem cria a sala ou entra nela recebe o token secreto do seu lugar
+ * ({@link Seat}); lances, abandono e saída são feitos com ele, e não pelo nome.
+ * <p>
+ * Os relógios de todas as salas ficam em um único {@link ClockScheduler}; o
+ * tempo restante vai em cada quadro e no log de eventos a cada lance.
+ * <p>
+ * Os lances válidos pedidos pelo cliente ao selecionar uma peça vêm de um
+ * cache por posição ({@link LegalMoveCache}), compartilhado por todas as salas:
+ * aberturas, espectadores e reconexões repetem as mesmas posições.
+ * <p>
+ * Na inicialização, as partidas recuperadas do log voltam como salas sem
+ * jogadores, à espera de que eles entrem de novo; o relógio volta a correr
+ * com o tempo do último lance registrado. Salas recuperadas que não são
+ * retomadas em {@code chess.rooms.abandon-timeout-ms} são fechadas como
+ * abandonadas, e partidas terminadas saem do registro depois de
+ * {@code chess.rooms.finished-grace-ms}.
+ */
+@Service
+public class RoomService implements RoomListener {
+
+    private final RoomRegistry registry;
+    private final GameEventLogService eventLog;
+    private final MovePersistenceService movePersistence;
+    private final RoomBroadcaster broadcaster;
+    private final ClockScheduler clocks = new ClockScheduler();
+    private final LegalMoveCache legalMoves;
+    private final int initialMillis;
+    private final int incrementMillis;
+    private final int delayMillis;
+
+    public RoomService(GameEventLogService eventLog, MovePersistenceService movePersistence,
+                       RoomBroadcaster broadcaster, @Value("${chess.rooms.shards:256}") int shards,
+                       @Value("${chess.clock.initial-ms:300000}") int initialMillis,
+                       @Value("${chess.clock.increment-ms:0}") int incrementMillis,
+                       @Value("${chess.clock.delay-ms:0}") int delayMillis,
+                       @Value("${chess.rooms.move-cache-entries:65536}") int moveCacheEntries,
+                       @Value("${chess.rooms.move-cache-shards:64}") int moveCacheShards,
+                       @Value("${chess.rooms.finished-grace-ms:60000}") long finishedGraceMillis,
+                       @Value("${chess.rooms.abandon-timeout-ms:600000}") long abandonMillis) {
+        this.eventLog = eventLog;
+        this.movePersistence = movePersistence;
+        this.broadcaster = broadcaster;
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        this.delayMillis = delayMillis;
+        this.legalMoves = new LegalMoveCache(moveCacheEntries, moveCacheShards);
+        this.registry = new RoomRegistry(shards, this, clocks, finishedGraceMillis, abandonMillis);
+        // Salas novas não herdam lances de partidas de execuções anteriores que sobraram no banco
+        registry.reserveIds(movePersistence.nextGameId());
+
+        for (RecoveredGame game : eventLog.getRecoveredGames()) {
+            // O atraso não vai para o log: partidas recuperadas usam o padrão
+            TimeControl timeControl = game.getInitialMillis() > 0
+                ? new TimeControl(game.getInitialMillis(), game.getIncrementMillis(), delayMillis)
+                : null;
+            registry.restore(game.getGameId(), game.toBoard(), game.getMoveCount(), timeControl,
+                game.getWhiteMillis(), game.getBlackMillis());
+        }
+        // Não voltam como salas, mas os lances já gravados ainda precisam ser fechados
+        for (RecoveredGame game : eventLog.getAbandonedGames()) {
+            movePersistence.finish(game.getGameId(), null, null, "*", game.getMoves());
+        }
+    }
+
+    /**
+     * Cria uma sala com o controle de tempo informado; o que faltar vem da
+     * configuração ({@code chess.clock.*}). Tempo inicial 0 cria uma partida sem relógio.
+     *
+     * @return O lugar do jogador de brancas, com o id da sala.
+     * @throws IllegalArgumentException se o controle de tempo for inválido.
+     */
+    public Seat create(String player, Integer initialMillis, Integer incrementMillis, Integer delayMillis) {
+        int initial = initialMillis != null ? initialMillis : this.initialMillis;
+        TimeControl timeControl = initial == 0 ? null : new TimeControl(initial,
+            incrementMillis != null ? incrementMillis : this.incrementMillis,
+            delayMillis != null ? delayMillis : this.delayMillis);
+        return registry.create(player, timeControl);
+    }
+
+    public Seat join(long roomId, String player) {
+        return registry.join(roomId, player);
+    }
+
+    public Color enter(long roomId, String token) {
+        return registry.enter(roomId, token);
+    }
+
+    public void leave(long roomId, String token) {
+        registry.leave(roomId, token);
+    }
+
+    public RoomView move(long roomId, String token, String notation) {
+        return registry.move(roomId, token, notation);
+    }
+
+    public RoomView resign(long roomId, String token) {
+        return registry.resign(roomId, token);
+    }
+
+    public RoomView get(long roomId) {
+        return registry.get(roomId);
+    }
+
+    /**
+     * Retorna os lances legais da peça na casa, para destacá-los no tabuleiro.
+     *
+     * @param from A casa da peça (ex: "e2").
+     * @return Os lances em notação de coordenadas (ex: "e2e4"); vazio se a peça
+     * não for da cor que tem a vez ou a partida não estiver em andamento.
+     * @throws IllegalArgumentException se a sala não existir ou a casa for inválida.
+     */
+    public List<String> legalMoves(long roomId, String from) {
+        int square = BitboardUtils.squareOf(Position.at(from));
+        return registry.execute(roomId, room -> room.getStatus() != RoomStatus.PLAYING
+            ? List.of()
+            : legalMoves.get(room.getBoard()).notationFrom(square));
+    }
+
+    /**
+     * Envia à conexão o quadro {@link GameFrames#SNAPSHOT} com o estado atual da
+     * sala; os lances seguintes chegam a partir dele.
+     *
+     * @throws IllegalArgumentException se a sala não existir.
+     */
+    public void resync(long roomId, Subscription subscription) {
+        // Com a trava da sala, a mesma da publicação dos lances
+        registry.execute(roomId, room -> {
+            ByteBuffer frame = ByteBuffer.allocate(GameFrames.SNAPSHOT_SIZE);
+            GameFrames.writeSnapshot(frame, room.getBoard(), room.getPly(),
+                GameFrames.statusOf(room.getResult()), (int) room.getWhiteMillis(), (int) room.getBlackMillis());
+            subscription.resync(frame.flip());
+            return null;
+        });
+    }
+
+    public FanOutMetrics getBroadcastMetrics() {
+        return broadcaster.getMetrics();
+    }
+
+    public MoveCacheMetrics getMoveCacheMetrics() {
+        return legalMoves.getMetrics();
+    }
+
+    public ClockMetrics getClockMetrics() {
+        return clocks.getMetrics();
+    }
+
+    public EventLogMetrics getEventLogMetrics() {
+        return eventLog.getMetrics();
+    }
+
+    public RoomRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void created(GameRoom room) {
+        TimeControl timeControl = room.getTimeControl();
+        eventLog.started(room.getId(), timeControl == null ? 0 : timeControl.getInitialMillis(),
+            timeControl == null ? 0 : timeControl.getIncrementMillis());
+    }
+
+    @Override
+    public void moved(GameRoom room, int ply, int move) {
+        // Nenhum dos dois lança nem espera: falhas só entram nas métricas, e o lance sai para as conexões
+        eventLog.moved(room.getId(), ply, move);
+        movePersistence.record(room.getId(), ply, move);
+        int whiteMillis = (int) room.getWhiteMillis();
+        int blackMillis = (int) room.getBlackMillis();
+        if (room.getTimeControl() != null) eventLog.clock(room.getId(), whiteMillis, blackMillis);
+
+        // Ainda com a trava da sala: os quadros saem na ordem dos lances
+        ByteBuffer frame = ByteBuffer.allocate(GameFrames.MOVE_SIZE);
+        GameFrames.writeMove(frame, room.getBoard(), move, ply, GameFrames.statusOf(room.getResult()),
+            whiteMillis, blackMillis);
+        broadcaster.publish(room.getId(), frame.flip(), false);
+    }
+
+    @Override
+    public void resigned(GameRoom room, Color color) {
+        eventLog.resigned(room.getId(), color);
+    }
+
+    @Override
+    public void finished(GameRoom room) {
+        int result = switch (room.getResult()) {
+            case "1-0" -> GameEvent.WHITE_WINS;
+            case "0-1" -> GameEvent.BLACK_WINS;
+            default -> GameEvent.DRAW;
+        };
+        eventLog.ended(room.getId(), result);
+        movePersistence.finish(room.getId(), room.getPly(), room.getWhite(), room.getBlack(), room.getResult());
+
+        // O quadro do lance final já leva a situação; o de relógio cobre o abandono e o tempo esgotado
+        ByteBuffer frame = ByteBuffer.allocate(GameFrames.CLOCK_SIZE);
+        GameFrames.writeClock(frame, room.getSideToMove(), GameFrames.statusOf(room.getResult()),
+            (int) room.getWhiteMillis(), (int) room.getBlackMillis());
+        broadcaster.publish(room.getId(), frame.flip(), true);
+    }
+
+    @Override
+    public void removed(GameRoom room) {
+        if (room.getStatus() != RoomStatus.FINISHED) {
+            eventLog.ended(room.getId(), GameEvent.ABANDONED);
+            movePersistence.finish(room.getId(), room.getPly(), room.getWhite(), room.getBlack(), "*");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        registry.close();
+        clocks.close();
+    }
+
+}
@@ -0,0 +1,348 @@
+package com.chess.tablebase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * O material de uma tabela de finais e o endereçamento das suas posições.
+ * <p>
+ * O nome segue a convenção usual: o rei e as peças de um lado, depois o rei e
+ * as peças do outro, da maior para a menor (ex: "KQKR", "KBNK", "KPKP"). Na
+ * tabela, o primeiro lado, o mais forte, é sempre o das brancas; posições com
+ * as cores trocadas são consultadas espelhando o tabuleiro ({@link Tablebase}).
+ * <p>
+ * As casas das peças ficam na ordem: rei branco, rei preto, peças brancas e
+ * peças pretas, cada grupo da maior para a menor. O índice de uma posição é
+ * <pre>
+ * ((vez * R + região(rei branco)) * 64 + rei preto) * 64^k + casas das k demais peças
+ * </pre>
+ * Sem peões, as 8 simetrias do tabuleiro levam o rei branco ao triângulo
+ * a1-d1-d4 (R = 10); com peões, só o espelho entre as alas vale, e o rei
+ * branco fica nas colunas a-d (R = 32). Entre as imagens possíveis, o índice
+ * é o menor, e peças iguais vão em ordem crescente de casa, de modo que cada
+ * posição tem um único índice.
+ */
+public class Endgame {
+
+    public static final int MAX_PIECES = 4;
+
+    private static final String LETTERS = "PNBRQK";
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+    // Simetrias: (coluna, fileira) -> imagem, como índice de casa (a8 = 0)
+    private static final int[][] SYMMETRIES = new int[8][64];
+    private static final int[] TRIANGLE = new int[64];
+    private static final int[] HALF = new int[64];
+
+    static {
+        Arrays.fill(TRIANGLE, -1);
+        Arrays.fill(HALF, -1);
+        int triangle = 0;
+        int half = 0;
+        for (int square = 0; square < 64; square++) {
+            int file = square & 7;
+            int rank = 7 - (square >>> 3);
+            for (int s = 0; s < 8; s++) {
+                int f = (s & 1) != 0 ? 7 - file : file;
+                int r = (s & 2) != 0 ? 7 - rank : rank;
+                if ((s & 4) != 0) {
+                    int swap = f;
+                    f = r;
+                    r = swap;
+                }
+                SYMMETRIES[s][square] = (7 - r) * 8 + f;
+            }
+            if (file < 4) HALF[square] = half++;
+        }
+        // Triângulo a1-d1-d4, em ordem de casa
+        for (int square = 0; square < 64; square++) {
+            int file = square & 7;
+            int rank = 7 - (square >>> 3);
+            if (file < 4 && rank <= file) TRIANGLE[square] = triangle++;
+        }
+    }
+
+    private final String name;
+    // Tipos das peças na ordem das casas (reis incluídos) e a cor de cada uma
+    private final PieceType[] types;
+    private final Color[] colors;
+    private final boolean pawns;
+    private final int regions;
+    private final int[] region;
+    private final int[] regionSquares;
+    private final int symmetries;
+    private final long size;
+
+    private Endgame(String name, PieceType[] types, Color[] colors) {
+        this.name = name;
+        this.types = types;
+        this.colors = colors;
+        this.pawns = Arrays.asList(types).contains(PieceType.PAWN);
+        this.region = pawns ? HALF : TRIANGLE;
+        this.regions = pawns ? 32 : 10;
+        this.regionSquares = new int[regions];
+        for (int square = 0; square < 64; square++) {
+            if (region[square] >= 0) regionSquares[region[square]] = square;
+        }
+        this.symmetries = pawns ? 2 : 8;
+        this.size = 2L * regions << 6 * (types.length - 1);
+    }
+
+    /**
+     * Retorna o final pelo nome, normalizado com o lado mais forte primeiro (ex: "KRKQ" vira "KQKR").
+     *
+     * @throws IllegalArgumentException se o nome for inválido ou tiver mais de {@value #MAX_PIECES} peças.
+     */
+    public static Endgame of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        String upper = name.trim().toUpperCase();
+        int second = upper.indexOf('K', 1);
+        if (!upper.startsWith("K") || second < 0 || upper.length() < 3 || upper.length() > MAX_PIECES) {
+            throw new IllegalArgumentException("Final inválido: " + name);
+        }
+        List<PieceType> first = typesOf(upper.substring(1, second), name);
+        List<PieceType> other = typesOf(upper.substring(second + 1), name);
+        return of(first, other);
+    }
+
+    /**
+     * Retorna o final com as peças (sem os reis) de cada lado, em qualquer ordem.
+     */
+    static Endgame of(List<PieceType> white, List<PieceType> black) {
+        List<PieceType> strong = sorted(white);
+        List<PieceType> weak = sorted(black);
+        if (compare(strong, weak) < 0) {
+            List<PieceType> swap = strong;
+            strong = weak;
+            weak = swap;
+        }
+        int count = 2 + strong.size() + weak.size();
+        PieceType[] types = new PieceType[count];
+        Color[] colors = new Color[count];
+        types[0] = PieceType.KING;
+        colors[0] = Color.WHITE;
+        types[1] = PieceType.KING;
+        colors[1] = Color.BLACK;
+        int i = 2;
+        for (PieceType type : strong) {
+            types[i] = type;
+            colors[i++] = Color.WHITE;
+        }
+        for (PieceType type : weak) {
+            types[i] = type;
+            colors[i++] = Color.BLACK;
+        }
+        return new Endgame(nameOf(strong, weak), types, colors);
+    }
+
+    /**
+     * Compara os lados pelo material: mais peças e, com o mesmo número, peças maiores.
+     *
+     * @return Positivo se {@code a} for o lado mais forte, zero se forem iguais.
+     */
+    static int compare(List<PieceType> a, List<PieceType> b) {
+        if (a.size() != b.size()) return a.size() - b.size();
+        for (int i = 0; i < a.size(); i++) {
+            int difference = a.get(i).ordinal() - b.get(i).ordinal();
+            if (difference != 0) return difference;
+        }
+        return 0;
+    }
+
+    /**
+     * Retorna todos os finais com o número de peças informado, reis incluídos (3 ou 4).
+     */
+    public static List<Endgame> all(int pieces) {
+        if (pieces < 3 || pieces > MAX_PIECES) {
+            throw new IllegalArgumentException("Número de peças inválido: " + pieces);
+        }
+        PieceType[] candidates = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT, PieceType.PAWN};
+        List<Endgame> endgames = new ArrayList<>();
+        if (pieces == 3) {
+            for (PieceType type : candidates) {
+                endgames.add(of(List.of(type), List.of()));
+            }
+            return endgames;
+        }
+        for (int a = 0; a < candidates.length; a++) {
+            for (int b = a; b < candidates.length; b++) {
+                endgames.add(of(List.of(candidates[a], candidates[b]), List.of()));
+            }
+        }
+        for (int a = 0; a < candidates.length; a++) {
+            for (int b = a; b < candidates.length; b++) {
+                endgames.add(of(List.of(candidates[a]), List.of(candidates[b])));
+            }
+        }
+        return endgames;
+    }
+
+    // ------------------------------------------------------------------
+    // Endereçamento
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna o índice da posição.
+     *
+     * @param squares As casas das peças, na ordem da tabela (ver a descrição da classe).
+     * @param blackToMove Se é a vez das pretas.
+     * @return O menor índice entre as imagens simétricas da posição.
+     */
+    public int indexOf(int[] squares, boolean blackToMove) {
+        long best = Long.MAX_VALUE;
+        for (int s = 0; s < symmetries; s++) {
+            // Com peões, só a identidade e o espelho entre as alas (simetrias 0 e 1)
+            int[] map = SYMMETRIES[s];
+            if (region[map[squares[0]]] < 0) continue;
+            long index = (blackToMove ? 1 : 0) * regions + region[map[squares[0]]];
+            index = index << 6 | map[squares[1]];
+            int i = 2;
+            while (i < squares.length) {
+                // Peças iguais da mesma cor vão em ordem crescente de casa
+                int j = i + 1;
+                while (j < squares.length && types[j] == types[i] && colors[j] == colors[i]) j++;
+                if (j - i == 1) {
+                    index = index << 6 | map[squares[i]];
+                } else {
+                    int low = Math.min(map[squares[i]], map[squares[i + 1]]);
+                    int high = Math.max(map[squares[i]], map[squares[i + 1]]);
+                    index = (index << 6 | low) << 6 | high;
+                }
+                i = j;
+            }
+            best = Math.min(best, index);
+        }
+        return (int) best;
+    }
+
+    /**
+     * Decodifica o índice nas casas das peças, na ordem da tabela.
+     *
+     * @return Se é a vez das pretas.
+     */
+    public boolean decode(int index, int[] squares) {
+        for (int i = squares.length - 1; i >= 1; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+        squares[0] = regionSquares[index % regions];
+        return index / regions == 1;
+    }
+
+    /**
+     * Retorna o número de índices da tabela (bytes do arquivo).
+     */
+    public int size() {
+        return (int) size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retorna o número de peças, reis incluídos.
+     */
+    public int getPieces() {
+        return types.length;
+    }
+
+    /**
+     * Retorna o tipo da peça na posição {@code i} da ordem das casas.
+     */
+    public PieceType typeAt(int i) {
+        return types[i];
+    }
+
+    /**
+     * Retorna a cor da peça na posição {@code i} da ordem das casas.
+     */
+    public Color colorAt(int i) {
+        return colors[i];
+    }
+
+    public boolean hasPawns() {
+        return pawns;
+    }
+
+    /**
+     * Retorna as peças (sem o rei) da cor na tabela, da maior para a menor.
+     */
+    public List<PieceType> piecesOf(Color color) {
+        List<PieceType> pieces = new ArrayList<>();
+        for (int i = 2; i < types.length; i++) {
+            if (colors[i] == color) pieces.add(types[i]);
+        }
+        return pieces;
+    }
+
+    /**
+     * Retorna os finais alcançáveis com uma captura ou promoção, sem o final só com os reis.
+     */
+    public List<Endgame> successors() {
+        List<Endgame> successors = new ArrayList<>();
+        for (Color color : Color.values()) {
+            List<PieceType> own = piecesOf(color);
+            List<PieceType> other = piecesOf(color.opposite());
+            // Captura de uma peça do outro lado, com ou sem promoção de um peão deste
+            for (int captured = -1; captured < other.size(); captured++) {
+                List<PieceType> remaining = new ArrayList<>(other);
+                if (captured >= 0) remaining.remove(captured);
+                if (captured >= 0) add(successors, own, remaining);
+                if (!own.contains(PieceType.PAWN)) continue;
+                for (PieceType promotion : PROMOTIONS) {
+                    List<PieceType> promoted = new ArrayList<>(own);
+                    promoted.set(promoted.indexOf(PieceType.PAWN), promotion);
+                    add(successors, promoted, remaining);
+                }
+            }
+        }
+        return successors;
+    }
+
+    private static void add(List<Endgame> endgames, List<PieceType> a, List<PieceType> b) {
+        if (a.isEmpty() && b.isEmpty()) return;
+        Endgame endgame = of(a, b);
+        for (Endgame existing : endgames) {
+            if (existing.name.equals(endgame.name)) return;
+        }
+        endgames.add(endgame);
+    }
+
+    private static List<PieceType> typesOf(String letters, String name) {
+        List<PieceType> types = new ArrayList<>();
+        for (char letter : letters.toCharArray()) {
+            int ordinal = LETTERS.indexOf(letter);
+            if (ordinal < 0 || ordinal == PieceType.KING.ordinal()) {
+                throw new IllegalArgumentException("Final inválido: " + name);
+            }
+            types.add(PieceType.values()[ordinal]);
+        }
+        return types;
+    }
+
+    private static List<PieceType> sorted(List<PieceType> types) {
+        List<PieceType> sorted = new ArrayList<>(types);
+        sorted.sort((a, b) -> b.ordinal() - a.ordinal());
+        return sorted;
+    }
+
+    private static String nameOf(List<PieceType> strong, List<PieceType> weak) {
+        StringBuilder sb = new StringBuilder("K");
+        for (PieceType type : strong) sb.append(LETTERS.charAt(type.ordinal()));
+        sb.append('K');
+        for (PieceType type : weak) sb.append(LETTERS.charAt(type.ordinal()));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.chess.tablebase;
+
+/**
+ * Resultado da geração de uma tabela: contagens por resultado, o mate mais longo e a duração.
+ */
+public class GenerationResult {
+
+    private final String endgame;
+    private final long positions;
+    private final long wins;
+    private final long losses;
+    private final long draws;
+    private final int longestMatePlies;
+    private final long elapsedNanos;
+
+    /**
+     * @param endgame Nome do final.
+     * @param positions Posições válidas (índices canônicos, sem os inválidos).
+     * @param wins Posições em que quem tem a vez ganha.
+     * @param losses Posições em que quem tem a vez perde.
+     * @param draws Posições empatadas.
+     * @param longestMatePlies Maior distância até o mate, em meios-lances.
+     * @param elapsedNanos Duração da geração, sem as tabelas das quais ela depende.
+     */
+    public GenerationResult(String endgame, long positions, long wins, long losses, long draws,
+                            int longestMatePlies, long elapsedNanos) {
+        this.endgame = endgame;
+        this.positions = positions;
+        this.wins = wins;
+        this.losses = losses;
+        this.draws = draws;
+        this.longestMatePlies = longestMatePlies;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getEndgame() {
+        return endgame;
+    }
+
+    public long getPositions() {
+        return positions;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public int getLongestMatePlies() {
+        return longestMatePlies;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getPositionsPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return (long) (positions * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return endgame + ": " + positions + " posições (" + wins + " vitórias, " + losses + " derrotas, " + draws
+            + " empates), mate mais longo em " + longestMatePlies + " meios-lances, em " + getElapsedMillis()
+            + " ms (" + getPositionsPerSecond() + " posições/s)";
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.chess.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Tabelas de finais com até {@value Endgame#MAX_PIECES} peças, com a distância
+ * até o mate de cada posição.
+ * <p>
+ * Cada tabela é um arquivo {@code NOME.tb} (ex: {@code KQKR.tb}) com um byte
+ * por índice ({@link Endgame}), mapeado em memória: abrir não lê o arquivo, e
+ * cada consulta lê um byte. O valor do byte:
+ * <ul>
+ * <li>{@value #DRAW} - empate;</li>
+ * <li>{@value #INVALID} - posição impossível ou índice sem uso;</li>
+ * <li>2 ou mais - mate em {@code valor - 2} meios-lances: ímpar, quem tem a vez
+ * dá o mate; par, quem tem a vez leva o mate (0 = já está em xeque-mate).</li>
+ * </ul>
+ * A distância ignora a regra dos 50 lances. Posições com direito de roque não
+ * estão nas tabelas; a casa de en passant é ignorada, como na geração
+ * ({@link TablebaseGenerator}). As tabelas podem ser consultadas por várias
+ * threads.
+ */
+public class Tablebase {
+
+    public static final int NOT_FOUND = -1;
+    public static final int DRAW = 0;
+    public static final int INVALID = 1;
+    public static final int MAX_PLIES = 253;
+
+    static final String SUFFIX = ".tb";
+
+    private static final PieceType[] BY_VALUE = {
+        PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT, PieceType.PAWN
+    };
+
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Abre as tabelas do diretório.
+     *
+     * @throws IOException se o diretório ou algum arquivo não puder ser lido ou tiver o tamanho errado.
+     */
+    public static Tablebase open(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        Tablebase tablebase = new Tablebase();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Endgame endgame = Endgame.of(name.substring(0, name.length() - SUFFIX.length()));
+                tablebase.add(endgame, map(file, endgame));
+            }
+        }
+        return tablebase;
+    }
+
+    static ByteBuffer map(Path file, Endgame endgame) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != endgame.size()) {
+                throw new IOException("Tamanho inválido da tabela " + endgame + " (" + channel.size()
+                    + " bytes, esperado " + endgame.size() + "): " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Acrescenta (ou substitui) a tabela do final.
+     */
+    void add(Endgame endgame, ByteBuffer data) {
+        tables.put(signatureOf(endgame), new Table(endgame, data));
+    }
+
+    /**
+     * Retorna se há tabela para o final (nome normalizado, ex: "KQKR").
+     */
+    public boolean contains(Endgame endgame) {
+        return tables.containsKey(signatureOf(endgame));
+    }
+
+    /**
+     * Retorna os nomes das tabelas abertas.
+     */
+    public Set<String> getTables() {
+        Set<String> names = new TreeSet<>();
+        for (Table table : tables.values()) {
+            names.add(table.endgame.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Consulta a posição.
+     *
+     * @return O valor da posição (ver a descrição da classe), ou {@link #NOT_FOUND}
+     * se o material não tiver tabela, faltar um rei ou houver direito de roque.
+     */
+    public int probe(BitBoard board) {
+        if (board.getCastlingRights() != 0 || Long.bitCount(board.getOccupancy()) > Endgame.MAX_PIECES
+            || Long.bitCount(board.getPieces(PieceType.KING, Color.WHITE)) != 1
+            || Long.bitCount(board.getPieces(PieceType.KING, Color.BLACK)) != 1) {
+            return NOT_FOUND;
+        }
+        // Peças de cada lado, da maior para a menor
+        int[] whiteSquares = new int[Endgame.MAX_PIECES];
+        int[] blackSquares = new int[Endgame.MAX_PIECES];
+        int whiteCode = 0;
+        int blackCode = 0;
+        int whiteCount = 0;
+        int blackCount = 0;
+        for (PieceType type : BY_VALUE) {
+            for (long bits = board.getPieces(type, Color.WHITE); bits != 0; bits &= bits - 1) {
+                whiteSquares[whiteCount++] = Long.numberOfTrailingZeros(bits);
+                whiteCode = whiteCode << 3 | type.ordinal() + 1;
+            }
+            for (long bits = board.getPieces(type, Color.BLACK); bits != 0; bits &= bits - 1) {
+                blackSquares[blackCount++] = Long.numberOfTrailingZeros(bits);
+                blackCode = blackCode << 3 | type.ordinal() + 1;
+            }
+        }
+        if (whiteCount + blackCount == 0) return DRAW;
+
+        // O lado mais forte é o das brancas na tabela: sem ele, o tabuleiro é espelhado
+        boolean flip = whiteCount < blackCount || (whiteCount == blackCount && whiteCode < blackCode);
+        Table table = tables.get(flip ? blackCode << 12 | whiteCode : whiteCode << 12 | blackCode);
+        if (table == null) return NOT_FOUND;
+
+        int mirror = flip ? 56 : 0;
+        long kings = board.getPieces(PieceType.KING, flip ? Color.BLACK : Color.WHITE);
+        long otherKings = board.getPieces(PieceType.KING, flip ? Color.WHITE : Color.BLACK);
+        int[] squares = new int[2 + whiteCount + blackCount];
+        squares[0] = Long.numberOfTrailingZeros(kings) ^ mirror;
+        squares[1] = Long.numberOfTrailingZeros(otherKings) ^ mirror;
+        int[] strong = flip ? blackSquares : whiteSquares;
+        int[] weak = flip ? whiteSquares : blackSquares;
+        int strongCount = flip ? blackCount : whiteCount;
+        int weakCount = flip ? whiteCount : blackCount;
+        for (int i = 0; i < strongCount; i++) {
+            squares[2 + i] = strong[i] ^ mirror;
+        }
+        for (int i = 0; i < weakCount; i++) {
+            squares[2 + strongCount + i] = weak[i] ^ mirror;
+        }
+        boolean blackToMove = board.getSideToMove() == (flip ? Color.WHITE : Color.BLACK);
+        return table.data.get(table.endgame.indexOf(squares, blackToMove)) & 0xFF;
+    }
+
+    /**
+     * Retorna o lance que mantém o resultado da posição: o mate mais curto ao
+     * ganhar, o mais longo ao perder e qualquer empate ao empatar.
+     *
+     * @return O lance codificado (ver {@link Move}), ou {@link Move#NONE} se a
+     * posição não estiver nas tabelas ou não houver lances.
+     */
+    public int bestMove(BitBoard board) {
+        int value = probe(board);
+        if (value == NOT_FOUND || value == INVALID) return Move.NONE;
+
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        BitBoard child = new BitBoard(board);
+        int best = Move.NONE;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            child.makeMove(moves.get(i));
+            int rank = rankForMover(probe(child));
+            child.unmakeMove(moves.get(i));
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = moves.get(i);
+            }
+        }
+        return best;
+    }
+
+    // Quanto maior, melhor para quem jogou o lance que levou ao valor (o valor é de quem tem a vez depois)
+    private static int rankForMover(int value) {
+        if (value == NOT_FOUND || value == INVALID) return Integer.MIN_VALUE;
+        if (value == DRAW) return 0;
+        int plies = pliesToMate(value);
+        return isWin(value) ? -1000 + plies : 1000 - plies;
+    }
+
+    // ------------------------------------------------------------------
+    // Valores
+    // ------------------------------------------------------------------
+
+    /**
+     * Retorna se quem tem a vez ganha.
+     */
+    public static boolean isWin(int value) {
+        return value >= 2 && (value & 1) == 1;
+    }
+
+    /**
+     * Retorna se quem tem a vez perde.
+     */
+    public static boolean isLoss(int value) {
+        return value >= 2 && (value & 1) == 0;
+    }
+
+    /**
+     * Retorna em quantos meios-lances há mate (valores de vitória ou derrota).
+     */
+    public static int pliesToMate(int value) {
+        return value - 2;
+    }
+
+    /**
+     * Retorna o valor de mate em {@code plies} meios-lances.
+     */
+    static int mateIn(int plies) {
+        if (plies > MAX_PLIES) {
+            throw new IllegalStateException("Distância até o mate maior que " + MAX_PLIES + " meios-lances.");
+        }
+        return plies + 2;
+    }
+
+    private static int signatureOf(Endgame endgame) {
+        int strong = 0;
+        int weak = 0;
+        for (int i = 2; i < endgame.getPieces(); i++) {
+            int code = endgame.typeAt(i).ordinal() + 1;
+            if (endgame.colorAt(i) == Color.WHITE) {
+                strong = strong << 3 | code;
+            } else {
+                weak = weak << 3 | code;
+            }
+        }
+        return strong << 12 | weak;
+    }
+
+    /**
+     * Uma tabela aberta: o final e os bytes (mapeados ou, durante a geração, no heap).
+     */
+    private static class Table {
+        final Endgame endgame;
+        final ByteBuffer data;
+
+        Table(Endgame endgame, ByteBuffer data) {
+            this.endgame = endgame;
+            this.data = data;
+        }
+    }
+
+}
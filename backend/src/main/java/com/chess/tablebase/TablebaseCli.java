@@ -0,0 +1,77 @@
+package com.chess.tablebase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Gera tabelas de finais pela linha de comando.
+ * <p>
+ * Uso:
+ * <pre>
+ * TablebaseCli [--dir DIRETÓRIO] [--threads N] [--all 3|4] [FINAL...]
+ * </pre>
+ * Ex: {@code TablebaseCli --dir data/tablebases KQKR KPKP} ou {@code --all 4}
+ * para todos os finais de até 4 peças. As tabelas das quais um final depende
+ * são geradas antes, se ainda não estiverem no diretório (padrão
+ * {@code data/tablebases}); as tabelas pedidas são sempre geradas de novo.
+ */
+public class TablebaseCli {
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of("data", "tablebases");
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Endgame> endgames = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dir" -> directory = Path.of(value(args, ++i));
+                case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                case "--all" -> {
+                    int pieces = Integer.parseInt(value(args, ++i));
+                    for (int count = 3; count <= pieces; count++) {
+                        endgames.addAll(Endgame.all(count));
+                    }
+                }
+                default -> {
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+                    endgames.add(Endgame.of(args[i]));
+                }
+            }
+        }
+        if (endgames.isEmpty()) {
+            throw new IllegalArgumentException("Informe os finais ou --all.");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            TablebaseGenerator generator = new TablebaseGenerator(directory, pool);
+            long start = System.nanoTime();
+            Set<String> generated = new HashSet<>();
+            for (Endgame endgame : endgames) {
+                // Com --all, um final pode já ter sido gerado como dependência de outro
+                if (generated.contains(endgame.getName())) continue;
+                for (GenerationResult result : generator.generate(endgame)) {
+                    generated.add(result.getEndgame());
+                    System.out.println(result);
+                }
+            }
+            System.out.printf("%d tabelas em %s, %.1f s%n", generator.getTablebase().getTables().size(),
+                directory, (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valor ausente para " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+}
@@ -0,0 +1,504 @@
+package com.chess.tablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Gera as tabelas de finais por análise retrógrada, em paralelo.
+ * <p>
+ * A geração de um final tem duas fases:
+ * <ol>
+ * <li>Cada índice é decodificado e classificado: inválido, xeque-mate, ou uma
+ * posição com lances. Capturas e promoções mudam o material e são resolvidas
+ * consultando as tabelas já prontas; os demais lances levam a posições do
+ * próprio final, que são apenas contadas (sem repetir as simétricas).</li>
+ * <li>A partir dos mates, nível a nível (meio-lance a meio-lance), os lances
+ * são desfeitos: quem pode levar o adversário a uma derrota ganha; quem só tem
+ * lances para vitórias do adversário (o contador chega a zero) perde. O que
+ * sobra no fim é empate.</li>
+ * </ol>
+ * Cada fase divide os índices (ou as posições do nível) em blocos, um por
+ * tarefa do pool; as marcações compartilhadas entre blocos usam operações
+ * atômicas sobre os arrays de bytes. Antes do final, são geradas (ou carregadas
+ * do diretório) as tabelas de todos os finais alcançáveis por captura ou
+ * promoção.
+ * <p>
+ * A casa de en passant e a regra dos 50 lances são ignoradas, e as posições não
+ * têm direito de roque. Só a primeira afeta resultados, e apenas em finais com
+ * peões dos dois lados.
+ */
+public class TablebaseGenerator {
+
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    // Saídas por captura ou promoção que impedem a derrota
+    private static final int EXIT_DRAW = 1;
+    private static final int EXIT_WIN = 2;
+
+    private static final int CHUNK = 1 << 15;
+    private static final BitBoard EMPTY = new BitBoard();
+
+    private final Path directory;
+    private final ForkJoinPool pool;
+    private final Tablebase tablebase;
+
+    /**
+     * Cria o gerador sobre um pool fornecido (não é encerrado por esta classe).
+     *
+     * @param directory Diretório das tabelas; as existentes são abertas e as geradas são gravadas nele.
+     *                  Se for {@code null}, as tabelas geradas ficam apenas no heap.
+     * @param pool O pool das tarefas de geração.
+     * @throws IOException se o diretório não puder ser criado ou alguma tabela existente não puder ser aberta.
+     */
+    public TablebaseGenerator(Path directory, ForkJoinPool pool) throws IOException {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool não pode ser nulo.");
+        }
+        this.directory = directory;
+        this.pool = pool;
+        if (directory == null) {
+            this.tablebase = new Tablebase();
+        } else {
+            Files.createDirectories(directory);
+            this.tablebase = Tablebase.open(directory);
+        }
+    }
+
+    /**
+     * Retorna as tabelas abertas e geradas até aqui.
+     */
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /**
+     * Gera a tabela do final, substituindo a existente, depois das tabelas das
+     * quais ela depende que ainda não existirem.
+     *
+     * @return Os resultados das tabelas geradas, as dependências primeiro.
+     * @throws IOException se a gravação de alguma tabela falhar.
+     */
+    public List<GenerationResult> generate(Endgame endgame) throws IOException {
+        if (endgame == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        List<GenerationResult> results = new ArrayList<>();
+        for (Endgame successor : endgame.successors()) {
+            if (!tablebase.contains(successor)) {
+                results.addAll(generate(successor));
+            }
+        }
+        results.add(build(endgame));
+        return results;
+    }
+
+    private GenerationResult build(Endgame endgame) throws IOException {
+        long start = System.nanoTime();
+        Work work = new Work(endgame);
+
+        List<Callable<Seeds>> tasks = new ArrayList<>();
+        for (int from = 0; from < work.size; from += CHUNK) {
+            int first = from;
+            int end = Math.min(work.size, from + CHUNK);
+            tasks.add(() -> work.classify(first, end));
+        }
+        for (Seeds seeds : invokeAll(tasks)) {
+            work.merge(seeds);
+        }
+
+        IntList frontier = new IntList();
+        for (int level = 0; level <= Tablebase.MAX_PLIES; level++) {
+            // As posições agendadas para o nível que ainda não foram resolvidas por um caminho mais curto
+            IntList scheduled = work.buckets[level];
+            if (scheduled != null) {
+                int value = Tablebase.mateIn(level);
+                for (int i = 0; i < scheduled.size(); i++) {
+                    int index = scheduled.get(i);
+                    if (BYTES.compareAndSet(work.values, index, (byte) 0, (byte) value)) frontier.add(index);
+                }
+                work.buckets[level] = null;
+            }
+            if (frontier.size() == 0) {
+                if (work.pending(level)) continue;
+                break;
+            }
+
+            IntList current = frontier;
+            int currentLevel = level;
+            List<Callable<Seeds>> levelTasks = new ArrayList<>();
+            int chunk = Math.max(1024, current.size() / (pool.getParallelism() * 4) + 1);
+            for (int from = 0; from < current.size(); from += chunk) {
+                int first = from;
+                int end = Math.min(current.size(), from + chunk);
+                levelTasks.add(() -> work.retract(current, first, end, currentLevel));
+            }
+            frontier = new IntList();
+            for (Seeds seeds : invokeAll(levelTasks)) {
+                frontier.addAll(seeds.next);
+                work.merge(seeds);
+            }
+        }
+
+        GenerationResult result = work.result(System.nanoTime() - start);
+        store(endgame, work.values);
+        return result;
+    }
+
+    private void store(Endgame endgame, byte[] values) throws IOException {
+        if (directory == null) {
+            tablebase.add(endgame, ByteBuffer.wrap(values).asReadOnlyBuffer());
+            return;
+        }
+        Path file = directory.resolve(endgame.getName() + Tablebase.SUFFIX);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16)) {
+            out.write(values);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        tablebase.add(endgame, Tablebase.map(file, endgame));
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Falha em uma tarefa de geração", e.getCause());
+        }
+    }
+
+    /**
+     * O estado da geração de um final.
+     */
+    private final class Work {
+        final Endgame endgame;
+        final int size;
+        // Valor de cada índice (0 = ainda não resolvido; no fim, empate)
+        final byte[] values;
+        // Quantas posições do próprio final, distintas, ainda não são vitórias do adversário
+        final byte[] counters;
+        // EXIT_DRAW e EXIT_WIN
+        final byte[] exits;
+        // Maior derrota pelas capturas e promoções (meios-lances até o mate, 0 = nenhuma)
+        final byte[] externalLoss;
+        // Posições a resolver em um nível futuro, com o valor de mate naquele nível
+        final IntList[] buckets = new IntList[Tablebase.MAX_PLIES + 1];
+
+        Work(Endgame endgame) {
+            this.endgame = endgame;
+            this.size = endgame.size();
+            this.values = new byte[size];
+            this.counters = new byte[size];
+            this.exits = new byte[size];
+            this.externalLoss = new byte[size];
+        }
+
+        /**
+         * Primeira fase, para os índices do bloco.
+         */
+        Seeds classify(int start, int end) {
+            Seeds seeds = new Seeds();
+            int pieces = endgame.getPieces();
+            int[] squares = new int[pieces];
+            int[] child = new int[pieces];
+            int[] children = new int[MoveList.DEFAULT_CAPACITY];
+            BitBoard board = new BitBoard();
+            MoveList moves = new MoveList();
+
+            for (int index = start; index < end; index++) {
+                boolean blackToMove = endgame.decode(index, squares);
+                if (!isPlausible(squares) || endgame.indexOf(squares, blackToMove) != index) {
+                    values[index] = Tablebase.INVALID;
+                    continue;
+                }
+                Color toMove = blackToMove ? Color.BLACK : Color.WHITE;
+                setUp(board, squares, toMove);
+                if (board.isInCheck(toMove.opposite())) {
+                    values[index] = Tablebase.INVALID;
+                    continue;
+                }
+
+                moves.clear();
+                LegalMoveGenerator.generate(board, moves);
+                if (moves.isEmpty()) {
+                    // Xeque-mate; o afogamento fica como empate
+                    if (board.isInCheck(toMove)) seeds.schedule(0, index);
+                    continue;
+                }
+
+                int count = 0;
+                int exit = 0;
+                int bestWin = Integer.MAX_VALUE;
+                int worstLoss = 0;
+                for (int i = 0; i < moves.size(); i++) {
+                    int move = moves.get(i);
+                    if (Move.isCapture(move) || Move.isPromotion(move)) {
+                        board.makeMove(move);
+                        int value = tablebase.probe(board);
+                        board.unmakeMove(move);
+                        if (value == Tablebase.NOT_FOUND || value == Tablebase.INVALID) {
+                            throw new IllegalStateException("Tabela ausente para um lance de " + endgame
+                                + ": " + Move.toString(move));
+                        }
+                        if (value == Tablebase.DRAW) {
+                            exit |= EXIT_DRAW;
+                        } else if (Tablebase.isLoss(value)) {
+                            exit |= EXIT_WIN;
+                            bestWin = Math.min(bestWin, Tablebase.pliesToMate(value) + 1);
+                        } else {
+                            worstLoss = Math.max(worstLoss, Tablebase.pliesToMate(value) + 1);
+                        }
+                        continue;
+                    }
+
+                    System.arraycopy(squares, 0, child, 0, pieces);
+                    child[pieceOn(squares, Move.from(move))] = Move.to(move);
+                    int target = endgame.indexOf(child, !blackToMove);
+                    if (!contains(children, count, target)) children[count++] = target;
+                }
+
+                counters[index] = (byte) count;
+                exits[index] = (byte) exit;
+                externalLoss[index] = (byte) worstLoss;
+                if (bestWin != Integer.MAX_VALUE) {
+                    seeds.schedule(bestWin, index);
+                } else if (count == 0 && exit == 0) {
+                    // Todos os lances mudam o material e perdem
+                    seeds.schedule(worstLoss, index);
+                }
+            }
+            return seeds;
+        }
+
+        /**
+         * Segunda fase: desfaz os lances que levam às posições do bloco, resolvidas no nível.
+         */
+        Seeds retract(IntList frontier, int start, int end, int level) {
+            Seeds seeds = new Seeds();
+            int pieces = endgame.getPieces();
+            int[] squares = new int[pieces];
+            int[] parent = new int[pieces];
+            int[] parents = new int[MoveList.DEFAULT_CAPACITY];
+            boolean lossAtLevel = (level & 1) == 0;
+            int next = Tablebase.mateIn(level + 1);
+
+            for (int f = start; f < end; f++) {
+                boolean blackToMove = endgame.decode(frontier.get(f), squares);
+                // Quem jogou o lance que levou à posição
+                Color mover = blackToMove ? Color.WHITE : Color.BLACK;
+                long occupancy = 0;
+                for (int square : squares) occupancy |= 1L << square;
+
+                int count = 0;
+                for (int i = 0; i < pieces; i++) {
+                    if (endgame.colorAt(i) != mover) continue;
+                    long origins = origins(endgame.typeAt(i), mover, squares[i], occupancy);
+                    for (; origins != 0; origins &= origins - 1) {
+                        System.arraycopy(squares, 0, parent, 0, pieces);
+                        parent[i] = Long.numberOfTrailingZeros(origins);
+                        int index = endgame.indexOf(parent, !blackToMove);
+                        if (contains(parents, count, index)) continue;
+                        parents[count++] = index;
+                        if (values[index] == Tablebase.INVALID) continue;
+
+                        if (lossAtLevel) {
+                            // Um lance leva o adversário à derrota: vitória no próximo nível
+                            if (BYTES.compareAndSet(values, index, (byte) 0, (byte) next)) seeds.next.add(index);
+                        } else if (decrement(counters, index) == 0 && exits[index] == 0) {
+                            // Todos os lances levam à vitória do adversário: perde no mate mais longo
+                            int plies = Math.max(level + 1, externalLoss[index] & 0xFF);
+                            if (plies == level + 1) {
+                                if (BYTES.compareAndSet(values, index, (byte) 0, (byte) next)) seeds.next.add(index);
+                            } else {
+                                seeds.schedule(plies, index);
+                            }
+                        }
+                    }
+                }
+            }
+            return seeds;
+        }
+
+        void merge(Seeds seeds) {
+            for (int plies = 0; plies < seeds.buckets.length; plies++) {
+                IntList scheduled = seeds.buckets[plies];
+                if (scheduled == null) continue;
+                if (buckets[plies] == null) buckets[plies] = new IntList();
+                buckets[plies].addAll(scheduled);
+            }
+        }
+
+        boolean pending(int level) {
+            for (int plies = level + 1; plies < buckets.length; plies++) {
+                if (buckets[plies] != null) return true;
+            }
+            return false;
+        }
+
+        // Peões nas fileiras 1 e 8 e peças na mesma casa não existem
+        boolean isPlausible(int[] squares) {
+            long seen = 0;
+            for (int i = 0; i < squares.length; i++) {
+                long bit = 1L << squares[i];
+                if ((seen & bit) != 0) return false;
+                seen |= bit;
+                if (endgame.typeAt(i) == PieceType.PAWN && (squares[i] < 8 || squares[i] >= 56)) return false;
+            }
+            return true;
+        }
+
+        void setUp(BitBoard board, int[] squares, Color toMove) {
+            board.copyFrom(EMPTY);
+            for (int i = 0; i < squares.length; i++) {
+                board.setPieceAt(Position.at(squares[i]), Piece.of(endgame.typeAt(i), endgame.colorAt(i)));
+            }
+            board.setSideToMove(toMove);
+        }
+
+        GenerationResult result(long elapsedNanos) {
+            long positions = 0;
+            long wins = 0;
+            long losses = 0;
+            int longest = 0;
+            for (byte b : values) {
+                int value = b & 0xFF;
+                if (value == Tablebase.INVALID) continue;
+                positions++;
+                if (value == Tablebase.DRAW) continue;
+                if (Tablebase.isWin(value)) wins++; else losses++;
+                longest = Math.max(longest, Tablebase.pliesToMate(value));
+            }
+            return new GenerationResult(endgame.getName(), positions, wins, losses, positions - wins - losses,
+                longest, elapsedNanos);
+        }
+    }
+
+    /**
+     * Casas de onde a peça pode ter vindo por um lance sem captura nem promoção.
+     */
+    private static long origins(PieceType type, Color color, int square, long occupancy) {
+        long empty = ~occupancy;
+        return switch (type) {
+            case KING -> BitboardUtils.kingAttacks(square) & empty;
+            case KNIGHT -> BitboardUtils.knightAttacks(square) & empty;
+            case BISHOP -> BitboardUtils.bishopAttacks(square, occupancy) & empty;
+            case ROOK -> BitboardUtils.rookAttacks(square, occupancy) & empty;
+            case QUEEN -> BitboardUtils.queenAttacks(square, occupancy) & empty;
+            case PAWN -> pawnOrigins(color, square, empty);
+        };
+    }
+
+    // As brancas avançam para casas menores (a8 = 0); a origem não pode estar na primeira fileira
+    private static long pawnOrigins(Color color, int square, long empty) {
+        int step = color == Color.WHITE ? 8 : -8;
+        int from = square + step;
+        if (from < 8 || from >= 56 || (empty & 1L << from) == 0) return 0;
+        long origins = 1L << from;
+        int doubleRow = color == Color.WHITE ? 4 : 3;
+        if (square >>> 3 == doubleRow && (empty & 1L << from + step) != 0) {
+            origins |= 1L << from + step;
+        }
+        return origins;
+    }
+
+    // Laço de CAS em vez de getAndAdd: compilado pelo C2 (JDK 21.0.1), o getAndAdd de bytes perdia decrementos
+    private static int decrement(byte[] counters, int index) {
+        while (true) {
+            byte count = (byte) BYTES.getVolatile(counters, index);
+            if (BYTES.compareAndSet(counters, index, count, (byte) (count - 1))) return count - 1;
+        }
+    }
+
+    private static int pieceOn(int[] squares, int square) {
+        for (int i = 0; i < squares.length; i++) {
+            if (squares[i] == square) return i;
+        }
+        throw new IllegalStateException("Nenhuma peça na casa " + square);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * O que uma tarefa produz: as posições resolvidas para o próximo nível e as agendadas para depois.
+     */
+    private static class Seeds {
+        final IntList next = new IntList();
+        final IntList[] buckets = new IntList[Tablebase.MAX_PLIES + 1];
+
+        void schedule(int plies, int index) {
+            Tablebase.mateIn(plies);
+            if (buckets[plies] == null) buckets[plies] = new IntList();
+            buckets[plies].add(index);
+        }
+    }
+
+    /**
+     * Lista de inteiros sem boxing.
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+}
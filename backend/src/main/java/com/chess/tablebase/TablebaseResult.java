@@ -0,0 +1,53 @@
+package com.chess.tablebase;
+
+import com.chess.entity.board.Move;
+
+/**
+ * Resultado de uma consulta às tabelas de finais, do ponto de vista de quem tem a vez.
+ */
+public class TablebaseResult {
+
+    private final int value;
+    private final int bestMove;
+
+    /**
+     * @param value O valor da posição nas tabelas (ver {@link Tablebase}).
+     * @param bestMove O lance que mantém o resultado ({@link Move#NONE} se não houver lances).
+     */
+    public TablebaseResult(int value, int bestMove) {
+        this.value = value;
+        this.bestMove = bestMove;
+    }
+
+    /**
+     * Retorna "win", "loss" ou "draw".
+     */
+    public String getResult() {
+        if (Tablebase.isWin(value)) return "win";
+        if (Tablebase.isLoss(value)) return "loss";
+        return "draw";
+    }
+
+    /**
+     * Retorna em quantos meios-lances há mate, {@code 0} no empate.
+     */
+    public int getPliesToMate() {
+        return value == Tablebase.DRAW ? 0 : Tablebase.pliesToMate(value);
+    }
+
+    /**
+     * Retorna em quantos lances há mate (positivo a favor, negativo contra), {@code 0} no empate.
+     */
+    public int getMateIn() {
+        int moves = (getPliesToMate() + 1) / 2;
+        return Tablebase.isLoss(value) ? -moves : moves;
+    }
+
+    /**
+     * Retorna o melhor lance em notação de coordenadas, {@code null} se não houver lances.
+     */
+    public String getBestMove() {
+        return bestMove == Move.NONE ? null : Move.toString(bestMove);
+    }
+
+}
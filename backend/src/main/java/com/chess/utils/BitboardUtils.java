@@ -0,0 +1,219 @@
+package com.chess.utils;
+
+import com.chess.entity.base.*;
+
+/**
+ * Utilitários para máscaras de 64 bits (bitboards).
+ * <p>
+ * Cada casa do tabuleiro corresponde a um bit, com índice {@code row * 8 + col}
+ * (a8 = 0, h8 = 7, a1 = 56, h1 = 63), seguindo as coordenadas de {@link Position}.
+ */
+public class BitboardUtils {
+
+    public static final long EMPTY = 0L;
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_8 = 0xFFL;
+    public static final long RANK_1 = RANK_8 << 56;
+
+    /**
+     * Quando ativo ({@code -Dchess.verifySlidingAttacks=true}), cada consulta às
+     * tabelas mágicas é comparada com o percurso de raios casa a casa.
+     */
+    public static final boolean VERIFY_SLIDING_ATTACKS = Boolean.getBoolean("chess.verifySlidingAttacks");
+
+    // Tabelas de ataques pré-calculadas para peças não deslizantes
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    // Casas estritamente entre duas casas alinhadas, e a linha inteira (de borda a
+    // borda) que passa por elas; indexadas por from * 64 + to, vazias se não alinhadas
+    private static final long[] BETWEEN = new long[64 * 64];
+    private static final long[] LINE = new long[64 * 64];
+
+    private static final int[][] KNIGHT_JUMPS = {
+        {1, 2}, {1, -2}, {-1, 2}, {-1, -2},
+        {2, 1}, {2, -1}, {-2, 1}, {-2, -1}
+    };
+
+    // Inicializa as tabelas de ataques
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            int row = sq >>> 3;
+            int col = sq & 7;
+
+            for (int[] jump : KNIGHT_JUMPS) {
+                KNIGHT_ATTACKS[sq] |= bit(row + jump[0], col + jump[1]);
+            }
+            for (Direction dir : Direction.getAllDirections()) {
+                KING_ATTACKS[sq] |= bit(row + dir.getX(), col + dir.getY());
+            }
+
+            // Peões brancos atacam "para cima" (linha diminui), pretos "para baixo"
+            PAWN_ATTACKS[Color.WHITE.ordinal()][sq] = bit(row - 1, col - 1) | bit(row - 1, col + 1);
+            PAWN_ATTACKS[Color.BLACK.ordinal()][sq] = bit(row + 1, col - 1) | bit(row + 1, col + 1);
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (Direction dir : Direction.getAllDirections()) {
+                // Raio completo da casa até a borda, nos dois sentidos da direção
+                long ray = slidingAttacks(from, EMPTY, new Direction[]{dir});
+                long opposite = slidingAttacks(from, EMPTY, new Direction[]{Direction.get(-dir.getX(), -dir.getY())});
+                long line = ray | opposite | (1L << from);
+
+                // Percorre o raio a partir da casa, acumulando as casas intermediárias
+                long between = EMPTY;
+                int row = (from >>> 3) + dir.getX();
+                int col = (from & 7) + dir.getY();
+                while (row >= 0 && row <= 7 && col >= 0 && col <= 7) {
+                    int to = row * 8 + col;
+                    BETWEEN[from * 64 + to] = between;
+                    LINE[from * 64 + to] = line;
+                    between |= 1L << to;
+                    row += dir.getX();
+                    col += dir.getY();
+                }
+            }
+        }
+    }
+
+    private static long bit(int row, int col) {
+        if (row < 0 || row > 7 || col < 0 || col > 7) return EMPTY;
+        return 1L << (row * 8 + col);
+    }
+
+    /**
+     * Retorna o índice da casa (0-63) correspondente à posição.
+     */
+    public static int squareOf(Position position) {
+        return position.getSquare();
+    }
+
+    /**
+     * Retorna a posição correspondente ao índice da casa (0-63).
+     */
+    public static Position positionOf(int square) {
+        return Position.at(square);
+    }
+
+    /**
+     * Retorna a máscara com apenas o bit da casa informada.
+     */
+    public static long squareBit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Retorna a máscara com apenas o bit da posição informada.
+     */
+    public static long squareBit(Position position) {
+        return 1L << squareOf(position);
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Retorna as casas atacadas por um peão da cor informada.
+     */
+    public static long pawnAttacks(Color color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * Calcula as casas atacadas por uma peça deslizante, percorrendo cada direção
+     * até a borda do tabuleiro ou até a primeira casa ocupada (inclusive).
+     *
+     * @param square O índice da casa de origem.
+     * @param occupancy A máscara de casas ocupadas.
+     * @param directions As direções de deslizamento da peça.
+     * @return A máscara de casas atacadas.
+     */
+    public static long slidingAttacks(int square, long occupancy, Direction[] directions) {
+        long attacks = EMPTY;
+
+        for (Direction dir : directions) {
+            int row = (square >>> 3) + dir.getX();
+            int col = (square & 7) + dir.getY();
+
+            while (row >= 0 && row <= 7 && col >= 0 && col <= 7) {
+                long target = 1L << (row * 8 + col);
+                attacks |= target;
+
+                // Interrompe o raio na primeira peça encontrada
+                if ((occupancy & target) != 0) break;
+
+                row += dir.getX();
+                col += dir.getY();
+            }
+        }
+
+        return attacks;
+    }
+
+    public static long rookAttacks(int square, long occupancy) {
+        long attacks = MagicBitboards.rookAttacks(square, occupancy);
+        if (VERIFY_SLIDING_ATTACKS) {
+            verify(attacks, slidingAttacks(square, occupancy, Direction.getOrthogonalDirections()), square, occupancy);
+        }
+        return attacks;
+    }
+
+    public static long bishopAttacks(int square, long occupancy) {
+        long attacks = MagicBitboards.bishopAttacks(square, occupancy);
+        if (VERIFY_SLIDING_ATTACKS) {
+            verify(attacks, slidingAttacks(square, occupancy, Direction.getDiagonalDirections()), square, occupancy);
+        }
+        return attacks;
+    }
+
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * Retorna os ataques de uma peça deslizante pelas tabelas mágicas quando as
+     * direções forem um dos conjuntos padrão de {@link Direction}; caso contrário,
+     * percorre os raios casa a casa.
+     */
+    public static long attacksFor(int square, long occupancy, Direction[] directions) {
+        if (directions == Direction.getOrthogonalDirections()) return rookAttacks(square, occupancy);
+        if (directions == Direction.getDiagonalDirections()) return bishopAttacks(square, occupancy);
+        if (directions == Direction.getAllDirections()) return queenAttacks(square, occupancy);
+        return slidingAttacks(square, occupancy, directions);
+    }
+
+    private static void verify(long table, long walked, int square, long occupancy) {
+        if (table != walked) {
+            throw new IllegalStateException("Ataques divergentes na casa " + positionOf(square)
+                + " com ocupação " + Long.toHexString(occupancy)
+                + ": tabela=" + Long.toHexString(table) + ", raios=" + Long.toHexString(walked));
+        }
+    }
+
+    /**
+     * Retorna a máscara das casas estritamente entre duas casas alinhadas.
+     *
+     * @return A máscara das casas intermediárias, ou {@link #EMPTY} se não estiverem alinhadas.
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from * 64 + to];
+    }
+
+    /**
+     * Retorna a linha inteira, de borda a borda, que passa por duas casas alinhadas
+     * (incluindo as próprias casas).
+     *
+     * @return A máscara da linha, ou {@link #EMPTY} se as casas forem iguais ou não estiverem alinhadas.
+     */
+    public static long line(int from, int to) {
+        return LINE[from * 64 + to];
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.chess.utils;
+
+import com.chess.entity.base.*;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Leitura e escrita de posições em notação FEN (Forsyth-Edwards).
+ * <p>
+ * A FEN usa as letras inglesas das peças (P, N, B, R, Q, K), convertidas aqui
+ * para os tipos de {@link PieceType}. O analisador percorre a string caractere
+ * a caractere, sem expressões regulares.
+ */
+public class FenUtils {
+
+    public static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // Letras FEN indexadas por PieceType.ordinal()
+    private static final char[] FEN_LETTERS = {'p', 'n', 'b', 'r', 'q', 'k'};
+
+    // Maior relógio de meias-jogadas aceito: o registro de desfazer do BitBoard guarda 16 bits
+    private static final int MAX_HALFMOVE_CLOCK = 0xFFFF;
+
+    /**
+     * Cria um tabuleiro a partir de uma string FEN.
+     * <p>
+     * Os campos de relógio de meias-jogadas e número do lance são opcionais; os
+     * demais são obrigatórios, e a posição precisa ser jogável.
+     *
+     * @param fen A posição em notação FEN.
+     * @return {@code BitBoard} com a posição descrita.
+     * @throws IllegalArgumentException se a FEN for nula ou inválida.
+     */
+    public static BitBoard parse(String fen) {
+        if (fen == null) {
+            throw new IllegalArgumentException("FEN não pode ser nula.");
+        }
+
+        BitBoard board = new BitBoard();
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        // Campo 1: disposição das peças, da oitava para a primeira fileira
+        int row = 0;
+        int col = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (col != 8) throw invalid(fen, "fileira incompleta");
+                row++;
+                col = 0;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                if (row > 7 || col > 7) throw invalid(fen, "peça fora do tabuleiro");
+                board.setPieceAt(Position.at(row, col), pieceOf(fen, c));
+                col++;
+            }
+            if (col > 8) throw invalid(fen, "fileira com mais de 8 casas");
+        }
+        if (row != 7 || col != 8) throw invalid(fen, "disposição das peças incompleta");
+
+        // Campo 2: cor que tem a vez
+        i = skipSpaces(fen, i);
+        if (i >= length) throw invalid(fen, "cor da vez ausente");
+        char side = fen.charAt(i++);
+        if (side == 'w') {
+            board.setSideToMove(Color.WHITE);
+        } else if (side == 'b') {
+            board.setSideToMove(Color.BLACK);
+        } else {
+            throw invalid(fen, "cor da vez inválida");
+        }
+        if (i < length && fen.charAt(i) != ' ') throw invalid(fen, "cor da vez inválida");
+
+        // Campo 3: direitos de roque
+        i = skipSpaces(fen, i);
+        if (i >= length) throw invalid(fen, "direitos de roque ausentes");
+        int rights = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            switch (fen.charAt(i)) {
+                case 'K' -> rights |= BitBoard.WHITE_KING_SIDE;
+                case 'Q' -> rights |= BitBoard.WHITE_QUEEN_SIDE;
+                case 'k' -> rights |= BitBoard.BLACK_KING_SIDE;
+                case 'q' -> rights |= BitBoard.BLACK_QUEEN_SIDE;
+                case '-' -> { }
+                default -> throw invalid(fen, "direito de roque inválido");
+            }
+        }
+        board.setCastlingRights(rights);
+
+        // Campo 4: casa alvo de en passant
+        i = skipSpaces(fen, i);
+        if (i >= length) throw invalid(fen, "casa de en passant ausente");
+        if (fen.charAt(i) != '-') {
+            if (nextSpace(fen, i) != i + 2) throw invalid(fen, "casa de en passant inválida");
+            board.setEnPassantTarget(squareOf(fen, fen.charAt(i), fen.charAt(i + 1)));
+            i += 2;
+        } else {
+            i++;
+        }
+
+        // Campos 5 e 6: relógio de meias-jogadas e número do lance
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            int end = nextSpace(fen, i);
+            board.setHalfmoveClock(parseNumber(fen, i, end, MAX_HALFMOVE_CLOCK));
+            i = skipSpaces(fen, end);
+            if (i < length) {
+                end = nextSpace(fen, i);
+                board.setFullmoveNumber(parseNumber(fen, i, end, Integer.MAX_VALUE));
+                if (skipSpaces(fen, end) < length) throw invalid(fen, "campos a mais");
+            }
+        }
+
+        validate(fen, board);
+        return board;
+    }
+
+    /**
+     * Rejeita posições que o gerador de lances e a avaliação não tratam: peões
+     * na primeira ou na última fileira, número de reis diferente de um por cor,
+     * mais de 16 peças ou de 8 peões de uma cor, o rei de quem não tem a vez em
+     * xeque e casa de en passant sem o peão que acabou de avançar duas casas.
+     * Uma casa de en passant válida que nenhum peão pode capturar é descartada.
+     */
+    private static void validate(String fen, BitBoard board) {
+        if ((board.getPieces(PieceType.PAWN) & (BitboardUtils.RANK_1 | BitboardUtils.RANK_8)) != 0) {
+            throw invalid(fen, "peão na primeira ou na última fileira");
+        }
+        for (Color color : Color.values()) {
+            if (Long.bitCount(board.getPieces(PieceType.KING, color)) != 1) {
+                throw invalid(fen, "é preciso exatamente um rei de cada cor");
+            }
+            if (Long.bitCount(board.getOccupancy(color)) > 16 || Long.bitCount(board.getPieces(PieceType.PAWN, color)) > 8) {
+                throw invalid(fen, "peças demais de uma cor");
+            }
+        }
+        if (board.isInCheck(board.getSideToMove().opposite())) {
+            throw invalid(fen, "rei de quem não tem a vez em xeque");
+        }
+
+        int target = board.getEnPassantSquare();
+        if (target >= 0) {
+            // Brancas com a vez: alvo na sexta fileira, peão preto à frente dele e a casa de origem vazia
+            boolean white = board.getSideToMove().isWhite();
+            int pawn = white ? target + 8 : target - 8;
+            int origin = white ? target - 8 : target + 8;
+            if ((target >>> 3) != (white ? 2 : 5)
+                || (board.getOccupancy() & (1L << target | 1L << origin)) != 0
+                || (board.getPieces(PieceType.PAWN, board.getSideToMove().opposite()) & 1L << pawn) == 0) {
+                throw invalid(fen, "casa de en passant incompatível com a posição");
+            }
+            // Como em BitBoard.makeMove, a casa só entra na posição (e na chave) se algum peão puder capturar
+            long pawns = board.getPieces(PieceType.PAWN, board.getSideToMove());
+            if ((BitboardUtils.pawnAttacks(board.getSideToMove().opposite(), target) & pawns) == 0) {
+                board.setEnPassantTarget(null);
+            }
+        }
+    }
+
+    /**
+     * Converte o tabuleiro para a notação FEN.
+     *
+     * @param board O tabuleiro.
+     * @return A posição em notação FEN.
+     */
+    public static String toFen(BitBoard board) {
+        StringBuilder sb = new StringBuilder(90);
+
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board.getPieceAt(row * 8 + col);
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) sb.append(empty);
+                empty = 0;
+                sb.append(letterOf(piece));
+            }
+            if (empty > 0) sb.append(empty);
+            if (row < 7) sb.append('/');
+        }
+
+        sb.append(board.getSideToMove().isWhite() ? " w " : " b ");
+
+        int rights = board.getCastlingRights();
+        if (rights == 0) sb.append('-');
+        if ((rights & BitBoard.WHITE_KING_SIDE) != 0) sb.append('K');
+        if ((rights & BitBoard.WHITE_QUEEN_SIDE) != 0) sb.append('Q');
+        if ((rights & BitBoard.BLACK_KING_SIDE) != 0) sb.append('k');
+        if ((rights & BitBoard.BLACK_QUEEN_SIDE) != 0) sb.append('q');
+
+        Position enPassant = board.getEnPassantTarget();
+        sb.append(' ').append(enPassant == null ? "-" : enPassant.toString());
+        sb.append(' ').append(board.getHalfmoveClock());
+        sb.append(' ').append(board.getFullmoveNumber());
+
+        return sb.toString();
+    }
+
+    /**
+     * Retorna a letra FEN da peça (maiúscula para brancas).
+     */
+    public static char letterOf(Piece piece) {
+        char letter = FEN_LETTERS[piece.getType().ordinal()];
+        return piece.getColor().isWhite() ? Character.toUpperCase(letter) : letter;
+    }
+
+    private static Piece pieceOf(String fen, char letter) {
+        Color color = Character.isUpperCase(letter) ? Color.WHITE : Color.BLACK;
+        char lower = Character.toLowerCase(letter);
+
+        for (PieceType type : PieceType.values()) {
+            if (FEN_LETTERS[type.ordinal()] == lower) return Piece.of(type, color);
+        }
+        throw invalid(fen, "peça inválida '" + letter + "'");
+    }
+
+    private static Position squareOf(String fen, char file, char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            throw invalid(fen, "casa inválida");
+        }
+        return Position.at('8' - rank, file - 'a');
+    }
+
+    private static int parseNumber(String fen, int start, int end, int max) {
+        if (start == end) throw invalid(fen, "número ausente");
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9') throw invalid(fen, "número inválido");
+            // Compara antes de multiplicar, para não estourar o int
+            int digit = c - '0';
+            if (value > (max - digit) / 10) throw invalid(fen, "número grande demais");
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int skipSpaces(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    private static int nextSpace(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) != ' ') i++;
+        return i;
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("FEN inválida (" + reason + "): \"" + fen + "\"");
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.chess.utils;
+
+import java.util.List;
+
+import com.chess.entity.base.*;
+import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
+
+/**
+ * Geração de movimentos estritamente legais, sem aplicar e desfazer cada candidato.
+ * <p>
+ * Calcula uma vez por posição as peças que dão xeque, as peças cravadas e a
+ * máscara de evasão (casas que capturam ou bloqueiam o único atacante). Os
+ * destinos de cada peça são então cortados por essas máscaras:
+ * <ul>
+ * <li>xeque duplo - só o rei se move;</li>
+ * <li>xeque simples - as demais peças só vão para a máscara de evasão;</li>
+ * <li>peça cravada - só se move sobre a linha entre o rei e o atacante.</li>
+ * </ul>
+ * Os destinos do rei são cortados pelo mapa de ataques adversário
+ * ({@link Board#getAttacks}); em xeque, cada destino restante é verificado
+ * com a casa do rei desocupada, para que ele não se esconda "atrás de si
+ * mesmo" na linha de uma peça deslizante. O en passant, que remove duas peças
+ * da mesma fileira, é validado simulando a ocupação.
+ */
+public class LegalMoveGenerator {
+
+    private LegalMoveGenerator() {
+    }
+
+    /**
+     * Escreve no buffer todos os movimentos legais da cor que tem a vez.
+     *
+     * @param board O tabuleiro de xadrez.
+     * @param moves O buffer que recebe os movimentos (não é esvaziado antes).
+     * @throws IllegalArgumentException se não houver rei da cor que tem a vez.
+     */
+    public static void generate(Board board, MoveList moves) {
+        generate(board, ~BitboardUtils.EMPTY, moves);
+    }
+
+    /**
+     * Escreve no buffer os movimentos legais da peça na casa informada.
+     * <p>
+     * Não escreve nada se a casa estiver vazia ou a peça não for da cor que tem a vez.
+     *
+     * @param board O tabuleiro de xadrez.
+     * @param from O índice da casa de origem (0-63).
+     * @param moves O buffer que recebe os movimentos (não é esvaziado antes).
+     */
+    public static void generateFrom(Board board, int from, MoveList moves) {
+        generate(board, BitboardUtils.squareBit(from), moves);
+    }
+
+    /**
+     * Retorna as casas para onde a peça na posição pode se mover legalmente,
+     * usado para destacar os movimentos válidos no tabuleiro.
+     *
+     * @param board O tabuleiro de xadrez.
+     * @param from A posição da peça.
+     * @return Uma lista com as casas de destino (vazia se não for a vez da peça).
+     */
+    public static List<Position> getLegalMoves(Board board, Position from) {
+        if (board == null || from == null) {
+            throw new IllegalArgumentException("Parâmetros não podem ser nulos");
+        }
+        MoveList moves = new MoveList();
+        generateFrom(board, BitboardUtils.squareOf(from), moves);
+        return MoveUtils.toPositions(moves);
+    }
+
+    /**
+     * Retorna as peças da cor informada que atacam a casa, com a ocupação dada.
+     *
+     * @param board O tabuleiro de xadrez.
+     * @param square O índice da casa (0-63).
+     * @param by A cor das peças atacantes.
+     * @param occupancy A ocupação usada para as peças deslizantes.
+     * @return A máscara das peças atacantes.
+     */
+    public static long attackersOf(Board board, int square, Color by, long occupancy) {
+        long queens = board.getPieces(PieceType.QUEEN, by);
+
+        return (BitboardUtils.pawnAttacks(by.opposite(), square) & board.getPieces(PieceType.PAWN, by))
+            | (BitboardUtils.knightAttacks(square) & board.getPieces(PieceType.KNIGHT, by))
+            | (BitboardUtils.kingAttacks(square) & board.getPieces(PieceType.KING, by))
+            | (BitboardUtils.bishopAttacks(square, occupancy) & (board.getPieces(PieceType.BISHOP, by) | queens))
+            | (BitboardUtils.rookAttacks(square, occupancy) & (board.getPieces(PieceType.ROOK, by) | queens));
+    }
+
+    /**
+     * Retorna as peças da cor informada cravadas contra o próprio rei.
+     *
+     * @param board O tabuleiro de xadrez.
+     * @param color A cor do rei.
+     * @return A máscara das peças cravadas, {@link BitboardUtils#EMPTY} se não houver rei.
+     */
+    public static long pinnedPieces(Board board, Color color) {
+        long kingBit = board.getPieces(PieceType.KING, color);
+        if (kingBit == 0) return BitboardUtils.EMPTY;
+        return pinnedPieces(board, Long.numberOfTrailingZeros(kingBit), color, board.getOccupancy());
+    }
+
+    private static long pinnedPieces(Board board, int king, Color color, long occupancy) {
+        Color enemy = color.opposite();
+        long enemies = board.getOccupancy(enemy);
+        long queens = board.getPieces(PieceType.QUEEN, enemy);
+
+        // Atacantes deslizantes que alcançariam o rei se as peças próprias não existissem
+        long snipers = (BitboardUtils.rookAttacks(king, enemies) & (board.getPieces(PieceType.ROOK, enemy) | queens))
+            | (BitboardUtils.bishopAttacks(king, enemies) & (board.getPieces(PieceType.BISHOP, enemy) | queens));
+
+        long pinned = BitboardUtils.EMPTY;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            long blockers = BitboardUtils.between(king, sniper) & occupancy;
+
+            // Exatamente uma peça entre o rei e o atacante, e ela é da própria cor
+            if (Long.bitCount(blockers) == 1 && (blockers & board.getOccupancy(color)) != 0) {
+                pinned |= blockers;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    private static void generate(Board board, long fromMask, MoveList moves) {
+        Color us = board.getSideToMove();
+        Color them = us.opposite();
+        long own = board.getOccupancy(us);
+        long enemies = board.getOccupancy(them);
+        long occupancy = own | enemies;
+
+        long kingBit = board.getPieces(PieceType.KING, us);
+        if (kingBit == 0) {
+            throw new IllegalArgumentException("Posição sem rei da cor que tem a vez.");
+        }
+        int king = Long.numberOfTrailingZeros(kingBit);
+        long checkers = (board.getAttacks(them) & kingBit) == 0
+            ? BitboardUtils.EMPTY
+            : attackersOf(board, king, them, occupancy);
+
+        if ((fromMask & kingBit) != 0) {
+            generateKingMoves(board, king, us, occupancy, checkers != 0, moves);
+        }
+
+        // Em xeque duplo, apenas o rei pode se mover
+        if (Long.bitCount(checkers) > 1) return;
+
+        long evasion = checkers == 0
+            ? ~BitboardUtils.EMPTY
+            : BitboardUtils.between(king, Long.numberOfTrailingZeros(checkers)) | checkers;
+        long pinned = pinnedPieces(board, king, us, occupancy);
+        long targetMask = ~own & evasion;
+
+        long pieces = own & ~kingBit & fromMask;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+
+            long allowed = targetMask;
+            if ((pinned & (1L << from)) != 0) allowed &= BitboardUtils.line(king, from);
+
+            switch (board.getPieceAt(from).getType()) {
+                case PAWN -> generatePawnMoves(board, from, us, king, occupancy, enemies, allowed, moves);
+                case KNIGHT -> {
+                    // Um cavalo cravado nunca permanece na linha do cravo
+                    if ((pinned & (1L << from)) == 0) {
+                        addMoves(from, BitboardUtils.knightAttacks(from) & allowed, enemies, moves);
+                    }
+                }
+                case BISHOP -> addMoves(from, BitboardUtils.bishopAttacks(from, occupancy) & allowed, enemies, moves);
+                case ROOK -> addMoves(from, BitboardUtils.rookAttacks(from, occupancy) & allowed, enemies, moves);
+                case QUEEN -> addMoves(from, BitboardUtils.queenAttacks(from, occupancy) & allowed, enemies, moves);
+                case KING -> { }
+            }
+        }
+    }
+
+    private static void generateKingMoves(Board board, int king, Color us, long occupancy, boolean inCheck, MoveList moves) {
+        Color them = us.opposite();
+        long enemies = board.getOccupancy(them);
+        long targets = BitboardUtils.kingAttacks(king) & ~board.getOccupancy(us) & ~board.getAttacks(them);
+        // O rei não bloqueia os raios que o atacam
+        long withoutKing = occupancy & ~(1L << king);
+
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if (!inCheck || attackersOf(board, to, them, withoutKing) == 0) {
+                int flags = (enemies & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET;
+                moves.add(Move.of(king, to, flags));
+            }
+            targets &= targets - 1;
+        }
+
+        // Roque; as casas atravessadas são verificadas pelo próprio tabuleiro
+        if (!inCheck) {
+            if (board.canCastleKingSide(us)) moves.add(Move.of(king, king + 2, Move.KING_CASTLE));
+            if (board.canCastleQueenSide(us)) moves.add(Move.of(king, king - 2, Move.QUEEN_CASTLE));
+        }
+    }
+
+    private static void generatePawnMoves(Board board, int from, Color us, int king, long occupancy,
+                                          long enemies, long allowed, MoveList moves) {
+        int step = us.isWhite() ? -8 : 8;
+
+        // Avanço simples e duplo; o duplo independe de o simples estar na máscara
+        int to = from + step;
+        if ((occupancy & (1L << to)) == 0) {
+            if ((allowed & (1L << to)) != 0) MoveUtils.addPawnMove(from, to, Move.QUIET, moves);
+
+            int initialRow = us.isWhite() ? 6 : 1;
+            int doubleTo = to + step;
+            if ((from >>> 3) == initialRow && (occupancy & (1L << doubleTo)) == 0 && (allowed & (1L << doubleTo)) != 0) {
+                moves.add(Move.of(from, doubleTo, Move.DOUBLE_PAWN_PUSH));
+            }
+        }
+
+        long attacks = BitboardUtils.pawnAttacks(us, from);
+        long captures = attacks & enemies & allowed;
+        while (captures != 0) {
+            int target = Long.numberOfTrailingZeros(captures);
+            MoveUtils.addPawnMove(from, target, Move.CAPTURE, moves);
+            captures &= captures - 1;
+        }
+
+        // En passant: simula a ocupação após a captura e confere se o rei fica atacado
+        int enPassant = board.getEnPassantSquare();
+        if (enPassant >= 0 && (attacks & (1L << enPassant)) != 0) {
+            int captured = enPassant - step;
+            long after = (occupancy & ~(1L << from) & ~(1L << captured)) | (1L << enPassant);
+            long attackers = attackersOf(board, king, us.opposite(), after) & ~(1L << captured);
+            if (attackers == 0) moves.add(Move.of(from, enPassant, Move.EN_PASSANT));
+        }
+    }
+
+    private static void addMoves(int from, long targets, long enemies, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int flags = (enemies & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET;
+            moves.add(Move.of(from, to, flags));
+            targets &= targets - 1;
+        }
+    }
+
+}
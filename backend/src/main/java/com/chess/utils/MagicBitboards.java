@@ -0,0 +1,163 @@
+package com.chess.utils;
+
+import com.chess.entity.base.*;
+
+/**
+ * Tabelas de ataques de peças deslizantes indexadas por números mágicos.
+ * <p>
+ * Para cada casa, a ocupação relevante (raios sem as casas da borda) é
+ * multiplicada por um número mágico; os bits altos do produto formam o índice
+ * de uma tabela pré-calculada. Assim, o ataque de uma torre, bispo ou dama
+ * para qualquer ocupação custa uma única consulta à tabela.
+ * <p>
+ * Os números mágicos são encontrados no carregamento da classe por busca
+ * aleatória com semente fixa, de modo que as tabelas são sempre as mesmas.
+ */
+public class MagicBitboards {
+
+    // Semente fixa do gerador pseudoaleatório usado na busca dos números mágicos
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] ROOK_ATTACKS;
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] BISHOP_ATTACKS;
+
+    private static long random = SEED;
+
+    // Inicializa as tabelas de ataques
+    static {
+        ROOK_ATTACKS = build(Direction.getOrthogonalDirections(), ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_ATTACKS = build(Direction.getDiagonalDirections(), BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    }
+
+    private MagicBitboards() {
+    }
+
+    /**
+     * Retorna as casas atacadas por uma torre na casa, dada a ocupação do tabuleiro.
+     */
+    public static long rookAttacks(int square, long occupancy) {
+        long relevant = occupancy & ROOK_MASKS[square];
+        int index = (int) ((relevant * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + index];
+    }
+
+    /**
+     * Retorna as casas atacadas por um bispo na casa, dada a ocupação do tabuleiro.
+     */
+    public static long bishopAttacks(int square, long occupancy) {
+        long relevant = occupancy & BISHOP_MASKS[square];
+        int index = (int) ((relevant * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + index];
+    }
+
+    /**
+     * Retorna as casas atacadas por uma dama na casa, dada a ocupação do tabuleiro.
+     */
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * Monta as máscaras, números mágicos e a tabela de ataques de um tipo de peça.
+     *
+     * @return A tabela de ataques de todas as casas, concatenadas segundo {@code offsets}.
+     */
+    private static long[] build(Direction[] directions, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+        int total = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masks[sq] = relevantMask(sq, directions);
+            int bits = Long.bitCount(masks[sq]);
+            shifts[sq] = 64 - bits;
+            offsets[sq] = total;
+            total += 1 << bits;
+        }
+
+        long[] table = new long[total];
+        for (int sq = 0; sq < 64; sq++) {
+            magics[sq] = findMagic(sq, directions, masks[sq], shifts[sq], table, offsets[sq]);
+        }
+        return table;
+    }
+
+    /**
+     * Calcula a máscara de ocupação relevante: as casas dos raios, exceto a última
+     * de cada raio, pois uma peça na borda não altera o ataque.
+     */
+    private static long relevantMask(int square, Direction[] directions) {
+        long mask = 0L;
+
+        for (Direction dir : directions) {
+            int row = (square >>> 3) + dir.getX();
+            int col = (square & 7) + dir.getY();
+
+            // Avança enquanto a casa seguinte ainda estiver dentro do tabuleiro
+            while (isInside(row + dir.getX(), col + dir.getY())) {
+                mask |= 1L << (row * 8 + col);
+                row += dir.getX();
+                col += dir.getY();
+            }
+        }
+
+        return mask;
+    }
+
+    private static boolean isInside(int row, int col) {
+        return row >= 0 && row <= 7 && col >= 0 && col <= 7;
+    }
+
+    /**
+     * Procura um número mágico sem colisões destrutivas para a casa e preenche a
+     * fatia correspondente da tabela de ataques.
+     */
+    private static long findMagic(int square, Direction[] directions, long mask, int shift, long[] table, int offset) {
+        int size = 1 << (64 - shift);
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+
+        // Enumera todos os subconjuntos da máscara (Carry-Rippler)
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            attacks[i] = BitboardUtils.slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        // Marca de tentativa por entrada, evita limpar a tabela a cada candidato
+        int[] used = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) continue;
+
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> shift);
+                if (used[index] != attempt) {
+                    used[index] = attempt;
+                    table[offset + index] = attacks[i];
+                } else if (table[offset + index] != attacks[i]) {
+                    collision = true;
+                }
+            }
+
+            if (!collision) return magic;
+        }
+    }
+
+    // Gerador xorshift64*, determinístico a partir da semente fixa
+    private static long nextRandom() {
+        random ^= random >>> 12;
+        random ^= random << 25;
+        random ^= random >>> 27;
+        return random * 0x2545F4914F6CDD1DL;
+    }
+
+}
@@ -5,11 +5,18 @@ import java.util.List;
 
 import com.chess.entity.base.*;
 import com.chess.entity.board.Board;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
 
 public class MoveUtils {
     
     /**
      * Gera uma lista de movimentos possíveis para uma peça em determinadas direções.
+     * <p>
+     * Adaptador sobre {@link #generateSlidingMoves}. Com a opção
+     * {@link BitboardUtils#VERIFY_SLIDING_ATTACKS} ativa, o resultado é comparado
+     * com {@link #getSlidingMovesByWalking}.
      * 
      * @param board O tabuleiro de xadrez.
      * @param pieceColor A cor da peça que está se movendo.
@@ -18,6 +25,137 @@ public class MoveUtils {
      * @return Uma lista de posições possíveis para a peça se mover.
       */
     public static List<Position> getSlidingMoves(Board board, Color pieceColor, Position from, Direction[] directions) {
+        MoveList moves = new MoveList();
+        generateSlidingMoves(board, pieceColor, BitboardUtils.squareOf(from), directions, moves);
+        List<Position> possibleMoves = toPositions(moves);
+
+        if (BitboardUtils.VERIFY_SLIDING_ATTACKS) {
+            List<Position> walked = getSlidingMovesByWalking(board, pieceColor, from, directions);
+            if (walked.size() != possibleMoves.size() || !possibleMoves.containsAll(walked)) {
+                throw new IllegalStateException("Movimentos divergentes a partir de " + from
+                    + ": tabela=" + possibleMoves + ", raios=" + walked);
+            }
+        }
+
+        return possibleMoves;
+    }
+
+    /**
+     * Escreve no buffer todos os movimentos pseudolegais da cor que tem a vez.
+     * <p>
+     * Percorre a máscara de ocupação da cor e delega a cada peça, sem alocar objetos.
+     * 
+     * @param board O tabuleiro de xadrez.
+     * @param moves O buffer que recebe os movimentos (não é esvaziado antes).
+      */
+    public static void generatePseudoLegalMoves(Board board, MoveList moves) {
+        long pieces = board.getOccupancy(board.getSideToMove());
+
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            board.getPieceAt(from).generateMoves(board, from, moves);
+            pieces &= pieces - 1;
+        }
+    }
+
+    /**
+     * Escreve no buffer os movimentos de uma peça deslizante.
+     * <p>
+     * Os ataques vêm das tabelas mágicas ({@link BitboardUtils#attacksFor}) e são
+     * filtrados pela máscara das peças da própria cor.
+     * 
+     * @param board O tabuleiro de xadrez.
+     * @param pieceColor A cor da peça que está se movendo.
+     * @param from O índice da casa de origem (0-63).
+     * @param directions As direções nas quais a peça pode se mover.
+     * @param moves O buffer que recebe os movimentos.
+      */
+    public static void generateSlidingMoves(Board board, Color pieceColor, int from, Direction[] directions, MoveList moves) {
+        long attacks = BitboardUtils.attacksFor(from, board.getOccupancy(), directions);
+        addMoves(board, pieceColor, from, attacks, moves);
+    }
+
+    /**
+     * Escreve no buffer um movimento para cada casa alvo que não tenha peça da
+     * própria cor, marcando como captura as casas com peça adversária.
+     * 
+     * @param board O tabuleiro de xadrez.
+     * @param pieceColor A cor da peça que está se movendo.
+     * @param from O índice da casa de origem (0-63).
+     * @param targets A máscara das casas alcançadas pela peça.
+     * @param moves O buffer que recebe os movimentos.
+      */
+    public static void addMoves(Board board, Color pieceColor, int from, long targets, MoveList moves) {
+        long enemies = board.getOccupancy(pieceColor.opposite());
+        targets &= ~board.getOccupancy(pieceColor);
+
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int flags = (enemies & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET;
+            moves.add(Move.of(from, to, flags));
+            targets &= targets - 1;
+        }
+    }
+
+    /**
+     * Escreve no buffer um movimento de peão, expandindo nas quatro promoções
+     * se o destino for a última fileira.
+     *
+     * @param from O índice da casa de origem (0-63).
+     * @param to O índice da casa de destino (0-63).
+     * @param flags {@link Move#QUIET} ou {@link Move#CAPTURE}.
+     * @param moves O buffer que recebe os movimentos.
+      */
+    public static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        int row = to >>> 3;
+
+        if (row != 0 && row != 7) {
+            moves.add(Move.of(from, to, flags));
+            return;
+        }
+
+        boolean capture = (flags & Move.CAPTURE) != 0;
+        moves.add(Move.promotion(from, to, PieceType.QUEEN, capture));
+        moves.add(Move.promotion(from, to, PieceType.ROOK, capture));
+        moves.add(Move.promotion(from, to, PieceType.BISHOP, capture));
+        moves.add(Move.promotion(from, to, PieceType.KNIGHT, capture));
+    }
+
+    /**
+     * Converte os movimentos do buffer em uma lista de posições de destino.
+     * <p>
+     * As quatro promoções para a mesma casa resultam em uma única posição.
+     * 
+     * @param moves O buffer de movimentos.
+     * @return Uma lista com as casas de destino.
+      */
+    public static List<Position> toPositions(MoveList moves) {
+        List<Position> positions = new ArrayList<>(moves.size());
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+
+            // Mantém apenas uma das promoções para cada destino
+            if (Move.isPromotion(move) && (Move.flags(move) & 3) != 3) continue;
+
+            positions.add(BitboardUtils.positionOf(Move.to(move)));
+        }
+
+        return positions;
+    }
+
+    /**
+     * Gera os movimentos deslizantes percorrendo cada direção casa a casa.
+     * <p>
+     * Implementação de referência usada para validar as tabelas mágicas.
+     * 
+     * @param board O tabuleiro de xadrez.
+     * @param pieceColor A cor da peça que está se movendo.
+     * @param from A posição de origem da peça.
+     * @param directions As direções nas quais a peça pode se mover.
+     * @return Uma lista de posições possíveis para a peça se mover.
+      */
+    public static List<Position> getSlidingMovesByWalking(Board board, Color pieceColor, Position from, Direction[] directions) {
         List<Position> possibleMoves = new ArrayList<>();
 
         // Itera sobre cada direção fornecida
@@ -0,0 +1,127 @@
+package com.chess.websocket;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import com.chess.broadcast.Subscription;
+import com.chess.protocol.GameFrames;
+import com.chess.service.RoomService;
+
+/**
+ * Conexões WebSocket das salas: {@code /ws/rooms/{id}?player=<token>}.
+ * <p>
+ * O parâmetro {@code player} é o token do lugar, recebido ao criar a sala ou
+ * entrar nela pela API; com ele a conexão joga por esse lugar, e sem ele só
+ * assiste. Um token que não é de um lugar da sala tem a conexão fechada. Ao
+ * conectar, a conexão recebe um {@link GameFrames#SNAPSHOT}; depois disso recebe
+ * um {@link GameFrames#MOVE} por lance, envia {@link GameFrames#MOVE_REQUEST}
+ * para jogar e {@link GameFrames#RESYNC_REQUEST} para receber de novo o
+ * tabuleiro inteiro. Desconectar não tira o jogador da sala: ele pode reconectar
+ * com o mesmo token.
+ * <p>
+ * Todos os envios passam pela inscrição da conexão ({@link Subscription}), que
+ * os faz fora das threads que recebem os quadros e jogam os lances.
+ */
+@Component
+public class GameSocketHandler extends BinaryWebSocketHandler {
+
+    private static final String TOKEN = "chess.token";
+    private static final String SUBSCRIPTION = "chess.subscription";
+
+    private final RoomService roomService;
+    private final RoomBroadcaster broadcaster;
+
+    public GameSocketHandler(RoomService roomService, RoomBroadcaster broadcaster) {
+        this.roomService = roomService;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        long roomId;
+        String token;
+        try {
+            roomId = roomIdOf(session.getUri());
+            token = queryParameter(session.getUri(), "player");
+            if (token != null) roomService.enter(roomId, token);
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+            return;
+        }
+
+        Subscription subscription = broadcaster.subscribe(roomId, session, token != null);
+        if (token != null) session.getAttributes().put(TOKEN, token);
+        session.getAttributes().put(SUBSCRIPTION, subscription);
+        try {
+            roomService.resync(roomId, subscription);
+        } catch (IllegalArgumentException e) {
+            // A sala foi removida entre a entrada e a inscrição
+            subscription.close();
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        Subscription subscription = (Subscription) session.getAttributes().get(SUBSCRIPTION);
+        if (subscription == null || subscription.isClosed()) return;
+
+        long roomId = subscription.getRoomId();
+        ByteBuffer payload = message.getPayload();
+        try {
+            switch (payload.remaining() == 0 ? 0 : payload.get(payload.position())) {
+                // O quadro do lance chega a todos, inclusive a quem jogou, pelo RoomService
+                case GameFrames.MOVE_REQUEST -> roomService.move(roomId,
+                    (String) session.getAttributes().get(TOKEN), GameFrames.readMoveRequest(payload));
+                case GameFrames.RESYNC_REQUEST -> roomService.resync(roomId, subscription);
+                default -> throw new IllegalArgumentException("Quadro desconhecido.");
+            }
+        } catch (IllegalArgumentException e) {
+            subscription.send(error(e.getMessage()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Subscription subscription = (Subscription) session.getAttributes().get(SUBSCRIPTION);
+        if (subscription != null) subscription.close();
+    }
+
+    private static ByteBuffer error(String message) {
+        String text = message == null ? "Erro" : message;
+        ByteBuffer frame = ByteBuffer.allocate(GameFrames.errorSize(text));
+        GameFrames.writeError(frame, text);
+        return frame.flip();
+    }
+
+    private static long roomIdOf(URI uri) {
+        String path = uri == null ? "" : uri.getPath();
+        try {
+            return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Sala inválida: " + path);
+        }
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri == null ? null : uri.getRawQuery();
+        if (query == null) return null;
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                String value = URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.chess.websocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.chess.broadcast.FanOut;
+import com.chess.broadcast.FanOutMetrics;
+import com.chess.broadcast.FrameSink;
+import com.chess.broadcast.Subscription;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Conexões WebSocket inscritas em cada sala e distribuição dos quadros a elas
+ * (ver {@link FanOut}).
+ */
+@Component
+public class RoomBroadcaster {
+
+    private final FanOut fanOut;
+
+    public RoomBroadcaster(@Value("${chess.ws.max-pending-frames:256}") int maxPendingFrames) {
+        this.fanOut = new FanOut(maxPendingFrames);
+    }
+
+    /**
+     * Inscreve a conexão na sala; ela passa a receber quadros depois do primeiro
+     * {@link Subscription#resync}.
+     *
+     * @param player {@code true} se a conexão é de um jogador da sala.
+     */
+    public Subscription subscribe(long roomId, WebSocketSession session, boolean player) {
+        return fanOut.subscribe(roomId, new SessionSink(session), player);
+    }
+
+    /**
+     * Publica o quadro para todas as conexões da sala, sem esperar os envios.
+     *
+     * @param coalescible {@code true} para quadros que podem ser omitidos quando há um posterior (relógios).
+     */
+    public void publish(long roomId, ByteBuffer frame, boolean coalescible) {
+        fanOut.publish(roomId, frame, coalescible);
+    }
+
+    public FanOutMetrics getMetrics() {
+        return fanOut.getMetrics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.close();
+    }
+
+    /**
+     * Envio dos quadros pela sessão WebSocket.
+     */
+    private static class SessionSink implements FrameSink {
+
+        private final WebSocketSession session;
+
+        SessionSink(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void send(ByteBuffer frame) throws IOException {
+            session.sendMessage(new BinaryMessage(frame));
+        }
+
+        @Override
+        public void close(String reason) {
+            try {
+                session.close(reason == null
+                    ? CloseStatus.SESSION_NOT_RELIABLE
+                    : CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+            } catch (IOException e) {
+                // A conexão já está perdida
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.chess.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registro dos endpoints WebSocket.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final GameSocketHandler gameSocketHandler;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(GameSocketHandler gameSocketHandler,
+                           @Value("${chess.ws.allowed-origins:http://localhost:4200}") String[] allowedOrigins) {
+        this.gameSocketHandler = gameSocketHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(gameSocketHandler, "/ws/rooms/*").setAllowedOrigins(allowedOrigins);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.chess.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.pgn.ImportedGame;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Livro de aberturas: seleção e pesos na montagem, ordem e filtro de lances ilegais na consulta.
+ */
+class OpeningBookTest {
+
+    private static final BitBoard INITIAL = BitBoard.initial();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsMovesPlayedEnoughTimesAndWeighsResults() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2, 2);
+        add(builder, 3, "1-0", "e2e4", "e7e5");
+        add(builder, 2, "1/2-1/2", "d2d4");
+        // Uma partida só, lances que só perderam e partidas sem resultado ficam de fora
+        add(builder, 1, "1-0", "c2c4");
+        add(builder, 2, "0-1", "g1f3");
+        add(builder, 5, "*", "b2b3");
+        assertEquals(8, builder.getGames());
+        assertEquals(5, builder.getSkipped());
+
+        OpeningBook book = OpeningBook.open(write(builder));
+        // e7e5 só aparece em derrotas das pretas
+        assertEquals(2, book.size());
+        List<BookMove> moves = book.probe(INITIAL);
+        assertEquals(2, moves.size());
+        assertEquals("e2e4", moves.get(0).getMove());
+        assertEquals(6, moves.get(0).getWeight());
+        assertEquals(3, moves.get(0).getGames());
+        assertEquals("d2d4", moves.get(1).getMove());
+        assertEquals(2, moves.get(1).getWeight());
+        assertEquals(List.of(), book.probe(after("e2e4")));
+    }
+
+    @Test
+    void scalesWeightsThatOverflowSixteenBits() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(1, 1);
+        add(builder, 40_000, "1-0", "e2e4");
+        add(builder, 20_000, "1/2-1/2", "d2d4");
+
+        List<BookMove> moves = OpeningBook.open(write(builder)).probe(INITIAL);
+        // 80000 e 20000 pontos, reduzidos na mesma proporção
+        assertEquals(0xFFFF, moves.get(0).getWeight());
+        assertEquals(20_000L * 0xFFFF / 80_000, moves.get(1).getWeight());
+        assertEquals(40_000, moves.get(0).getGames());
+    }
+
+    @Test
+    void probeSortsByWeightAndDropsIllegalMoves() throws IOException {
+        // Arquivo de outra ferramenta: fora da ordem de peso e com um lance das pretas na posição inicial
+        long key = INITIAL.getKey();
+        long other = after("e2e4").getKey();
+        long[][] records = {
+            {key, move(INITIAL, "g1f3"), 5},
+            {key, move(after("e2e4"), "e7e5"), 50},
+            {key, move(INITIAL, "e2e4"), 30},
+            {key, move(INITIAL, "d2d4"), 10},
+        };
+        Path file = directory.resolve("manual.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            // A chave menor, sem sinal, vem antes
+            boolean otherFirst = Long.compareUnsigned(other, key) < 0;
+            if (otherFirst) record(out, other, move(after("e2e4"), "e7e5"), 7);
+            for (long[] record : records) {
+                record(out, record[0], (int) record[1], (int) record[2]);
+            }
+            if (!otherFirst) record(out, other, move(after("e2e4"), "e7e5"), 7);
+        }
+
+        OpeningBook book = OpeningBook.open(file);
+        List<BookMove> moves = book.probe(INITIAL);
+        assertEquals(List.of("e2e4", "d2d4", "g1f3"), moves.stream().map(BookMove::getMove).toList());
+        assertEquals(List.of("e7e5"), book.probe(after("e2e4")).stream().map(BookMove::getMove).toList());
+
+        // O sorteio só devolve lances legais
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100; i++) {
+            int picked = book.pick(INITIAL, random);
+            assertNotEquals(move(after("e2e4"), "e7e5"), picked);
+            assertTrue(legal(INITIAL).contains(picked));
+        }
+    }
+
+    private Path write(OpeningBookBuilder builder) throws IOException {
+        Path file = directory.resolve("book.bin");
+        builder.write(file);
+        return file;
+    }
+
+    private static void add(OpeningBookBuilder builder, int count, String result, String... notations) {
+        BitBoard board = new BitBoard(INITIAL);
+        int[] moves = new int[notations.length];
+        for (int i = 0; i < notations.length; i++) {
+            moves[i] = move(board, notations[i]);
+            board.makeMove(moves[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            builder.accept(new ImportedGame(i, Map.of(), null, moves, result));
+        }
+    }
+
+    private static void record(DataOutputStream out, long key, int move, int weight) throws IOException {
+        out.writeLong(key);
+        out.writeShort(move);
+        out.writeShort(weight);
+        out.writeInt(1);
+    }
+
+    private static BitBoard after(String notation) {
+        BitBoard board = new BitBoard(INITIAL);
+        board.makeMove(move(board, notation));
+        return board;
+    }
+
+    private static MoveList legal(BitBoard board) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        return moves;
+    }
+
+    private static int move(BitBoard board, String notation) {
+        MoveList moves = legal(board);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(notation)) return moves.get(i);
+        }
+        throw new IllegalArgumentException(notation);
+    }
+
+}
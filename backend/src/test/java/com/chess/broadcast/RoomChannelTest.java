@@ -0,0 +1,53 @@
+package com.chess.broadcast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Anel de lances do canal: volta ao início e sequência entre lances e relógios.
+ */
+class RoomChannelTest {
+
+    @Test
+    void ringWrapsAndForgetsOverwrittenFrames() {
+        RoomChannel channel = new RoomChannel(4);
+        for (int i = 0; i < 6; i++) {
+            channel.publish(frame(i), false);
+        }
+        assertEquals(6, channel.head());
+        assertEquals(5, channel.lastSequence());
+
+        // As posições 0 e 1 foram sobrescritas pelas 4 e 5, que ocupam as mesmas casas
+        assertNull(channel.frame(0));
+        assertNull(channel.frame(1));
+        for (long position = 2; position < 6; position++) {
+            RoomChannel.Frame frame = channel.frame(position);
+            assertEquals(position, frame.index);
+            assertEquals(position, frame.buffer.get(0));
+        }
+    }
+
+    @Test
+    void keepsOnlyTheLatestCoalescibleFrame() {
+        RoomChannel channel = new RoomChannel(4);
+        channel.publish(frame(0), true);
+        channel.publish(frame(1), false);
+        channel.publish(frame(2), true);
+
+        // Relógios não ocupam o anel, mas contam na sequência
+        assertEquals(1, channel.head());
+        RoomChannel.Frame latest = channel.latest();
+        assertEquals(2, latest.index);
+        assertEquals(2, latest.sequence);
+        assertEquals(1, channel.frame(0).sequence);
+    }
+
+    private static ByteBuffer frame(int value) {
+        return ByteBuffer.wrap(new byte[] {(byte) value});
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.chess.broadcast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Envio pela inscrição de uma conexão lenta: relógios agrupados e fechamento
+ * quando ela fica para trás mais do que o anel comporta.
+ */
+@Timeout(value = 10, unit = TimeUnit.SECONDS)
+class SubscriptionTest {
+
+    private static final byte SNAPSHOT = 0;
+    private static final byte MOVE = 1;
+    private static final byte CLOCK = 2;
+
+    @Test
+    void slowConnectionReceivesEveryMoveAndOnlyTheLastClock() throws Exception {
+        try (FanOut fanOut = new FanOut(16)) {
+            BlockingSink sink = new BlockingSink();
+            Subscription subscription = fanOut.subscribe(1, sink, true);
+            subscription.resync(frame(SNAPSHOT, 0));
+
+            // Enquanto o tabuleiro não sai, chegam três relógios, um lance e mais dois relógios
+            for (int i = 1; i <= 3; i++) fanOut.publish(1, frame(CLOCK, i), true);
+            fanOut.publish(1, frame(MOVE, 1), false);
+            for (int i = 4; i <= 5; i++) fanOut.publish(1, frame(CLOCK, i), true);
+            sink.release.countDown();
+
+            sink.awaitFrames(3);
+            assertEquals(List.of("0:0", "1:1", "2:5"), sink.received);
+            assertEquals(4, fanOut.getMetrics().getCoalesced());
+            assertEquals(0, fanOut.getMetrics().getOverflows());
+        }
+    }
+
+    @Test
+    void clockOlderThanTheLastMoveIsNotSent() throws Exception {
+        try (FanOut fanOut = new FanOut(16)) {
+            BlockingSink sink = new BlockingSink();
+            fanOut.subscribe(1, sink, true).resync(frame(SNAPSHOT, 0));
+
+            fanOut.publish(1, frame(CLOCK, 1), true);
+            fanOut.publish(1, frame(MOVE, 1), false);
+            fanOut.publish(1, frame(MOVE, 2), false);
+            sink.release.countDown();
+
+            sink.awaitFrames(3);
+            Thread.sleep(50);
+            assertEquals(List.of("0:0", "1:1", "1:2"), sink.received);
+            assertEquals(1, fanOut.getMetrics().getCoalesced());
+        }
+    }
+
+    @Test
+    void connectionFarBehindIsClosed() throws Exception {
+        try (FanOut fanOut = new FanOut(4)) {
+            BlockingSink sink = new BlockingSink();
+            Subscription subscription = fanOut.subscribe(1, sink, true);
+            subscription.resync(frame(SNAPSHOT, 0));
+
+            // Seis lances pendentes em um anel de quatro: nenhum pode ser descartado
+            for (int i = 1; i <= 6; i++) fanOut.publish(1, frame(MOVE, i), false);
+            sink.release.countDown();
+
+            assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+            assertNotNull(sink.reason);
+            assertTrue(subscription.isClosed());
+            assertEquals(1, fanOut.getMetrics().getOverflows());
+            assertEquals(0, fanOut.getMetrics().getPlayers());
+            // Nenhum lance chegou fora de ordem ou pela metade
+            for (String frame : sink.received) {
+                assertTrue(frame.equals("0:0"), frame);
+            }
+        }
+    }
+
+    private static ByteBuffer frame(byte type, int value) {
+        return ByteBuffer.wrap(new byte[] {type, (byte) value});
+    }
+
+    /**
+     * Destino que segura o primeiro envio até ser liberado.
+     */
+    private static class BlockingSink implements FrameSink {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        volatile String reason;
+
+        @Override
+        public void send(ByteBuffer frame) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            received.add(frame.get(0) + ":" + frame.get(1));
+        }
+
+        @Override
+        public void close(String reason) {
+            this.reason = reason;
+            closed.countDown();
+        }
+
+        void awaitFrames(int count) throws InterruptedException {
+            while (received.size() < count) Thread.sleep(5);
+        }
+    }
+
+}
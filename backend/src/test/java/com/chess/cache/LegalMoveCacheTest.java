@@ -0,0 +1,78 @@
+package com.chess.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.utils.FenUtils;
+
+/**
+ * Cache de lances legais: descarte do menos usado recentemente e estimativa de memória.
+ */
+class LegalMoveCacheTest {
+
+    // Mesma sobrecarga por entrada usada pelo cache
+    private static final int ENTRY_OVERHEAD = 56;
+
+    private final BitBoard initial = BitBoard.initial();
+    private final BitBoard e4 = FenUtils.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+    private final BitBoard d4 = FenUtils.parse("rnbqkbnr/pppppppp/8/8/3P4/8/PPP1PPPP/RNBQKBNR b KQkq - 0 1");
+
+    @Test
+    void evictsTheLeastRecentlyUsedPosition() {
+        LegalMoveCache cache = new LegalMoveCache(2, 1);
+        LegalMoves first = cache.get(initial);
+        LegalMoves afterE4 = cache.get(e4);
+        // Ler a posição inicial a torna a mais recente: e4 é a descartada
+        assertSame(first, cache.get(initial));
+        cache.get(d4);
+
+        MoveCacheMetrics metrics = cache.getMetrics();
+        assertEquals(2, metrics.getSize());
+        assertEquals(1, metrics.getEvictions());
+        assertEquals(1, metrics.getHits());
+        assertEquals(3, metrics.getMisses());
+
+        assertSame(first, cache.get(initial));
+        assertNotSame(afterE4, cache.get(e4));
+        assertEquals(2, cache.getMetrics().getEvictions());
+        assertEquals(20, first.size());
+    }
+
+    @Test
+    void estimatedBytesFollowInsertsEvictionsAndClear() {
+        LegalMoveCache cache = new LegalMoveCache(2, 1);
+        long initialBytes = ENTRY_OVERHEAD + cache.get(initial).estimatedBytes();
+        long e4Bytes = ENTRY_OVERHEAD + cache.get(e4).estimatedBytes();
+        assertEquals(initialBytes + e4Bytes, cache.getMetrics().getEstimatedBytes());
+
+        // A posição inicial sai; a estimativa desconta exatamente o que ela somou
+        long d4Bytes = ENTRY_OVERHEAD + cache.get(d4).estimatedBytes();
+        assertEquals(e4Bytes + d4Bytes, cache.getMetrics().getEstimatedBytes());
+        // Um acerto não soma nada
+        cache.get(d4);
+        assertEquals(e4Bytes + d4Bytes, cache.getMetrics().getEstimatedBytes());
+
+        cache.clear();
+        MoveCacheMetrics metrics = cache.getMetrics();
+        assertEquals(0, metrics.getSize());
+        assertEquals(0, metrics.getEstimatedBytes());
+        // Os contadores continuam
+        assertEquals(1, metrics.getHits());
+        assertEquals(1, metrics.getEvictions());
+    }
+
+    @Test
+    void capacityIsSplitAcrossShards() {
+        LegalMoveCache cache = new LegalMoveCache(10, 3);
+        // Quatro fatias de três entradas
+        assertEquals(4, cache.getMetrics().getShards());
+        assertEquals(12, cache.getMetrics().getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new LegalMoveCache(2, 4));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.chess.clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+
+/**
+ * Relógio da partida: atraso antes de descontar, acréscimo a cada lance e queda da bandeira.
+ */
+class GameClockTest {
+
+    @Test
+    void moveWithinTheDelayCostsNothingAndEarnsTheIncrement() throws Exception {
+        try (ClockScheduler scheduler = new ClockScheduler()) {
+            GameClock clock = new GameClock(scheduler, new TimeControl(1_000, 500, 2_000), 1_000, 1_000, () -> { });
+            clock.start(Color.WHITE);
+            Thread.sleep(50);
+            clock.press();
+
+            // Dentro do atraso nada é descontado, e o acréscimo entra inteiro
+            assertEquals(1_500, clock.getRemaining(Color.WHITE));
+            assertEquals(1_000, clock.getRemaining(Color.BLACK));
+            assertEquals(Color.BLACK, clock.getRunning());
+        }
+    }
+
+    @Test
+    void timeIsChargedOnlyAfterTheDelay() throws Exception {
+        try (ClockScheduler scheduler = new ClockScheduler()) {
+            GameClock clock = new GameClock(scheduler, new TimeControl(10_000, 0, 100), 10_000, 10_000, () -> { });
+            long start = scheduler.now();
+            clock.start(Color.WHITE);
+            Thread.sleep(300);
+            clock.stop();
+            long elapsed = scheduler.now() - start;
+
+            long charged = 10_000 - clock.getRemaining(Color.WHITE);
+            assertTrue(charged >= 200 - 5 && charged <= elapsed - 100, "descontado " + charged);
+            assertNull(clock.getRunning());
+        }
+    }
+
+    @Test
+    void flagFallsAfterDelayPlusRemainingTime() throws Exception {
+        try (ClockScheduler scheduler = new ClockScheduler()) {
+            CountDownLatch flagged = new CountDownLatch(1);
+            GameClock clock = new GameClock(scheduler, new TimeControl(100, 0, 100), 100, 100, flagged::countDown);
+            long start = scheduler.now();
+            clock.start(Color.BLACK);
+            assertFalse(clock.isFlagged());
+
+            assertTrue(flagged.await(5, TimeUnit.SECONDS));
+            assertTrue(scheduler.now() - start >= 200);
+            assertTrue(clock.isFlagged());
+            assertEquals(0, clock.getRemaining(Color.BLACK));
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.chess.clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Roda de tempo: cada prazo vence exatamente no seu tick, inclusive depois de
+ * descer pelos níveis e além do alcance da roda.
+ */
+class TimingWheelTest {
+
+    // Voltas completas da roda principal e de cada nível (256, 256 * 64, 256 * 64 * 64)
+    private static final long ROOT_TURN = 1L << 8;
+    private static final long LEVEL1_TURN = 1L << 14;
+    private static final long LEVEL2_TURN = 1L << 20;
+    private static final long MAX_DELTA = (1L << 26) - 1;
+
+    @Test
+    void deadlinesAcrossLevelBoundariesFireOnTheirTick() {
+        long[] deadlines = {
+            1, ROOT_TURN - 1, ROOT_TURN, ROOT_TURN + 1, 2 * ROOT_TURN + 7,
+            LEVEL1_TURN - 1, LEVEL1_TURN, LEVEL1_TURN + 1, 3 * LEVEL1_TURN + ROOT_TURN + 5,
+            LEVEL2_TURN - 1, LEVEL2_TURN, LEVEL2_TURN + ROOT_TURN + 1
+        };
+        TimingWheel wheel = new TimingWheel(0);
+        List<Timeout> timeouts = new ArrayList<>();
+        for (long deadline : deadlines) {
+            Timeout timeout = new Timeout(() -> { });
+            wheel.schedule(timeout, deadline);
+            timeouts.add(timeout);
+        }
+        assertEquals(deadlines.length, wheel.size());
+
+        List<Timeout> expired = new ArrayList<>();
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(0, wheel.advance(deadlines[i] - 1, expired), "antes de " + deadlines[i]);
+            assertEquals(1, wheel.advance(deadlines[i], expired), "em " + deadlines[i]);
+            assertSame(timeouts.get(i), expired.get(i));
+            assertFalse(timeouts.get(i).isScheduled());
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBeyondTheWheelIsRescheduled() {
+        TimingWheel wheel = new TimingWheel(1000);
+        Timeout far = new Timeout(() -> { });
+        long deadline = 1000 + MAX_DELTA + 12_345;
+        wheel.schedule(far, deadline);
+
+        List<Timeout> expired = new ArrayList<>();
+        assertEquals(0, wheel.advance(1000 + MAX_DELTA, expired));
+        assertTrue(far.isScheduled());
+        assertEquals(0, wheel.advance(deadline - 1, expired));
+        assertEquals(1, wheel.advance(deadline, expired));
+        assertSame(far, expired.get(0));
+    }
+
+    @Test
+    void rescheduleCancelAndPastDeadlines() {
+        TimingWheel wheel = new TimingWheel(0);
+        Timeout moved = new Timeout(() -> { });
+        Timeout cancelled = new Timeout(() -> { });
+        wheel.schedule(moved, 50_000);
+        wheel.schedule(cancelled, 10);
+        // Reagendar não conta o prazo duas vezes
+        wheel.schedule(moved, 20);
+        assertEquals(2, wheel.size());
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<Timeout> expired = new ArrayList<>();
+        assertEquals(1, wheel.advance(100, expired));
+        assertSame(moved, expired.get(0));
+
+        // Prazo já passado vence no próximo avanço
+        Timeout late = new Timeout(() -> { });
+        wheel.schedule(late, 3);
+        assertEquals(1, wheel.advance(101, expired));
+        assertEquals(0, wheel.size());
+    }
+
+}
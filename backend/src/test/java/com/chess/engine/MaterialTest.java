@@ -0,0 +1,107 @@
+package com.chess.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.board.MaterialKey;
+import com.chess.entity.piece.PieceType;
+import com.chess.utils.FenUtils;
+
+/**
+ * Análise do material pela chave: material insuficiente, fase, escala e finais
+ * com avaliação própria.
+ */
+class MaterialTest {
+
+    @Test
+    void recognizesInsufficientMaterial() {
+        for (String signature : new String[] {"KK", "KBK", "KKN", "KNKB", "KBKB", "KNNK"}) {
+            assertTrue(Material.of(MaterialKey.of(signature)).isInsufficient(), signature);
+        }
+        for (String signature : new String[] {"KPK", "KRK", "KQK", "KBBK", "KBNK", "KNKP"}) {
+            assertFalse(Material.of(MaterialKey.of(signature)).isInsufficient(), signature);
+        }
+    }
+
+    @Test
+    void insufficientMaterialEvaluatesAsDraw() {
+        assertEquals(0, Evaluation.evaluate(FenUtils.parse("8/8/3k4/8/8/2NK4/8/8 w - - 0 1")));
+        assertEquals(0, Evaluation.evaluate(FenUtils.parse("8/8/3k4/3b4/8/2NK4/8/8 b - - 0 1")));
+    }
+
+    @Test
+    void phaseFollowsTheMaterial() {
+        assertEquals(Material.MAX_PHASE, Material.of(MaterialKey.of("KQRRBBNNPPPPPPPPKQRRBBNNPPPPPPPP")).getPhase());
+        assertEquals(0, Material.of(MaterialKey.of("KPPKP")).getPhase());
+        assertEquals(4, Material.of(MaterialKey.of("KRKBN")).getPhase());
+        // Promoções não passam do máximo
+        assertEquals(Material.MAX_PHASE, Material.of(MaterialKey.of("KQQQRRBBNNKQRRBBNN")).getPhase());
+    }
+
+    @Test
+    void bishopPairBonusKeepsTheSign() {
+        Material white = Material.of(MaterialKey.of("KBBKBN"));
+        Material black = Material.of(MaterialKey.of("KBNKBB"));
+        assertTrue(white.getMiddlegameBonus() > 0 && white.getEndgameBonus() > 0);
+        assertEquals(-white.getMiddlegameBonus(), black.getMiddlegameBonus());
+        assertEquals(-white.getEndgameBonus(), black.getEndgameBonus());
+        assertEquals(0, Material.of(MaterialKey.of("KBBKBB")).getMiddlegameBonus());
+    }
+
+    @Test
+    void scalesDrawishAdvantages() {
+        Material rookAgainstBishop = Material.of(MaterialKey.of("KRKB"));
+        assertTrue(rookAgainstBishop.getScale(Color.WHITE) < Material.NORMAL_SCALE);
+        assertEquals(0, rookAgainstBishop.getScale(Color.BLACK));
+
+        // Com peões, ou contra o rei sozinho, a vantagem conta inteira
+        assertEquals(Material.NORMAL_SCALE, Material.of(MaterialKey.of("KRPKB")).getScale(Color.WHITE));
+        assertEquals(Material.NORMAL_SCALE, Material.of(MaterialKey.of("KRK")).getScale(Color.WHITE));
+    }
+
+    @Test
+    void recognizesSpecialistEndgames() {
+        Material rook = Material.of(MaterialKey.of("KKR"));
+        assertSame(Material.Specialist.BARE_KING, rook.getSpecialist());
+        assertSame(Color.BLACK, rook.getStrongSide());
+
+        Material bishopKnight = Material.of(MaterialKey.of("KBNK"));
+        assertSame(Material.Specialist.BISHOP_KNIGHT, bishopKnight.getSpecialist());
+        assertSame(Color.WHITE, bishopKnight.getStrongSide());
+
+        // Dois cavalos não forçam o mate; com peões ou peças dos dois lados, avaliação normal
+        for (String signature : new String[] {"KNNK", "KRPK", "KRKN"}) {
+            assertSame(Material.Specialist.NONE, Material.of(MaterialKey.of(signature)).getSpecialist(), signature);
+            assertNull(Material.of(MaterialKey.of(signature)).getStrongSide(), signature);
+        }
+    }
+
+    @Test
+    void keyCountsEachPiece() {
+        long key = MaterialKey.of("KQRRPPPKNBP");
+        assertEquals(1, MaterialKey.count(key, PieceType.QUEEN, Color.WHITE));
+        assertEquals(2, MaterialKey.count(key, PieceType.ROOK, Color.WHITE));
+        assertEquals(3, MaterialKey.count(key, PieceType.PAWN, Color.WHITE));
+        assertEquals(1, MaterialKey.count(key, PieceType.KNIGHT, Color.BLACK));
+        assertEquals(1, MaterialKey.count(key, PieceType.PAWN, Color.BLACK));
+        assertEquals(0, MaterialKey.count(key, PieceType.QUEEN, Color.BLACK));
+        assertEquals(key, MaterialKey.of("KPRPQRPKPBN"));
+    }
+
+    @Test
+    void rejectsInvalidSignatures() {
+        assertThrows(IllegalArgumentException.class, () -> MaterialKey.of(null));
+        assertThrows(IllegalArgumentException.class, () -> MaterialKey.of("QK"));
+        assertThrows(IllegalArgumentException.class, () -> MaterialKey.of("KQ"));
+        assertThrows(IllegalArgumentException.class, () -> MaterialKey.of("KXK"));
+        assertThrows(IllegalArgumentException.class, () -> MaterialKey.of("KKK"));
+    }
+
+}
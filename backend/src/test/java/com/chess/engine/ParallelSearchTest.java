@@ -0,0 +1,126 @@
+package com.chess.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Busca paralela: resultado, parada de outra thread e geração da tabela.
+ */
+class ParallelSearchTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void helpersAgreeOnForcedMate() {
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), executor);
+        SearchResult result = search.search(FenUtils.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), SearchLimits.depth(5), 4);
+        assertEquals("a1a8", result.getBestMove());
+        assertEquals(1, result.getMateIn());
+    }
+
+    @Test
+    void stopFromAnotherThreadEndsSearch() throws Exception {
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), executor);
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResult> pending = caller.submit(() -> search.search(board, SearchLimits.depth(60), 2));
+            Thread.sleep(200);
+            search.stop();
+            SearchResult result = pending.get(5, TimeUnit.SECONDS);
+            assertNotNull(result.getBestMove());
+            assertTrue(result.getDepth() < 60);
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void stopBeforeStartReturnsImmediately() {
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), executor);
+        search.stop();
+        SearchResult result = search.search(BitBoard.initial(), SearchLimits.depth(60), 2);
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getDepth() < 60);
+
+        // O pedido vale só para uma busca
+        SearchResult next = search.search(BitBoard.initial(), SearchLimits.depth(3), 2);
+        assertEquals(3, next.getDepth());
+    }
+
+    @Test
+    void interruptedSearchDoesNotLeaveHelpersBehind() throws Exception {
+        // Executor que guarda as tarefas recebidas, com a única thread ocupada: a auxiliar fica na fila
+        List<Future<?>> submitted = new CopyOnWriteArrayList<>();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            protected <T> RunnableFuture<T> newTaskFor(Callable<T> task) {
+                RunnableFuture<T> future = super.newTaskFor(task);
+                submitted.add(future);
+                return future;
+            }
+        };
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            ParallelSearch search = new ParallelSearch(new TranspositionTable(4), pool);
+            Thread.currentThread().interrupt();
+            assertThrows(IllegalStateException.class, () -> search.search(BitBoard.initial(), SearchLimits.depth(2), 2));
+            assertTrue(Thread.interrupted());
+
+            // Ao retornar, nenhuma auxiliar pode estar rodando nem esperando para rodar
+            assertEquals(1, submitted.size());
+            assertTrue(submitted.get(0).isDone());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotAgeTheSharedTable() {
+        TranspositionTable table = new TranspositionTable(4);
+        new ParallelSearch(table, executor).search(BitBoard.initial(), SearchLimits.depth(4), 2);
+        double fill = table.getFillRate();
+        new ParallelSearch(table, executor).search(BitBoard.initial(), SearchLimits.depth(1), 1);
+
+        // As entradas continuam na geração atual
+        assertTrue(fill > 0);
+        assertTrue(table.getFillRate() >= fill);
+    }
+
+}
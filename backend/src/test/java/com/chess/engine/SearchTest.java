@@ -0,0 +1,86 @@
+package com.chess.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.MoveList;
+import com.chess.perft.Perft;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Busca alfa-beta: mates, limites e quiescência em xeque.
+ */
+class SearchTest {
+
+    @Test
+    void findsMateInOneAtDepthOne() {
+        // Só a quiescência enxerga que o rei preto não tem evasão depois de Ta8
+        SearchResult result = search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", SearchLimits.depth(1));
+        assertEquals("a1a8", result.getBestMove());
+        assertEquals(1, result.getMateIn());
+    }
+
+    @Test
+    void findsKingAndRookMate() {
+        SearchResult result = search("k7/8/1K6/8/8/8/8/7R w - - 0 1", SearchLimits.depth(4));
+        assertTrue(result.getMateIn() > 0 && result.getMateIn() <= 2, result.toString());
+    }
+
+    @Test
+    void mateOnTheHundredthHalfmoveIsNotADraw() {
+        // Em xeque, as brancas cobrem com Bb1, que descobre o mate da torre no centésimo meio-lance;
+        // a extensão de xeque faz a resposta ser buscada em pvs, e não na quiescência
+        SearchResult result = search("3rkr2/3p1p2/8/8/4B3/4R3/6PP/r6K w - - 99 80", SearchLimits.depth(1));
+        assertEquals("e4b1", result.getBestMove());
+        assertEquals(1, result.getMateIn());
+    }
+
+    @Test
+    void returnsLegalMoveWhenLimitHitsBeforeFirstIteration() {
+        for (PerftPosition position : PerftPosition.values()) {
+            SearchResult result = search(position.getFen(), new SearchLimits(10, 1, SearchLimits.UNLIMITED));
+            assertNotNull(result.getBestMove(), position.name());
+            assertEquals(0, result.getDepth());
+            assertTrue(isLegal(FenUtils.parse(position.getFen()), result.getBestMoveCode()), position.name());
+        }
+    }
+
+    @Test
+    void reportsNoMoveInMateAndStalemate() {
+        SearchResult mate = search("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1", SearchLimits.depth(3));
+        assertNull(mate.getBestMove());
+        SearchResult stalemate = search("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1", SearchLimits.depth(3));
+        assertNull(stalemate.getBestMove());
+        assertEquals(0, stalemate.getScore());
+    }
+
+    @Test
+    void doesNotModifyThePosition() {
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        long key = board.getKey();
+        SearchResult result = new Search(new TranspositionTable(1)).search(board, SearchLimits.depth(4));
+        assertEquals(key, board.getKey());
+        assertTrue(isLegal(board, result.getBestMoveCode()));
+        assertEquals(4, result.getDepth());
+    }
+
+    private static SearchResult search(String fen, SearchLimits limits) {
+        return new Search(new TranspositionTable(1)).search(FenUtils.parse(fen), limits);
+    }
+
+    private static boolean isLegal(BitBoard board, int move) {
+        MoveList moves = new MoveList();
+        Perft.legalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.chess.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Gravação, consulta e substituição da tabela de transposição.
+ */
+class TranspositionTableTest {
+
+    // Chaves com os mesmos 32 bits altos caem no mesmo balde
+    private static final long BUCKET = 0x1234_5678_0000_0000L;
+
+    @Test
+    void storesAndProbesAllFields() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x0F0F_1234_ABCD_9876L;
+        assertEquals(0L, table.probe(key));
+
+        table.store(key, 0x1A2B, -30_500, 17, TranspositionTable.LOWER, -42);
+        long data = table.probe(key);
+        assertEquals(0x1A2B, TranspositionTable.move(data));
+        assertEquals(-30_500, TranspositionTable.score(data));
+        assertEquals(17, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(-42, TranspositionTable.staticEval(data));
+
+        assertEquals(0L, table.probe(key ^ 1));
+        assertEquals(1.0 / 3, table.getHitRate());
+    }
+
+    @Test
+    void sameKeyKeepsMoveWhenNoneGiven() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(BUCKET | 1, 0x0777, 10, 3, TranspositionTable.EXACT, 0);
+        table.store(BUCKET | 1, 0, 20, 5, TranspositionTable.UPPER, 0);
+
+        long data = table.probe(BUCKET | 1);
+        assertEquals(0x0777, TranspositionTable.move(data));
+        assertEquals(20, TranspositionTable.score(data));
+        assertEquals(5, TranspositionTable.depth(data));
+        assertEquals(0, table.getCollisions());
+    }
+
+    @Test
+    void fullBucketReplacesShallowestEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        int[] depths = {10, 1, 2, 3};
+        for (int i = 0; i < depths.length; i++) {
+            table.store(BUCKET | i + 1, 1, 0, depths[i], TranspositionTable.EXACT, 0);
+        }
+        table.store(BUCKET | 9, 1, 0, 5, TranspositionTable.EXACT, 0);
+
+        assertEquals(1, table.getCollisions());
+        assertEquals(0L, table.probe(BUCKET | 2));
+        assertNotEquals(0L, table.probe(BUCKET | 1));
+        assertNotEquals(0L, table.probe(BUCKET | 9));
+    }
+
+    @Test
+    void oldEntriesAreReplacedBeforeDeepOnes() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(BUCKET | 1, 1, 0, 10, TranspositionTable.EXACT, 0);
+        for (int i = 0; i < 3; i++) table.newSearch();
+        for (int i = 2; i <= 4; i++) {
+            table.store(BUCKET | i, 1, 0, i - 1, TranspositionTable.EXACT, 0);
+        }
+        table.store(BUCKET | 9, 1, 0, 5, TranspositionTable.EXACT, 0);
+
+        // Três buscas de idade custam mais que a profundidade 10
+        assertEquals(0L, table.probe(BUCKET | 1));
+        assertNotEquals(0L, table.probe(BUCKET | 2));
+    }
+
+    @Test
+    void clearDropsEntriesAndCounters() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(BUCKET | 1, 1, 0, 1, TranspositionTable.EXACT, 0);
+        table.clear();
+        assertEquals(0, table.getStores());
+        assertEquals(0L, table.probe(BUCKET | 1));
+        assertEquals(0.0, table.getFillRate());
+    }
+
+    @Test
+    void rejectsSizeBelowOneMegabyte() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void concurrentWritersNeverExposeMixedEntries() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    // Poucas chaves disputando poucos baldes; o lance é derivado da chave
+                    long key = (long) random.nextInt(8) << 32 | random.nextInt(64);
+                    int move = (int) (key * 31 + (key >>> 32)) & 0xFFFF | 1;
+                    if (random.nextBoolean()) {
+                        table.store(key, move, (int) key, 4, TranspositionTable.EXACT, 0);
+                    } else {
+                        long data = table.probe(key);
+                        if (data != 0 && (TranspositionTable.move(data) != move
+                            || TranspositionTable.score(data) != (short) key)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(0, mismatches.get());
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.chess.entity.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.piece.Piece;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.FenUtils;
+
+/**
+ * Índices de casa e tabelas pré-calculadas de {@link Position}, {@link Direction}
+ * e {@link BitboardUtils}, comparados com o cálculo por coordenadas.
+ */
+class SquareTablesTest {
+
+    @Test
+    void squareIndexRoundTrip() {
+        for (int square = 0; square < 64; square++) {
+            Position position = Position.at(square);
+            assertEquals(square, position.getSquare());
+            assertEquals(square, position.getRow() * 8 + position.getCol());
+            assertSame(position, Position.at(position.getRow(), position.getCol()));
+            assertSame(position, Position.at(position.toString()));
+            assertSame(position, BitboardUtils.positionOf(square));
+            assertEquals(1L << square, BitboardUtils.squareBit(position));
+        }
+        assertEquals("a8", Position.at(0).toString());
+        assertEquals("h1", Position.at(63).toString());
+        assertNull(Position.at(-1));
+        assertNull(Position.at(64));
+        assertNull(Position.at(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> Position.at("i1"));
+        assertThrows(IllegalArgumentException.class, () -> Position.at("a10"));
+    }
+
+    @Test
+    void directionAndDistanceTables() {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                int dx = (to >>> 3) - (from >>> 3);
+                int dy = (to & 7) - (from & 7);
+                boolean aligned = from != to && (dx == 0 || dy == 0 || Math.abs(dx) == Math.abs(dy));
+                Direction expected = aligned ? Direction.get(Integer.signum(dx), Integer.signum(dy)) : null;
+
+                assertSame(expected, Direction.fromSquares(from, to));
+                assertSame(expected, Direction.get(Position.at(from), Position.at(to)));
+                assertEquals(Math.max(Math.abs(dx), Math.abs(dy)), Position.distance(from, to));
+                assertEquals(Position.distance(from, to) <= 1, Position.at(from).isNear(Position.at(to)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Direction.get(null, Position.at("a1")));
+        assertThrows(IllegalArgumentException.class, () -> Direction.get(0, 0));
+    }
+
+    @Test
+    void nextSquareStopsAtTheEdge() {
+        for (int square = 0; square < 64; square++) {
+            Position position = Position.at(square);
+            for (Direction dir : Direction.getAllDirections()) {
+                Position next = Position.at(position.getRow() + dir.getX(), position.getCol() + dir.getY());
+                assertSame(next, position.getNext(dir));
+                if (next != null) assertEquals(square + dir.getOffset(), next.getSquare());
+            }
+        }
+        for (Direction dir : Direction.getAllDirections()) {
+            assertSame(dir, Direction.getAllDirections()[dir.getIndex()]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Position.at("a1").getNext(null));
+    }
+
+    @Test
+    void betweenAndLineTables() {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                Direction dir = Direction.fromSquares(from, to);
+                long between = 0;
+                long line = 0;
+                if (dir != null) {
+                    // Percorre de 'from' até 'to' e, para a linha, de borda a borda
+                    for (Position p = Position.at(from).getNext(dir); p.getSquare() != to; p = p.getNext(dir)) {
+                        between |= 1L << p.getSquare();
+                    }
+                    Position start = Position.at(from);
+                    Direction back = Direction.get(-dir.getX(), -dir.getY());
+                    while (start.getNext(back) != null) start = start.getNext(back);
+                    for (Position p = start; p != null; p = p.getNext(dir)) {
+                        line |= 1L << p.getSquare();
+                    }
+                }
+                assertEquals(between, BitboardUtils.between(from, to), Position.at(from) + "-" + Position.at(to));
+                assertEquals(line, BitboardUtils.line(from, to), Position.at(from) + "-" + Position.at(to));
+                assertEquals(BitboardUtils.line(from, to), BitboardUtils.line(to, from));
+            }
+        }
+    }
+
+    @Test
+    void neighbourMasks() {
+        for (int square = 0; square < 64; square++) {
+            long king = 0;
+            long knight = 0;
+            for (int to = 0; to < 64; to++) {
+                int dx = Math.abs((to >>> 3) - (square >>> 3));
+                int dy = Math.abs((to & 7) - (square & 7));
+                if (to != square && dx <= 1 && dy <= 1) king |= 1L << to;
+                if (dx * dy == 2) knight |= 1L << to;
+            }
+            assertEquals(king, BitboardUtils.kingAttacks(square), Position.at(square).toString());
+            assertEquals(knight, BitboardUtils.knightAttacks(square), Position.at(square).toString());
+        }
+    }
+
+    @Test
+    void isAttackingMatchesAttackMaps() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            for (int from = 0; from < 64; from++) {
+                Piece piece = board.getPieceAt(from);
+                if (piece == null) continue;
+                long attacks = board.getAttacksFrom(from);
+                for (int to = 0; to < 64; to++) {
+                    if (to == from) continue;
+                    assertEquals((attacks & 1L << to) != 0, piece.isAttacking(board, Position.at(from), Position.at(to)),
+                        position.name() + " " + Position.at(from) + "-" + Position.at(to));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Mapas de ataque incrementais, conferidos com o recálculo completo
+ * ({@link BitBoard#verifyAttackMaps()}) depois de cada alteração.
+ */
+class AttackMapsTest {
+
+    @Test
+    void matchRecomputationAcrossStandardTrees() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            board.verifyAttackMaps();
+            walk(board, 3);
+        }
+    }
+
+    @Test
+    void matchRecomputationAlongRandomGames() {
+        SplittableRandom random = new SplittableRandom(13);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < 200; game++) {
+            BitBoard board = BitBoard.initial();
+            for (int ply = 0; ply < 200; ply++) {
+                moves.clear();
+                LegalMoveGenerator.generate(board, moves);
+                if (moves.size() == 0) break;
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                board.verifyAttackMaps();
+            }
+        }
+    }
+
+    @Test
+    void matchRecomputationAfterEditingSquares() {
+        BitBoard board = BitBoard.initial();
+        board.removePieceAt(Position.at("e2"));
+        board.verifyAttackMaps();
+        assertTrue(board.isSquareAttacked(square("e2"), Color.WHITE));
+
+        // A torre em e4 só dá xeque depois que o peão de e7 sai da coluna
+        board.setPieceAt(Position.at("e4"), Piece.of(PieceType.ROOK, Color.WHITE));
+        board.verifyAttackMaps();
+        assertFalse(board.isInCheck(Color.BLACK));
+        board.removePieceAt(Position.at("e7"));
+        board.verifyAttackMaps();
+        assertTrue(board.isInCheck(Color.BLACK));
+    }
+
+    @Test
+    void attacksFromMatchPieceMoves() {
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        // O cavalo em e5 ataca as oito casas, inclusive as de peças próprias (defendidas)
+        assertEquals(8, Long.bitCount(board.getAttacksFrom(square("e5"))));
+        assertEquals(0L, board.getAttacksFrom(square("a5")));
+    }
+
+    private static void walk(BitBoard board, int depth) {
+        if (depth == 0) return;
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            board.verifyAttackMaps();
+            walk(board, depth - 1);
+            board.unmakeMove(moves.get(i));
+            board.verifyAttackMaps();
+        }
+    }
+
+    private static int square(String notation) {
+        return BitboardUtils.squareOf(Position.at(notation));
+    }
+
+}
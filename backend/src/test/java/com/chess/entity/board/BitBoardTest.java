@@ -0,0 +1,143 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.BitboardUtils;
+import com.chess.utils.FenUtils;
+
+/**
+ * Contrato {@link Board} respondido pelas máscaras de ocupação do tabuleiro.
+ */
+class BitBoardTest {
+
+    @Test
+    void initialPositionMasks() {
+        BitBoard board = BitBoard.initial();
+        assertEquals(0xFFFFL, board.getOccupancy(Color.BLACK));
+        assertEquals(0xFFFFL << 48, board.getOccupancy(Color.WHITE));
+        assertEquals(BitboardUtils.RANK_8 << 8 | BitboardUtils.RANK_8 << 48, board.getPieces(PieceType.PAWN));
+        assertEquals(1L << 60, board.getPieces(PieceType.KING, Color.WHITE));
+        assertEquals(1L << 3, board.getPieces(PieceType.QUEEN, Color.BLACK));
+        assertEquals(Color.WHITE, board.getSideToMove());
+        assertEquals(BitBoard.ALL_CASTLING, board.getCastlingRights());
+        assertNull(board.getEnPassantTarget());
+        assertEquals(-1, board.getEnPassantSquare());
+    }
+
+    @Test
+    void squareQueriesAgreeWithMasks() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            for (int square = 0; square < 64; square++) {
+                Position at = Position.at(square);
+                Piece piece = board.getPieceAt(square);
+                assertSame(piece, board.getPieceAt(at));
+                assertEquals(piece != null, board.hasPieceAt(at));
+                for (Color color : Color.values()) {
+                    boolean expected = piece != null && piece.getColor() == color;
+                    assertEquals(expected, board.hasPieceAt(at, color));
+                    for (PieceType type : PieceType.values()) {
+                        boolean inMask = (board.getPieces(type, color) & 1L << square) != 0;
+                        assertEquals(expected && piece.getType() == type, inMask, position.name() + " " + at);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void nullPositionsAreEmpty() {
+        BitBoard board = BitBoard.initial();
+        assertFalse(board.hasPieceAt(null));
+        assertFalse(board.hasPieceAt(Position.at("e1"), null));
+        assertNull(board.getPieceAt((Position) null));
+        assertThrows(IllegalArgumentException.class, () -> board.isPathClear(null, Position.at("e4")));
+    }
+
+    @Test
+    void pathClearOnlyAlongLines() {
+        BitBoard board = FenUtils.parse("4k3/8/8/3p4/8/8/8/R3K2R w KQ - 0 1");
+        assertTrue(board.isPathClear(Position.at("a1"), Position.at("a8")));
+        assertTrue(board.isPathClear(Position.at("e1"), Position.at("h1")));
+        assertFalse(board.isPathClear(Position.at("a1"), Position.at("h1")));
+        assertTrue(board.isPathClear(Position.at("a2"), Position.at("d5")));
+        assertFalse(board.isPathClear(Position.at("a2"), Position.at("e6")));
+        // Casas vizinhas não têm nada entre elas; casas fora de linha nunca têm caminho
+        assertTrue(board.isPathClear(Position.at("e1"), Position.at("f2")));
+        assertFalse(board.isPathClear(Position.at("a1"), Position.at("b3")));
+        assertFalse(board.isPathClear(Position.at("a1"), Position.at("a1")));
+    }
+
+    @Test
+    void castlingNeedsRightsEmptySquaresAndSafety() {
+        BitBoard board = FenUtils.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        assertTrue(board.canCastleKingSide(Color.WHITE));
+        assertTrue(board.canCastleQueenSide(Color.WHITE));
+        assertTrue(board.canCastleKingSide(Color.BLACK));
+
+        // Sem o direito
+        board.setCastlingRights(BitBoard.WHITE_QUEEN_SIDE | BitBoard.BLACK_KING_SIDE | BitBoard.BLACK_QUEEN_SIDE);
+        assertFalse(board.canCastleKingSide(Color.WHITE));
+        assertTrue(board.canCastleQueenSide(Color.WHITE));
+
+        // Casa entre rei e torre ocupada: no roque longo, b1 também conta
+        board = FenUtils.parse("r3k2r/8/8/8/8/8/8/RN2K2R w KQkq - 0 1");
+        assertFalse(board.canCastleQueenSide(Color.WHITE));
+        assertTrue(board.canCastleKingSide(Color.WHITE));
+
+        // Casa atravessada atacada (f1 e d1) ou rei em xeque
+        assertFalse(FenUtils.parse("r3k2r/8/8/8/8/8/5r2/R3K2R w KQkq - 0 1").canCastleKingSide(Color.WHITE));
+        board = FenUtils.parse("r3k2r/8/8/8/8/8/3r4/R3K2R w KQkq - 0 1");
+        assertFalse(board.canCastleQueenSide(Color.WHITE));
+        assertTrue(board.canCastleKingSide(Color.WHITE));
+        board = FenUtils.parse("r3k2r/8/8/8/8/5n2/8/R3K2R w KQkq - 0 1");
+        assertFalse(board.canCastleKingSide(Color.WHITE));
+        assertFalse(board.canCastleQueenSide(Color.WHITE));
+
+        // A torre atravessa b1, que pode estar atacada
+        assertTrue(FenUtils.parse("1r2k2r/8/8/8/8/8/8/R3K2R w KQk - 0 1").canCastleQueenSide(Color.WHITE));
+    }
+
+    @Test
+    void editingUpdatesTheMasks() {
+        BitBoard board = BitBoard.initial();
+        Piece removed = board.removePieceAt(Position.at("e2"));
+        assertEquals(PieceType.PAWN, removed.getType());
+        assertEquals(Color.WHITE, removed.getColor());
+        assertFalse(board.hasPieceAt(Position.at("e2")));
+        assertNull(board.removePieceAt(Position.at("e4")));
+
+        // Substituir uma peça tira a anterior de todas as máscaras
+        board.setPieceAt(Position.at("d8"), Piece.of(PieceType.KNIGHT, Color.WHITE));
+        assertEquals(0, board.getPieces(PieceType.QUEEN, Color.BLACK));
+        assertTrue(board.hasPieceAt(Position.at("d8"), Color.WHITE));
+        assertFalse(board.hasPieceAt(Position.at("d8"), Color.BLACK));
+        assertEquals(3, Long.bitCount(board.getPieces(PieceType.KNIGHT, Color.WHITE)));
+        assertThrows(IllegalArgumentException.class, () -> board.setPieceAt(Position.at("a3"), null));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        BitBoard copy = new BitBoard(board);
+        assertEquals(FenUtils.toFen(board), FenUtils.toFen(copy));
+        assertEquals(board.getKey(), copy.getKey());
+
+        copy.removePieceAt(Position.at("e1"));
+        assertTrue(board.hasPieceAt(Position.at("e1"), Color.WHITE));
+        assertEquals(PerftPosition.KIWIPETE.getFen(), FenUtils.toFen(board));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.piece.Piece;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Somas de peça e casa e chave de material mantidas pelo tabuleiro a cada lance.
+ */
+class IncrementalScoreTest {
+
+    @Test
+    void incrementalSumsMatchFullComputation() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            assertMatches(board, position.name());
+
+            // Partidas aleatórias, conferindo as somas depois de cada lance e de cada desfazer
+            for (int game = 0; game < 20; game++) {
+                int[] played = new int[80];
+                int ply = 0;
+                MoveList moves = new MoveList();
+                for (; ply < played.length; ply++) {
+                    moves.clear();
+                    LegalMoveGenerator.generate(board, moves);
+                    if (moves.size() == 0) break;
+                    played[ply] = moves.get(random.nextInt(moves.size()));
+                    board.makeMove(played[ply]);
+                    assertMatches(board, position.name() + " após " + Move.toString(played[ply]));
+                }
+                while (ply-- > 0) {
+                    board.unmakeMove(played[ply]);
+                    assertMatches(board, position.name() + " ao desfazer " + Move.toString(played[ply]));
+                }
+                assertEquals(position.getFen(), FenUtils.toFen(board));
+            }
+        }
+    }
+
+    @Test
+    void initialPositionIsBalanced() {
+        BitBoard board = BitBoard.initial();
+        assertEquals(0, board.getMiddlegameScore());
+        assertEquals(0, board.getEndgameScore());
+        assertEquals(MaterialKey.of("KQRRBBNNPPPPPPPPKQRRBBNNPPPPPPPP"), board.getMaterialKey());
+    }
+
+    @Test
+    void mirroredPositionNegatesTheScores() {
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        BitBoard mirrored = FenUtils.parse("r3k2r/pppbbppp/2n2q1P/1P2p3/3pn3/BN2PNP1/P1PPQPB1/R3K2R b KQkq - 0 1");
+        assertEquals(-board.getMiddlegameScore(), mirrored.getMiddlegameScore());
+        assertEquals(-board.getEndgameScore(), mirrored.getEndgameScore());
+    }
+
+    @Test
+    void materialKeyIgnoresSquares() {
+        assertEquals(MaterialKey.of("KRPKR"), FenUtils.parse("4k3/r7/8/8/4P3/8/8/R3K3 w - - 0 1").getMaterialKey());
+        assertEquals(MaterialKey.of("KRPKR"), FenUtils.parse("r3k3/8/8/8/8/2P5/8/4K2R b - - 0 1").getMaterialKey());
+    }
+
+    // Confere as somas mantidas pelo tabuleiro com as calculadas casa a casa
+    private static void assertMatches(BitBoard board, String message) {
+        int middlegame = 0;
+        int endgame = 0;
+        long materialKey = 0;
+        for (int square = 0; square < 64; square++) {
+            Piece piece = board.getPieceAt(square);
+            if (piece == null) continue;
+            middlegame += PieceSquareTables.middlegame(piece, square);
+            endgame += PieceSquareTables.endgame(piece, square);
+            materialKey += MaterialKey.unit(piece);
+        }
+        assertEquals(middlegame, board.getMiddlegameScore(), message);
+        assertEquals(endgame, board.getEndgameScore(), message);
+        assertEquals(materialKey, board.getMaterialKey(), message);
+    }
+
+}
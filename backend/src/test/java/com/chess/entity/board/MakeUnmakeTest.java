@@ -0,0 +1,120 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Fazer e desfazer lances devolve exatamente o estado anterior: peças, vez,
+ * roque, en passant, relógios, chaves e somas incrementais.
+ */
+class MakeUnmakeTest {
+
+    @Test
+    void restoresEveryNodeOfStandardPositions() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            String before = snapshot(board);
+            walk(board, 3, new MoveList[4]);
+            assertEquals(before, snapshot(board), position.name());
+        }
+    }
+
+    @Test
+    void restoresCastlingRook() {
+        BitBoard board = FenUtils.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 3 10");
+        assertRoundTrip(board, "e1g1", "r3k2r/8/8/8/8/8/8/R4RK1 b kq - 4 10");
+        assertRoundTrip(board, "e1c1", "r3k2r/8/8/8/8/8/8/2KR3R b kq - 4 10");
+    }
+
+    @Test
+    void restoresEnPassantPawn() {
+        BitBoard board = FenUtils.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+        assertRoundTrip(board, "e5d6", "4k3/8/3P4/8/8/8/8/4K3 b - - 0 2");
+    }
+
+    @Test
+    void restoresCapturedPieceOnPromotion() {
+        BitBoard board = FenUtils.parse("1n2k3/P7/8/8/8/8/8/4K3 w - - 5 40");
+        assertRoundTrip(board, "a7b8q", "1Q2k3/8/8/8/8/8/8/4K3 b - - 0 40");
+        assertRoundTrip(board, "a7a8n", "Nn2k3/8/8/8/8/8/8/4K3 b - - 0 40");
+    }
+
+    @Test
+    void restoresRightsLostByRookCapture() {
+        BitBoard board = FenUtils.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        assertRoundTrip(board, "a1a8", "R3k2r/8/8/8/8/8/8/4K2R b Kk - 0 1");
+    }
+
+    @Test
+    void nullMoveRoundTrip() {
+        BitBoard board = FenUtils.parse("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2");
+        String before = snapshot(board);
+        board.makeNullMove();
+        assertEquals(-1, board.getEnPassantSquare());
+        assertEquals(Color.BLACK, board.getSideToMove());
+        assertNotEquals(before, snapshot(board));
+        board.unmakeNullMove();
+        assertEquals(before, snapshot(board));
+    }
+
+    // Percorre a árvore de lances legais conferindo o estado depois de cada desfazer
+    private static void walk(BitBoard board, int depth, MoveList[] buffers) {
+        if (depth == 0) return;
+        MoveList moves = buffers[depth] == null ? buffers[depth] = new MoveList() : buffers[depth];
+        moves.clear();
+        LegalMoveGenerator.generate(board, moves);
+
+        String before = snapshot(board);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            walk(board, depth - 1, buffers);
+            board.unmakeMove(move);
+            assertEquals(before, snapshot(board), Move.toString(move));
+        }
+    }
+
+    private static void assertRoundTrip(BitBoard board, String notation, String after) {
+        String before = snapshot(board);
+        int move = find(board, notation);
+        board.makeMove(move);
+        assertEquals(after, FenUtils.toFen(board));
+        board.unmakeMove(move);
+        assertEquals(before, snapshot(board), notation);
+    }
+
+    private static int find(BitBoard board, String notation) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(notation)) return moves.get(i);
+        }
+        throw new AssertionError("Lance ilegal: " + notation);
+    }
+
+    // Todo o estado observável do tabuleiro
+    private static String snapshot(BitBoard board) {
+        StringBuilder state = new StringBuilder(FenUtils.toFen(board))
+            .append(' ').append(Long.toHexString(board.getKey()))
+            .append(' ').append(Long.toHexString(board.getMaterialKey()))
+            .append(' ').append(board.getMiddlegameScore())
+            .append(' ').append(board.getEndgameScore())
+            .append(' ').append(board.countRepetitions());
+        for (Color color : Color.values()) {
+            state.append(' ').append(Long.toHexString(board.getAttacks(color)));
+            for (PieceType type : PieceType.values()) {
+                state.append(' ').append(Long.toHexString(board.getPieces(type, color)));
+            }
+        }
+        return state.toString();
+    }
+
+}
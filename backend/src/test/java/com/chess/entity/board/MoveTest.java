@@ -0,0 +1,142 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Position;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.MoveUtils;
+
+/**
+ * Movimentos codificados em {@code int}, buffer reutilizável e os adaptadores
+ * que devolvem listas de posições.
+ */
+class MoveTest {
+
+    @Test
+    void encodesEveryField() {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                for (int flags : new int[] {Move.QUIET, Move.DOUBLE_PAWN_PUSH, Move.CAPTURE, Move.EN_PASSANT}) {
+                    int move = Move.of(from, to, flags);
+                    assertEquals(from, Move.from(move));
+                    assertEquals(to, Move.to(move));
+                    assertEquals(flags, Move.flags(move));
+                    assertTrue(move >= 0 && move <= 0xFFFF);
+                }
+            }
+        }
+        assertTrue(Move.isCapture(Move.of(12, 5, Move.EN_PASSANT)));
+        assertFalse(Move.isCapture(Move.of(52, 36, Move.DOUBLE_PAWN_PUSH)));
+        assertTrue(Move.isCastle(Move.of(60, 62, Move.KING_CASTLE)));
+        assertTrue(Move.isCastle(Move.of(60, 58, Move.QUEEN_CASTLE)));
+        assertFalse(Move.isCastle(Move.of(60, 61, Move.QUIET)));
+    }
+
+    @Test
+    void encodesPromotions() {
+        int a7 = Position.at("a7").getSquare();
+        int a8 = Position.at("a8").getSquare();
+        int b8 = Position.at("b8").getSquare();
+        for (PieceType type : new PieceType[] {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN}) {
+            int quiet = Move.promotion(a7, a8, type, false);
+            int capture = Move.promotion(a7, b8, type, true);
+            assertTrue(Move.isPromotion(quiet) && !Move.isCapture(quiet));
+            assertTrue(Move.isPromotion(capture) && Move.isCapture(capture));
+            assertEquals(type, Move.promotionType(quiet));
+            assertEquals(type, Move.promotionType(capture));
+        }
+        assertEquals("a7a8q", Move.toString(Move.promotion(a7, a8, PieceType.QUEEN, false)));
+        assertEquals("a7b8n", Move.toString(Move.promotion(a7, b8, PieceType.KNIGHT, true)));
+        assertEquals("e2e4", Move.toString(Move.of(52, 36, Move.DOUBLE_PAWN_PUSH)));
+        assertNull(Move.promotionType(Move.of(52, 36, Move.QUIET)));
+        assertThrows(IllegalArgumentException.class, () -> Move.promotion(a7, a8, PieceType.KING, false));
+        assertThrows(IllegalArgumentException.class, () -> Move.promotion(a7, a8, PieceType.PAWN, false));
+    }
+
+    @Test
+    void bufferIsReusedAfterClear() {
+        MoveList moves = new MoveList(4);
+        moves.add(Move.of(1, 2, Move.QUIET));
+        moves.add(Move.of(0, 8, Move.QUIET));
+        moves.add(Move.of(3, 4, Move.CAPTURE));
+        assertEquals(3, moves.size());
+        assertTrue(moves.contains(Move.of(0, 8, Move.QUIET)));
+        assertFalse(moves.contains(Move.of(0, 8, Move.CAPTURE)));
+
+        moves.sort();
+        assertEquals(Move.of(1, 2, Move.QUIET), moves.get(0));
+        moves.truncate(1);
+        assertEquals(1, moves.size());
+        assertFalse(moves.contains(Move.of(3, 4, Move.CAPTURE)));
+
+        moves.clear();
+        assertTrue(moves.isEmpty());
+        for (int i = 0; i < 4; i++) moves.add(Move.of(i, i + 8, Move.QUIET));
+        assertEquals("[a8a7, b8b7, c8c7, d8d7]", moves.toString());
+        assertThrows(IllegalArgumentException.class, () -> new MoveList(0));
+    }
+
+    @Test
+    void generationAppendsToTheBuffer() {
+        BitBoard board = BitBoard.initial();
+        MoveList moves = new MoveList();
+        MoveUtils.generatePseudoLegalMoves(board, moves);
+        assertEquals(20, moves.size());
+
+        // O buffer não é esvaziado pelo gerador
+        Piece knight = board.getPieceAt(Position.at("g1"));
+        knight.generateMoves(board, Position.at("g1").getSquare(), moves);
+        assertEquals(22, moves.size());
+    }
+
+    @Test
+    void positionListsAdaptTheEncodedMoves() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            MoveList moves = new MoveList();
+            for (int square = 0; square < 64; square++) {
+                Piece piece = board.getPieceAt(square);
+                if (piece == null) continue;
+
+                moves.clear();
+                piece.generateMoves(board, square, moves);
+                List<Position> targets = piece.getPossibleMoves(board, Position.at(square));
+
+                // Uma posição por destino, mesmo com as quatro promoções
+                long expected = 0;
+                for (int i = 0; i < moves.size(); i++) {
+                    assertEquals(square, Move.from(moves.get(i)));
+                    expected |= 1L << Move.to(moves.get(i));
+                }
+                long actual = 0;
+                for (Position target : targets) actual |= 1L << target.getSquare();
+                assertEquals(expected, actual, position.name() + " " + Position.at(square));
+                assertEquals(Long.bitCount(expected), targets.size(), position.name() + " " + Position.at(square));
+            }
+        }
+    }
+
+    @Test
+    void promotionsCollapseToOnePosition() {
+        BitBoard board = FenUtils.parse("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        Piece pawn = board.getPieceAt(Position.at("a7"));
+        MoveList moves = new MoveList();
+        pawn.generateMoves(board, Position.at("a7").getSquare(), moves);
+        assertEquals(8, moves.size());
+        assertEquals(2, pawn.getPossibleMoves(board, Position.at("a7")).size());
+        assertTrue(pawn.getPossibleMoves(board, Position.at("a7")).containsAll(List.of(Position.at("a8"), Position.at("b8"))));
+        assertThrows(IllegalArgumentException.class, () -> pawn.getPossibleMoves(null, Position.at("a7")));
+    }
+
+}
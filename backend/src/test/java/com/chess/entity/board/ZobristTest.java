@@ -0,0 +1,135 @@
+package com.chess.entity.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Chave de Zobrist incremental e detecção de repetição.
+ */
+class ZobristTest {
+
+    @Test
+    void incrementalKeyMatchesFullComputation() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            assertEquals(Zobrist.compute(board, board.getCastlingRights()), board.getKey());
+
+            // Partidas aleatórias, conferindo a chave depois de cada lance e de volta ao início
+            for (int game = 0; game < 20; game++) {
+                int[] played = new int[60];
+                long[] keys = new long[60];
+                int ply = 0;
+                MoveList moves = new MoveList();
+                for (; ply < played.length; ply++) {
+                    moves.clear();
+                    LegalMoveGenerator.generate(board, moves);
+                    if (moves.size() == 0) break;
+                    keys[ply] = board.getKey();
+                    played[ply] = moves.get(random.nextInt(moves.size()));
+                    board.makeMove(played[ply]);
+                    assertEquals(Zobrist.compute(board, board.getCastlingRights()), board.getKey(),
+                        position.name() + " após " + Move.toString(played[ply]));
+                }
+                while (ply-- > 0) {
+                    board.unmakeMove(played[ply]);
+                    assertEquals(keys[ply], board.getKey());
+                }
+                assertEquals(position.getFen(), FenUtils.toFen(board));
+            }
+        }
+    }
+
+    @Test
+    void transpositionsShareTheKey() {
+        BitBoard first = BitBoard.initial();
+        play(first, "g1f3", "g8f6", "b1c3", "b8c6");
+        BitBoard second = BitBoard.initial();
+        play(second, "b1c3", "b8c6", "g1f3", "g8f6");
+        assertEquals(first.getKey(), second.getKey());
+    }
+
+    @Test
+    void keyCoversSideCastlingAndEnPassant() {
+        long base = FenUtils.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq - 0 1").getKey();
+        assertNotEquals(base, FenUtils.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R b KQkq - 0 1").getKey());
+        assertNotEquals(base, FenUtils.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kkq - 0 1").getKey());
+        assertNotEquals(base, FenUtils.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1").getKey());
+        // Os relógios não fazem parte da posição
+        assertEquals(base, FenUtils.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq - 7 30").getKey());
+    }
+
+    @Test
+    void parsedPositionMatchesPlayedPosition() {
+        // Depois de 1.e4 nenhum peão preto captura em e3: a casa não entra na chave nem na FEN
+        BitBoard played = BitBoard.initial();
+        play(played, "e2e4");
+        BitBoard parsed = FenUtils.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertEquals(played.getKey(), parsed.getKey());
+        assertEquals(-1, parsed.getEnPassantSquare());
+        assertEquals(FenUtils.toFen(played), FenUtils.toFen(parsed));
+
+        // Com um peão ao lado, a casa é capturável nos dois caminhos
+        played = FenUtils.parse("rnbqkbnr/ppp1pppp/8/8/3p4/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        play(played, "e2e4");
+        parsed = FenUtils.parse("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertEquals(played.getKey(), parsed.getKey());
+        assertEquals(played.getEnPassantSquare(), parsed.getEnPassantSquare());
+        assertEquals(Zobrist.compute(parsed, parsed.getCastlingRights()), parsed.getKey());
+    }
+
+    @Test
+    void detectsThreefoldRepetition() {
+        BitBoard board = BitBoard.initial();
+        play(board, "e2e4", "e7e5");
+        assertEquals(1, board.countRepetitions());
+
+        play(board, "g1f3", "g8f6", "f3g1", "f6g8");
+        assertEquals(2, board.countRepetitions());
+        assertTrue(board.isRepetition());
+        assertFalse(board.isThreefoldRepetition());
+
+        play(board, "g1f3", "g8f6", "f3g1", "f6g8");
+        assertEquals(3, board.countRepetitions());
+        assertTrue(board.isThreefoldRepetition());
+    }
+
+    @Test
+    void irreversibleMoveStartsNewHistory() {
+        BitBoard board = BitBoard.initial();
+        play(board, "g1f3", "g8f6", "f3g1", "f6g8");
+        assertTrue(board.isRepetition());
+
+        // Depois de um lance de peão, as posições anteriores não podem mais se repetir
+        play(board, "e2e4", "g8f6", "g1f3", "f6g8", "f3g1");
+        assertEquals(2, board.countRepetitions());
+        play(board, "b8c6");
+        assertFalse(board.isRepetition());
+    }
+
+    // Joga os lances em notação de coordenadas, que precisam ser legais
+    private static void play(BitBoard board, String... notations) {
+        MoveList moves = new MoveList();
+        for (String notation : notations) {
+            moves.clear();
+            LegalMoveGenerator.generate(board, moves);
+            int move = Move.NONE;
+            for (int i = 0; i < moves.size(); i++) {
+                if (Move.toString(moves.get(i)).equals(notation)) move = moves.get(i);
+            }
+            assertNotEquals(Move.NONE, move, notation);
+            board.makeMove(move);
+        }
+    }
+
+}
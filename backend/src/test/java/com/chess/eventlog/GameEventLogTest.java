@@ -0,0 +1,72 @@
+package com.chess.eventlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Log de eventos: troca de segmento, leitura em ordem e registros gravados pela metade.
+ */
+class GameEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysInOrderAcrossSegments() throws IOException {
+        try (GameEventLog log = new GameEventLog(directory, 4 * GameEvent.SIZE, 1000)) {
+            for (int ply = 1; ply <= 10; ply++) {
+                log.append(GameEvent.move(1, ply, ply, 100 + ply));
+            }
+            assertEquals(2, log.getRotations());
+        }
+        assertEquals(3, segments().size());
+
+        List<Integer> plies = new ArrayList<>();
+        assertEquals(10, GameEventLog.replay(directory, event -> plies.add(event.getFirst())));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), plies);
+    }
+
+    @Test
+    void openSegmentIsReadableWhileWritten() throws IOException {
+        try (GameEventLog log = new GameEventLog(directory, 64 * GameEvent.SIZE, 1000)) {
+            log.append(GameEvent.start(1, 0, 60_000, 0));
+            log.append(GameEvent.move(1, 0, 1, 100));
+            // Sem sincronizar nem fechar: a leitura vê o mesmo mapeamento e para no fim dos dados
+            assertEquals(2, GameEventLog.replay(directory, event -> { }));
+        }
+    }
+
+    @Test
+    void tornRecordEndsTheSegment() throws IOException {
+        try (GameEventLog log = new GameEventLog(directory, 64 * GameEvent.SIZE, 1000)) {
+            log.append(GameEvent.start(1, 0, 0, 0));
+            log.append(GameEvent.move(1, 0, 1, 100));
+            log.append(GameEvent.move(1, 0, 2, 200));
+        }
+        // Uma queda no meio da gravação deixa o segundo registro com o CRC errado
+        Path segment = segments().get(0);
+        byte[] data = Files.readAllBytes(segment);
+        data[GameEvent.SIZE + 4] ^= 1;
+        Files.write(segment, data);
+
+        List<GameEvent> events = new ArrayList<>();
+        assertEquals(1, GameEventLog.replay(directory, events::add));
+        assertEquals(GameEvent.START, events.get(0).getType());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+}
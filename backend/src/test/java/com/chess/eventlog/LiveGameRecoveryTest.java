@@ -0,0 +1,113 @@
+package com.chess.eventlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.chess.entity.base.Color;
+import com.chess.utils.FenUtils;
+
+/**
+ * Recuperação das partidas em andamento a partir de um log dividido: partidas
+ * encerradas e abandonadas não voltam nem são reescritas, e reinícios seguidos
+ * chegam ao mesmo estado sem o log crescer.
+ */
+class LiveGameRecoveryTest {
+
+    private static final int STRIPES = 2;
+    private static final long NOW = 1_000_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversOnlyLiveGamesIntoTheirStripes() throws IOException {
+        GameEventLog[] logs = open();
+        // Partida 2 ativa, 3 encerrada por abandono do jogador, 4 parada desde antes do prazo
+        append(logs, GameEvent.start(2, NOW, 60_000, 0));
+        append(logs, GameEvent.move(2, NOW, 1, 100));
+        append(logs, GameEvent.start(3, NOW, 0, 0));
+        append(logs, GameEvent.resign(3, NOW, Color.WHITE));
+        append(logs, GameEvent.end(3, NOW, GameEvent.BLACK_WINS));
+        append(logs, GameEvent.start(4, NOW - 10_000, 0, 0));
+        close(logs);
+
+        logs = open();
+        LiveGameRecovery recovery = LiveGameRecovery.recover(logs, NOW - 5_000);
+        close(logs);
+
+        assertEquals(List.of(2L), ids(recovery.getGames()));
+        assertEquals(List.of(4L), ids(recovery.getAbandonedGames()));
+        assertEquals(1, recovery.getGames().get(0).getMoveCount());
+
+        // O log reescrito só tem a partida 2, no log dela
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            List<Long> games = new ArrayList<>();
+            GameEventLog.replay(logs[stripe].getDirectory(), event -> games.add(event.getGameId()));
+            assertEquals(stripe == LiveGameRecovery.stripeOf(2, STRIPES) ? List.of(2L, 2L, 2L) : List.of(), games);
+        }
+    }
+
+    @Test
+    void repeatedRestartsKeepTheSameState() throws IOException {
+        Path single = directory.resolve("single");
+        try (GameEventLog log = new GameEventLog(single, 64 * GameEvent.SIZE, 1000)) {
+            // 1.e4 e5, com o relógio depois de cada lance
+            log.append(GameEvent.start(9, NOW, 60_000, 1_000));
+            log.append(GameEvent.move(9, NOW, 1, 6452));
+            log.append(GameEvent.clock(9, NOW, 59_000, 60_000));
+            log.append(GameEvent.move(9, NOW, 2, 5900));
+            log.append(GameEvent.clock(9, NOW, 59_000, 58_500));
+        }
+
+        for (int restart = 0; restart < 3; restart++) {
+            LiveGameRecovery recovery;
+            try (GameEventLog log = new GameEventLog(single, 64 * GameEvent.SIZE, 1000)) {
+                recovery = LiveGameRecovery.recover(log);
+            }
+            RecoveredGame game = recovery.getGames().get(0);
+            assertEquals(2, game.getMoveCount());
+            assertEquals(60_000, game.getInitialMillis());
+            assertEquals(1_000, game.getIncrementMillis());
+            assertEquals(59_000, game.getWhiteMillis());
+            assertEquals(58_500, game.getBlackMillis());
+            assertEquals("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+                FenUtils.toFen(game.toBoard()));
+            // Início, dois lances e o relógio; só o segmento reescrito sobra
+            assertEquals(4, GameEventLog.replay(single, event -> { }));
+        }
+    }
+
+    private GameEventLog[] open() throws IOException {
+        GameEventLog[] logs = new GameEventLog[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            logs[i] = new GameEventLog(directory.resolve(String.valueOf(i)), 64 * GameEvent.SIZE, 1000);
+        }
+        return logs;
+    }
+
+    private static void append(GameEventLog[] logs, GameEvent event) {
+        logs[LiveGameRecovery.stripeOf(event.getGameId(), STRIPES)].append(event);
+    }
+
+    private static void close(GameEventLog[] logs) {
+        for (GameEventLog log : logs) {
+            log.close();
+        }
+    }
+
+    private static List<Long> ids(List<RecoveredGame> games) {
+        List<Long> ids = new ArrayList<>();
+        for (RecoveredGame game : games) {
+            ids.add(game.getGameId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.chess.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Codificação dos lances de uma partida nos dois formatos.
+ */
+class GameCodecTest {
+
+    @Test
+    void roundTripsRandomGamesInBothFormats() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard start = FenUtils.parse(position.getFen());
+            for (int game = 0; game < 20; game++) {
+                int[] moves = randomGame(start, random, 1 + random.nextInt(200));
+                for (byte format : new byte[] {GameCodec.FORMAT_MOVES, GameCodec.FORMAT_INDICES}) {
+                    byte[] data = GameCodec.encode(start, moves, format);
+                    assertEquals(format, GameCodec.formatOf(data));
+                    assertArrayEquals(moves, GameCodec.decode(start, data), position.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void indicesAreSmallerThanMoves() {
+        BitBoard start = BitBoard.initial();
+        int[] moves = randomGame(start, new SplittableRandom(5), 120);
+        int indices = GameCodec.encode(start, moves, GameCodec.FORMAT_INDICES).length;
+        int plain = GameCodec.encode(start, moves, GameCodec.FORMAT_MOVES).length;
+        // Até 218 lances legais: no máximo 8 bits por lance, contra 16
+        assertTrue(indices * 2 <= plain + 4, indices + " contra " + plain);
+    }
+
+    @Test
+    void pinsTheStoredBytes() {
+        // 1.e4 e5 2.Cf3 Cc6 3.Bb5: os bytes gravados não podem mudar entre versões
+        BitBoard start = BitBoard.initial();
+        int[] moves = {6452, 5900, 2942, 1153, 1661};
+        byte[] data = {0x02, 0x05, (byte) 0x84, 0x1C, 0x70, (byte) 0x80};
+        assertArrayEquals(data, GameCodec.encode(start, moves, GameCodec.FORMAT_INDICES));
+        assertArrayEquals(moves, GameCodec.decode(start, data));
+    }
+
+    @Test
+    void canonicalIndexIsTheRankOfTheMoveCode() {
+        BitBoard start = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        MoveList legal = new MoveList();
+        LegalMoveGenerator.generate(start, legal);
+        for (int i = 0; i < legal.size(); i++) {
+            int move = legal.get(i);
+            int rank = 0;
+            for (int j = 0; j < legal.size(); j++) {
+                if (legal.get(j) < move) rank++;
+            }
+            // 48 lances legais: 6 bits logo após o formato e o número de lances
+            byte[] data = GameCodec.encode(start, new int[] {move}, GameCodec.FORMAT_INDICES);
+            assertEquals(rank, (data[2] & 0xFF) >>> 2, Move.toString(move));
+        }
+    }
+
+    @Test
+    void encodesEmptyGame() {
+        BitBoard start = BitBoard.initial();
+        assertArrayEquals(new int[0], GameCodec.decode(start, GameCodec.encode(start, new int[0], GameCodec.FORMAT_INDICES)));
+    }
+
+    @Test
+    void doesNotModifyStartPosition() {
+        BitBoard start = BitBoard.initial();
+        int[] moves = randomGame(start, new SplittableRandom(1), 30);
+        GameCodec.decode(start, GameCodec.encode(start, moves, GameCodec.FORMAT_INDICES));
+        assertEquals(FenUtils.INITIAL_POSITION, FenUtils.toFen(start));
+    }
+
+    @Test
+    void rejectsIllegalMovesAndCorruptData() {
+        BitBoard start = BitBoard.initial();
+        int illegal = Move.of(52, 28, Move.QUIET); // e2e5
+        assertThrows(IllegalArgumentException.class,
+            () -> GameCodec.encode(start, new int[] {illegal}, GameCodec.FORMAT_INDICES));
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.encode(start, new int[0], (byte) 9));
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.formatOf("zip"));
+
+        int[] moves = randomGame(start, new SplittableRandom(2), 40);
+        byte[] data = GameCodec.encode(start, moves, GameCodec.FORMAT_INDICES);
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(start, Arrays.copyOf(data, data.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(start, new byte[] {7, 0}));
+    }
+
+    private static int[] randomGame(BitBoard start, SplittableRandom random, int length) {
+        BitBoard board = new BitBoard(start);
+        MoveList legal = new MoveList();
+        int[] moves = new int[length];
+        int count = 0;
+        for (; count < length; count++) {
+            legal.clear();
+            LegalMoveGenerator.generate(board, legal);
+            if (legal.size() == 0) break;
+            moves[count] = legal.get(random.nextInt(legal.size()));
+            board.makeMove(moves[count]);
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+}
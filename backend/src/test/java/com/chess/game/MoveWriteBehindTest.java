@@ -0,0 +1,126 @@
+package com.chess.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Fila de persistência dos lances: o fim da partida chega ao gravador depois de
+ * todos os lances dela e não conta como lance gravado; falhas que se repetem não
+ * param a gravação das outras partidas.
+ */
+class MoveWriteBehindTest {
+
+    @Test
+    void endArrivesAfterTheGameMoves() {
+        List<PendingMove> written = new ArrayList<>();
+        MoveWriteBehind writeBehind = new MoveWriteBehind(written::addAll, 16, 2, 1, 100);
+
+        writeBehind.submit(1, 1, 100);
+        writeBehind.submit(2, 1, 200);
+        writeBehind.submit(1, 2, 101);
+        assertTrue(writeBehind.end(1, 2, "ana", "bia", "1-0", null));
+        writeBehind.submit(2, 2, 201);
+        assertTrue(writeBehind.close(5000));
+
+        assertEquals(5, written.size());
+        PendingMove end = written.get(3);
+        assertTrue(end.isEnd());
+        assertEquals(1, end.getGameId());
+        assertEquals(2, end.getPly());
+        assertEquals("1-0", end.getResult());
+        assertEquals(101, written.get(2).getMove());
+        assertFalse(written.get(4).isEnd());
+
+        assertEquals(4, writeBehind.getMetrics().getPersisted());
+        assertEquals(0, writeBehind.getPending());
+    }
+
+    @Test
+    void endIsRefusedAfterClose() {
+        MoveWriteBehind writeBehind = new MoveWriteBehind(batch -> { }, 16, 2, 1, 0);
+        writeBehind.close(5000);
+        assertFalse(writeBehind.end(1, 0, null, null, "*", null));
+    }
+
+    @Test
+    void failingGameIsSetAsideWithoutStoppingTheOthers() {
+        // O fim da partida 7 sempre falha, como um lance inválido ao compactá-la
+        List<PendingMove> written = new CopyOnWriteArrayList<>();
+        MoveWriteBehind writeBehind = new MoveWriteBehind(batch -> {
+            for (PendingMove pending : batch) {
+                if (pending.isEnd() && pending.getGameId() == 7) {
+                    throw new IllegalArgumentException("Lance ilegal na partida 7");
+                }
+            }
+            written.addAll(batch);
+        }, 16, 8, 1, 100);
+
+        writeBehind.submit(7, 1, 100);
+        writeBehind.submit(8, 1, 200);
+        assertTrue(writeBehind.end(7, 1, "ana", "bia", "1-0", null));
+        writeBehind.submit(8, 2, 201);
+        assertTrue(writeBehind.end(8, 2, "caio", "davi", "0-1", null));
+        assertTrue(writeBehind.close(5000));
+
+        // Os lances e o fim da partida 8 foram gravados; só o fim da partida 7 ficou de fora
+        assertEquals(4, written.size());
+        assertTrue(written.stream().noneMatch(pending -> pending.isEnd() && pending.getGameId() == 7));
+        assertTrue(written.stream().anyMatch(pending -> pending.isEnd() && pending.getGameId() == 8));
+        WriteBehindMetrics metrics = writeBehind.getMetrics();
+        assertEquals(1, metrics.getDiscarded());
+        assertEquals(3, metrics.getPersisted());
+        assertEquals(0, writeBehind.getPending());
+        assertTrue(metrics.getLastError().contains("partida 7"));
+    }
+
+    @Test
+    void transientFailuresAreRetried() {
+        AtomicInteger failures = new AtomicInteger();
+        List<PendingMove> written = new CopyOnWriteArrayList<>();
+        MoveWriteBehind writeBehind = new MoveWriteBehind(batch -> {
+            if (failures.getAndIncrement() < MoveWriteBehind.MAX_ATTEMPTS - 1) {
+                throw new QueryTimeoutException("Tempo esgotado");
+            }
+            written.addAll(batch);
+        }, 16, 8, 1, 100);
+
+        writeBehind.submit(1, 1, 100);
+        assertTrue(writeBehind.end(1, 1, null, null, "1-0", null));
+        assertTrue(writeBehind.close(10_000));
+
+        assertEquals(2, written.size());
+        assertEquals(MoveWriteBehind.MAX_ATTEMPTS - 1, writeBehind.getMetrics().getFailedFlushes());
+        assertEquals(0, writeBehind.getMetrics().getDiscarded());
+    }
+
+    @Test
+    void movesAreKeptWhileTheDatabaseIsDown() {
+        // Fora do ar por mais tentativas que um lote tem: os lances esperam, sem descarte
+        AtomicInteger failures = new AtomicInteger();
+        List<PendingMove> written = new CopyOnWriteArrayList<>();
+        MoveWriteBehind writeBehind = new MoveWriteBehind(batch -> {
+            if (failures.getAndIncrement() < MoveWriteBehind.MAX_ATTEMPTS + 2) {
+                throw new QueryTimeoutException("Banco fora do ar");
+            }
+            written.addAll(batch);
+        }, 16, 8, 1, 100);
+
+        writeBehind.submit(1, 1, 100);
+        writeBehind.submit(1, 2, 101);
+        assertTrue(writeBehind.close(30_000));
+
+        assertEquals(2, written.size());
+        assertEquals(0, writeBehind.getMetrics().getDiscarded());
+        assertEquals(0, writeBehind.getPending());
+    }
+
+}
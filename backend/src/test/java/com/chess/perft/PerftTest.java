@@ -0,0 +1,80 @@
+package com.chess.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.utils.FenUtils;
+
+/**
+ * Contagens de perft das posições padrão, que cobrem roque, en passant,
+ * promoções e xeques descobertos.
+ */
+class PerftTest {
+
+    // Profundidade em que todas as posições padrão rodam em poucos segundos
+    private static final int DEPTH = 3;
+
+    @Test
+    void matchesKnownCountsOfStandardPositions() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            for (int depth = 1; depth <= DEPTH; depth++) {
+                assertEquals(position.getExpectedNodes(depth), Perft.perft(board, depth),
+                    position.name() + " profundidade " + depth);
+            }
+            // O tabuleiro volta à posição original
+            assertEquals(position.getFen(), FenUtils.toFen(board));
+        }
+    }
+
+    @Test
+    void matchesKnownCountsAtDepthFour() {
+        assertEquals(197_281L, Perft.perft(FenUtils.parse(PerftPosition.START.getFen()), 4));
+        assertEquals(4_085_603L, Perft.perft(FenUtils.parse(PerftPosition.KIWIPETE.getFen()), 4));
+        assertEquals(43_238L, Perft.perft(FenUtils.parse(PerftPosition.POSITION_3.getFen()), 4));
+        assertEquals(422_333L, Perft.perft(FenUtils.parse(PerftPosition.POSITION_4.getFen()), 4));
+    }
+
+    @Test
+    void divideSumsToTotal() {
+        BitBoard board = FenUtils.parse(PerftPosition.KIWIPETE.getFen());
+        long total = Perft.divide(board, 3).values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(97_862L, total);
+    }
+
+    @Test
+    void parallelPerftAgreesWithSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PerftResult result = new ParallelPerft(pool).run(PerftPosition.POSITION_5.getFen(), 3);
+            assertEquals(62_379L, result.getNodes());
+            assertTrue(result.isCorrect());
+            assertEquals(44, result.getDivide().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void controlStopsPerftPastTheNodeLimit() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelPerft perft = new ParallelPerft(pool);
+            // Kiwipete em profundidade 4 tem 4 milhões de nós folha
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> perft.run(PerftPosition.KIWIPETE.getFen(), 4, new PerftControl(1_000_000, PerftControl.UNLIMITED)));
+            assertTrue(e.getMessage().startsWith("Perft interrompido"), e.getMessage());
+            PerftResult result = perft.run(PerftPosition.KIWIPETE.getFen(), 3, new PerftControl(1_000_000, PerftControl.UNLIMITED));
+            assertEquals(97_862L, result.getNodes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
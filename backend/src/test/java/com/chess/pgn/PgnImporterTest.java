@@ -0,0 +1,59 @@
+package com.chess.pgn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pipeline de importação: partidas válidas chegam ao destino, inválidas são contadas.
+ */
+class PgnImporterTest {
+
+    private static final String VALID = """
+        [Event "Válida"]
+        [Result "1-0"]
+        1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0
+
+        """;
+
+    @Test
+    void deliversValidGamesAndCountsInvalidOnes() throws IOException {
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            pgn.append(VALID);
+            pgn.append("[Event \"Ilegal\"]\n1. e5 *\n\n");
+            pgn.append("[FEN \"8/8/8/8/8/8/8/8 w - - 0 1\"]\n1. Ke2 *\n\n");
+        }
+        List<ImportedGame> games = new ArrayList<>();
+        ImportResult result = new PgnImporter(4, 8).run(new StringReader(pgn.toString()), collect(games));
+
+        assertEquals(50, result.getGames());
+        assertEquals(100, result.getErrors());
+        assertEquals(50 * 7, result.getPositions());
+        assertTrue(result.getErrorSamples().size() <= 10);
+        assertEquals(50, games.size());
+        assertEquals("1-0", games.get(0).getResult());
+        assertEquals(7, games.get(0).getMoves().length);
+    }
+
+    @Test
+    void sinkFailureStopsImport() {
+        GameSink failing = game -> {
+            throw new IllegalStateException("banco fora do ar");
+        };
+        assertThrows(IllegalStateException.class,
+            () -> new PgnImporter(2, 4).run(new StringReader(VALID.repeat(20)), failing));
+    }
+
+    private static GameSink collect(List<ImportedGame> games) {
+        return games::add;
+    }
+
+}
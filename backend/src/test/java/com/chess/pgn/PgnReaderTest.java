@@ -0,0 +1,88 @@
+package com.chess.pgn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Leitura de partidas PGN: tags, separação das partidas e comentários.
+ */
+class PgnReaderTest {
+
+    @Test
+    void splitsGamesAndReadsTags() throws IOException {
+        String pgn = """
+            [Event "Teste \\"aspas\\""]
+            [White "Ana"]
+
+            1. e4 e5 1-0
+
+            [Event "Segunda"]
+            1. d4 *
+            """;
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            PgnGame first = reader.next();
+            assertEquals("Teste \"aspas\"", first.getTag("Event"));
+            assertEquals("Ana", first.getTag("White"));
+            assertEquals("1. e4 e5 1-0", first.getMovetext());
+
+            PgnGame second = reader.next();
+            assertEquals("Segunda", second.getTag("Event"));
+            assertEquals("1. d4 *", second.getMovetext());
+            assertNull(reader.next());
+            assertEquals(2, reader.getGamesRead());
+        }
+    }
+
+    @Test
+    void bracketLineInsideCommentIsNotATag() throws IOException {
+        String pgn = """
+            [Event "Comentada"]
+
+            1. e4 {uma linha
+            [não é tag] fim} e5 2. Nf3 1/2-1/2
+            """;
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            PgnGame game = reader.next();
+            assertTrue(game.getMovetext().contains("[não é tag]"));
+            assertNull(reader.next());
+
+            ImportedGame imported = new MovetextParser().parse(game);
+            assertEquals(3, imported.getMoves().length);
+            assertEquals("1/2-1/2", imported.getResult());
+        }
+    }
+
+    @Test
+    void braceAfterSemicolonDoesNotOpenComment() throws IOException {
+        String pgn = """
+            [Event "A"]
+            1. e4 ; comentário com { sem fechar
+            e5 *
+            [Event "B"]
+            1. d4 *
+            """;
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            assertEquals("A", reader.next().getTag("Event"));
+            assertEquals("B", reader.next().getTag("Event"));
+        }
+    }
+
+    @Test
+    void skipsEscapeLines() throws IOException {
+        String pgn = """
+            % linha de escape
+            [Event "A"]
+            1. e4 *
+            """;
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            assertEquals("1. e4 *", reader.next().getMovetext());
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.chess.pgn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Interpretação de lances SAN: desambiguação, promoções, roques e lances rejeitados.
+ */
+class SanParserTest {
+
+    private final SanParser parser = new SanParser();
+
+    @Test
+    void parsesPawnAndPieceMoves() {
+        BitBoard board = BitBoard.initial();
+        assertEquals("e2e4", parse(board, "e4"));
+        assertEquals("g1f3", parse(board, "Nf3"));
+        assertEquals("e2e4", parse(board, "Pe4"));
+        assertEquals("e2e3", parse(board, "Pe2-e3"));
+    }
+
+    @Test
+    void parsesCapturesAndSuffixes() {
+        BitBoard board = FenUtils.parse("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2");
+        assertEquals("e4d5", parse(board, "exd5"));
+        assertEquals("e4d5", parse(board, "Pxd5"));
+        assertEquals("e4d5", parse(board, "exd5!?"));
+        assertEquals("f1b5", parse(board, "Bb5+"));
+    }
+
+    @Test
+    void resolvesDisambiguation() {
+        // Cavalos em b1 e f1 podem ir para d2; torres em a1 e a5 podem ir para a3
+        BitBoard board = FenUtils.parse("4k3/8/8/R7/8/8/8/RN2KN2 w - - 0 1");
+        assertEquals("b1d2", parse(board, "Nbd2"));
+        assertEquals("f1d2", parse(board, "Nfd2"));
+        assertEquals("a1a3", parse(board, "R1a3"));
+        assertEquals("a5a3", parse(board, "R5a3"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(board, "Nd2"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(board, "Ra3"));
+    }
+
+    @Test
+    void parsesPromotionsAndCastling() {
+        BitBoard board = FenUtils.parse("r3k2r/1P6/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        assertEquals("b7b8q", parse(board, "b8=Q+"));
+        assertEquals("b7b8n", parse(board, "b8N"));
+        assertEquals("b7a8r", parse(board, "bxa8=R"));
+        assertEquals("e1g1", parse(board, "O-O"));
+        assertEquals("e1c1", parse(board, "0-0-0"));
+    }
+
+    @Test
+    void rejectsInvalidMoves() {
+        BitBoard board = BitBoard.initial();
+        for (String san : new String[] {"e5", "Ke2", "O-O", "e", "Nz3", "Qd1d2", "e8=Q", "K"}) {
+            assertThrows(IllegalArgumentException.class, () -> parser.parse(board, san), san);
+        }
+    }
+
+    @Test
+    void roundTripsEveryLegalMoveInFullyQualifiedForm() {
+        SplittableRandom random = new SplittableRandom(3);
+        MoveList moves = new MoveList();
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            for (int ply = 0; ply < 60; ply++) {
+                moves.clear();
+                LegalMoveGenerator.generate(board, moves);
+                if (moves.size() == 0) break;
+                for (int i = 0; i < moves.size(); i++) {
+                    String san = qualified(board, moves.get(i));
+                    assertEquals(moves.get(i), parser.parse(board, san), san);
+                }
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    private String parse(BitBoard board, String san) {
+        return Move.toString(parser.parse(board, san));
+    }
+
+    // Lance com a letra da peça e a casa de origem completa, aceito pelo SAN ("Ng1xf3", "Pe7e8=Q")
+    private static String qualified(BitBoard board, int move) {
+        if (Move.isCastle(move)) return Move.flags(move) == Move.KING_CASTLE ? "O-O" : "O-O-O";
+        String coordinates = Move.toString(move);
+        PieceType type = board.getPieceAt(Move.from(move)).getType();
+        StringBuilder san = new StringBuilder()
+            .append("PNBRQK".charAt(type.ordinal()))
+            .append(coordinates, 0, 2)
+            .append(Move.isCapture(move) ? "x" : "")
+            .append(coordinates, 2, 4);
+        if (Move.isPromotion(move)) san.append('=').append(Character.toUpperCase(coordinates.charAt(4)));
+        return san.toString();
+    }
+
+}
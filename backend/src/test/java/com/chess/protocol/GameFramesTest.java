@@ -0,0 +1,167 @@
+package com.chess.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.Piece;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Quadros binários das partidas: tamanhos, layout e leitura de volta.
+ */
+class GameFramesTest {
+
+    @Test
+    void snapshotRebuildsThePosition() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            ByteBuffer out = ByteBuffer.allocate(GameFrames.SNAPSHOT_SIZE);
+            GameFrames.writeSnapshot(out, board, 37, GameFrames.PLAYING, 60_000, -1);
+            assertEquals(GameFrames.SNAPSHOT_SIZE, out.position());
+            out.flip();
+
+            assertEquals(GameFrames.SNAPSHOT, out.get());
+            int flags = out.get();
+            assertEquals(board.getSideToMove().ordinal(), flags & 1);
+            assertEquals(GameFrames.PLAYING, flags >> 1 & 3);
+            assertEquals(37, out.getShort());
+            assertEquals(60_000, out.getInt());
+            assertEquals(-1, out.getInt());
+            int hash = out.getInt();
+
+            // Casas em nibbles, a8 no nibble alto do primeiro byte
+            BitBoard rebuilt = new BitBoard();
+            for (int square = 0; square < 64; square += 2) {
+                int pair = out.get() & 0xFF;
+                place(rebuilt, square, pair >>> 4);
+                place(rebuilt, square + 1, pair & 0xF);
+            }
+            rebuilt.setSideToMove(board.getSideToMove());
+            rebuilt.setCastlingRights(out.get());
+            int enPassant = out.get() & 0xFF;
+            rebuilt.setEnPassantTarget(enPassant == 255 ? null : Position.at(enPassant));
+            rebuilt.setHalfmoveClock(board.getHalfmoveClock());
+            rebuilt.setFullmoveNumber(board.getFullmoveNumber());
+
+            assertEquals(FenUtils.toFen(board), FenUtils.toFen(rebuilt), position.name());
+            assertEquals(GameFrames.positionHash(board), hash);
+            assertEquals(hash, GameFrames.positionHash(rebuilt));
+        }
+    }
+
+    @Test
+    void moveFrameCarriesTheDifference() {
+        BitBoard board = BitBoard.initial();
+        int move = find(board, "e2e4");
+        board.makeMove(move);
+
+        ByteBuffer out = ByteBuffer.allocate(GameFrames.MOVE_SIZE);
+        GameFrames.writeMove(out, board, move, 1, GameFrames.statusOf(null), 299_500, 300_000);
+        assertEquals(GameFrames.MOVE_SIZE, out.position());
+        out.flip();
+
+        assertEquals(GameFrames.MOVE, out.get());
+        assertEquals(Color.BLACK.ordinal(), out.get() & 1);
+        assertEquals(move, out.getShort() & 0xFFFF);
+        assertEquals(1, out.getShort());
+        assertEquals(299_500, out.getInt());
+        assertEquals(300_000, out.getInt());
+        assertEquals(GameFrames.positionHash(board), out.getInt());
+    }
+
+    @Test
+    void hashCoversPiecesAndSideToMove() {
+        BitBoard white = FenUtils.parse("4k3/8/8/8/8/8/8/4K2R w - - 0 1");
+        BitBoard black = FenUtils.parse("4k3/8/8/8/8/8/8/4K2R b - - 0 1");
+        BitBoard moved = FenUtils.parse("4k3/8/8/8/8/8/8/4K1R1 w - - 0 1");
+        assertNotEquals(GameFrames.positionHash(white), GameFrames.positionHash(black));
+        assertNotEquals(GameFrames.positionHash(white), GameFrames.positionHash(moved));
+        // Os relógios de meias-jogadas não entram no hash
+        assertEquals(GameFrames.positionHash(white),
+            GameFrames.positionHash(FenUtils.parse("4k3/8/8/8/8/8/8/4K2R w - - 12 40")));
+    }
+
+    @Test
+    void clockAndStatusFlags() {
+        ByteBuffer out = ByteBuffer.allocate(GameFrames.CLOCK_SIZE);
+        GameFrames.writeClock(out, Color.BLACK, GameFrames.statusOf("0-1"), 0, 1_500);
+        assertEquals(GameFrames.CLOCK_SIZE, out.position());
+        out.flip();
+        assertEquals(GameFrames.CLOCK, out.get());
+        assertEquals(1 | GameFrames.BLACK_WINS << 1, out.get());
+        assertEquals(0, out.getInt());
+        assertEquals(1_500, out.getInt());
+
+        assertEquals(GameFrames.WHITE_WINS, GameFrames.statusOf("1-0"));
+        assertEquals(GameFrames.DRAW, GameFrames.statusOf("1/2-1/2"));
+    }
+
+    @Test
+    void errorMessageIsTruncated() {
+        String message = "Lance inválido: e2e5";
+        ByteBuffer out = ByteBuffer.allocate(GameFrames.errorSize(message));
+        GameFrames.writeError(out, message);
+        assertEquals(out.capacity(), out.position());
+        out.flip();
+        assertEquals(GameFrames.ERROR, out.get());
+        byte[] text = new byte[out.getShort()];
+        out.get(text);
+        assertEquals(message, new String(text, StandardCharsets.UTF_8));
+
+        String longMessage = "x".repeat(5000);
+        assertEquals(3 + 1024, GameFrames.errorSize(longMessage));
+        out = ByteBuffer.allocate(GameFrames.errorSize(longMessage));
+        GameFrames.writeError(out, longMessage);
+        assertEquals(1024, out.getShort(1));
+    }
+
+    @Test
+    void readsMoveRequests() {
+        assertEquals("e2e4", GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 52, 36, 0)));
+        assertEquals("a7a8q", GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 8, 0, 4)));
+        assertEquals("h2h1n", GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 55, 63, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> GameFrames.readMoveRequest(request(GameFrames.RESYNC_REQUEST, 52, 36, 0)));
+        assertThrows(IllegalArgumentException.class, () -> GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 64, 36, 0)));
+        assertThrows(IllegalArgumentException.class, () -> GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 52, 255, 0)));
+        assertThrows(IllegalArgumentException.class, () -> GameFrames.readMoveRequest(request(GameFrames.MOVE_REQUEST, 8, 0, 5)));
+        assertThrows(IllegalArgumentException.class,
+            () -> GameFrames.readMoveRequest(ByteBuffer.wrap(new byte[] {GameFrames.MOVE_REQUEST, 52, 36})));
+    }
+
+    private static ByteBuffer request(byte type, int from, int to, int promotion) {
+        return ByteBuffer.wrap(new byte[] {type, (byte) from, (byte) to, (byte) promotion});
+    }
+
+    // Códigos do quadro: 1-6 brancas, 9-14 pretas, na ordem de PieceType
+    private static void place(BitBoard board, int square, int code) {
+        if (code == 0) return;
+        Color color = code < 8 ? Color.WHITE : Color.BLACK;
+        PieceType type = PieceType.values()[(code & 7) - 1];
+        board.setPieceAt(Position.at(square), Piece.of(type, color));
+    }
+
+    private static int find(BitBoard board, String notation) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(notation)) return moves.get(i);
+        }
+        throw new AssertionError("Lance ilegal: " + notation);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.chess.room;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.utils.FenUtils;
+
+/**
+ * Fim da partida ao vivo: mate e empates automáticos.
+ */
+class GameRoomTest {
+
+    private String white;
+    private String black;
+
+    @Test
+    void threefoldRepetitionIsADraw() {
+        GameRoom room = started(BitBoard.initial());
+        String[] moves = {"g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1"};
+        for (int i = 0; i < moves.length; i++) room.move(i % 2 == 0 ? white : black, moves[i]);
+        assertEquals(RoomStatus.PLAYING, room.getStatus());
+
+        // A posição inicial aparece pela terceira vez
+        room.move(black, "f6g8");
+        assertEquals(RoomStatus.FINISHED, room.getStatus());
+        assertEquals("1/2-1/2", room.getResult());
+    }
+
+    @Test
+    void fiftyMoveRuleIsADraw() {
+        GameRoom room = started(FenUtils.parse("4k3/8/8/8/8/8/8/R3K3 w - - 98 80"));
+        room.move(white, "a1a2");
+        assertEquals(RoomStatus.PLAYING, room.getStatus());
+        room.move(black, "e8d8");
+        assertEquals(RoomStatus.FINISHED, room.getStatus());
+        assertEquals("1/2-1/2", room.getResult());
+    }
+
+    @Test
+    void mateOnTheHundredthPlyWins() {
+        GameRoom room = started(FenUtils.parse("k7/8/1K6/8/8/8/8/7R w - - 99 80"));
+        room.move(white, "h1h8");
+        assertEquals(RoomStatus.FINISHED, room.getStatus());
+        assertEquals("1-0", room.getResult());
+    }
+
+    @Test
+    void insufficientMaterialIsADraw() {
+        GameRoom room = started(FenUtils.parse("4k3/8/8/8/8/8/3n4/4K3 w - - 0 1"));
+        room.move(white, "e1d2");
+        assertEquals(RoomStatus.FINISHED, room.getStatus());
+        assertEquals("1/2-1/2", room.getResult());
+
+        // Com bispo e torre as brancas ainda podem dar mate
+        room = started(FenUtils.parse("4k3/8/8/8/8/8/3n4/4K1BR w - - 0 1"));
+        room.move(white, "e1d2");
+        assertEquals(RoomStatus.PLAYING, room.getStatus());
+        assertNull(room.getResult());
+    }
+
+    private GameRoom started(BitBoard board) {
+        GameRoom room = new GameRoom(1, board, 0, null);
+        white = room.join("ana").getToken();
+        black = room.join("bia").getToken();
+        return room;
+    }
+
+}
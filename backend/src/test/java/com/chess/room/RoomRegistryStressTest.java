@@ -0,0 +1,167 @@
+package com.chess.room;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.chess.clock.ClockScheduler;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.utils.LegalMoveGenerator;
+
+/**
+ * Abre dezenas de milhares de salas simultâneas, cada uma jogada por uma
+ * thread virtual, com leitores concorrentes nas mesmas salas. No fim os
+ * jogadores saem, e as partidas deixadas são fechadas pelo prazo de abandono.
+ */
+class RoomRegistryStressTest {
+
+    private static final int ROOMS = 20_000;
+    private static final int MAX_PLIES = 20;
+    private static final int READERS = 2_000;
+    private static final int MIN_READS = 20;
+
+    @Test
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void playsTensOfThousandsOfRoomsConcurrently() throws Exception {
+        LongAdder movedEvents = new LongAdder();
+        LongAdder removedEvents = new LongAdder();
+        RoomListener listener = new RoomListener() {
+            @Override
+            public void moved(GameRoom room, int ply, int move) {
+                movedEvents.increment();
+            }
+
+            @Override
+            public void removed(GameRoom room) {
+                removedEvents.increment();
+            }
+        };
+
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch allOpen = new CountDownLatch(ROOMS);
+        CountDownLatch readersReady = new CountDownLatch(READERS);
+        CountDownLatch allPlayed = new CountDownLatch(ROOMS);
+        CountDownLatch readersDone = new CountDownLatch(READERS);
+        LongAdder plies = new LongAdder();
+        LongAdder finished = new LongAdder();
+        LongAdder reads = new LongAdder();
+        AtomicInteger peakSize = new AtomicInteger();
+
+        // Partidas terminadas ficam; as deixadas pelos dois jogadores são removidas em seguida
+        try (ClockScheduler clocks = new ClockScheduler();
+             RoomRegistry registry = new RoomRegistry(256, listener, clocks, 600_000, 0);
+             ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Future<?>> tasks = new ArrayList<>(ROOMS + READERS);
+            for (int i = 0; i < ROOMS; i++) {
+                int seed = i;
+                tasks.add(players.submit(() -> {
+                    try {
+                        Seat seat = registry.create("w" + seed);
+                        long id = seat.getRoomId();
+                        String white = seat.getToken();
+                        String black = registry.join(id, "b" + seed).getToken();
+                        allOpen.countDown();
+                        allOpen.await();
+                        // Todas abertas e nenhuma removida ainda: a remoção só começa depois de todas jogadas
+                        peakSize.accumulateAndGet(registry.size(), Math::max);
+                        readersReady.await();
+
+                        SplittableRandom random = new SplittableRandom(seed);
+                        for (int ply = 0; ply < MAX_PLIES; ply++) {
+                            String move = registry.execute(id, room -> randomMove(room, random));
+                            if (move == null) break;
+                            String player = ply % 2 == 0 ? white : black;
+                            RoomView view = registry.move(id, player, move);
+                            assertEquals(ply + 1, view.getPly());
+                            plies.increment();
+                            // Intercala as salas, como jogadores reais esperando o adversário
+                            Thread.yield();
+                        }
+
+                        allPlayed.countDown();
+                        allPlayed.await();
+                        // Só sai depois que os leitores pararam de consultar as salas
+                        readersDone.await();
+                        if (registry.get(id).getStatus() == RoomStatus.FINISHED) finished.increment();
+                        registry.leave(id, white);
+                        registry.leave(id, black);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                        allOpen.countDown();
+                        allPlayed.countDown();
+                    }
+                    return null;
+                }));
+            }
+
+            // Leitores disputam a trava das salas enquanto elas são jogadas: os jogadores só
+            // começam depois que todos estão prontos, e cada um lê ao menos MIN_READS vezes
+            for (int i = 0; i < READERS; i++) {
+                long id = 1 + i * (long) (ROOMS / READERS);
+                tasks.add(players.submit(() -> {
+                    try {
+                        allOpen.await();
+                        readersReady.countDown();
+                        int lastPly = 0;
+                        for (int n = 0; n < MIN_READS || allPlayed.getCount() > 0; n++) {
+                            RoomView view = registry.get(id);
+                            // Cada leitura vê um estado inteiro, nunca anterior ao já visto
+                            assertTrue(view.getPly() >= lastPly, "Lances voltaram na sala " + id);
+                            lastPly = view.getPly();
+                            reads.increment();
+                            Thread.yield();
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                        readersReady.countDown();
+                    } finally {
+                        readersDone.countDown();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+
+            assertTrue(failures.isEmpty(), () -> "Falhas: " + failures.peek());
+            int left = finished.intValue();
+            while (registry.size() > left) Thread.sleep(5);
+            assertEquals(ROOMS, peakSize.get());
+            assertTrue(reads.sum() >= (long) READERS * MIN_READS);
+            assertEquals(ROOMS, registry.getCreated());
+            assertEquals(ROOMS - left, registry.getRemoved());
+            assertEquals(left, registry.size());
+            assertEquals(plies.sum(), registry.getMoves());
+            assertEquals(plies.sum(), movedEvents.sum());
+            assertEquals(ROOMS - left, removedEvents.sum());
+        }
+    }
+
+    // Escolhe um lance legal aleatório, ou null se a partida terminou
+    private static String randomMove(GameRoom room, SplittableRandom random) {
+        if (room.getStatus() != RoomStatus.PLAYING) return null;
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(room.getBoard(), moves);
+        return Move.toString(moves.get(random.nextInt(moves.size())));
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.chess.room;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.chess.clock.ClockScheduler;
+import com.chess.entity.base.Color;
+import com.chess.entity.board.BitBoard;
+
+/**
+ * Fechamento das salas por prazo: partidas terminadas, salas recuperadas que
+ * ninguém retoma e partidas deixadas pelos dois jogadores. Lugares e tokens dos
+ * jogadores.
+ */
+class RoomRegistryTest {
+
+    private final List<RoomStatus> removed = new CopyOnWriteArrayList<>();
+    private final RoomListener listener = new RoomListener() {
+        @Override
+        public void removed(GameRoom room) {
+            removed.add(room.getStatus());
+        }
+    };
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void removesFinishedRoomAfterGracePeriod() throws Exception {
+        try (ClockScheduler clocks = new ClockScheduler();
+             RoomRegistry registry = new RoomRegistry(4, listener, clocks, 50, 60_000)) {
+            long id = registry.create("ana").getRoomId();
+            String black = registry.join(id, "bia").getToken();
+            registry.resign(id, black);
+            assertEquals(RoomStatus.FINISHED, registry.get(id).getStatus());
+
+            awaitSize(registry, 0);
+            assertEquals(List.of(RoomStatus.FINISHED), removed);
+            assertEquals(1, registry.getExpired());
+            assertThrows(IllegalArgumentException.class, () -> registry.get(id));
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void abandonsRecoveredRoomNobodyResumes() throws Exception {
+        try (ClockScheduler clocks = new ClockScheduler();
+             RoomRegistry registry = new RoomRegistry(4, listener, clocks, 60_000, 50)) {
+            registry.restore(7, BitBoard.initial(), 0);
+            registry.join(7, "ana");
+
+            awaitSize(registry, 0);
+            assertEquals(List.of(RoomStatus.WAITING), removed);
+        }
+    }
+
+    @Test
+    void keepsRecoveredRoomOnceResumed() throws Exception {
+        try (ClockScheduler clocks = new ClockScheduler();
+             RoomRegistry registry = new RoomRegistry(4, listener, clocks, 60_000, 50)) {
+            registry.restore(7, BitBoard.initial(), 0);
+            registry.join(7, "ana");
+            registry.join(7, "bia");
+
+            Thread.sleep(200);
+            assertEquals(1, registry.size());
+            assertEquals(RoomStatus.PLAYING, registry.get(7).getStatus());
+            assertEquals(List.of(), removed);
+        }
+    }
+
+    @Test
+    void onlySeatedPlayersReturnOnceTheGameStarts() {
+        try (RoomRegistry registry = new RoomRegistry(4, listener)) {
+            Seat white = registry.create("ana");
+            long id = white.getRoomId();
+            Seat black = registry.join(id, "bia");
+            assertEquals(Color.WHITE, white.getColor());
+            assertEquals(Color.BLACK, black.getColor());
+            registry.move(id, white.getToken(), "e2e4");
+
+            // Quem sai não libera o lugar: ninguém mais entra, nem com o mesmo nome
+            registry.leave(id, black.getToken());
+            assertThrows(IllegalArgumentException.class, () -> registry.join(id, "eva"));
+            assertThrows(IllegalArgumentException.class, () -> registry.join(id, "bia"));
+            assertEquals("bia", registry.get(id).getBlack());
+            assertEquals(1, registry.size());
+
+            assertEquals(Color.BLACK, registry.enter(id, black.getToken()));
+            registry.move(id, black.getToken(), "e7e5");
+            assertEquals(List.of(), removed);
+        }
+    }
+
+    @Test
+    void actionsRequireTheSeatToken() {
+        try (RoomRegistry registry = new RoomRegistry(4, listener)) {
+            Seat white = registry.create("ana");
+            long id = white.getRoomId();
+            Seat black = registry.join(id, "bia");
+            assertNotEquals(white.getToken(), black.getToken());
+
+            // O nome não serve de credencial, nem o token de outra sala
+            String other = registry.create("eva").getToken();
+            for (String token : new String[] {"ana", "bia", other}) {
+                assertThrows(IllegalArgumentException.class, () -> registry.move(id, token, "e2e4"));
+                assertThrows(IllegalArgumentException.class, () -> registry.resign(id, token));
+                assertThrows(IllegalArgumentException.class, () -> registry.leave(id, token));
+                assertThrows(IllegalArgumentException.class, () -> registry.enter(id, token));
+            }
+            // O token das pretas não joga pelas brancas
+            assertThrows(IllegalArgumentException.class, () -> registry.move(id, black.getToken(), "e2e4"));
+            assertEquals(0, registry.get(id).getPly());
+
+            registry.resign(id, black.getToken());
+            assertEquals("1-0", registry.get(id).getResult());
+        }
+    }
+
+    @Test
+    void emptyRoomIsClosedOnlyBeforeTheGameStarts() {
+        try (RoomRegistry registry = new RoomRegistry(4, listener)) {
+            Seat waiting = registry.create("ana");
+            registry.leave(waiting.getRoomId(), waiting.getToken());
+            assertEquals(0, registry.size());
+            assertEquals(List.of(RoomStatus.WAITING), removed);
+
+            // A partida em andamento não é fechada por quem sai
+            Seat white = registry.create("eva");
+            long id = white.getRoomId();
+            Seat black = registry.join(id, "rui");
+            registry.leave(id, white.getToken());
+            registry.leave(id, black.getToken());
+            assertEquals(RoomStatus.PLAYING, registry.get(id).getStatus());
+            assertEquals(List.of(RoomStatus.WAITING), removed);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void abandonsGameBothPlayersLeave() throws Exception {
+        try (ClockScheduler clocks = new ClockScheduler();
+             RoomRegistry registry = new RoomRegistry(4, listener, clocks, 60_000, 50)) {
+            Seat white = registry.create("ana");
+            long id = white.getRoomId();
+            Seat black = registry.join(id, "bia");
+            registry.move(id, white.getToken(), "e2e4");
+
+            // Com um jogador na sala a partida continua aberta
+            registry.leave(id, white.getToken());
+            Thread.sleep(200);
+            assertEquals(RoomStatus.PLAYING, registry.get(id).getStatus());
+
+            registry.leave(id, black.getToken());
+            awaitSize(registry, 0);
+            assertEquals(List.of(RoomStatus.PLAYING), removed);
+            assertEquals(1, registry.getExpired());
+        }
+    }
+
+    @Test
+    void newRoomsStartAfterReservedAndRestoredIds() {
+        try (RoomRegistry registry = new RoomRegistry(4, listener)) {
+            registry.reserveIds(42);
+            assertEquals(42, registry.create("ana").getRoomId());
+            registry.restore(50, BitBoard.initial(), 0);
+            // Reservar um id menor não faz os ids voltarem
+            registry.reserveIds(10);
+            assertEquals(51, registry.create("bia").getRoomId());
+        }
+    }
+
+    private static void awaitSize(RoomRegistry registry, int size) throws InterruptedException {
+        while (registry.size() != size) {
+            Thread.sleep(5);
+        }
+    }
+
+}
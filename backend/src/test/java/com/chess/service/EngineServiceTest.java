@@ -0,0 +1,67 @@
+package com.chess.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.chess.engine.SearchResult;
+import com.chess.perft.PerftPosition;
+import com.chess.utils.FenUtils;
+
+/**
+ * Oponente artificial: vagas de busca e geração da tabela compartilhada.
+ */
+class EngineServiceTest {
+
+    private final EngineService engine = new EngineService(4, 64, 50_000_000, 10_000, 1, 1, 1, "", "");
+
+    @AfterEach
+    void shutdown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void rejectsSearchesBeyondTheLimit() throws Exception {
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResult> running = caller.submit(
+                () -> engine.search(PerftPosition.KIWIPETE.getFen(), 60, 50_000_000, 10_000, 1, false, "partida-1"));
+            while (engine.getRunningSearches() == 0) Thread.sleep(5);
+
+            // A única vaga está ocupada: a busca é recusada em vez de esperar
+            assertThrows(IllegalStateException.class,
+                () -> engine.search(FenUtils.INITIAL_POSITION, 1, 1000, 100, 1, false, null));
+
+            engine.stop("partida-1");
+            assertNotNull(running.get(5, TimeUnit.SECONDS).getBestMove());
+        } finally {
+            caller.shutdownNow();
+        }
+
+        // Vaga devolvida ao terminar
+        assertEquals(2, engine.search(FenUtils.INITIAL_POSITION, 2, 1_000_000, 1000, 1, false, null).getDepth());
+    }
+
+    @Test
+    void searchesWithoutGameDoNotAgeTheTable() {
+        engine.search(FenUtils.INITIAL_POSITION, 5, 1_000_000, 5000, 1, false, "partida-2");
+        double fill = engine.getTable().getFillRate();
+        for (int i = 0; i < 64; i++) {
+            engine.search(PerftPosition.KIWIPETE.getFen(), 1, 1000, 100, 1, false, null);
+        }
+
+        // As entradas da partida continuam na geração atual
+        assertTrue(fill > 0);
+        assertTrue(engine.getTable().getFillRate() >= fill);
+    }
+
+}
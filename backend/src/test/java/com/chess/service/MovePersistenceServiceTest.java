@@ -0,0 +1,109 @@
+package com.chess.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.chess.game.GameDetails;
+import com.chess.game.GameMoveRecord;
+
+/**
+ * Tabela {@code game_moves}: um lance por meio-lance, ids de partidas que não
+ * reaproveitam lances que sobraram de execuções anteriores e lances recusados
+ * pela fila recuperados no fim da partida.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MovePersistenceServiceTest {
+
+    private static final long LEFTOVER_GAME = 1_000_000;
+    private static final long LOGGED_GAME = 1_000_001;
+
+    @Autowired
+    private MovePersistenceService movePersistence;
+
+    @Autowired
+    private GameEventLogService eventLog;
+
+    @Autowired
+    private GameService games;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        for (long gameId : new long[] {LEFTOVER_GAME, LOGGED_GAME}) {
+            jdbc.update(GameMoveRecord.DELETE_SQL, gameId);
+            jdbc.update("DELETE FROM games WHERE event = ?", "Partida ao vivo " + gameId);
+        }
+    }
+
+    @Test
+    void nextGameIdSkipsLeftoverMoves() {
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 1, 6452);
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 2, 5900);
+        assertEquals(LEFTOVER_GAME + 1, movePersistence.nextGameId());
+    }
+
+    @Test
+    void keepsOneRowPerPly() {
+        // Um lote gravado de novo substitui as linhas em vez de duplicá-las
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 1, 6452);
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 1, 6452);
+        assertEquals(1, jdbc.queryForList(GameMoveRecord.SELECT_SQL, LEFTOVER_GAME).size());
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbc.update(
+            "INSERT INTO game_moves (game_id, ply, move_code) VALUES (?, ?, ?)", LEFTOVER_GAME, 1, 5900));
+    }
+
+    @Test
+    void missingMovesComeFromTheEventLog() throws Exception {
+        // 1.e4 e5 2.Nf3: só o primeiro lance chegou ao banco, todos chegaram ao log
+        int[] moves = {6452, 5900, 2942};
+        for (int i = 0; i < moves.length; i++) {
+            eventLog.moved(LOGGED_GAME, i + 1, moves[i]);
+        }
+        jdbc.update(GameMoveRecord.INSERT_SQL, LOGGED_GAME, 1, moves[0]);
+
+        assertTrue(movePersistence.finish(LOGGED_GAME, moves.length, "ana", "bia", "1-0"));
+        GameDetails game = games.load(awaitGame(LOGGED_GAME));
+        assertEquals(List.of("e2e4", "e7e5", "g1f3"), game.getMoves());
+        assertEquals("1-0", game.getResult());
+        assertEquals(0, jdbc.queryForList(GameMoveRecord.SELECT_SQL, LOGGED_GAME).size());
+    }
+
+    @Test
+    void gameMissingMovesEverywhereKeepsItsPrefix() throws Exception {
+        // Partida que não está no log: o lance 2 não existe em lugar nenhum
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 1, 6452);
+        jdbc.update(GameMoveRecord.INSERT_SQL, LEFTOVER_GAME, 3, 2942);
+
+        assertTrue(movePersistence.finish(LEFTOVER_GAME, 3, "ana", "bia", "1-0"));
+        GameDetails game = games.load(awaitGame(LEFTOVER_GAME));
+        assertEquals(List.of("e2e4"), game.getMoves());
+        assertEquals("*", game.getResult());
+    }
+
+    // Espera a fila gravar a partida e retorna o id dela em games
+    private long awaitGame(long gameId) throws InterruptedException {
+        String sql = "SELECT id FROM games WHERE event = ?";
+        for (int i = 0; i < 500; i++) {
+            List<Long> ids = jdbc.queryForList(sql, Long.class, "Partida ao vivo " + gameId);
+            if (!ids.isEmpty()) return ids.get(0);
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Partida não gravada");
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.chess.tablebase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.utils.FenUtils;
+
+/**
+ * Tabelas de finais: distâncias até o mate conhecidas, oposição no final de
+ * rei e peão e consulta com as cores trocadas.
+ */
+class TablebaseTest {
+
+    private static ForkJoinPool pool;
+    private static TablebaseGenerator generator;
+
+    @BeforeAll
+    static void generate() throws IOException {
+        pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        // Só no heap: nada é gravado em disco
+        generator = new TablebaseGenerator(null, pool);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void longestMatesMatchKnownDistances() throws IOException {
+        // Mate mais longo, contado da vez de quem vai levar o mate
+        assertEquals(20, longest("KQK"));
+        assertEquals(32, longest("KRK"));
+        assertEquals(66, longest("KBNK"));
+    }
+
+    @Test
+    void kingAndPawnDependsOnTheOpposition() throws IOException {
+        generator.generate(Endgame.of("KPK"));
+        // Rei na sexta, à frente do peão: ganha com qualquer um na vez
+        assertTrue(Tablebase.isWin(probe("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1")));
+        assertTrue(Tablebase.isLoss(probe("4k3/8/4K3/4P3/8/8/8/8 b - - 0 1")));
+
+        // Reis frente a frente com o peão atrás: quem não tem a vez fica com a oposição
+        assertEquals(Tablebase.DRAW, probe("8/8/4k3/8/4K3/4P3/8/8 w - - 0 1"));
+        assertTrue(Tablebase.isLoss(probe("8/8/4k3/8/4K3/4P3/8/8 b - - 0 1")));
+        assertEquals(Tablebase.DRAW, probe("8/8/8/4k3/8/4K3/4P3/8 w - - 0 1"));
+        assertTrue(Tablebase.isLoss(probe("8/8/8/4k3/8/4K3/4P3/8 b - - 0 1")));
+
+        // Oposição à distância: as brancas com a vez a tomam
+        assertTrue(Tablebase.isWin(probe("4k3/8/8/4K3/4P3/8/8/8 w - - 0 1")));
+        assertEquals(Tablebase.DRAW, probe("4k3/8/8/4K3/4P3/8/8/8 b - - 0 1"));
+
+        // Peão da torre com o rei adversário no canto não ganha
+        assertEquals(Tablebase.DRAW, probe("k7/8/K7/P7/8/8/8/8 w - - 0 1"));
+        assertEquals(Tablebase.DRAW, probe("k7/8/K7/P7/8/8/8/8 b - - 0 1"));
+    }
+
+    @Test
+    void colorFlippedPositionsShareTheValue() throws IOException {
+        generator.generate(Endgame.of("KQK"));
+        generator.generate(Endgame.of("KPK"));
+        String[][] pairs = {
+            {"8/8/8/4k3/8/8/8/KQ6 w - - 0 1", "kq6/8/8/8/4K3/8/8/8 b - - 0 1"},
+            {"8/8/8/4k3/8/8/8/KQ6 b - - 0 1", "kq6/8/8/8/4K3/8/8/8 w - - 0 1"},
+            {"4k3/8/4K3/4P3/8/8/8/8 b - - 0 1", "8/8/8/8/4p3/4k3/8/4K3 w - - 0 1"},
+            {"8/8/8/4k3/8/4K3/4P3/8 w - - 0 1", "8/4p3/4k3/8/4K3/8/8/8 b - - 0 1"},
+            {"8/8/8/4k3/8/4K3/4P3/8 b - - 0 1", "8/4p3/4k3/8/4K3/8/8/8 w - - 0 1"},
+        };
+        for (String[] pair : pairs) {
+            assertEquals(probe(pair[0]), probe(pair[1]), pair[1]);
+        }
+        // Mate imediato: a rainha protegida dá o mate
+        int value = probe("k7/7Q/1K6/8/8/8/8/8 w - - 0 1");
+        assertEquals(1, Tablebase.pliesToMate(value));
+        BitBoard board = FenUtils.parse("k7/7Q/1K6/8/8/8/8/8 w - - 0 1");
+        board.makeMove(generator.getTablebase().bestMove(board));
+        assertEquals(0, Tablebase.pliesToMate(generator.getTablebase().probe(board)));
+        // Com direito de roque a posição não está nas tabelas
+        assertEquals(Move.NONE, generator.getTablebase().bestMove(FenUtils.parse("r3k3/8/8/8/8/8/8/4K3 w q - 0 1")));
+    }
+
+    private static int longest(String name) throws IOException {
+        List<GenerationResult> results = generator.generate(Endgame.of(name));
+        return results.get(results.size() - 1).getLongestMatePlies();
+    }
+
+    private static int probe(String fen) {
+        return generator.getTablebase().probe(FenUtils.parse(fen));
+    }
+
+}
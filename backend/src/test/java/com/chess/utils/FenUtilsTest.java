@@ -0,0 +1,92 @@
+package com.chess.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.board.BitBoard;
+import com.chess.perft.PerftPosition;
+
+/**
+ * Leitura e escrita de FEN: ida e volta das posições conhecidas e rejeição de
+ * posições que o gerador de lances não trata.
+ */
+class FenUtilsTest {
+
+    @Test
+    void roundTripsKnownPositions() {
+        for (PerftPosition position : PerftPosition.values()) {
+            assertEquals(position.getFen(), FenUtils.toFen(FenUtils.parse(position.getFen())), position.name());
+        }
+        String enPassant = "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2";
+        assertEquals(enPassant, FenUtils.toFen(FenUtils.parse(enPassant)));
+    }
+
+    @Test
+    void matchesInitialBoard() {
+        BitBoard parsed = FenUtils.parse(FenUtils.INITIAL_POSITION);
+        assertEquals(BitBoard.initial().getKey(), parsed.getKey());
+        assertEquals(FenUtils.INITIAL_POSITION, FenUtils.toFen(BitBoard.initial()));
+    }
+
+    @Test
+    void clocksAreOptional() {
+        assertEquals("4k3/8/8/8/8/8/8/4K3 w - - 0 1", FenUtils.toFen(FenUtils.parse("4k3/8/8/8/8/8/8/4K3 w - -")));
+    }
+
+    @Test
+    void rejectsTruncatedFen() {
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w");
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w -");
+        assertInvalid("4k3/8/8/8/8/8/8/4K3");
+        assertInvalid("4k3/8/8/8/8/8/8 w - - 0 1");
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - - 0 1 9");
+    }
+
+    @Test
+    void rejectsPawnsOnBackRanks() {
+        assertInvalid("P3k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertInvalid("4k3/8/8/8/8/8/8/p3K3 b - - 0 1");
+    }
+
+    @Test
+    void rejectsWrongKingCount() {
+        assertInvalid("8/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertInvalid("4k3/8/8/8/8/8/8/3KK3 w - - 0 1");
+    }
+
+    @Test
+    void rejectsTooManyPieces() {
+        assertInvalid("4k3/pppppppp/p7/8/8/8/8/4K3 w - - 0 1");
+        assertInvalid("qqqqkqqq/qqqqqqqq/q7/8/8/8/8/4K3 w - - 0 1");
+    }
+
+    @Test
+    void rejectsSideNotToMoveInCheck() {
+        assertInvalid("4k3/4R3/8/8/8/8/8/4K3 w - - 0 1");
+    }
+
+    @Test
+    void rejectsInconsistentEnPassant() {
+        // Sem o peão que avançou duas casas, na fileira errada ou com a casa de origem ocupada
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - e6 0 1");
+        assertInvalid("4k3/8/8/4p3/8/8/8/4K3 w - e3 0 1");
+        assertInvalid("4k3/4p3/8/4p3/8/8/8/4K3 w - e6 0 1");
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - e33 0 1");
+    }
+
+    @Test
+    void rejectsOutOfRangeCounters() {
+        assertEquals(0xFFFF, FenUtils.parse("4k3/8/8/8/8/8/8/4K3 w - - 65535 1").getHalfmoveClock());
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - - 65536 1");
+        assertEquals(Integer.MAX_VALUE, FenUtils.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 2147483647").getFullmoveNumber());
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - - 0 2147483648");
+        assertInvalid("4k3/8/8/8/8/8/8/4K3 w - - 0 99999999999");
+    }
+
+    private static void assertInvalid(String fen) {
+        assertThrows(IllegalArgumentException.class, () -> FenUtils.parse(fen), fen);
+    }
+
+}
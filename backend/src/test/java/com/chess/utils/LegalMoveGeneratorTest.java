@@ -0,0 +1,154 @@
+package com.chess.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Position;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.PieceType;
+import com.chess.perft.PerftPosition;
+
+/**
+ * Gerador de lances legais: contagens conhecidas, xeques, cravadas e en passant,
+ * e comparação com a filtragem dos lances pseudolegais.
+ */
+class LegalMoveGeneratorTest {
+
+    @Test
+    void countsMovesOfStandardPositions() {
+        for (PerftPosition position : PerftPosition.values()) {
+            assertEquals(position.getExpectedNodes(1), count(position.getFen()), position.name());
+        }
+    }
+
+    @Test
+    void onlyKingMovesInDoubleCheck() {
+        // Cavalo em f3 e torre em e8 dão xeque ao rei em e1
+        BitBoard board = FenUtils.parse("4r1k1/8/8/8/8/5n2/8/3QK2R w K - 0 1");
+        MoveList moves = generate(board);
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(board.getPieces(PieceType.KING, Color.WHITE),
+                1L << Move.from(moves.get(i)), Move.toString(moves.get(i)));
+        }
+        // d2 é atacada pelo cavalo, e e2 pela torre através do rei
+        assertEquals(List.of("e1f1", "e1f2"), sorted(moves));
+    }
+
+    @Test
+    void singleCheckIsBlockedOrCaptured() {
+        // Torre em e8 dá xeque: a dama só pode bloquear em e2
+        BitBoard board = FenUtils.parse("4r1k1/8/8/8/8/8/8/3QK3 w - - 0 1");
+        MoveList moves = generate(board);
+        assertTrue(contains(moves, "d1e2"));
+        assertFalse(contains(moves, "d1d2"));
+        assertFalse(contains(moves, "e1e2"));
+    }
+
+    @Test
+    void pinnedPieceMovesAlongThePin() {
+        // O bispo em d2 está cravado pela dama em a5 e só anda na diagonal
+        BitBoard board = FenUtils.parse("4k3/8/8/q7/8/8/3B4/4K3 w - - 0 1");
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateFrom(board, square("d2"), moves);
+        assertEquals(List.of("d2a5", "d2b4", "d2c3"), sorted(moves));
+        assertEquals(1L << square("d2"), LegalMoveGenerator.pinnedPieces(board, Color.WHITE));
+    }
+
+    @Test
+    void enPassantExposingKingOnRankIsIllegal() {
+        BitBoard board = FenUtils.parse("8/8/8/KPp4r/8/8/8/7k w - c6 0 1");
+        assertFalse(contains(generate(board), "b5c6"));
+        BitBoard open = FenUtils.parse("8/8/8/1Pp4r/K7/8/8/7k w - c6 0 1");
+        assertTrue(contains(generate(open), "b5c6"));
+    }
+
+    @Test
+    void castlingRespectsAttackedSquares() {
+        // O bispo em c4 ataca f1: só o roque grande
+        BitBoard board = FenUtils.parse("r3k2r/8/8/8/2b5/8/8/R3K2R w KQkq - 0 1");
+        MoveList moves = generate(board);
+        assertFalse(contains(moves, "e1g1"));
+        assertTrue(contains(moves, "e1c1"));
+    }
+
+    @Test
+    void noMovesInMateOrStalemate() {
+        assertEquals(0, count("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1"));
+        assertEquals(0, count("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1"));
+    }
+
+    @Test
+    void highlightsTargetsOfOnePiece() {
+        List<Position> targets = LegalMoveGenerator.getLegalMoves(BitBoard.initial(), Position.at("g1"));
+        assertEquals(2, targets.size());
+        assertTrue(LegalMoveGenerator.getLegalMoves(BitBoard.initial(), Position.at("g8")).isEmpty());
+    }
+
+    @Test
+    void matchesFilteredPseudoLegalMoves() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (PerftPosition position : PerftPosition.values()) {
+            for (int game = 0; game < 30; game++) {
+                BitBoard board = FenUtils.parse(position.getFen());
+                for (int ply = 0; ply < 80; ply++) {
+                    MoveList legal = generate(board);
+                    assertEquals(reference(board), sorted(legal), FenUtils.toFen(board));
+                    if (legal.size() == 0) break;
+                    board.makeMove(legal.get(random.nextInt(legal.size())));
+                }
+            }
+        }
+    }
+
+    // Lances pseudolegais que não deixam o próprio rei em xeque
+    private static List<String> reference(BitBoard board) {
+        MoveList pseudo = new MoveList();
+        MoveUtils.generatePseudoLegalMoves(board, pseudo);
+        Color side = board.getSideToMove();
+        MoveList legal = new MoveList();
+        for (int i = 0; i < pseudo.size(); i++) {
+            board.makeMove(pseudo.get(i));
+            if (!board.isInCheck(side)) legal.add(pseudo.get(i));
+            board.unmakeMove(pseudo.get(i));
+        }
+        return sorted(legal);
+    }
+
+    private static MoveList generate(BitBoard board) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        return moves;
+    }
+
+    private static int count(String fen) {
+        return generate(FenUtils.parse(fen)).size();
+    }
+
+    private static boolean contains(MoveList moves, String notation) {
+        return sorted(moves).contains(notation);
+    }
+
+    private static List<String> sorted(MoveList moves) {
+        String[] notations = new String[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            notations[i] = Move.toString(moves.get(i));
+        }
+        Arrays.sort(notations);
+        return List.of(notations);
+    }
+
+    private static int square(String notation) {
+        return BitboardUtils.squareOf(Position.at(notation));
+    }
+
+}
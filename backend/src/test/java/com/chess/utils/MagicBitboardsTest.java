@@ -0,0 +1,125 @@
+package com.chess.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.chess.entity.base.Color;
+import com.chess.entity.base.Direction;
+import com.chess.entity.base.Position;
+import com.chess.entity.board.BitBoard;
+import com.chess.entity.board.Move;
+import com.chess.entity.board.MoveList;
+import com.chess.entity.piece.Piece;
+import com.chess.perft.PerftPosition;
+
+/**
+ * Tabelas mágicas de torre e bispo comparadas com o percurso de raios casa a casa.
+ */
+class MagicBitboardsTest {
+
+    @Test
+    void tablesMatchWalkedRaysForRandomOccupancies() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int square = 0; square < 64; square++) {
+            for (int i = 0; i < 2000; i++) {
+                // Ocupações esparsas e densas
+                long occupancy = i % 2 == 0 ? random.nextLong() & random.nextLong() : random.nextLong() | random.nextLong();
+                assertAttacks(square, occupancy);
+            }
+            assertAttacks(square, BitboardUtils.EMPTY);
+            assertAttacks(square, -1L);
+        }
+    }
+
+    @Test
+    void ownSquareDoesNotChangeTheAttacks() {
+        for (int square = 0; square < 64; square++) {
+            long occupancy = 0x0042_2400_0024_4200L;
+            assertEquals(MagicBitboards.rookAttacks(square, occupancy & ~(1L << square)),
+                MagicBitboards.rookAttacks(square, occupancy | 1L << square));
+            assertEquals(MagicBitboards.bishopAttacks(square, occupancy & ~(1L << square)),
+                MagicBitboards.bishopAttacks(square, occupancy | 1L << square));
+        }
+    }
+
+    @Test
+    void emptyBoardAttackCounts() {
+        // Torre sempre 14 casas; bispo de 7 no canto a 13 no centro
+        for (int square = 0; square < 64; square++) {
+            assertEquals(14, Long.bitCount(MagicBitboards.rookAttacks(square, BitboardUtils.EMPTY)));
+        }
+        assertEquals(7, Long.bitCount(MagicBitboards.bishopAttacks(Position.at("a1").getSquare(), BitboardUtils.EMPTY)));
+        assertEquals(13, Long.bitCount(MagicBitboards.bishopAttacks(Position.at("d4").getSquare(), BitboardUtils.EMPTY)));
+        assertEquals(27, Long.bitCount(MagicBitboards.queenAttacks(Position.at("e5").getSquare(), BitboardUtils.EMPTY)));
+    }
+
+    @Test
+    void attacksForUsesTablesOnlyForStandardDirections() {
+        long occupancy = 0x0000_1008_0400_2000L;
+        int square = Position.at("d4").getSquare();
+        assertEquals(MagicBitboards.rookAttacks(square, occupancy),
+            BitboardUtils.attacksFor(square, occupancy, Direction.getOrthogonalDirections()));
+        assertEquals(MagicBitboards.queenAttacks(square, occupancy),
+            BitboardUtils.attacksFor(square, occupancy, Direction.getAllDirections()));
+
+        // Outros conjuntos de direções são percorridos
+        Direction[] up = {Direction.UP};
+        assertEquals(BitboardUtils.slidingAttacks(square, occupancy, up), BitboardUtils.attacksFor(square, occupancy, up));
+    }
+
+    @Test
+    void slidingMovesMatchWalkingOnStandardPositions() {
+        for (PerftPosition position : PerftPosition.values()) {
+            BitBoard board = FenUtils.parse(position.getFen());
+            walk(board, 2, position.name());
+        }
+    }
+
+    // Confere os lances de todas as peças deslizantes em cada nó da árvore
+    private static void walk(BitBoard board, int depth, String name) {
+        for (int square = 0; square < 64; square++) {
+            Piece piece = board.getPieceAt(square);
+            if (piece == null) continue;
+            Direction[] directions = switch (piece.getType()) {
+                case ROOK -> Direction.getOrthogonalDirections();
+                case BISHOP -> Direction.getDiagonalDirections();
+                case QUEEN -> Direction.getAllDirections();
+                default -> null;
+            };
+            if (directions == null) continue;
+
+            Position from = Position.at(square);
+            Color color = piece.getColor();
+            List<Position> table = MoveUtils.getSlidingMoves(board, color, from, directions);
+            List<Position> walked = MoveUtils.getSlidingMovesByWalking(board, color, from, directions);
+            assertEquals(new HashSet<>(walked), new HashSet<>(table), name + " " + from);
+            assertEquals(walked.size(), table.size(), name + " " + from);
+        }
+        if (depth == 0) return;
+
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generate(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            walk(board, depth - 1, name + " " + Move.toString(moves.get(i)));
+            board.unmakeMove(moves.get(i));
+        }
+    }
+
+    private static void assertAttacks(int square, long occupancy) {
+        String message = Position.at(square) + " " + Long.toHexString(occupancy);
+        long rook = BitboardUtils.slidingAttacks(square, occupancy, Direction.getOrthogonalDirections());
+        long bishop = BitboardUtils.slidingAttacks(square, occupancy, Direction.getDiagonalDirections());
+        assertEquals(rook, MagicBitboards.rookAttacks(square, occupancy), message);
+        assertEquals(bishop, MagicBitboards.bishopAttacks(square, occupancy), message);
+        assertEquals(rook | bishop, MagicBitboards.queenAttacks(square, occupancy), message);
+        assertTrue((rook & 1L << square) == 0, message);
+    }
+
+}
@@ -0,0 +1,112 @@
+import {
+  ClientBoard,
+  FrameType,
+  MoveFrame,
+  SnapshotFrame,
+  decodeFrame,
+  encodeMoveRequest,
+  encodeResyncRequest,
+  pieceLetter,
+  squareOf,
+} from './game-protocol';
+
+// Quadros SNAPSHOT gerados pelo backend (GameFrames.writeSnapshot)
+const INITIAL =
+  '020000000000ea600000ea600d0eb3afcabdebac999999990000000000000000000000000000000011111111423563240fff';
+const CASTLING =
+  '020000000000ea600000ea60493b4b17c000e00c000000000000000000000000000000000000000000000000400060040fff';
+const EN_PASSANT_AND_PROMOTION =
+  '020000000000ea600000ea605881d5140000e000010000000000000000091000000000000000000000000000000060000013';
+
+function bytes(hex: string): ArrayBuffer {
+  const data = new Uint8Array(hex.length / 2);
+  for (let i = 0; i < data.length; i++) {
+    data[i] = parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+  }
+  return data.buffer;
+}
+
+function boardOf(hex: string): ClientBoard {
+  const board = new ClientBoard();
+  board.load(decodeFrame(bytes(hex)) as SnapshotFrame);
+  return board;
+}
+
+function moveFrame(move: number, hash: number, sideToMove: 'white' | 'black' = 'black'): MoveFrame {
+  return { type: FrameType.MOVE, sideToMove, status: 'playing', move, ply: 1, whiteMillis: 0, blackMillis: 0, hash };
+}
+
+describe('game-protocol', () => {
+  it('should decode a snapshot', () => {
+    const frame = decodeFrame(bytes(INITIAL)) as SnapshotFrame;
+    expect(frame.type).toBe(FrameType.SNAPSHOT);
+    expect(frame.sideToMove).toBe('white');
+    expect(frame.status).toBe('playing');
+    expect(frame.whiteMillis).toBe(60000);
+    expect(frame.castling).toBe(15);
+    expect(frame.enPassant).toBe(-1);
+    expect(pieceLetter(frame.squares[squareOf('e1')])).toBe('K');
+    expect(pieceLetter(frame.squares[squareOf('d8')])).toBe('q');
+    expect(boardOf(INITIAL).hash()).toBe(frame.hash);
+  });
+
+  it('should decode a move frame', () => {
+    const frame = decodeFrame(bytes('0107193400010000ea6000000bb852ba9f34')) as MoveFrame;
+    expect(frame.type).toBe(FrameType.MOVE);
+    expect(frame.sideToMove).toBe('black');
+    expect(frame.status).toBe('draw');
+    expect(frame.move).toBe(6452);
+    expect(frame.ply).toBe(1);
+    expect(frame.whiteMillis).toBe(60000);
+    expect(frame.blackMillis).toBe(3000);
+  });
+
+  it('should apply a double pawn push', () => {
+    const board = boardOf(INITIAL);
+    expect(board.apply(moveFrame(6452, 1387931188))).toBe(true);
+    expect(board.enPassant).toBe(squareOf('e3'));
+    expect(board.sideToMove).toBe('black');
+  });
+
+  it('should apply castling on both sides', () => {
+    const kingSide = boardOf(CASTLING);
+    expect(kingSide.apply(moveFrame(12220, -1791395644))).toBe(true);
+    expect(pieceLetter(kingSide.pieceAt(squareOf('f1')))).toBe('R');
+    expect(kingSide.castling).toBe(12);
+
+    const queenSide = boardOf(CASTLING);
+    expect(queenSide.apply(moveFrame(16060, -497627556))).toBe(true);
+    expect(pieceLetter(queenSide.pieceAt(squareOf('d1')))).toBe('R');
+  });
+
+  it('should apply en passant and promotion', () => {
+    const enPassant = boardOf(EN_PASSANT_AND_PROMOTION);
+    expect(enPassant.apply(moveFrame(21724, -977540324))).toBe(true);
+    expect(enPassant.pieceAt(squareOf('d5'))).toBe(0);
+
+    const promotion = boardOf(EN_PASSANT_AND_PROMOTION);
+    expect(promotion.apply(moveFrame(45129, -1340343353))).toBe(true);
+    expect(pieceLetter(promotion.pieceAt(squareOf('b8')))).toBe('Q');
+  });
+
+  it('should detect a diverged board', () => {
+    const board = boardOf(INITIAL);
+    expect(board.apply(moveFrame(6452, 0))).toBe(false);
+    expect(boardOf(INITIAL).apply({ ...moveFrame(6452, 1387931188), ply: 2 })).toBe(false);
+  });
+
+  it('should encode client frames', () => {
+    expect(new Uint8Array(encodeMoveRequest(squareOf('e7'), squareOf('e8'), 'q'))).toEqual(
+      new Uint8Array([FrameType.MOVE_REQUEST, 12, 4, 4]),
+    );
+    expect(new Uint8Array(encodeResyncRequest())).toEqual(new Uint8Array([FrameType.RESYNC_REQUEST]));
+  });
+
+  it('should decode an error', () => {
+    const text = new TextEncoder().encode('Lance ilegal: e2e5');
+    const frame = new Uint8Array(3 + text.length);
+    frame.set([FrameType.ERROR, 0, text.length]);
+    frame.set(text, 3);
+    expect(decodeFrame(frame.buffer)).toEqual({ type: FrameType.ERROR, message: 'Lance ilegal: e2e5' });
+  });
+});
@@ -0,0 +1,244 @@
+/**
+ * Quadros binários do WebSocket das salas (/ws/rooms/{id}?player=<token do lugar>), big-endian.
+ * Espelha com.chess.protocol.GameFrames do backend; o layout dos quadros está descrito lá.
+ *
+ * O servidor envia um SNAPSHOT ao conectar e um MOVE por lance. O cliente aplica o lance
+ * ao próprio tabuleiro e compara o hash; se diferir, envia RESYNC_REQUEST.
+ *
+ * Os relógios são milissegundos restantes no instante do quadro (-1 nas partidas sem relógio);
+ * entre um quadro e outro o cliente desconta localmente o tempo de quem tem a vez.
+ */
+
+export const FrameType = {
+  MOVE: 1,
+  SNAPSHOT: 2,
+  CLOCK: 3,
+  ERROR: 4,
+  MOVE_REQUEST: 16,
+  RESYNC_REQUEST: 17,
+} as const;
+
+export type GameStatus = 'playing' | 'white-wins' | 'black-wins' | 'draw';
+export type Side = 'white' | 'black';
+
+const STATUSES: GameStatus[] = ['playing', 'white-wins', 'black-wins', 'draw'];
+
+// Flags do lance (com.chess.entity.board.Move)
+const DOUBLE_PAWN_PUSH = 1;
+const KING_CASTLE = 2;
+const QUEEN_CASTLE = 3;
+const EN_PASSANT = 5;
+const PROMOTION = 8;
+
+// Códigos das peças: 0 vazia, 1-6 brancas (P, N, B, R, Q, K), 9-14 pretas
+const KNIGHT = 2;
+const BLACK = 8;
+
+const NO_EN_PASSANT = 255;
+const FNV_OFFSET = 0x811c9dc5 | 0;
+const FNV_PRIME = 0x01000193;
+
+// Direitos de roque perdidos quando a casa é origem ou destino de um lance
+const CASTLING_LOST: Record<number, number> = { 0: 8, 4: 12, 7: 4, 56: 2, 60: 3, 63: 1 };
+
+export interface MoveFrame {
+  type: typeof FrameType.MOVE;
+  sideToMove: Side;
+  status: GameStatus;
+  move: number;
+  ply: number;
+  whiteMillis: number;
+  blackMillis: number;
+  hash: number;
+}
+
+export interface SnapshotFrame {
+  type: typeof FrameType.SNAPSHOT;
+  sideToMove: Side;
+  status: GameStatus;
+  ply: number;
+  whiteMillis: number;
+  blackMillis: number;
+  hash: number;
+  squares: Uint8Array;
+  castling: number;
+  enPassant: number;
+}
+
+export interface ClockFrame {
+  type: typeof FrameType.CLOCK;
+  sideToMove: Side;
+  status: GameStatus;
+  whiteMillis: number;
+  blackMillis: number;
+}
+
+export interface ErrorFrame {
+  type: typeof FrameType.ERROR;
+  message: string;
+}
+
+export type ServerFrame = MoveFrame | SnapshotFrame | ClockFrame | ErrorFrame;
+
+/** Lê um quadro do servidor. */
+export function decodeFrame(data: ArrayBuffer): ServerFrame {
+  const view = new DataView(data);
+  const type = view.getUint8(0);
+  switch (type) {
+    case FrameType.MOVE:
+      return {
+        type,
+        ...flags(view.getUint8(1)),
+        move: view.getUint16(2),
+        ply: view.getUint16(4),
+        whiteMillis: view.getInt32(6),
+        blackMillis: view.getInt32(10),
+        hash: view.getInt32(14),
+      };
+    case FrameType.SNAPSHOT: {
+      const squares = new Uint8Array(64);
+      for (let i = 0; i < 32; i++) {
+        const pair = view.getUint8(16 + i);
+        squares[2 * i] = pair >>> 4;
+        squares[2 * i + 1] = pair & 0xf;
+      }
+      const enPassant = view.getUint8(49);
+      return {
+        type,
+        ...flags(view.getUint8(1)),
+        ply: view.getUint16(2),
+        whiteMillis: view.getInt32(4),
+        blackMillis: view.getInt32(8),
+        hash: view.getInt32(12),
+        squares,
+        castling: view.getUint8(48),
+        enPassant: enPassant === NO_EN_PASSANT ? -1 : enPassant,
+      };
+    }
+    case FrameType.CLOCK:
+      return {
+        type,
+        ...flags(view.getUint8(1)),
+        whiteMillis: view.getInt32(2),
+        blackMillis: view.getInt32(6),
+      };
+    case FrameType.ERROR: {
+      const length = view.getUint16(1);
+      return { type, message: new TextDecoder().decode(new Uint8Array(data, 3, length)) };
+    }
+    default:
+      throw new Error(`Quadro desconhecido: ${type}`);
+  }
+}
+
+/**
+ * Quadro de lance do cliente.
+ *
+ * @param from Casa de origem (0 = a8, 63 = h1).
+ * @param to Casa de destino.
+ * @param promotion Peça da promoção ('n', 'b', 'r' ou 'q'), se houver.
+ */
+export function encodeMoveRequest(from: number, to: number, promotion?: 'n' | 'b' | 'r' | 'q'): ArrayBuffer {
+  const frame = new Uint8Array([
+    FrameType.MOVE_REQUEST,
+    from,
+    to,
+    promotion ? 'nbrq'.indexOf(promotion) + 1 : 0,
+  ]);
+  return frame.buffer;
+}
+
+/** Quadro que pede o tabuleiro inteiro. */
+export function encodeResyncRequest(): ArrayBuffer {
+  return new Uint8Array([FrameType.RESYNC_REQUEST]).buffer;
+}
+
+/** Casa a partir da notação (ex: "e4"). */
+export function squareOf(name: string): number {
+  return (8 - Number(name[1])) * 8 + (name.charCodeAt(0) - 97);
+}
+
+/**
+ * Tabuleiro do cliente, mantido com os quadros MOVE e conferido pelo hash de cada um.
+ */
+export class ClientBoard {
+  readonly squares = new Uint8Array(64);
+  sideToMove: Side = 'white';
+  castling = 0;
+  enPassant = -1;
+  ply = 0;
+
+  /** Substitui o tabuleiro pelo do SNAPSHOT. */
+  load(frame: SnapshotFrame): void {
+    this.squares.set(frame.squares);
+    this.sideToMove = frame.sideToMove;
+    this.castling = frame.castling;
+    this.enPassant = frame.enPassant;
+    this.ply = frame.ply;
+  }
+
+  /**
+   * Aplica o lance do quadro.
+   *
+   * @returns false se o tabuleiro divergiu do servidor (lance fora de sequência ou hash
+   * diferente); nesse caso o cliente deve pedir um SNAPSHOT.
+   */
+  apply(frame: MoveFrame): boolean {
+    if (frame.ply !== this.ply + 1) return false;
+    this.applyMove(frame.move);
+    this.ply = frame.ply;
+    this.sideToMove = frame.sideToMove;
+    return this.hash() === frame.hash;
+  }
+
+  /** Aplica um lance codificado (origem nos bits 0-5, destino 6-11, flags 12-15). */
+  applyMove(move: number): void {
+    const from = move & 0x3f;
+    const to = (move >>> 6) & 0x3f;
+    const moveFlags = (move >>> 12) & 0xf;
+    const piece = this.squares[from];
+    const color = piece & BLACK;
+
+    this.squares[from] = 0;
+    this.squares[to] = moveFlags & PROMOTION ? color | (KNIGHT + (moveFlags & 3)) : piece;
+
+    if (moveFlags === EN_PASSANT) {
+      this.squares[(from & ~7) | (to & 7)] = 0;
+    } else if (moveFlags === KING_CASTLE) {
+      this.squares[to - 1] = this.squares[to + 1];
+      this.squares[to + 1] = 0;
+    } else if (moveFlags === QUEEN_CASTLE) {
+      this.squares[to + 1] = this.squares[to - 2];
+      this.squares[to - 2] = 0;
+    }
+
+    this.enPassant = moveFlags === DOUBLE_PAWN_PUSH ? (from + to) >>> 1 : -1;
+    this.castling &= ~((CASTLING_LOST[from] ?? 0) | (CASTLING_LOST[to] ?? 0));
+    this.sideToMove = this.sideToMove === 'white' ? 'black' : 'white';
+  }
+
+  /** Hash da posição, igual ao do servidor: FNV-1a de 32 bits das casas e da cor que tem a vez. */
+  hash(): number {
+    let hash = FNV_OFFSET;
+    for (let i = 0; i < 64; i++) {
+      hash = Math.imul(hash ^ this.squares[i], FNV_PRIME);
+    }
+    return Math.imul(hash ^ (this.sideToMove === 'white' ? 0 : 1), FNV_PRIME);
+  }
+
+  /** Código da peça na casa (0 = vazia). */
+  pieceAt(square: number): number {
+    return this.squares[square];
+  }
+}
+
+/** Peça do código, em notação FEN (ex: 'P', 'n'), ou null se a casa estiver vazia. */
+export function pieceLetter(code: number): string | null {
+  if (code === 0) return null;
+  const letter = ' pnbrqk'[code & 7];
+  return code & BLACK ? letter : letter.toUpperCase();
+}
+
+function flags(value: number): { sideToMove: Side; status: GameStatus } {
+  return { sideToMove: value & 1 ? 'black' : 'white', status: STATUSES[(value >>> 1) & 3] };
+}